@@ -0,0 +1,101 @@
+package datastructures;
+
+import java.util.SplittableRandom;
+
+/**
+ * Pre-boxed key streams used by the benchmarks.
+ *
+ * Present keys are drawn from [0, size) and absent keys from [size, 2 * size), both following
+ * the requested distribution. All keys are boxed up front, so the benchmark loops
+ * themselves do not allocate and the GC profiler only reports what the data structure allocates.
+ */
+public final class BenchmarkKeys
+{
+    // the number of pre-generated accesses (must be a power of two).
+    private static final int ACCESS_COUNT = 1 << 16;
+    private static final int ACCESS_MASK  = ACCESS_COUNT - 1;
+
+    private final int size;
+
+    private final int[] indices;
+    private final Integer[] presentKeys;
+    private final Integer[] absentKeys;
+
+    private int cursor;
+
+    /**
+     * BenchmarkKeys constructor.
+     *
+     * @param size         - the number of keys inside the benchmarked data structure.
+     * @param distribution - access pattern.
+     */
+    public BenchmarkKeys(int size, KeyDistribution distribution)
+    {
+        this.size        = size;
+        this.indices     = distribution.sample(ACCESS_COUNT, size, 42);
+        this.presentKeys = new Integer[ACCESS_COUNT];
+        this.absentKeys  = new Integer[ACCESS_COUNT];
+
+        for (int i = 0; i < ACCESS_COUNT; i++)
+        {
+            this.presentKeys[i] = this.indices[i];
+            this.absentKeys[i]  = size + this.indices[i];
+        }
+    }
+
+    /**
+     * Returns the next index in [0, size).
+     */
+    public int nextIndex()
+    {
+        return this.indices[this.cursor++ & ACCESS_MASK];
+    }
+
+    /**
+     * Returns the next key that is present in the data structure.
+     */
+    public Integer nextPresent()
+    {
+        return this.presentKeys[this.cursor++ & ACCESS_MASK];
+    }
+
+    /**
+     * Returns the next key that is absent from the data structure.
+     */
+    public Integer nextAbsent()
+    {
+        return this.absentKeys[this.cursor++ & ACCESS_MASK];
+    }
+
+    /**
+     * Returns the number of keys inside the benchmarked data structure.
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Returns the keys [0, size) in a random (but reproducible) order.
+     */
+    public static Integer[] shuffled(int size)
+    {
+        Integer[] keys = new Integer[size];
+
+        for (int i = 0; i < size; i++)
+            keys[i] = i;
+
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = size - 1; i > 0; i--)
+        {
+            int j = random.nextInt(i + 1);
+
+            Integer temp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = temp;
+        }
+
+        return keys;
+    }
+}
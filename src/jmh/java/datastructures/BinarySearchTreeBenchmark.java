@@ -0,0 +1,86 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinarySearchTreeBenchmark
+{
+    // the tree is recursive and unbalanced, so it is built from shuffled keys and capped at 10M.
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    private BinarySearchTree<Integer> tree;
+    private BenchmarkKeys keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.tree = new BinarySearchTree<>();
+        this.keys = new BenchmarkKeys(this.size, this.distribution);
+
+        for (Integer key : BenchmarkKeys.shuffled(this.size))
+            this.tree.insert(key);
+    }
+
+    @Benchmark
+    public boolean contains()
+    {
+        return this.tree.contains(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public boolean containsMiss()
+    {
+        return this.tree.contains(this.keys.nextAbsent());
+    }
+
+    @Benchmark
+    public boolean insertRemove()
+    {
+        Integer element = this.keys.nextAbsent();
+
+        this.tree.insert(element);
+        return this.tree.remove(element);
+    }
+
+    @Benchmark
+    public boolean removeInsert()
+    {
+        Integer element = this.keys.nextPresent();
+
+        this.tree.remove(element);
+        return this.tree.insert(element);
+    }
+
+    @Benchmark
+    public int findMinMax()
+    {
+        return this.tree.findMin() + this.tree.findMax();
+    }
+
+    @Benchmark
+    public int height()
+    {
+        return this.tree.height();
+    }
+}
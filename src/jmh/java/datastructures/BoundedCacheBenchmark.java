@@ -0,0 +1,119 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replays a key trace against a cache of 1% of the key universe: every access is a get() followed by a
+ * put() on a miss. handRolledLru is the HashTable plus DoublyLinkedList pairing that BoundedCache replaces
+ * (its promotion is DoublyLinkedList.remove(value), a list walk). The hit ratio of every configuration is
+ * printed after the run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoundedCacheBenchmark
+{
+    // the number of accesses in the trace.
+    private static final int TRACE_SIZE = 1 << 20;
+
+    @Param({"100000"})
+    public int universe;
+
+    @Param({"ZIPFIAN", "UNIFORM"})
+    public KeyDistribution distribution;
+
+    @Param({"LRU", "LFU", "W_TINY_LFU"})
+    public BoundedCache.Policy policy;
+
+    private Integer[] trace;
+    private int next;
+
+    private BoundedCache<Integer, Integer> cache;
+    private HashTable<Integer, Integer> handRolledTable;
+    private DoublyLinkedList<Integer> handRolledOrder;
+
+    @Setup
+    public void setUp()
+    {
+        int[] indices = this.distribution.sample(BoundedCacheBenchmark.TRACE_SIZE, this.universe, 42);
+        this.trace    = new Integer[indices.length];
+
+        for (int i = 0; i < indices.length; i++)
+            this.trace[i] = indices[i];
+
+        this.cache           = new BoundedCache<>(this.universe / 100, this.policy);
+        this.handRolledTable = new HashTable<>();
+        this.handRolledOrder = new DoublyLinkedList<>();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        if (this.cache.getHitCount() + this.cache.getMissCount() > 0)
+            System.out.println("\nhit ratio: " + this.cache.getHitRatio());
+    }
+
+    @Benchmark
+    public Integer boundedCache()
+    {
+        Integer key   = this.nextKey();
+        Integer value = this.cache.get(key);
+
+        if (value == null)
+            this.cache.put(key, value = key);
+
+        return value;
+    }
+
+    @Benchmark
+    public Integer handRolledLru()
+    {
+        Integer key   = this.nextKey();
+        Integer value = this.handRolledTable.get(key);
+
+        if (value != null)
+        {
+            this.handRolledOrder.remove(key);
+            this.handRolledOrder.append(key);
+
+            return value;
+        }
+
+        if (this.handRolledTable.size() == this.universe / 100)
+            this.handRolledTable.remove(this.handRolledOrder.removeFirst());
+
+        this.handRolledTable.put(key, key);
+        this.handRolledOrder.append(key);
+
+        return key;
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Returns the next key of the trace, wrapping around at its end.
+     */
+    private Integer nextKey()
+    {
+        Integer key = this.trace[this.next];
+        this.next   = (this.next + 1) & (BoundedCacheBenchmark.TRACE_SIZE - 1);
+
+        return key;
+    }
+}
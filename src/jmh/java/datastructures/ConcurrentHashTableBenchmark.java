@@ -0,0 +1,177 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the lock-striped ConcurrentHashTable and the non-blocking LockFreeHashTable against a HashTable
+ * behind a single lock, with all benchmark threads sharing one table. Run with -t to change the number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+@Fork(1)
+public class ConcurrentHashTableBenchmark
+{
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    @Param({"16"})
+    public int concurrencyLevel;
+
+    private ConcurrentHashTable<Integer, Integer> striped;
+    private LockFreeHashTable<Integer, Integer> lockFree;
+    private SynchronizedHashTable<Integer, Integer> synchronizedTable;
+
+    /**
+     * Per-thread key stream.
+     */
+    @State(Scope.Thread)
+    public static class ThreadKeys
+    {
+        private BenchmarkKeys keys;
+
+        @Setup
+        public void setUp(ConcurrentHashTableBenchmark benchmark)
+        {
+            this.keys = new BenchmarkKeys(benchmark.size, benchmark.distribution);
+        }
+    }
+
+    /**
+     * HashTable guarded by a single lock, the baseline for the lock-striped table.
+     */
+    private static final class SynchronizedHashTable<K, V>
+    {
+        private final HashTable<K, V> hashTable = new HashTable<>();
+
+        private synchronized V insert(K key, V value)
+        {
+            return this.hashTable.insert(key, value);
+        }
+
+        private synchronized V get(K key)
+        {
+            return this.hashTable.get(key);
+        }
+
+        private synchronized V remove(K key)
+        {
+            return this.hashTable.remove(key);
+        }
+    }
+
+    @Setup
+    public void setUp()
+    {
+        this.striped           = new ConcurrentHashTable<>(16, 0.7, this.concurrencyLevel);
+        this.lockFree          = new LockFreeHashTable<>();
+        this.synchronizedTable = new SynchronizedHashTable<>();
+
+        for (int i = 0; i < this.size; i++)
+        {
+            this.striped.insert(i, i);
+            this.lockFree.insert(i, i);
+            this.synchronizedTable.insert(i, i);
+        }
+    }
+
+    @Benchmark
+    public Integer stripedGet(ThreadKeys keys)
+    {
+        return this.striped.get(keys.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Integer lockFreeGet(ThreadKeys keys)
+    {
+        return this.lockFree.get(keys.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Integer synchronizedGet(ThreadKeys keys)
+    {
+        return this.synchronizedTable.get(keys.keys.nextPresent());
+    }
+
+    /**
+     * Read-mostly mix: one update per eight reads.
+     */
+    @Benchmark
+    public Integer stripedReadMostly(ThreadKeys keys)
+    {
+        int index = keys.keys.nextIndex();
+        Integer key = keys.keys.nextPresent();
+
+        return (index & 7) == 0 ? this.striped.insert(key, index) : this.striped.get(key);
+    }
+
+    /**
+     * Read-mostly mix: one update per eight reads.
+     */
+    @Benchmark
+    public Integer lockFreeReadMostly(ThreadKeys keys)
+    {
+        int index = keys.keys.nextIndex();
+        Integer key = keys.keys.nextPresent();
+
+        return (index & 7) == 0 ? this.lockFree.insert(key, index) : this.lockFree.get(key);
+    }
+
+    /**
+     * Read-mostly mix: one update per eight reads.
+     */
+    @Benchmark
+    public Integer synchronizedReadMostly(ThreadKeys keys)
+    {
+        int index = keys.keys.nextIndex();
+        Integer key = keys.keys.nextPresent();
+
+        return (index & 7) == 0 ? this.synchronizedTable.insert(key, index) : this.synchronizedTable.get(key);
+    }
+
+    @Benchmark
+    public Integer stripedChurn(ThreadKeys keys)
+    {
+        Integer key = keys.keys.nextAbsent();
+
+        this.striped.insert(key, key);
+        return this.striped.remove(key);
+    }
+
+    @Benchmark
+    public Integer lockFreeChurn(ThreadKeys keys)
+    {
+        Integer key = keys.keys.nextAbsent();
+
+        this.lockFree.insert(key, key);
+        return this.lockFree.remove(key);
+    }
+
+    @Benchmark
+    public Integer synchronizedChurn(ThreadKeys keys)
+    {
+        Integer key = keys.keys.nextAbsent();
+
+        this.synchronizedTable.insert(key, key);
+        return this.synchronizedTable.remove(key);
+    }
+}
@@ -0,0 +1,109 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DoublyLinkedListBenchmark
+{
+    // linked list indexing is O(n), so the largest size is capped at 10M.
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    private DoublyLinkedList<Integer> list;
+    private BenchmarkKeys keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.list = new DoublyLinkedList<>();
+        this.keys = new BenchmarkKeys(this.size, this.distribution);
+
+        for (int i = 0; i < this.size; i++)
+            this.list.append(i);
+    }
+
+    @Benchmark
+    public Integer appendRemoveLast()
+    {
+        this.list.append(this.keys.nextAbsent());
+        return this.list.removeLast();
+    }
+
+    @Benchmark
+    public Integer prependRemoveFirst()
+    {
+        this.list.prepend(this.keys.nextAbsent());
+        return this.list.removeFirst();
+    }
+
+    @Benchmark
+    public Integer insertAtRemoveAt()
+    {
+        int index = this.keys.nextIndex();
+
+        this.list.insertAt(index, this.keys.nextAbsent());
+        return this.list.removeAt(index);
+    }
+
+    @Benchmark
+    public Integer get()
+    {
+        return this.list.get(this.keys.nextIndex());
+    }
+
+    @Benchmark
+    public int indexOf()
+    {
+        return this.list.indexOf(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public boolean contains()
+    {
+        return this.list.contains(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public boolean removeAppend()
+    {
+        Integer element = this.keys.nextPresent();
+        boolean removed = this.list.remove(element);
+
+        this.list.append(element);
+        return removed;
+    }
+
+    @Benchmark
+    public Integer peek()
+    {
+        return this.list.peekFirst() + this.list.peekLast();
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole)
+    {
+        for (Integer element : this.list)
+            blackhole.consume(element);
+    }
+}
@@ -0,0 +1,103 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DynamicArrayBenchmark
+{
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    private DynamicArray<Integer> array;
+    private BenchmarkKeys keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.array = new DynamicArray<>();
+        this.keys  = new BenchmarkKeys(this.size, this.distribution);
+
+        for (int i = 0; i < this.size; i++)
+            this.array.append(i);
+    }
+
+    @Benchmark
+    public Integer get()
+    {
+        return this.array.get(this.keys.nextIndex());
+    }
+
+    @Benchmark
+    public void set()
+    {
+        int index = this.keys.nextIndex();
+        this.array.set(index, this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Integer appendRemoveLast()
+    {
+        this.array.append(this.keys.nextAbsent());
+        return this.array.removeAt(this.array.length() - 1);
+    }
+
+    @Benchmark
+    public DynamicArray<Integer> fill()
+    {
+        DynamicArray<Integer> filled = new DynamicArray<>();
+
+        for (int i = 0; i < this.size; i++)
+            filled.append(this.keys.nextPresent());
+
+        return filled;
+    }
+
+    @Benchmark
+    public int indexOf()
+    {
+        return this.array.indexOf(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public boolean contains()
+    {
+        return this.array.contains(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Integer removeAtAppend()
+    {
+        Integer element = this.array.removeAt(this.keys.nextIndex() % this.array.length());
+
+        this.array.append(element);
+        return element;
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole)
+    {
+        for (Integer element : this.array)
+            blackhole.consume(element);
+    }
+}
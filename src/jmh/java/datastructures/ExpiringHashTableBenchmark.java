@@ -0,0 +1,102 @@
+package datastructures;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A session store under churn: every operation puts a new key and reads a recent one, while the clock
+ * advances 1 millisecond per operation and entries live for liveEntries milliseconds, so about
+ * liveEntries entries are alive and one expires per operation. expiringHashTable removes them with its
+ * timer wheel, sweepingHashTable is a HashTable of expiration times swept by a full scan every 1024
+ * operations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpiringHashTableBenchmark
+{
+    // the operations between two sweeps of sweepingHashTable.
+    private static final int SWEEP_INTERVAL = 1024;
+
+    @Param({"10000", "100000"})
+    public int liveEntries;
+
+    private long[] clock;
+    private int next;
+
+    private ExpiringHashTable<Integer, Integer> expiringHashTable;
+    private HashTable<Integer, Long> sweepingHashTable;
+
+    @Setup
+    public void setUp()
+    {
+        this.clock             = new long[1];
+        this.next              = 0;
+        this.expiringHashTable = new ExpiringHashTable<>(this.liveEntries, TimeUnit.MILLISECONDS,
+            ExpiringHashTable.Expiry.AFTER_WRITE, () -> this.clock[0]);
+        this.sweepingHashTable = new HashTable<>();
+    }
+
+    @Benchmark
+    public Integer expiringHashTable()
+    {
+        Integer key = this.tick();
+
+        this.expiringHashTable.put(key, key);
+
+        return this.expiringHashTable.get(key - (this.liveEntries >> 1));
+    }
+
+    @Benchmark
+    public Long sweepingHashTable()
+    {
+        Integer key = this.tick();
+        long now    = this.clock[0];
+
+        this.sweepingHashTable.put(key, now + TimeUnit.MILLISECONDS.toNanos(this.liveEntries));
+
+        if (key % ExpiringHashTableBenchmark.SWEEP_INTERVAL == 0)
+        {
+            List<Integer> expired = new ArrayList<>();
+
+            for (Integer candidate : this.sweepingHashTable)
+                if (this.sweepingHashTable.get(candidate) <= now)
+                    expired.add(candidate);
+
+            for (Integer candidate : expired)
+                this.sweepingHashTable.remove(candidate);
+        }
+
+        Long expiration = this.sweepingHashTable.get(key - (this.liveEntries >> 1));
+
+        return expiration == null || expiration <= now ? null : expiration;
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Advances the clock by 1 millisecond and returns the next key.
+     */
+    private Integer tick()
+    {
+        this.clock[0] += 1_000_000;
+
+        return this.next++;
+    }
+}
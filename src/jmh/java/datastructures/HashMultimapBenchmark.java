@@ -0,0 +1,155 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Builds an inverted index of POSTINGS (key, document) pairs whose keys follow the requested distribution
+ * (universe 100000: about 10 documents per key, 1000000: about 1, ZIPFIAN: a few keys collect most of the
+ * documents), then reads it back. nested* is the HashTable of DynamicArray values that HashMultimap
+ * replaces: a get() and an insert() for every new key, a DynamicArray of 16 slots per key, and no check for
+ * duplicates. nestedSet is the same with HashSet values, which do check. count* counts the keys instead,
+ * with HashMultiset against HashTable.addTo() (Integer counts). Every build invocation indexes all the pairs
+ * into a new table. All the tables use POWER_OF_TWO_CAPACITY (sequential Integer keys cluster without it).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashMultimapBenchmark
+{
+    // the number of (key, document) pairs.
+    private static final int POSTINGS = 1 << 20;
+
+    @Param({"100000", "1000000"})
+    public int universe;
+
+    @Param({"UNIFORM", "ZIPFIAN"})
+    public KeyDistribution distribution;
+
+    private Integer[] keys;
+    private Integer[] documents;
+
+    private HashMultimap<Integer, Integer> multimap;
+    private HashTable<Integer, DynamicArray<Integer>> nested;
+
+    @Setup
+    public void setUp()
+    {
+        int[] indices  = this.distribution.sample(HashMultimapBenchmark.POSTINGS, this.universe, 42);
+        this.keys      = new Integer[indices.length];
+        this.documents = new Integer[indices.length];
+
+        for (int i = 0; i < indices.length; i++)
+        {
+            this.keys[i]      = indices[i];
+            this.documents[i] = i;
+        }
+
+        this.multimap = this.buildMultimap();
+        this.nested   = this.buildNested();
+    }
+
+    @Benchmark
+    public HashMultimap<Integer, Integer> buildMultimap()
+    {
+        HashMultimap<Integer, Integer> index = new HashMultimap<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY);
+
+        for (int i = 0; i < this.keys.length; i++)
+            index.put(this.keys[i], this.documents[i]);
+
+        return index;
+    }
+
+    @Benchmark
+    public HashTable<Integer, DynamicArray<Integer>> buildNested()
+    {
+        HashTable<Integer, DynamicArray<Integer>> index = new HashTable<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY);
+
+        for (int i = 0; i < this.keys.length; i++)
+        {
+            DynamicArray<Integer> documents = index.get(this.keys[i]);
+
+            if (documents == null)
+                index.insert(this.keys[i], documents = new DynamicArray<>());
+
+            documents.append(this.documents[i]);
+        }
+
+        return index;
+    }
+
+    @Benchmark
+    public HashTable<Integer, HashSet<Integer>> buildNestedSet()
+    {
+        HashTable<Integer, HashSet<Integer>> index = new HashTable<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY);
+
+        for (int i = 0; i < this.keys.length; i++)
+        {
+            HashSet<Integer> documents = index.get(this.keys[i]);
+
+            if (documents == null)
+                index.insert(this.keys[i], documents = new HashSet<>());
+
+            documents.add(this.documents[i]);
+        }
+
+        return index;
+    }
+
+    @Benchmark
+    public void readMultimap(Blackhole blackhole)
+    {
+        for (int key = 0; key < this.universe; key++)
+            this.multimap.forEach(key, blackhole::consume);
+    }
+
+    @Benchmark
+    public void readNested(Blackhole blackhole)
+    {
+        for (int key = 0; key < this.universe; key++)
+        {
+            DynamicArray<Integer> documents = this.nested.get(key);
+
+            if (documents != null)
+                for (Integer document : documents)
+                    blackhole.consume(document);
+        }
+    }
+
+    @Benchmark
+    public HashMultiset<Integer> countMultiset()
+    {
+        HashMultiset<Integer> counts = new HashMultiset<>();
+
+        for (Integer key : this.keys)
+            counts.add(key);
+
+        return counts;
+    }
+
+    @Benchmark
+    public HashTable<Integer, Integer> countAddTo()
+    {
+        HashTable<Integer, Integer> counts = new HashTable<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY);
+
+        for (Integer key : this.keys)
+            HashTable.addTo(counts, key, 1);
+
+        return counts;
+    }
+}
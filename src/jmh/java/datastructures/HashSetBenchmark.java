@@ -0,0 +1,78 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashSetBenchmark
+{
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    private HashSet<Integer> set;
+    private BenchmarkKeys keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.set  = new HashSet<>();
+        this.keys = new BenchmarkKeys(this.size, this.distribution);
+
+        for (int i = 0; i < this.size; i++)
+            this.set.add(i);
+    }
+
+    @Benchmark
+    public boolean contains()
+    {
+        return this.set.contains(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public boolean containsMiss()
+    {
+        return this.set.contains(this.keys.nextAbsent());
+    }
+
+    @Benchmark
+    public boolean addExisting()
+    {
+        return this.set.add(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public boolean addRemove()
+    {
+        Integer element = this.keys.nextAbsent();
+
+        this.set.add(element);
+        return this.set.remove(element);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole)
+    {
+        for (Integer element : this.set)
+            blackhole.consume(element);
+    }
+}
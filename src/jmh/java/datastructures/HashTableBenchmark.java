@@ -0,0 +1,101 @@
+package datastructures;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashTableBenchmark
+{
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private HashTable<Integer, Integer> hashTable;
+    private BenchmarkKeys keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.hashTable = this.metrics ? new HashTable<>(25, 0.7, HashTable.Option.METRICS) : new HashTable<>();
+        this.keys      = new BenchmarkKeys(this.size, this.distribution);
+
+        for (int i = 0; i < this.size; i++)
+            this.hashTable.insert(i, i);
+    }
+
+    @Benchmark
+    public Integer get()
+    {
+        return this.hashTable.get(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Integer getMiss()
+    {
+        return this.hashTable.get(this.keys.nextAbsent());
+    }
+
+    @Benchmark
+    public boolean hasKey()
+    {
+        return this.hashTable.hasKey(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Integer update()
+    {
+        Integer key = this.keys.nextPresent();
+        return this.hashTable.insert(key, key);
+    }
+
+    @Benchmark
+    public Integer insertRemove()
+    {
+        Integer key = this.keys.nextAbsent();
+
+        this.hashTable.insert(key, key);
+        return this.hashTable.remove(key);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole)
+    {
+        for (Integer key : this.hashTable)
+            blackhole.consume(key);
+    }
+
+    @Benchmark
+    public List<Integer> keys()
+    {
+        return this.hashTable.keys();
+    }
+
+    @Benchmark
+    public List<Integer> values()
+    {
+        return this.hashTable.values();
+    }
+}
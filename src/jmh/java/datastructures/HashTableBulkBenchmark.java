@@ -0,0 +1,102 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the batch APIs (putAll/getAll) against loops of single-key insert/get.
+ * A load builds a whole table from a snapshot of the given size, a lookup resolves a batch of keys.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashTableBulkBenchmark
+{
+    // the number of keys resolved by one lookup, and the number of different batches cycled through
+    // (so a lookup does not find its buckets in the cache because the previous lookup used the same keys).
+    private static final int BATCH   = 1024;
+    private static final int BATCHES = 64;
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    private Integer[] snapshot;
+    private HashTable<Integer, Integer> hashTable;
+
+    private Integer[][] batches;
+    private Integer[] results;
+    private int next;
+
+    @Setup
+    public void setUp()
+    {
+        this.snapshot  = BenchmarkKeys.shuffled(this.size);
+        this.hashTable = new HashTable<>();
+        this.hashTable.putAll(this.snapshot, this.snapshot);
+
+        BenchmarkKeys keys = new BenchmarkKeys(this.size, this.distribution);
+
+        this.batches = new Integer[BATCHES][BATCH];
+        this.results = new Integer[BATCH];
+
+        for (Integer[] batch : this.batches)
+            for (int i = 0; i < BATCH; i++)
+                batch[i] = (i & 1) == 0 ? keys.nextPresent() : keys.nextAbsent();
+    }
+
+    @Benchmark
+    public HashTable<Integer, Integer> loadOneByOne()
+    {
+        HashTable<Integer, Integer> loaded = new HashTable<>();
+
+        for (Integer key : this.snapshot)
+            loaded.insert(key, key);
+
+        return loaded;
+    }
+
+    @Benchmark
+    public HashTable<Integer, Integer> loadPutAll()
+    {
+        HashTable<Integer, Integer> loaded = new HashTable<>();
+        loaded.putAll(this.snapshot, this.snapshot);
+
+        return loaded;
+    }
+
+    @Benchmark
+    public Integer[] lookupOneByOne()
+    {
+        Integer[] batch = this.batches[this.next++ & (BATCHES - 1)];
+
+        for (int i = 0; i < BATCH; i++)
+            this.results[i] = this.hashTable.get(batch[i]);
+
+        return this.results;
+    }
+
+    @Benchmark
+    public Integer[] lookupGetAll()
+    {
+        this.hashTable.getAll(this.batches[this.next++ & (BATCHES - 1)], this.results);
+
+        return this.results;
+    }
+}
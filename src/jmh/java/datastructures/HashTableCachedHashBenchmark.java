@@ -0,0 +1,108 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cached hashes option on long String keys that share a common prefix,
+ * so every equals() call that is not filtered out by the hash compares the whole prefix.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashTableCachedHashBenchmark
+{
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    @Param({"16", "256"})
+    public int keyLength;
+
+    @Param({"false", "true"})
+    public boolean cachedHashes;
+
+    private HashTable<String, Integer> hashTable;
+    private BenchmarkKeys keys;
+
+    // stored keys and equal (but not identical) lookup keys, so String.equals() cannot short-circuit.
+    private String[] storedKeys;
+    private String[] lookupKeys;
+    private String[] absentKeys;
+
+    @Setup
+    public void setUp()
+    {
+        this.hashTable  = this.cachedHashes
+            ? new HashTable<>(25, 0.7, HashTable.Option.CACHED_HASHES)
+            : new HashTable<>();
+        this.keys       = new BenchmarkKeys(this.size, this.distribution);
+        this.storedKeys = new String[this.size];
+        this.lookupKeys = new String[this.size];
+        this.absentKeys = new String[this.size];
+
+        for (int i = 0; i < this.size; i++)
+        {
+            this.storedKeys[i] = this.key(i);
+            this.lookupKeys[i] = new String(this.storedKeys[i]);
+            this.absentKeys[i] = this.key(this.size + i);
+
+            this.hashTable.insert(this.storedKeys[i], i);
+        }
+    }
+
+    @Benchmark
+    public Integer get()
+    {
+        return this.hashTable.get(this.lookupKeys[this.keys.nextIndex()]);
+    }
+
+    @Benchmark
+    public Integer getMiss()
+    {
+        return this.hashTable.get(this.absentKeys[this.keys.nextIndex()]);
+    }
+
+    @Benchmark
+    public HashTable<String, Integer> fill()
+    {
+        HashTable<String, Integer> filled = this.cachedHashes
+            ? new HashTable<>(25, 0.7, HashTable.Option.CACHED_HASHES)
+            : new HashTable<>();
+
+        for (int i = 0; i < this.size; i++)
+            filled.insert(this.storedKeys[i], i);
+
+        return filled;
+    }
+
+    /**
+     * Builds a key of the requested length that ends with the given number.
+     */
+    private String key(int number)
+    {
+        String suffix = Integer.toString(number);
+        StringBuilder sb = new StringBuilder(this.keyLength);
+
+        while (sb.length() + suffix.length() < this.keyLength)
+            sb.append('s');
+
+        return sb.append(suffix).toString();
+    }
+}
@@ -0,0 +1,94 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares linear probing with tombstones (HashTable) against Robin Hood probing
+ * with backward shift deletion (RobinHoodHashTable) under insert/remove churn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashTableChurnBenchmark
+{
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    private HashTable<Integer, Integer> linear;
+    private RobinHoodHashTable<Integer, Integer> robinHood;
+    private BenchmarkKeys keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.linear    = new HashTable<>();
+        this.robinHood = new RobinHoodHashTable<>(16, 0.9);
+        this.keys      = new BenchmarkKeys(this.size, this.distribution);
+
+        for (int i = 0; i < this.size; i++)
+        {
+            this.linear.insert(i, i);
+            this.robinHood.insert(i, i);
+        }
+    }
+
+    @Benchmark
+    public Integer linearChurn()
+    {
+        Integer key = this.keys.nextAbsent();
+
+        this.linear.insert(key, key);
+        return this.linear.remove(key);
+    }
+
+    @Benchmark
+    public Integer robinHoodChurn()
+    {
+        Integer key = this.keys.nextAbsent();
+
+        this.robinHood.insert(key, key);
+        return this.robinHood.remove(key);
+    }
+
+    @Benchmark
+    public Integer linearGet()
+    {
+        return this.linear.get(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Integer robinHoodGet()
+    {
+        return this.robinHood.get(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Integer linearGetMiss()
+    {
+        return this.linear.get(this.keys.nextAbsent());
+    }
+
+    @Benchmark
+    public Integer robinHoodGetMiss()
+    {
+        return this.robinHood.get(this.keys.nextAbsent());
+    }
+}
@@ -0,0 +1,105 @@
+package datastructures;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a hash flooding attack: String keys built from "Aa"/"BB" blocks all have the same hashCode(),
+ * so without seeded hashing every insert walks the probe sequence of all the keys inserted before it.
+ * RANDOM keys of the same length measure what seeded hashing costs when there is no attack.
+ * The longest probe of every configuration is printed after the run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashTableCollisionBenchmark
+{
+    @Param({"1024", "16384"})
+    public int size;
+
+    @Param({"COLLIDING", "RANDOM"})
+    public String keyKind;
+
+    @Param({"false", "true"})
+    public boolean seeded;
+
+    private String[] keys;
+    private HashTable<String, Integer> hashTable;
+
+    @Setup
+    public void setUp()
+    {
+        final int blocks = Integer.numberOfTrailingZeros(Integer.highestOneBit(this.size - 1) << 1);
+        Random random    = new Random(42);
+
+        this.keys = new String[this.size];
+
+        for (int i = 0; i < this.size; i++)
+        {
+            StringBuilder builder = new StringBuilder();
+
+            for (int bit = 0; bit < blocks; bit++)
+            {
+                if (this.keyKind.equals("COLLIDING"))
+                    builder.append((i >>> bit & 1) == 0 ? "Aa" : "BB");
+                else
+                    builder.append((char) ('a' + random.nextInt(26))).append((char) ('a' + random.nextInt(26)));
+            }
+
+            this.keys[i] = builder.toString();
+        }
+
+        this.hashTable = this.fill();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        System.out.println("\nmax probe length: " + this.hashTable.stats().getMaxProbeLength());
+    }
+
+    @Benchmark
+    public HashTable<String, Integer> insertAll()
+    {
+        return this.fill();
+    }
+
+    @Benchmark
+    public long getAll()
+    {
+        long sum = 0;
+
+        for (String key : this.keys)
+            sum += this.hashTable.get(key);
+
+        return sum;
+    }
+
+    private HashTable<String, Integer> fill()
+    {
+        HashTable<String, Integer> hashTable = this.seeded
+            ? new HashTable<>(25, 0.7, HashTable.Option.METRICS, HashTable.Option.SEEDED_HASHING)
+            : new HashTable<>(25, 0.7, HashTable.Option.METRICS);
+
+        for (int i = 0; i < this.keys.length; i++)
+            hashTable.insert(this.keys[i], i);
+
+        return hashTable;
+    }
+}
@@ -0,0 +1,108 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the lookup engines on hits and misses: HashTable (stride-17 probing over the keys array),
+ * RobinHoodHashTable (linear probing with early exit on misses), SwissHashTable (8-slot groups
+ * filtered by 7-bit tags in one long of control bytes) and CuckooHashTable (two 4-slot buckets per key,
+ * no probe chains). All tables are filled to the same keys; SampleTime shows the tail latencies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashTableEngineBenchmark
+{
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN"})
+    public KeyDistribution distribution;
+
+    private HashTable<Integer, Integer> hashTable;
+    private RobinHoodHashTable<Integer, Integer> robinHood;
+    private SwissHashTable<Integer, Integer> swiss;
+    private CuckooHashTable<Integer, Integer> cuckoo;
+    private BenchmarkKeys keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.hashTable = new HashTable<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY);
+        this.robinHood = new RobinHoodHashTable<>();
+        this.swiss     = new SwissHashTable<>();
+        this.cuckoo    = new CuckooHashTable<>();
+        this.keys      = new BenchmarkKeys(this.size, this.distribution);
+
+        for (Integer key : BenchmarkKeys.shuffled(this.size))
+        {
+            this.hashTable.insert(key, key);
+            this.robinHood.insert(key, key);
+            this.swiss.insert(key, key);
+            this.cuckoo.insert(key, key);
+        }
+    }
+
+    @Benchmark
+    public Integer hashTableGet()
+    {
+        return this.hashTable.get(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Integer hashTableGetMiss()
+    {
+        return this.hashTable.get(this.keys.nextAbsent());
+    }
+
+    @Benchmark
+    public Integer robinHoodGet()
+    {
+        return this.robinHood.get(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Integer robinHoodGetMiss()
+    {
+        return this.robinHood.get(this.keys.nextAbsent());
+    }
+
+    @Benchmark
+    public Integer swissGet()
+    {
+        return this.swiss.get(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Integer swissGetMiss()
+    {
+        return this.swiss.get(this.keys.nextAbsent());
+    }
+
+    @Benchmark
+    public Integer cuckooGet()
+    {
+        return this.cuckoo.get(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Integer cuckooGetMiss()
+    {
+        return this.cuckoo.get(this.keys.nextAbsent());
+    }
+}
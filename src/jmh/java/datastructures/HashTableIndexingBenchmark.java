@@ -0,0 +1,69 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares modulo indexing against power-of-two (bit mask) indexing on get-heavy workloads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashTableIndexingBenchmark
+{
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    @Param({"false", "true"})
+    public boolean powerOfTwo;
+
+    private HashTable<Integer, Integer> hashTable;
+    private BenchmarkKeys keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.hashTable = this.powerOfTwo
+            ? new HashTable<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY)
+            : new HashTable<>();
+        this.keys = new BenchmarkKeys(this.size, this.distribution);
+
+        for (int i = 0; i < this.size; i++)
+            this.hashTable.insert(i, i);
+    }
+
+    @Benchmark
+    public Integer get()
+    {
+        return this.hashTable.get(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Integer getMiss()
+    {
+        return this.hashTable.get(this.keys.nextAbsent());
+    }
+
+    @Benchmark
+    public boolean hasKey()
+    {
+        return this.hashTable.hasKey(this.keys.nextPresent());
+    }
+}
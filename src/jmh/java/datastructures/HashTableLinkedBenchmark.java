@@ -0,0 +1,164 @@
+package datastructures;
+
+import java.util.Map;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the linked modes of HashTable with java.util.LinkedHashMap: building a table in insertion
+ * order, walking it in that order, and an LRU cache of size / 10 keys (ACCESS_ORDER, evicting firstKey())
+ * replaying a zipfian trace. The plain HashTable shows what the linked order costs on insert. All the
+ * tables use POWER_OF_TWO_CAPACITY, so the sequential Integer keys do not cluster.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashTableLinkedBenchmark
+{
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private Integer[] keys;
+    private Integer[] trace;
+
+    private HashTable<Integer, Integer> linkedHashTable;
+    private LinkedHashMap<Integer, Integer> linkedHashMap;
+
+    @Setup
+    public void setUp()
+    {
+        this.keys  = BenchmarkKeys.shuffled(this.size);
+        this.trace = new Integer[this.size];
+
+        int[] indices = KeyDistribution.ZIPFIAN.sample(this.size, this.size, 42);
+
+        for (int i = 0; i < indices.length; i++)
+            this.trace[i] = indices[i];
+
+        this.linkedHashTable = this.insertLinked();
+        this.linkedHashMap   = this.insertLinkedHashMap();
+    }
+
+    @Benchmark
+    public HashTable<Integer, Integer> insertPlain()
+    {
+        HashTable<Integer, Integer> hashTable = new HashTable<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY);
+
+        for (Integer key : this.keys)
+            hashTable.insert(key, key);
+
+        return hashTable;
+    }
+
+    @Benchmark
+    public HashTable<Integer, Integer> insertLinked()
+    {
+        HashTable<Integer, Integer> hashTable = new HashTable<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY, HashTable.Option.INSERTION_ORDER);
+
+        for (Integer key : this.keys)
+            hashTable.insert(key, key);
+
+        return hashTable;
+    }
+
+    @Benchmark
+    public LinkedHashMap<Integer, Integer> insertLinkedHashMap()
+    {
+        LinkedHashMap<Integer, Integer> map = new LinkedHashMap<>();
+
+        for (Integer key : this.keys)
+            map.put(key, key);
+
+        return map;
+    }
+
+    @Benchmark
+    public long iterateLinked()
+    {
+        long sum = 0;
+        HashTable<Integer, Integer>.Cursor cursor = this.linkedHashTable.cursor();
+
+        while (cursor.next())
+            sum += cursor.getValue();
+
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateLinkedHashMap()
+    {
+        long sum = 0;
+
+        for (Map.Entry<Integer, Integer> entry : this.linkedHashMap.entrySet())
+            sum += entry.getValue();
+
+        return sum;
+    }
+
+    @Benchmark
+    public int lruLinked()
+    {
+        final int capacity = this.size / 10;
+        HashTable<Integer, Integer> lru = new HashTable<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY, HashTable.Option.ACCESS_ORDER);
+        int hits = 0;
+
+        for (Integer key : this.trace)
+        {
+            if (lru.get(key) != null)
+            {
+                hits++;
+                continue;
+            }
+
+            lru.insert(key, key);
+
+            if (lru.size() > capacity)
+                lru.remove(lru.firstKey());
+        }
+
+        return hits;
+    }
+
+    @Benchmark
+    public int lruLinkedHashMap()
+    {
+        final int capacity = this.size / 10;
+        LinkedHashMap<Integer, Integer> lru = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest)
+            {
+                return this.size() > capacity;
+            }
+        };
+        int hits = 0;
+
+        for (Integer key : this.trace)
+        {
+            if (lru.get(key) != null)
+            {
+                hits++;
+                continue;
+            }
+
+            lru.put(key, key);
+        }
+
+        return hits;
+    }
+}
@@ -0,0 +1,66 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the insert latency distribution while a table grows from empty to the given size.
+ * With a stop-the-world resize the highest percentiles grow with the table, with incremental resize they stay flat.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashTableResizeBenchmark
+{
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean incremental;
+
+    private HashTable<Integer, Integer> hashTable;
+    private Integer[] keys;
+    private int next;
+
+    @Setup
+    public void setUp()
+    {
+        this.keys = BenchmarkKeys.shuffled(this.size);
+        this.hashTable = this.newHashTable();
+    }
+
+    @Benchmark
+    public Integer insert()
+    {
+        // start over with an empty table once it is full, so every size goes through all the resizes.
+        if (this.next == this.size)
+        {
+            this.hashTable = this.newHashTable();
+            this.next = 0;
+        }
+
+        Integer key = this.keys[this.next++];
+        return this.hashTable.insert(key, key);
+    }
+
+    private HashTable<Integer, Integer> newHashTable()
+    {
+        return this.incremental
+            ? new HashTable<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY, HashTable.Option.INCREMENTAL_RESIZE)
+            : new HashTable<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY);
+    }
+}
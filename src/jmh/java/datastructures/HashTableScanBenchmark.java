@@ -0,0 +1,119 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares full scans of a table: the keys() copy with a get() per key, the live views, the cursor and forEach,
+ * and the sequential against the parallel key streams and pair scans (parallel ones use the common fork/join pool,
+ * so compare them with -Djava.util.concurrent.ForkJoinPool.common.parallelism=N for N cores).
+ * Run with -prof gc to compare the allocation rate of every scan.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashTableScanBenchmark
+{
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    private HashTable<Integer, Integer> hashTable;
+
+    @Setup
+    public void setUp()
+    {
+        this.hashTable = new HashTable<>();
+
+        for (Integer key : BenchmarkKeys.shuffled(this.size))
+            this.hashTable.insert(key, key);
+    }
+
+    @Benchmark
+    public long keysAndGet()
+    {
+        long sum = 0;
+
+        for (Integer key : this.hashTable.keys())
+            sum += key + this.hashTable.get(key);
+
+        return sum;
+    }
+
+    @Benchmark
+    public long views()
+    {
+        long sum = 0;
+
+        for (Integer key : this.hashTable.keySet())
+            sum += key;
+
+        for (Integer value : this.hashTable.valueView())
+            sum += value;
+
+        return sum;
+    }
+
+    @Benchmark
+    public long cursor()
+    {
+        long sum = 0;
+
+        for (HashTable<Integer, Integer>.Cursor cursor = this.hashTable.cursor(); cursor.next(); )
+            sum += cursor.getKey() + cursor.getValue();
+
+        return sum;
+    }
+
+    @Benchmark
+    public long forEach()
+    {
+        long[] sum = new long[1];
+
+        this.hashTable.forEach((key, value) -> sum[0] += key + value);
+
+        return sum[0];
+    }
+
+    @Benchmark
+    public long stream()
+    {
+        return this.hashTable.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long parallelStream()
+    {
+        return this.hashTable.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long parallelForEach()
+    {
+        LongAdder sum = new LongAdder();
+
+        this.hashTable.parallelForEach((key, value) -> sum.add(key + value));
+
+        return sum.sum();
+    }
+
+    @Benchmark
+    public Long parallelReduce()
+    {
+        return this.hashTable.parallelReduce((key, value) -> (long) key + value, Long::sum);
+    }
+}
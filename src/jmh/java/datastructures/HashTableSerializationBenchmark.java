@@ -0,0 +1,109 @@
+package datastructures;
+
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures dumping a whole table to a channel and restoring it, with and without block compression,
+ * against the keys()/values() copies that were the only way to get the entries out before.
+ * Values are derived from the keys (value = key / 8), so compressed blocks have some redundancy to find.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashTableSerializationBenchmark
+{
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean compress;
+
+    private HashTable<Integer, Long> hashTable;
+    private byte[] dump;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        this.hashTable = new HashTable<>();
+
+        for (Integer key : BenchmarkKeys.shuffled(this.size))
+            this.hashTable.insert(key, (long) (key / 8));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        this.hashTable.writeTo(Channels.newChannel(output), Serializer.INTEGER, Serializer.LONG, this.compress);
+
+        this.dump = output.toByteArray();
+    }
+
+    @Benchmark
+    public long copyLists()
+    {
+        return this.hashTable.keys().size() + this.hashTable.values().size();
+    }
+
+    @Benchmark
+    public long write() throws IOException
+    {
+        DiscardingChannel channel = new DiscardingChannel();
+        this.hashTable.writeTo(channel, Serializer.INTEGER, Serializer.LONG, this.compress);
+
+        return channel.bytes;
+    }
+
+    @Benchmark
+    public HashTable<Integer, Long> read() throws IOException
+    {
+        return HashTable.readFrom(Channels.newChannel(new ByteArrayInputStream(this.dump)), Serializer.INTEGER, Serializer.LONG);
+    }
+
+    /**
+     * Counts and drops the written bytes, so a write measures the encoding and not a destination.
+     */
+    private static final class DiscardingChannel implements WritableByteChannel
+    {
+        long bytes;
+
+        @Override
+        public int write(ByteBuffer buffer)
+        {
+            final int written = buffer.remaining();
+
+            buffer.position(buffer.limit());
+            this.bytes += written;
+
+            return written;
+        }
+
+        @Override
+        public boolean isOpen()
+        {
+            return true;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Counts the words of a text drawn from a vocabulary with the requested distribution (ZIPFIAN resembles
+ * natural language). getInsert is the get() then insert() pattern that probes twice per word, merge/addTo
+ * locate the word once. Every invocation counts the whole text into a new table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashTableWordCountBenchmark
+{
+    // the number of words in the text.
+    private static final int TEXT_SIZE = 1 << 20;
+
+    @Param({"1000", "100000"})
+    public int vocabulary;
+
+    @Param({"UNIFORM", "ZIPFIAN"})
+    public KeyDistribution distribution;
+
+    private String[] text;
+
+    @Setup
+    public void setUp()
+    {
+        String[] words = new String[this.vocabulary];
+
+        for (int i = 0; i < this.vocabulary; i++)
+            words[i] = "word" + i;
+
+        int[] indices = this.distribution.sample(HashTableWordCountBenchmark.TEXT_SIZE, this.vocabulary, 42);
+        this.text     = new String[indices.length];
+
+        for (int i = 0; i < indices.length; i++)
+            this.text[i] = words[indices[i]];
+    }
+
+    @Benchmark
+    public HashTable<String, Integer> getInsert()
+    {
+        HashTable<String, Integer> counts = new HashTable<>();
+
+        for (String word : this.text)
+        {
+            Integer count = counts.get(word);
+            counts.insert(word, count == null ? 1 : count + 1);
+        }
+
+        return counts;
+    }
+
+    @Benchmark
+    public HashTable<String, Integer> merge()
+    {
+        HashTable<String, Integer> counts = new HashTable<>();
+
+        for (String word : this.text)
+            counts.merge(word, 1, Integer::sum);
+
+        return counts;
+    }
+
+    @Benchmark
+    public HashTable<String, Integer> addTo()
+    {
+        HashTable<String, Integer> counts = new HashTable<>();
+
+        for (String word : this.text)
+            HashTable.addTo(counts, word, 1);
+
+        return counts;
+    }
+}
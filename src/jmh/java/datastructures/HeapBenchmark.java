@@ -0,0 +1,76 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeapBenchmark
+{
+    // contains/remove are O(n), so the largest size is capped at 10M.
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    private Heap<Integer> heap;
+    private BenchmarkKeys keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.heap = new Heap<>(BenchmarkKeys.shuffled(this.size));
+        this.keys = new BenchmarkKeys(this.size, this.distribution);
+    }
+
+    @Benchmark
+    public Integer addPoll()
+    {
+        this.heap.add(this.keys.nextPresent());
+        return this.heap.poll();
+    }
+
+    @Benchmark
+    public Integer peek()
+    {
+        return this.heap.peek();
+    }
+
+    @Benchmark
+    public boolean contains()
+    {
+        return this.heap.contains(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public boolean removeAdd()
+    {
+        Integer element = this.keys.nextPresent();
+        boolean removed = this.heap.remove(element);
+
+        this.heap.add(element);
+        return removed;
+    }
+
+    @Benchmark
+    public Heap<Integer> heapify()
+    {
+        return new Heap<>(BenchmarkKeys.shuffled(this.size));
+    }
+}
@@ -0,0 +1,105 @@
+package datastructures;
+
+import java.util.SplittableRandom;
+
+/**
+ * Key access patterns shared by the benchmarks.
+ * Every distribution produces indices in the domain [0, universe).
+ */
+public enum KeyDistribution
+{
+    /**
+     * Every index is equally likely.
+     */
+    UNIFORM
+    {
+        @Override
+        public int[] sample(int count, int universe, long seed)
+        {
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] indices = new int[count];
+
+            for (int i = 0; i < count; i++)
+                indices[i] = random.nextInt(universe);
+
+            return indices;
+        }
+    },
+
+    /**
+     * A small set of hot indices receives most of the accesses (Zipf's law, theta = 0.99).
+     */
+    ZIPFIAN
+    {
+        @Override
+        public int[] sample(int count, int universe, long seed)
+        {
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] indices = new int[count];
+
+            // Gray et al. "Quickly Generating Billion-Record Synthetic Databases" (the YCSB generator).
+            double zetaN   = KeyDistribution.zeta(universe, ZIPFIAN_THETA);
+            double zeta2   = KeyDistribution.zeta(2, ZIPFIAN_THETA);
+            double alpha   = 1.0 / (1.0 - ZIPFIAN_THETA);
+            double eta     = (1 - Math.pow(2.0 / universe, 1 - ZIPFIAN_THETA)) / (1 - zeta2 / zetaN);
+
+            for (int i = 0; i < count; i++)
+            {
+                double u  = random.nextDouble();
+                double uz = u * zetaN;
+
+                if (uz < 1.0)
+                    indices[i] = 0;
+                else if (uz < 1.0 + Math.pow(0.5, ZIPFIAN_THETA))
+                    indices[i] = Math.min(1, universe - 1);
+                else
+                    indices[i] = Math.min(universe - 1, (int) (universe * Math.pow(eta * u - eta + 1, alpha)));
+            }
+
+            return indices;
+        }
+    },
+
+    /**
+     * Indices are visited in ascending order, wrapping around at the end of the universe.
+     */
+    SEQUENTIAL
+    {
+        @Override
+        public int[] sample(int count, int universe, long seed)
+        {
+            int[] indices = new int[count];
+
+            for (int i = 0; i < count; i++)
+                indices[i] = i % universe;
+
+            return indices;
+        }
+    };
+
+    // skew used by the zipfian distribution (the YCSB default).
+    private static final double ZIPFIAN_THETA = 0.99;
+
+    /**
+     * Generates a sequence of indices following this distribution.
+     *
+     * @param count    - the number of indices to generate.
+     * @param universe - the number of distinct indices.
+     * @param seed     - random seed, so that runs are reproducible.
+     * @return int[]   - generated indices.
+     */
+    public abstract int[] sample(int count, int universe, long seed);
+
+    /**
+     * Computes the generalized harmonic number of order theta.
+     */
+    private static double zeta(int n, double theta)
+    {
+        double sum = 0;
+
+        for (int i = 1; i <= n; i++)
+            sum += 1 / Math.pow(i, theta);
+
+        return sum;
+    }
+}
@@ -0,0 +1,101 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the on-heap HashTable (power-of-two mode) against OffHeapHashTable with Integer keys and Long values.
+ * Run with -prof gc to compare heap usage and collection counts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OffHeapHashTableBenchmark
+{
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    private HashTable<Integer, Long> onHeap;
+    private OffHeapHashTable<Integer, Long> offHeap;
+    private BenchmarkKeys keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.onHeap  = new HashTable<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY);
+        this.offHeap = new OffHeapHashTable<>(FixedSizeCodec.INTEGER, FixedSizeCodec.LONG);
+        this.keys    = new BenchmarkKeys(this.size, this.distribution);
+
+        for (int i = 0; i < this.size; i++)
+        {
+            this.onHeap.insert(i, (long) i);
+            this.offHeap.insert(i, (long) i);
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        this.offHeap.close();
+    }
+
+    @Benchmark
+    public Long onHeapGet()
+    {
+        return this.onHeap.get(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Long offHeapGet()
+    {
+        return this.offHeap.get(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public Long onHeapGetMiss()
+    {
+        return this.onHeap.get(this.keys.nextAbsent());
+    }
+
+    @Benchmark
+    public Long offHeapGetMiss()
+    {
+        return this.offHeap.get(this.keys.nextAbsent());
+    }
+
+    @Benchmark
+    public Long onHeapChurn()
+    {
+        Integer key = this.keys.nextAbsent();
+
+        this.onHeap.insert(key, 1L);
+        return this.onHeap.remove(key);
+    }
+
+    @Benchmark
+    public Long offHeapChurn()
+    {
+        Integer key = this.keys.nextAbsent();
+
+        this.offHeap.insert(key, 1L);
+        return this.offHeap.remove(key);
+    }
+}
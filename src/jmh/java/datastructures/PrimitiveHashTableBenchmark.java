@@ -0,0 +1,78 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares a boxed HashTable<Integer, Integer> against IntIntHashTable on an integer counter workload.
+ * Keys are drawn as primitive indices, so any allocation reported by the GC profiler comes from the table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrimitiveHashTableBenchmark
+{
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    private HashTable<Integer, Integer> boxed;
+    private IntIntHashTable primitive;
+    private BenchmarkKeys keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.boxed     = new HashTable<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY);
+        this.primitive = new IntIntHashTable();
+        this.keys      = new BenchmarkKeys(this.size, this.distribution);
+
+        for (int i = 0; i < this.size; i++)
+        {
+            this.boxed.insert(i, 0);
+            this.primitive.insert(i, 0);
+        }
+    }
+
+    @Benchmark
+    public Integer boxedIncrement()
+    {
+        int key = this.keys.nextIndex();
+        return this.boxed.insert(key, this.boxed.get(key) + 1);
+    }
+
+    @Benchmark
+    public int primitiveIncrement()
+    {
+        int key = this.keys.nextIndex();
+        return this.primitive.insert(key, this.primitive.get(key) + 1);
+    }
+
+    @Benchmark
+    public Integer boxedGet()
+    {
+        return this.boxed.get(this.keys.nextIndex());
+    }
+
+    @Benchmark
+    public int primitiveGet()
+    {
+        return this.primitive.get(this.keys.nextIndex());
+    }
+}
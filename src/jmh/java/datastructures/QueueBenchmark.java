@@ -0,0 +1,71 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueueBenchmark
+{
+    // indexOf is O(n), so the largest size is capped at 10M.
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SEQUENTIAL"})
+    public KeyDistribution distribution;
+
+    private Queue<Integer> queue;
+    private BenchmarkKeys keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.queue = new Queue<>();
+        this.keys  = new BenchmarkKeys(this.size, this.distribution);
+
+        for (int i = 0; i < this.size; i++)
+            this.queue.offer(i);
+    }
+
+    @Benchmark
+    public Integer offerPoll()
+    {
+        this.queue.offer(this.keys.nextAbsent());
+        return this.queue.poll();
+    }
+
+    @Benchmark
+    public Integer peek()
+    {
+        return this.queue.peek();
+    }
+
+    @Benchmark
+    public int indexOf()
+    {
+        return this.queue.indexOf(this.keys.nextPresent());
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole)
+    {
+        for (Integer element : this.queue)
+            blackhole.consume(element);
+    }
+}
@@ -5,6 +5,8 @@ import java.util.HashMap;
 import java.util.TreeMap;
 import java.util.LinkedHashMap;
 
+import datastructures.HashTable;
+
 public class MapInterface {
 
     public static void main(String[] args) {
@@ -60,6 +62,15 @@ public class MapInterface {
 
         System.out.println("LinkedHashMap (1): " + linkedHashMap);
 
+        // HashTable with the INSERTION_ORDER option (order of insertion preserved, without a node per entry)
+        HashTable<String, Product> linkedHashTable = new HashTable<>(16, 0.7, HashTable.Option.INSERTION_ORDER);
+
+        linkedHashTable.put("Computer", new Product("Computer", 820));
+        linkedHashTable.put("Table", new Product("Table", 100));
+        linkedHashTable.put("TV", new Product("TV", 450));
+
+        System.out.println("HashTable INSERTION_ORDER (1): " + linkedHashTable);
+
         // TreeMap implements Map (elements sorted)
         TreeMap<String, Product> treeMap = new TreeMap<>();
 
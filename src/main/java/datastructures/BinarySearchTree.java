@@ -1,3 +1,5 @@
+package datastructures;
+
 public class BinarySearchTree<T extends Comparable<T>>
 {
     // BST root node.
@@ -0,0 +1,224 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.lang.invoke.VarHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Block compression in the LZ4 block format: a block is a sequence of (literals, match) pairs, where a match
+ * copies 4 or more bytes from up to 64 KiB back. Matches are found with a single-entry hash table of
+ * 4-byte sequences, which trades compression ratio for speed.
+ */
+final class BlockCompression
+{
+    private static final VarHandle INTS = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // compression constants.
+    private static final int MIN_MATCH     = 4;
+    private static final int MAX_OFFSET    = 65535;
+    private static final int LAST_LITERALS = 5;
+    private static final int MATCH_LIMIT   = 12;
+    private static final int HASH_BITS     = 14;
+
+    private BlockCompression()
+    {
+    }
+
+    /**
+     * The largest possible size of a compressed block.
+     *
+     * @param length - the size of the uncompressed block.
+     * @return int   - the size of a buffer that can hold any compressed block of the given size.
+     */
+    static int maximumCompressedLength(int length)
+    {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compresses a block.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     *
+     * @param source      - the uncompressed bytes.
+     * @param length      - the number of uncompressed bytes.
+     * @param destination - the buffer for the compressed bytes (at least maximumCompressedLength(length) bytes).
+     * @param table       - scratch hash table of 1 << 14 entries (its content does not matter).
+     * @return int        - the number of compressed bytes.
+     */
+    static int compress(byte[] source, int length, byte[] destination, int[] table)
+    {
+        Arrays.fill(table, -1);
+
+        int anchor = 0, output = 0;
+
+        for (int i = 0; i < length - BlockCompression.MATCH_LIMIT; )
+        {
+            final int sequence  = (int) BlockCompression.INTS.get(source, i);
+            final int slot      = (sequence * -1640531535) >>> (32 - BlockCompression.HASH_BITS);
+            final int reference = table[slot];
+
+            table[slot] = i;
+
+            if (reference < 0 || i - reference > BlockCompression.MAX_OFFSET || (int) BlockCompression.INTS.get(source, reference) != sequence)
+            {
+                // the longer no match is found, the larger the steps (incompressible data is skipped over quickly)
+                i += 1 + ((i - anchor) >>> 6);
+                continue;
+            }
+
+            int matchLength = BlockCompression.MIN_MATCH;
+
+            while (i + matchLength < length - BlockCompression.LAST_LITERALS && source[reference + matchLength] == source[i + matchLength])
+                matchLength++;
+
+            output = BlockCompression.writeSequence(source, anchor, i - anchor, destination, output, i - reference, matchLength);
+
+            i     += matchLength;
+            anchor = i;
+        }
+
+        return BlockCompression.writeSequence(source, anchor, length - anchor, destination, output, 0, 0);
+    }
+
+    /**
+     * Decompresses a block.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     *
+     * @param source      - the compressed bytes.
+     * @param length      - the number of compressed bytes.
+     * @param destination - the buffer for the uncompressed bytes.
+     * @param expected    - the number of uncompressed bytes.
+     * @throws IOException if the block is corrupted.
+     */
+    static void decompress(byte[] source, int length, byte[] destination, int expected) throws IOException
+    {
+        int input = 0, output = 0;
+
+        while (input < length)
+        {
+            final int token = source[input++] & 0xFF;
+
+            // 1. literals
+            int literals = token >>> 4;
+
+            if (literals == 15)
+            {
+                int extra;
+
+                do
+                {
+                    if (input >= length)
+                        throw new IOException("Corrupted block");
+
+                    extra     = source[input++] & 0xFF;
+                    literals += extra;
+                }
+                while (extra == 255);
+            }
+
+            if (literals > length - input || literals > expected - output)
+                throw new IOException("Corrupted block");
+
+            System.arraycopy(source, input, destination, output, literals);
+            input  += literals;
+            output += literals;
+
+            // the last sequence has no match
+            if (input == length)
+                break;
+
+            // 2. match
+            if (length - input < 2)
+                throw new IOException("Corrupted block");
+
+            final int offset = (source[input] & 0xFF) | (source[input + 1] & 0xFF) << 8;
+            input += 2;
+
+            int matchLength = token & 15;
+
+            if (matchLength == 15)
+            {
+                int extra;
+
+                do
+                {
+                    if (input >= length)
+                        throw new IOException("Corrupted block");
+
+                    extra        = source[input++] & 0xFF;
+                    matchLength += extra;
+                }
+                while (extra == 255);
+            }
+
+            matchLength += BlockCompression.MIN_MATCH;
+
+            if (offset == 0 || offset > output || matchLength > expected - output)
+                throw new IOException("Corrupted block");
+
+            // a match that overlaps the bytes it produces (a repeated pattern) is copied byte by byte
+            if (offset >= matchLength)
+            {
+                System.arraycopy(destination, output - offset, destination, output, matchLength);
+                output += matchLength;
+            }
+            else
+            {
+                for (int from = output - offset, end = output + matchLength; output < end; )
+                    destination[output++] = destination[from++];
+            }
+        }
+
+        if (output != expected)
+            throw new IOException("Corrupted block");
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Writes a token, the literals and (unless the match length is 0) the match offset and length.
+     *
+     * @return int - the position after the sequence.
+     */
+    private static int writeSequence(byte[] source, int literalsStart, int literals, byte[] destination, int output, int offset, int matchLength)
+    {
+        final int token  = output++;
+        final int length = matchLength - BlockCompression.MIN_MATCH;
+
+        output = BlockCompression.writeLength(destination, output, literals);
+        System.arraycopy(source, literalsStart, destination, output, literals);
+        output += literals;
+
+        if (matchLength == 0)
+        {
+            destination[token] = (byte) (Math.min(literals, 15) << 4);
+            return output;
+        }
+
+        destination[output++] = (byte) offset;
+        destination[output++] = (byte) (offset >>> 8);
+        output = BlockCompression.writeLength(destination, output, length);
+
+        destination[token] = (byte) (Math.min(literals, 15) << 4 | Math.min(length, 15));
+        return output;
+    }
+
+    /**
+     * Writes the extra bytes of a length that does not fit in its 4 bits of the token.
+     */
+    private static int writeLength(byte[] destination, int output, int length)
+    {
+        if (length < 15)
+            return output;
+
+        for (length -= 15; length >= 255; length -= 255)
+            destination[output++] = (byte) 255;
+
+        destination[output++] = (byte) length;
+        return output;
+    }
+}
@@ -0,0 +1,788 @@
+package datastructures;
+
+import java.util.List;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A cache that holds at most a maximum number of entries (or a maximum total weight) and evicts entries
+ * chosen by its eviction policy when it grows past that limit.
+ * <p>
+ * The entries live in a HashTable, and the policy orders them in DoublyLinkedLists through the node
+ * handles of the list, so promoting and evicting an entry are O(1) (no list walk).
+ * <ul>
+ *   <li>LRU evicts the least recently used entry.</li>
+ *   <li>LFU evicts the least frequently used entry (the least recently used one among equally frequent
+ *   entries), it keeps the entries in a list of frequency buckets.</li>
+ *   <li>W_TINY_LFU keeps new entries in a small LRU window (1% of the cache), then admits them to the
+ *   segmented LRU main region (20% probation, 80% protected) only when a count-min sketch estimates they
+ *   are used more often than the entry they would evict. It keeps frequently used entries through scans
+ *   that flush an LRU cache.</li>
+ * </ul>
+ */
+public class BoundedCache<K, V> implements Iterable<K>
+{
+    /**
+     * The eviction policies of a cache.
+     */
+    public enum Policy
+    {
+        LRU,
+        LFU,
+        W_TINY_LFU
+    }
+
+    private HashTable<K, Entry<K, V>> entries;
+    private EvictionPolicy<K, V> policy;
+    private ToIntBiFunction<? super K, ? super V> weigher;
+    private BiConsumer<? super K, ? super V> evictionListener;
+
+    private long maximumWeight;
+    private long weight;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * BoundedCache constructor, an LRU cache of at most maximumSize entries.
+     *
+     * @param maximumSize - the maximum number of entries.
+     */
+    public BoundedCache(int maximumSize)
+    {
+        this(maximumSize, Policy.LRU);
+    }
+
+    /**
+     * BoundedCache constructor.
+     *
+     * @param maximumSize - the maximum number of entries.
+     * @param policy      - the eviction policy.
+     */
+    public BoundedCache(int maximumSize, Policy policy)
+    {
+        this(maximumSize, null, policy);
+    }
+
+    /**
+     * BoundedCache constructor.
+     *
+     * @param maximumWeight - the maximum total weight of the entries.
+     * @param weigher       - computes the (non-negative) weight of an entry.
+     * @param policy        - the eviction policy.
+     */
+    public BoundedCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher, Policy policy)
+    {
+        if (maximumWeight < 0)
+            throw new IllegalArgumentException("Illegal maximum: " + maximumWeight);
+
+        if (policy == null)
+            throw new IllegalArgumentException("Null policy");
+
+        this.maximumWeight = maximumWeight;
+        this.weigher       = weigher;
+        this.entries       = new HashTable<>();
+        this.policy        = this.newPolicy(policy);
+    }
+
+    /**
+     * Sets the listener that is called with the key and the value of every evicted entry (not of the
+     * removed or replaced ones), null removes it.
+     *
+     * @param evictionListener - the listener.
+     */
+    public void setEvictionListener(BiConsumer<? super K, ? super V> evictionListener)
+    {
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Returns the value of the key, or null if the key is not cached. It is a cache access: it counts
+     * as a hit or a miss and updates the eviction order.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - the key.
+     * @return V  - the value, or null.
+     */
+    public V get(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        Entry<K, V> entry = this.entries.get(key);
+
+        if (entry == null)
+        {
+            this.misses++;
+            this.policy.onMiss(key);
+
+            return null;
+        }
+
+        this.hits++;
+        this.policy.onHit(entry);
+
+        return entry.value;
+    }
+
+    /**
+     * Caches the value of the key, then evicts entries until the cache is within its maximum (the new
+     * entry itself may be evicted, W_TINY_LFU does not admit entries that are used less often than the
+     * entries they would replace).
+     * Time  Complexity: O(1) amortized
+     * Space Complexity: O(1)
+     *
+     * @param key   - the key.
+     * @param value - the value.
+     * @return V    - the previous value of the key, or null.
+     */
+    public V put(K key, V value)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        if (value == null)
+            throw new IllegalArgumentException("Null value");
+
+        int entryWeight = this.weigh(key, value);
+
+        Entry<K, V> entry = this.entries.get(key);
+        V previous        = null;
+
+        if (entry == null)
+        {
+            entry = new Entry<>(key, value, entryWeight);
+
+            this.entries.insert(key, entry);
+            this.policy.onInsert(entry);
+        }
+        else
+        {
+            int previousWeight = entry.weight;
+            previous           = entry.value;
+
+            entry.value  = value;
+            entry.weight = entryWeight;
+            this.weight -= previousWeight;
+
+            this.policy.onUpdate(entry, previousWeight);
+        }
+
+        this.weight += entryWeight;
+        this.evict();
+
+        return previous;
+    }
+
+    /**
+     * Removes the key from the cache.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - the key.
+     * @return V  - the value of the key, or null.
+     */
+    public V remove(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        Entry<K, V> entry = this.entries.remove(key);
+
+        if (entry == null)
+            return null;
+
+        this.policy.onRemove(entry);
+        this.weight -= entry.weight;
+
+        return entry.value;
+    }
+
+    /**
+     * Checks if the key is cached, without counting an access.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - the key.
+     * @return boolean - true if the key is cached.
+     */
+    public boolean hasKey(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        return this.entries.hasKey(key);
+    }
+
+    /**
+     * Removes all the entries (the eviction listener is not called).
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public void clear()
+    {
+        this.entries.clear();
+        this.policy.clear();
+        this.weight = 0;
+    }
+
+    /**
+     * Returns the cached keys.
+     */
+    public List<K> keys()
+    {
+        return this.entries.keys();
+    }
+
+    /**
+     * Returns the number of the cached entries.
+     */
+    public int size()
+    {
+        return this.entries.size();
+    }
+
+    /**
+     * Returns true if the cache is empty.
+     */
+    public boolean isEmpty()
+    {
+        return this.entries.isEmpty();
+    }
+
+    /**
+     * Returns the total weight of the cached entries (their number without a weigher).
+     */
+    public long getWeight()
+    {
+        return this.weight;
+    }
+
+    /**
+     * Returns the maximum total weight of the entries (the maximum size without a weigher).
+     */
+    public long getMaximumWeight()
+    {
+        return this.maximumWeight;
+    }
+
+    /**
+     * Returns the number of get() calls that found their key.
+     */
+    public long getHitCount()
+    {
+        return this.hits;
+    }
+
+    /**
+     * Returns the number of get() calls that did not find their key.
+     */
+    public long getMissCount()
+    {
+        return this.misses;
+    }
+
+    /**
+     * Returns the number of evicted entries.
+     */
+    public long getEvictionCount()
+    {
+        return this.evictions;
+    }
+
+    /**
+     * Returns the fraction of get() calls that found their key (0 before the first call).
+     */
+    public double getHitRatio()
+    {
+        long requests = this.hits + this.misses;
+
+        return requests == 0 ? 0.0 : (double) this.hits / requests;
+    }
+
+    /**
+     * Resets the hit, miss and eviction counts.
+     */
+    public void resetStats()
+    {
+        this.hits      = 0;
+        this.misses    = 0;
+        this.evictions = 0;
+    }
+
+    @Override
+    public Iterator<K> iterator()
+    {
+        return this.entries.iterator();
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        for (K key : this.entries)
+            sb.append(key + " => " + this.entries.get(key).value + ", ");
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Creates the implementation of an eviction policy.
+     */
+    private EvictionPolicy<K, V> newPolicy(Policy policy)
+    {
+        switch (policy)
+        {
+            case LFU:
+                return new LfuPolicy<>();
+            case W_TINY_LFU:
+                return new TinyLfuPolicy<>(this.maximumWeight);
+            default:
+                return new LruPolicy<>();
+        }
+    }
+
+    /**
+     * Returns the weight of an entry.
+     */
+    private int weigh(K key, V value)
+    {
+        if (this.weigher == null)
+            return 1;
+
+        int entryWeight = this.weigher.applyAsInt(key, value);
+
+        if (entryWeight < 0)
+            throw new IllegalArgumentException("Negative weight: " + entryWeight);
+
+        return entryWeight;
+    }
+
+    /**
+     * Evicts the victims of the policy until the cache is within its maximum weight.
+     */
+    private void evict()
+    {
+        while (this.weight > this.maximumWeight)
+        {
+            Entry<K, V> victim = this.policy.victim();
+
+            this.entries.remove(victim.key);
+            this.policy.onRemove(victim);
+            this.weight -= victim.weight;
+            this.evictions++;
+
+            if (this.evictionListener != null)
+                this.evictionListener.accept(victim.key, victim.value);
+        }
+    }
+
+    /**
+     * A cached entry, it also holds its node in the list of the policy.
+     */
+    private static final class Entry<K, V>
+    {
+        private final K key;
+        private V value;
+        private int weight;
+
+        // the node of the entry in its list, the list (LFU: bucket, W_TINY_LFU: region) is policy state.
+        private DoublyLinkedList.Node<Entry<K, V>> node;
+        private DoublyLinkedList.Node<Bucket<K, V>> bucket;
+        private int region;
+
+        /**
+         * Entry constructor.
+         */
+        private Entry(K key, V value, int weight)
+        {
+            this.key    = key;
+            this.value  = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Orders the entries of a cache and chooses which one to evict.
+     */
+    private interface EvictionPolicy<K, V>
+    {
+        /**
+         * A new entry was cached.
+         */
+        void onInsert(Entry<K, V> entry);
+
+        /**
+         * A get() found the entry.
+         */
+        void onHit(Entry<K, V> entry);
+
+        /**
+         * A get() did not find the key.
+         */
+        void onMiss(K key);
+
+        /**
+         * The value (and the weight) of a cached entry was replaced.
+         */
+        void onUpdate(Entry<K, V> entry, int previousWeight);
+
+        /**
+         * The entry was removed or evicted.
+         */
+        void onRemove(Entry<K, V> entry);
+
+        /**
+         * Returns the entry to evict (the cache is not empty).
+         */
+        Entry<K, V> victim();
+
+        /**
+         * All the entries were removed.
+         */
+        void clear();
+    }
+
+    /**
+     * Least recently used: one list, from the least to the most recently used entry.
+     */
+    private static final class LruPolicy<K, V> implements EvictionPolicy<K, V>
+    {
+        private DoublyLinkedList<Entry<K, V>> order = new DoublyLinkedList<>();
+
+        @Override
+        public void onInsert(Entry<K, V> entry)
+        {
+            entry.node = this.order.appendNode(entry);
+        }
+
+        @Override
+        public void onHit(Entry<K, V> entry)
+        {
+            this.order.moveToBack(entry.node);
+        }
+
+        @Override
+        public void onMiss(K key)
+        {
+        }
+
+        @Override
+        public void onUpdate(Entry<K, V> entry, int previousWeight)
+        {
+            this.order.moveToBack(entry.node);
+        }
+
+        @Override
+        public void onRemove(Entry<K, V> entry)
+        {
+            this.order.removeNode(entry.node);
+            entry.node = null;
+        }
+
+        @Override
+        public Entry<K, V> victim()
+        {
+            return this.order.firstNode().getElement();
+        }
+
+        @Override
+        public void clear()
+        {
+            this.order = new DoublyLinkedList<>();
+        }
+    }
+
+    /**
+     * The entries of one use count (LFU), from the least to the most recently used one.
+     */
+    private static final class Bucket<K, V>
+    {
+        private final long frequency;
+        private final DoublyLinkedList<Entry<K, V>> entries = new DoublyLinkedList<>();
+
+        /**
+         * Bucket constructor.
+         */
+        private Bucket(long frequency)
+        {
+            this.frequency = frequency;
+        }
+    }
+
+    /**
+     * Least frequently used: a list of buckets in ascending use count, an access moves the entry to the
+     * next bucket (creating it if needed), so every operation is O(1).
+     */
+    private static final class LfuPolicy<K, V> implements EvictionPolicy<K, V>
+    {
+        private DoublyLinkedList<Bucket<K, V>> buckets = new DoublyLinkedList<>();
+
+        @Override
+        public void onInsert(Entry<K, V> entry)
+        {
+            DoublyLinkedList.Node<Bucket<K, V>> first = this.buckets.firstNode();
+
+            if (first == null || first.getElement().frequency != 1)
+                first = this.buckets.prependNode(new Bucket<>(1));
+
+            entry.bucket = first;
+            entry.node   = first.getElement().entries.appendNode(entry);
+        }
+
+        @Override
+        public void onHit(Entry<K, V> entry)
+        {
+            DoublyLinkedList.Node<Bucket<K, V>> current = entry.bucket;
+            DoublyLinkedList.Node<Bucket<K, V>> next    = current.getNext();
+            long frequency                              = current.getElement().frequency + 1;
+
+            if (next == null || next.getElement().frequency != frequency)
+                next = this.buckets.insertAfter(current, new Bucket<>(frequency));
+
+            this.unlink(entry);
+
+            entry.bucket = next;
+            entry.node   = next.getElement().entries.appendNode(entry);
+        }
+
+        @Override
+        public void onMiss(K key)
+        {
+        }
+
+        @Override
+        public void onUpdate(Entry<K, V> entry, int previousWeight)
+        {
+            this.onHit(entry);
+        }
+
+        @Override
+        public void onRemove(Entry<K, V> entry)
+        {
+            this.unlink(entry);
+
+            entry.bucket = null;
+            entry.node   = null;
+        }
+
+        @Override
+        public Entry<K, V> victim()
+        {
+            return this.buckets.firstNode().getElement().entries.firstNode().getElement();
+        }
+
+        @Override
+        public void clear()
+        {
+            this.buckets = new DoublyLinkedList<>();
+        }
+
+        /**
+         * Removes the entry from its bucket, and the bucket if it becomes empty.
+         */
+        private void unlink(Entry<K, V> entry)
+        {
+            Bucket<K, V> bucket = entry.bucket.getElement();
+
+            bucket.entries.removeNode(entry.node);
+
+            if (bucket.entries.isEmpty())
+                this.buckets.removeNode(entry.bucket);
+        }
+    }
+
+    /**
+     * Window TinyLFU: an LRU window in front of a segmented LRU main region, a candidate leaving the
+     * window replaces the least recently used probation entry only if the frequency sketch estimates it
+     * was used more often.
+     */
+    private static final class TinyLfuPolicy<K, V> implements EvictionPolicy<K, V>
+    {
+        private static final int WINDOW    = 0;
+        private static final int PROBATION = 1;
+        private static final int PROTECTED = 2;
+
+        private final long windowMaximum;
+        private final long protectedMaximum;
+
+        private DoublyLinkedList<Entry<K, V>> window;
+        private DoublyLinkedList<Entry<K, V>> probation;
+        private DoublyLinkedList<Entry<K, V>> protectedRegion;
+        private long windowWeight;
+        private long protectedWeight;
+        private int count;
+
+        private FrequencySketch sketch;
+
+        /**
+         * TinyLfuPolicy constructor.
+         */
+        private TinyLfuPolicy(long maximumWeight)
+        {
+            this.windowMaximum    = Math.max(1, maximumWeight / 100);
+            this.protectedMaximum = (long) (0.8 * Math.max(0, maximumWeight - this.windowMaximum));
+            this.sketch           = new FrequencySketch((int) Math.min(maximumWeight, 1024));
+
+            this.clear();
+        }
+
+        @Override
+        public void onInsert(Entry<K, V> entry)
+        {
+            this.sketch.ensureCapacity(++this.count);
+            this.sketch.increment(entry.key);
+
+            entry.region       = WINDOW;
+            entry.node         = this.window.appendNode(entry);
+            this.windowWeight += entry.weight;
+
+            this.drainWindow();
+        }
+
+        @Override
+        public void onHit(Entry<K, V> entry)
+        {
+            this.sketch.increment(entry.key);
+            this.promote(entry);
+        }
+
+        @Override
+        public void onMiss(K key)
+        {
+            this.sketch.increment(key);
+        }
+
+        @Override
+        public void onUpdate(Entry<K, V> entry, int previousWeight)
+        {
+            if (entry.region == WINDOW)
+                this.windowWeight += entry.weight - previousWeight;
+            else if (entry.region == PROTECTED)
+                this.protectedWeight += entry.weight - previousWeight;
+
+            this.promote(entry);
+            this.drainWindow();
+        }
+
+        @Override
+        public void onRemove(Entry<K, V> entry)
+        {
+            this.regionOf(entry).removeNode(entry.node);
+            entry.node = null;
+            this.count--;
+
+            if (entry.region == WINDOW)
+                this.windowWeight -= entry.weight;
+            else if (entry.region == PROTECTED)
+                this.protectedWeight -= entry.weight;
+        }
+
+        @Override
+        public Entry<K, V> victim()
+        {
+            DoublyLinkedList.Node<Entry<K, V>> victim    = this.probation.firstNode();
+            DoublyLinkedList.Node<Entry<K, V>> candidate = this.probation.lastNode();
+
+            if (victim == null)
+                victim = this.protectedRegion.isEmpty() ? this.window.firstNode() : this.protectedRegion.firstNode();
+
+            if (victim == candidate || candidate == null)
+                return victim.getElement();
+
+            // the newest probation entry (the candidate from the window) against the oldest one.
+            int candidateFrequency = this.sketch.frequency(candidate.getElement().key);
+            int victimFrequency    = this.sketch.frequency(victim.getElement().key);
+
+            return candidateFrequency > victimFrequency ? victim.getElement() : candidate.getElement();
+        }
+
+        @Override
+        public void clear()
+        {
+            this.window          = new DoublyLinkedList<>();
+            this.probation       = new DoublyLinkedList<>();
+            this.protectedRegion = new DoublyLinkedList<>();
+            this.windowWeight    = 0;
+            this.protectedWeight = 0;
+            this.count           = 0;
+        }
+
+        /**
+         * Moves an accessed entry to the most recently used end of its region, a probation entry moves
+         * to the protected region.
+         */
+        private void promote(Entry<K, V> entry)
+        {
+            if (entry.region != PROBATION)
+            {
+                this.regionOf(entry).moveToBack(entry.node);
+                this.drainProtected();
+
+                return;
+            }
+
+            this.probation.removeNode(entry.node);
+
+            entry.region          = PROTECTED;
+            entry.node            = this.protectedRegion.appendNode(entry);
+            this.protectedWeight += entry.weight;
+
+            this.drainProtected();
+        }
+
+        /**
+         * Moves the least recently used window entries to probation until the window fits.
+         */
+        private void drainWindow()
+        {
+            while (this.windowWeight > this.windowMaximum)
+            {
+                Entry<K, V> entry = this.window.removeNode(this.window.firstNode());
+
+                this.windowWeight -= entry.weight;
+                entry.region       = PROBATION;
+                entry.node         = this.probation.appendNode(entry);
+            }
+        }
+
+        /**
+         * Demotes the least recently used protected entries to probation until the protected region fits.
+         */
+        private void drainProtected()
+        {
+            while (this.protectedWeight > this.protectedMaximum)
+            {
+                Entry<K, V> entry = this.protectedRegion.removeNode(this.protectedRegion.firstNode());
+
+                this.protectedWeight -= entry.weight;
+                entry.region          = PROBATION;
+                entry.node            = this.probation.appendNode(entry);
+            }
+        }
+
+        /**
+         * Returns the list of the region of the entry.
+         */
+        private DoublyLinkedList<Entry<K, V>> regionOf(Entry<K, V> entry)
+        {
+            switch (entry.region)
+            {
+                case WINDOW:
+                    return this.window;
+                case PROBATION:
+                    return this.probation;
+                default:
+                    return this.protectedRegion;
+            }
+        }
+    }
+}
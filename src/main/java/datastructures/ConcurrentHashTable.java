@@ -0,0 +1,604 @@
+package datastructures;
+
+import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
+import java.lang.invoke.VarHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe open addressing hash table that uses lock striping.
+ *
+ * The keys are split across a fixed number of segments (selected by the high bits of the hash), and every
+ * segment is an independent open addressing table (power-of-two capacity, stride probing and tombstones)
+ * guarded by its own lock. Writers only lock the segment they modify and every segment resizes on its own.
+ * Readers never lock: they read the bucket arrays with acquire semantics, and writers publish new keys
+ * only after their values, so a reader never observes a key without its value.
+ */
+@SuppressWarnings("unchecked")
+public class ConcurrentHashTable<K, V> implements Iterable<K>
+{
+    // segments of the hash table and the values used to select a segment from a hash.
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+    private final int segmentMask;
+
+    // hash table load factor.
+    private final double loadFactor;
+
+    // special marker token used to indicate the deletion of a key-value pair.
+    private static final Object TOMBSTONE = new Object();
+
+    // acquire/release access to the elements of the bucket arrays.
+    private static final VarHandle BUCKETS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    // hash table constants.
+    private static final int    DEFAULT_CAPACITY          = 64;
+    private static final double DEFAULT_LOAD_FACTOR       = 0.7;
+    private static final int    DEFAULT_CONCURRENCY_LEVEL = 16;
+    private static final int    MAXIMUM_SEGMENTS          = 1 << 16;
+    private static final int    LINEAR_CONSTANT           = 17;
+
+    /**
+     * Buckets of a segment. Replaced as a whole on resize, so a reader always sees a consistent pair of arrays.
+     */
+    private static final class Table
+    {
+        private final Object[] keys;
+        private final Object[] values;
+
+        /**
+         * Table constructor.
+         *
+         * @param capacity - the number of buckets (a power of two).
+         */
+        private Table(int capacity)
+        {
+            this.keys   = new Object[capacity];
+            this.values = new Object[capacity];
+        }
+    }
+
+    /**
+     * Independent open addressing table guarded by its own lock.
+     */
+    private static final class Segment<K, V> extends ReentrantLock
+    {
+        private static final long serialVersionUID = 1L;
+
+        // current buckets (replaced on resize).
+        private volatile Table table;
+
+        // the number of unique keys inside the segment.
+        private volatile int keyCount;
+
+        // the number of used buckets inside the segment (includes cells marked as deleted).
+        private int usedBuckets;
+
+        // threshold for resizing.
+        private int threshold;
+
+        private final double loadFactor;
+
+        /**
+         * Segment constructor.
+         *
+         * @param capacity   - segment capacity (a power of two).
+         * @param loadFactor - segment load factor.
+         */
+        private Segment(int capacity, double loadFactor)
+        {
+            this.loadFactor = loadFactor;
+            this.table      = new Table(capacity);
+            this.threshold  = (int) (loadFactor * capacity);
+        }
+
+        /**
+         * Gets a value associated with the key without locking.
+         */
+        private V get(Object key, int hash)
+        {
+            final Table table = this.table;
+            final int mask = table.keys.length - 1;
+
+            for (int i = hash & mask, x = 0; x <= mask; i = (i + LINEAR_CONSTANT) & mask, x++)
+            {
+                Object current = BUCKETS.getAcquire(table.keys, i);
+
+                if (current == null)
+                    return null;
+
+                if (current != TOMBSTONE && (current == key || current.equals(key)))
+                    return (V) BUCKETS.getAcquire(table.values, i);
+            }
+
+            return null;
+        }
+
+        /**
+         * Inserts or updates a key-value pair.
+         */
+        private V put(K key, int hash, V value)
+        {
+            this.lock();
+
+            try
+            {
+                if (this.usedBuckets >= this.threshold)
+                    this.resize();
+
+                final Table table = this.table;
+                final int mask = table.keys.length - 1;
+
+                for (int i = hash & mask; ; i = (i + LINEAR_CONSTANT) & mask)
+                {
+                    Object current = table.keys[i];
+
+                    // 1. the key does not exist. Deleted buckets are never reused, so a lock-free reader
+                    // that matched a key in some bucket can never read the value of a different key there.
+                    if (current == null)
+                    {
+                        BUCKETS.setRelease(table.values, i, value);
+                        BUCKETS.setRelease(table.keys, i, key);
+
+                        this.usedBuckets++;
+                        this.keyCount++;
+
+                        return null;
+                    }
+
+                    // 2. the key already exists, so update its value.
+                    if (current != TOMBSTONE && current.equals(key))
+                    {
+                        V oldValue = (V) table.values[i];
+                        BUCKETS.setRelease(table.values, i, value);
+
+                        return oldValue;
+                    }
+                }
+            }
+            finally
+            {
+                this.unlock();
+            }
+        }
+
+        /**
+         * Removes a key-value pair.
+         */
+        private V remove(Object key, int hash)
+        {
+            this.lock();
+
+            try
+            {
+                final Table table = this.table;
+                final int mask = table.keys.length - 1;
+
+                for (int i = hash & mask, x = 0; x <= mask; i = (i + LINEAR_CONSTANT) & mask, x++)
+                {
+                    Object current = table.keys[i];
+
+                    if (current == null)
+                        return null;
+
+                    if (current != TOMBSTONE && current.equals(key))
+                    {
+                        V oldValue = (V) table.values[i];
+
+                        BUCKETS.setRelease(table.keys, i, TOMBSTONE);
+                        BUCKETS.setRelease(table.values, i, null);
+
+                        this.keyCount--;
+
+                        return oldValue;
+                    }
+                }
+
+                return null;
+            }
+            finally
+            {
+                this.unlock();
+            }
+        }
+
+        /**
+         * Clears the segment.
+         */
+        private void clear()
+        {
+            this.lock();
+
+            try
+            {
+                this.table       = new Table(this.table.keys.length);
+                this.usedBuckets = 0;
+                this.keyCount    = 0;
+            }
+            finally
+            {
+                this.unlock();
+            }
+        }
+
+        /**
+         * Rehashes the segment into new buckets and publishes them.
+         * The capacity is doubled, unless most of the used buckets are deleted ones,
+         * in which case the tombstones are only dropped. The old buckets are left
+         * untouched, so readers that still use them see a consistent snapshot.
+         * Called with the segment lock held.
+         */
+        private void resize()
+        {
+            final Table oldTable = this.table;
+            final int oldCapacity = oldTable.keys.length;
+            final int newCapacity = this.keyCount >= this.threshold / 2 ? 2 * oldCapacity : oldCapacity;
+
+            final Table newTable = new Table(newCapacity);
+            final int mask = newCapacity - 1;
+
+            for (int i = 0; i < oldCapacity; i++)
+            {
+                Object key = oldTable.keys[i];
+
+                if (key == null || key == TOMBSTONE)
+                    continue;
+
+                int j = HashTable.spread(key.hashCode()) & mask;
+
+                while (newTable.keys[j] != null)
+                    j = (j + LINEAR_CONSTANT) & mask;
+
+                newTable.keys[j]   = key;
+                newTable.values[j] = oldTable.values[i];
+            }
+
+            this.usedBuckets = this.keyCount;
+            this.threshold   = (int) (this.loadFactor * newCapacity);
+            this.table       = newTable;   // volatile write publishes the filled arrays
+        }
+    }
+
+    /**
+     * ConcurrentHashTable constructor.
+     */
+    public ConcurrentHashTable()
+    {
+        this(ConcurrentHashTable.DEFAULT_CAPACITY, ConcurrentHashTable.DEFAULT_LOAD_FACTOR, ConcurrentHashTable.DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * ConcurrentHashTable constructor.
+     *
+     * @param capacity - initial hash table capacity.
+     */
+    public ConcurrentHashTable(int capacity)
+    {
+        this(capacity, ConcurrentHashTable.DEFAULT_LOAD_FACTOR, ConcurrentHashTable.DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * ConcurrentHashTable constructor.
+     *
+     * @param capacity         - initial hash table capacity (split across the segments).
+     * @param loadFactor       - hash table load factor in (0, 1) (used to determine when a segment needs to resize).
+     * @param concurrencyLevel - the number of segments, i.e. writers that can proceed in parallel (rounded up to a power of two).
+     */
+    @SuppressWarnings("rawtypes")
+    public ConcurrentHashTable(int capacity, double loadFactor, int concurrencyLevel)
+    {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        if (loadFactor <= 0 || loadFactor >= 1 || Double.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+
+        if (concurrencyLevel <= 0)
+            throw new IllegalArgumentException("Illegal concurrency level: " + concurrencyLevel);
+
+        final int segmentCount    = ConcurrentHashTable.tableSizeFor(Math.min(concurrencyLevel, ConcurrentHashTable.MAXIMUM_SEGMENTS));
+        final int segmentCapacity = ConcurrentHashTable.tableSizeFor(Math.max(2, (capacity + segmentCount - 1) / segmentCount));
+
+        this.loadFactor   = loadFactor;
+        this.segments     = (Segment<K, V>[]) new Segment[segmentCount];
+        this.segmentMask  = segmentCount - 1;
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+
+        for (int i = 0; i < segmentCount; i++)
+            this.segments[i] = new Segment<>(segmentCapacity, loadFactor);
+    }
+
+    /**
+     * Puts a new key-value pair in the hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V put(K key, V value)
+    {
+        return this.insert(key, value);
+    }
+
+    /**
+     * Adds a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V add(K key, V value)
+    {
+        return this.insert(key, value);
+    }
+
+    /**
+     * Inserts a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Only the segment of the key is locked.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V insert(K key, V value)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        if (value == null)
+            throw new IllegalArgumentException("Null value");
+
+        final int hash = HashTable.spread(key.hashCode());
+
+        return this.segmentFor(hash).put(key, hash, value);
+    }
+
+    /**
+     * Gets a value associated with the key. Never blocks.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - a value associated with the given key if the key exists, null otherwise.
+     */
+    public V get(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        final int hash = HashTable.spread(key.hashCode());
+
+        return this.segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Removes a "key -> value" pair from a hash table.
+     * Only the segment of the key is locked.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V remove(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        final int hash = HashTable.spread(key.hashCode());
+
+        return this.segmentFor(hash).remove(key, hash);
+    }
+
+    /**
+     * Deletes a "key -> value" pair from a hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V delete(K key)
+    {
+        return this.remove(key);
+    }
+
+    /**
+     * Checks if the key exists in the hash table. Never blocks.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean hasKey(K key)
+    {
+        return this.get(key) != null;
+    }
+
+    /**
+     * Checks if the key exists in the hash table. Never blocks.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean containsKey(K key)
+    {
+        return this.hasKey(key);
+    }
+
+    /**
+     * Clears the hash table, one segment at a time.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n)
+     */
+    public void clear()
+    {
+        for (Segment<K, V> segment : this.segments)
+            segment.clear();
+    }
+
+    /**
+     * Returns a list of keys found in the hash table.
+     * The list is weakly consistent: it reflects every segment as it was when that segment was visited.
+     */
+    public List<K> keys()
+    {
+        List<K> hashTableKeys = new ArrayList<>(this.size());
+
+        for (Segment<K, V> segment : this.segments)
+        {
+            final Object[] keys = segment.table.keys;
+
+            for (int i = 0; i < keys.length; i++)
+            {
+                Object key = BUCKETS.getAcquire(keys, i);
+
+                if (key != null && key != TOMBSTONE)
+                    hashTableKeys.add((K) key);
+            }
+        }
+
+        return hashTableKeys;
+    }
+
+    /**
+     * Returns a list of values found in the hash table.
+     * The list is weakly consistent: it reflects every segment as it was when that segment was visited.
+     */
+    public List<V> values()
+    {
+        List<V> hashTableValues = new ArrayList<>(this.size());
+
+        for (Segment<K, V> segment : this.segments)
+        {
+            final Table table = segment.table;
+
+            for (int i = 0; i < table.keys.length; i++)
+            {
+                Object key = BUCKETS.getAcquire(table.keys, i);
+
+                if (key == null || key == TOMBSTONE)
+                    continue;
+
+                Object value = BUCKETS.getAcquire(table.values, i);
+
+                if (value != null)
+                    hashTableValues.add((V) value);
+            }
+        }
+
+        return hashTableValues;
+    }
+
+    /**
+     * Hash table size (total active keys).
+     */
+    public int size()
+    {
+        int size = 0;
+
+        for (Segment<K, V> segment : this.segments)
+            size += segment.keyCount;
+
+        return size;
+    }
+
+    /**
+     * Checks if hash table is empty.
+     */
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    /**
+     * Hash table capacity getter (total capacity of all the segments).
+     */
+    public int getCapacity()
+    {
+        int capacity = 0;
+
+        for (Segment<K, V> segment : this.segments)
+            capacity += segment.table.keys.length;
+
+        return capacity;
+    }
+
+    /**
+     * Hash table load factor getter.
+     */
+    public double getLoadFactor()
+    {
+        return this.loadFactor;
+    }
+
+    /**
+     * Hash table concurrency level getter (the number of segments).
+     */
+    public int getConcurrencyLevel()
+    {
+        return this.segments.length;
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the keys.
+     */
+    @Override
+    public Iterator<K> iterator()
+    {
+        return this.keys().iterator();
+    }
+
+    /**
+     * ConcurrentHashTable class string representation.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        for (K key : this)
+        {
+            V value = this.get(key);
+
+            if (value != null)
+                sb.append(key + " => " + value + ", ");
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Selects the segment of a hash (by its high bits, the low bits select the bucket).
+     */
+    private Segment<K, V> segmentFor(int hash)
+    {
+        return this.segments[(hash >>> this.segmentShift) & this.segmentMask];
+    }
+
+    /**
+     * Rounds a number up to the next power of two.
+     */
+    private static int tableSizeFor(int capacity)
+    {
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
@@ -0,0 +1,643 @@
+package datastructures;
+
+import java.util.List;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hash table that uses bucketized cuckoo hashing.
+ *
+ * Every key has two candidate buckets of 4 slots each, chosen by two independent hash functions,
+ * and is always stored in one of them (or in a small stash), so a lookup checks at most 8 slots and
+ * never walks a probe chain. An insert into two full buckets evicts a resident key to its other bucket,
+ * which may evict another key, and so on. When the evictions run in a cycle, the homeless key goes to the
+ * stash; when the stash overflows, the table is rehashed with new hash functions.
+ * Deletion simply clears the slot, there are no tombstones.
+ */
+@SuppressWarnings("unchecked")
+public class CuckooHashTable<K, V> implements Iterable<K>
+{
+    // hash table load factor.
+    private double loadFactor;
+
+    // the total number of unique keys currently inside the hash table (including the stash).
+    private int keyCount;
+
+    // hash table capacity in slots (4 per bucket, a power of two number of buckets), bucket index mask and threshold for resizing.
+    private int capacity;
+    private int bucketMask;
+    private int threshold;
+
+    // arrays that store the key-value pairs and the hash code of every key (bucket b holds slots [4b, 4b + 4)).
+    private K[] keys;
+    private V[] values;
+    private int[] hashes;
+
+    // seeds of the two hash functions (replaced by a rehash).
+    private int seed0;
+    private int seed1;
+
+    // keys that did not find a place in their buckets, and the stash size that triggers a rehash.
+    private K[] stashKeys;
+    private V[] stashValues;
+    private int[] stashHashes;
+    private int stashSize;
+    private int stashLimit;
+
+    // hash table constants.
+    private static final int    BUCKET_SIZE         = 4;
+    private static final int    BUCKET_SHIFT        = 2;
+    private static final int    STASH_SIZE          = 4;
+    private static final int    MAX_EVICTIONS       = 256;
+    private static final int    DEFAULT_CAPACITY    = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.9;
+    private static final int    MAXIMUM_CAPACITY    = 1 << 30;
+
+    /**
+     * CuckooHashTable constructor.
+     */
+    public CuckooHashTable()
+    {
+        this(CuckooHashTable.DEFAULT_CAPACITY, CuckooHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * CuckooHashTable constructor.
+     *
+     * @param capacity - hash table capacity.
+     */
+    public CuckooHashTable(int capacity)
+    {
+        this(capacity, CuckooHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * CuckooHashTable constructor.
+     *
+     * @param capacity   - hash table capacity (rounded up to a power of two, at least two buckets of 4 slots).
+     * @param loadFactor - hash table load factor in (0, 1) (used to determine when we need to resize).
+     */
+    public CuckooHashTable(int capacity, double loadFactor)
+    {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        if (loadFactor <= 0 || loadFactor >= 1 || Double.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+
+        this.loadFactor  = loadFactor;
+        this.seed0       = 0;
+        this.seed1       = 0x9E3779B9;
+        this.stashKeys   = (K[]) new Object[CuckooHashTable.STASH_SIZE];
+        this.stashValues = (V[]) new Object[CuckooHashTable.STASH_SIZE];
+        this.stashHashes = new int[CuckooHashTable.STASH_SIZE];
+        this.stashLimit  = CuckooHashTable.STASH_SIZE;
+
+        this.allocate(CuckooHashTable.tableSizeFor(capacity));
+    }
+
+    /**
+     * Puts a new key-value pair in the hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V put(K key, V value)
+    {
+        return this.insert(key, value);
+    }
+
+    /**
+     * Adds a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V add(K key, V value)
+    {
+        return this.insert(key, value);
+    }
+
+    /**
+     * Inserts a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1) amortized
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V insert(K key, V value)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        final int hash = key.hashCode();
+
+        // 1. the key already exists, so only its value is updated.
+        final int index = this.indexOf(key, hash);
+
+        if (index >= 0)
+        {
+            V oldValue = this.values[index];
+            this.values[index] = value;
+
+            return oldValue;
+        }
+
+        if (index < -1)
+        {
+            final int stashIndex = -(index + 2);
+
+            V oldValue = this.stashValues[stashIndex];
+            this.stashValues[stashIndex] = value;
+
+            return oldValue;
+        }
+
+        // 2. the key is new, so make room for it if needed and place it.
+        if (this.keyCount >= this.threshold)
+            this.rehash(Math.min(2 * this.capacity, CuckooHashTable.MAXIMUM_CAPACITY));
+
+        this.keyCount++;
+        this.place(key, value, hash);
+
+        if (this.stashSize > this.stashLimit)
+            this.rehash(this.capacity);
+
+        return null;
+    }
+
+    /**
+     * Gets a value associated with the key.
+     * Time  Complexity: O(1) worst-case (two buckets and the stash)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - a value associated with the given key if the key exists, null otherwise.
+     */
+    public V get(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        final int index = this.indexOf(key, key.hashCode());
+
+        if (index >= 0)
+            return this.values[index];
+
+        return index == -1 ? null : this.stashValues[-(index + 2)];
+    }
+
+    /**
+     * Removes a "key -> value" pair from a hash table.
+     * Time  Complexity: O(1) worst-case
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V remove(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        final int index = this.indexOf(key, key.hashCode());
+
+        if (index == -1)
+            return null;
+
+        V oldValue;
+
+        if (index >= 0)
+        {
+            oldValue = this.values[index];
+
+            this.keys[index]   = null;
+            this.values[index] = null;
+        }
+        else
+        {
+            // the last stashed key takes the place of the removed one.
+            final int stashIndex = -(index + 2);
+            final int last       = --this.stashSize;
+
+            oldValue = this.stashValues[stashIndex];
+
+            this.stashKeys[stashIndex]   = this.stashKeys[last];
+            this.stashValues[stashIndex] = this.stashValues[last];
+            this.stashHashes[stashIndex] = this.stashHashes[last];
+            this.stashKeys[last]         = null;
+            this.stashValues[last]       = null;
+        }
+
+        this.keyCount--;
+
+        return oldValue;
+    }
+
+    /**
+     * Deletes a "key -> value" pair from a hash table.
+     * Time  Complexity: O(1) worst-case
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V delete(K key)
+    {
+        return this.remove(key);
+    }
+
+    /**
+     * Checks if the key exists in the hash table.
+     * Time  Complexity: O(1) worst-case
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean hasKey(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        return this.indexOf(key, key.hashCode()) != -1;
+    }
+
+    /**
+     * Checks if the key exists in the hash table.
+     * Time  Complexity: O(1) worst-case
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean containsKey(K key)
+    {
+        return this.hasKey(key);
+    }
+
+    /**
+     * Clears the hash table.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public void clear()
+    {
+        for (int i = 0; i < this.capacity; i++)
+        {
+            this.keys[i]   = null;
+            this.values[i] = null;
+        }
+
+        for (int i = 0; i < this.stashSize; i++)
+        {
+            this.stashKeys[i]   = null;
+            this.stashValues[i] = null;
+        }
+
+        this.keyCount = this.stashSize = 0;
+    }
+
+    /**
+     * Returns a list of keys found in the hash table.
+     */
+    public List<K> keys()
+    {
+        List<K> hashTableKeys = new ArrayList<>(this.size());
+
+        for (int i = 0; i < this.capacity; i++)
+        {
+            if (this.keys[i] != null)
+                hashTableKeys.add(this.keys[i]);
+        }
+
+        for (int i = 0; i < this.stashSize; i++)
+            hashTableKeys.add(this.stashKeys[i]);
+
+        return hashTableKeys;
+    }
+
+    /**
+     * Returns a list of values found in the hash table.
+     */
+    public List<V> values()
+    {
+        List<V> hashTableValues = new ArrayList<>(this.size());
+
+        for (int i = 0; i < this.capacity; i++)
+        {
+            if (this.keys[i] != null)
+                hashTableValues.add(this.values[i]);
+        }
+
+        for (int i = 0; i < this.stashSize; i++)
+            hashTableValues.add(this.stashValues[i]);
+
+        return hashTableValues;
+    }
+
+    /**
+     * Returns the number of keys in the stash (keys that did not fit in either of their buckets).
+     * It stays at most 4 unless more than 8 keys share the same hash code.
+     */
+    public int getStashSize()
+    {
+        return this.stashSize;
+    }
+
+    /**
+     * Hash table size (total active keys).
+     */
+    public int size()
+    {
+        return this.keyCount;
+    }
+
+    /**
+     * Checks if hash table is empty.
+     */
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    /**
+     * Hash table capacity getter.
+     */
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Hash table load factor getter.
+     */
+    public double getLoadFactor()
+    {
+        return this.loadFactor;
+    }
+
+    @Override
+    public Iterator<K> iterator()
+    {
+        return new Iterator<K>()
+        {
+            int index, keysLeft = keyCount;
+
+            @Override
+            public boolean hasNext()
+            {
+                return keysLeft != 0;
+            }
+
+            @Override
+            public K next()
+            {
+                while (index < capacity && keys[index] == null) index++;
+
+                keysLeft--;
+                return index < capacity ? keys[index++] : stashKeys[index++ - capacity];
+            }
+
+            @Override
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * CuckooHashTable class string representation.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        for (int i = 0; i < this.capacity; i++)
+          if (this.keys[i] != null)
+            sb.append(this.keys[i] + " => " + this.values[i] + ", ");
+
+        for (int i = 0; i < this.stashSize; i++)
+            sb.append(this.stashKeys[i] + " => " + this.stashValues[i] + ", ");
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Finds the slot of a key: the 4 slots of its first bucket, the 4 slots of its second bucket, and the stash.
+     *
+     * @param key  - a key.
+     * @param hash - hash code of the key.
+     * @return int - the index of the key in the buckets, -(index + 2) of the key in the stash, or -1 if it does not exist.
+     */
+    private int indexOf(K key, int hash)
+    {
+        int i = this.bucket(hash, this.seed0) << CuckooHashTable.BUCKET_SHIFT;
+
+        for (int end = i + CuckooHashTable.BUCKET_SIZE; i < end; i++)
+            if (this.hashes[i] == hash && this.keys[i] != null && this.keys[i].equals(key))
+                return i;
+
+        i = this.bucket(hash, this.seed1) << CuckooHashTable.BUCKET_SHIFT;
+
+        for (int end = i + CuckooHashTable.BUCKET_SIZE; i < end; i++)
+            if (this.hashes[i] == hash && this.keys[i] != null && this.keys[i].equals(key))
+                return i;
+
+        for (int j = 0; j < this.stashSize; j++)
+            if (this.stashHashes[j] == hash && this.stashKeys[j].equals(key))
+                return -(j + 2);
+
+        return -1;
+    }
+
+    /**
+     * Places a key that does not exist in the hash table yet: in a free slot of one of its buckets,
+     * otherwise by evicting keys to their other buckets (a random walk), otherwise in the stash.
+     */
+    private void place(K key, V value, int hash)
+    {
+        int bucket = this.bucket(hash, this.seed0);
+
+        if (this.placeInBucket(bucket, key, value, hash))
+            return;
+
+        bucket = this.bucket(hash, this.seed1);
+
+        if (this.placeInBucket(bucket, key, value, hash))
+            return;
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int evictions = 0; evictions < CuckooHashTable.MAX_EVICTIONS; evictions++)
+        {
+            // the key in hand takes the place of a random resident of the bucket,
+            // and the resident moves on to its other bucket.
+            final int i = (bucket << CuckooHashTable.BUCKET_SHIFT) + random.nextInt(CuckooHashTable.BUCKET_SIZE);
+
+            final K residentKey    = this.keys[i];
+            final V residentValue  = this.values[i];
+            final int residentHash = this.hashes[i];
+
+            this.setSlot(i, key, value, hash);
+
+            key   = residentKey;
+            value = residentValue;
+            hash  = residentHash;
+
+            final int first = this.bucket(hash, this.seed0);
+            bucket          = first == bucket ? this.bucket(hash, this.seed1) : first;
+
+            if (this.placeInBucket(bucket, key, value, hash))
+                return;
+        }
+
+        // the evictions ran in a cycle: the key in hand waits in the stash.
+        this.stash(key, value, hash);
+    }
+
+    /**
+     * Places a key in the first free slot of a bucket.
+     *
+     * @return boolean - true if the bucket had a free slot, false otherwise.
+     */
+    private boolean placeInBucket(int bucket, K key, V value, int hash)
+    {
+        for (int i = bucket << CuckooHashTable.BUCKET_SHIFT, end = i + CuckooHashTable.BUCKET_SIZE; i < end; i++)
+        {
+            if (this.keys[i] == null)
+            {
+                this.setSlot(i, key, value, hash);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Stores a key-value pair (and its hash code) in the given slot.
+     */
+    private void setSlot(int index, K key, V value, int hash)
+    {
+        this.keys[index]   = key;
+        this.values[index] = value;
+        this.hashes[index] = hash;
+    }
+
+    /**
+     * Appends a key to the stash, growing it if needed.
+     */
+    private void stash(K key, V value, int hash)
+    {
+        if (this.stashSize == this.stashKeys.length)
+        {
+            final int newLength = 2 * this.stashKeys.length;
+
+            this.stashKeys   = Arrays.copyOf(this.stashKeys, newLength);
+            this.stashValues = Arrays.copyOf(this.stashValues, newLength);
+            this.stashHashes = Arrays.copyOf(this.stashHashes, newLength);
+        }
+
+        this.stashKeys[this.stashSize]   = key;
+        this.stashValues[this.stashSize] = value;
+        this.stashHashes[this.stashSize] = hash;
+        this.stashSize++;
+    }
+
+    /**
+     * Rehashes all the keys into new arrays of the given capacity with new hash functions
+     * (on growth, and when the stash overflows because evictions ran in cycles).
+     * Keys that share their hash code with more than 7 others can not be separated by any
+     * hash function and stay in the stash, so the next rehash waits until the stash doubles.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n)
+     */
+    private void rehash(int newCapacity)
+    {
+        K[] oldKeyTable      = this.keys;
+        V[] oldValueTable    = this.values;
+        int[] oldHashTable   = this.hashes;
+
+        K[] oldStashKeys     = this.stashKeys;
+        V[] oldStashValues   = this.stashValues;
+        int[] oldStashHashes = this.stashHashes;
+        final int oldStash   = this.stashSize;
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        this.seed0       = random.nextInt();
+        this.seed1       = random.nextInt();
+        this.stashKeys   = (K[]) new Object[CuckooHashTable.STASH_SIZE];
+        this.stashValues = (V[]) new Object[CuckooHashTable.STASH_SIZE];
+        this.stashHashes = new int[CuckooHashTable.STASH_SIZE];
+        this.stashSize   = 0;
+
+        this.allocate(newCapacity);
+
+        for (int i = 0; i < oldKeyTable.length; i++)
+        {
+            if (oldKeyTable[i] != null)
+                this.place(oldKeyTable[i], oldValueTable[i], oldHashTable[i]);
+        }
+
+        for (int i = 0; i < oldStash; i++)
+            this.place(oldStashKeys[i], oldStashValues[i], oldStashHashes[i]);
+
+        this.stashLimit = Math.max(CuckooHashTable.STASH_SIZE, 2 * this.stashSize);
+    }
+
+    /**
+     * Computes the bucket of a hash code for one of the two hash functions.
+     */
+    private int bucket(int hash, int seed)
+    {
+        return HashTable.spread(hash ^ seed) & this.bucketMask;
+    }
+
+    /**
+     * Allocates empty arrays of the given capacity.
+     */
+    private void allocate(int capacity)
+    {
+        this.capacity   = capacity;
+        this.bucketMask = (capacity >>> CuckooHashTable.BUCKET_SHIFT) - 1;
+        this.threshold  = (int) (this.loadFactor * capacity);
+
+        this.keys   = (K[]) new Object[capacity];
+        this.values = (V[]) new Object[capacity];
+        this.hashes = new int[capacity];
+    }
+
+    /**
+     * Rounds capacity up to the next power of two (and to at least two buckets).
+     */
+    private static int tableSizeFor(int capacity)
+    {
+        if (capacity >= CuckooHashTable.MAXIMUM_CAPACITY)
+            return CuckooHashTable.MAXIMUM_CAPACITY;
+
+        final int minimum = 2 * CuckooHashTable.BUCKET_SIZE;
+
+        return capacity <= minimum ? minimum : Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
@@ -1,3 +1,5 @@
+package datastructures;
+
 import java.util.Iterator;
 
 public class DoublyLinkedList<T> implements Iterable<T>
@@ -7,22 +9,28 @@ public class DoublyLinkedList<T> implements Iterable<T>
     private Node<T> tail;    // tail of a linked list
 
     /**
-     * Internal class that represents one node in a doubly linked list.
+     * One node in a doubly linked list. The node-handle methods (appendNode(), removeNode(), moveToBack(), ...)
+     * hand nodes out, so a caller that keeps a node (in a hash table, for example) can unlink or move
+     * its element in O(1) instead of searching for it. A node knows the list it belongs to, so a node
+     * of another list, or one that was already removed, is rejected.
      */
-    private static class Node<T>
+    public static final class Node<T>
     {
         private T key;
         private Node<T> previous, next;
+        private DoublyLinkedList<T> list;
 
         /**
          * Node class constructor.
          * 
+         * @param list     - the list the node belongs to.
          * @param key      - node's key.
          * @param previous - the previous node in a list.
          * @param next     - the next node in a list.
          */
-        public Node(T key, Node<T> previous, Node<T> next)
+        private Node(DoublyLinkedList<T> list, T key, Node<T> previous, Node<T> next)
         {
+            this.list     = list;
             this.key      = key;
             this.previous = previous;
             this.next     = next;
@@ -31,13 +39,36 @@ public class DoublyLinkedList<T> implements Iterable<T>
         /**
          * Node class constructor.
          * 
-         * @param key - node's key.
+         * @param list - the list the node belongs to.
+         * @param key  - node's key.
          */
-        public Node(T key)
+        private Node(DoublyLinkedList<T> list, T key)
         {
-            this.key      = key;
-            this.previous = null;
-            this.next     = null;
+            this(list, key, null, null);
+        }
+
+        /**
+         * Returns the element of the node.
+         */
+        public T getElement()
+        {
+            return this.key;
+        }
+
+        /**
+         * Returns the previous node in the list, null for the first node.
+         */
+        public Node<T> getPrevious()
+        {
+            return this.previous;
+        }
+
+        /**
+         * Returns the next node in the list, null for the last node.
+         */
+        public Node<T> getNext()
+        {
+            return this.next;
         }
 
         /**
@@ -81,17 +112,7 @@ public class DoublyLinkedList<T> implements Iterable<T>
      */
     public void append(T element)
     {
-        if (this.isEmpty())
-        {
-            this.head = this.tail = new Node<T>(element);
-        }
-        else
-        {
-            this.tail.next = new Node<T>(element, this.tail, null);
-            this.tail      = this.tail.next;
-        }
-
-        this.size++;
+        this.appendNode(element);
     }
 
     /**
@@ -103,17 +124,7 @@ public class DoublyLinkedList<T> implements Iterable<T>
      */
     public void prepend(T element)
     {
-        if (this.isEmpty())
-        {
-            this.head = this.tail = new Node<T>(element);
-        }
-        else
-        {
-            this.head.previous = new Node<T>(element, null, this.head);
-            this.head = this.head.previous;
-        }
-
-        this.size++;
+        this.prependNode(element);
     }
 
     /**
@@ -146,7 +157,7 @@ public class DoublyLinkedList<T> implements Iterable<T>
         for (int i = 0; i < index - 1; i++)
             temp = temp.next;
 
-        Node<T> newNode    = new Node<T>(element, temp, temp.next);
+        Node<T> newNode    = new Node<T>(this, element, temp, temp.next);
         temp.next.previous = newNode;
         temp.next          = newNode;
 
@@ -192,6 +203,7 @@ public class DoublyLinkedList<T> implements Iterable<T>
         removingNode.next.previous = current;
 
         removingNode.next = removingNode.previous = null;
+        removingNode.list = null;
 
         this.size = this.size - 1;
 
@@ -336,16 +348,19 @@ public class DoublyLinkedList<T> implements Iterable<T>
         if (this.isEmpty()) 
             throw new RuntimeException("Linked list is empty!");
 
-        T key     = this.head.key;
-        this.head = this.head.next;
-        this.size = this.size - 1;
+        Node<T> first = this.head;
+
+        this.head     = first.next;
+        this.size     = this.size - 1;
+        first.next    = null;
+        first.list    = null;
 
         if (this.isEmpty()) 
             this.tail = null;
         else 
             this.head.previous = null;
 
-        return key;
+        return first.key;
     }
 
     /**
@@ -375,16 +390,152 @@ public class DoublyLinkedList<T> implements Iterable<T>
         if (this.isEmpty()) 
             throw new RuntimeException("Linked list is empty!");
 
-        T key     = this.tail.key;
-        this.tail = this.tail.previous;
-        this.size = this.size - 1;
+        Node<T> last = this.tail;
+
+        this.tail     = last.previous;
+        this.size     = this.size - 1;
+        last.previous = null;
+        last.list     = null;
 
         if (this.isEmpty()) 
             this.head = null;
         else 
             this.tail.next = null;
 
-        return key;
+        return last.key;
+    }
+
+    /**
+     * Appends a new element at the end of the linked list and returns its node.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @param element - new element to be appended.
+     * @return Node   - the node of the element.
+     */
+    public Node<T> appendNode(T element)
+    {
+        Node<T> node = new Node<T>(this, element);
+
+        this.linkLast(node);
+        this.size++;
+
+        return node;
+    }
+
+    /**
+     * Adds a new element at the beginning of the linked list and returns its node.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @param element - new element to be prepended.
+     * @return Node   - the node of the element.
+     */
+    public Node<T> prependNode(T element)
+    {
+        Node<T> node = new Node<T>(this, element);
+
+        this.linkFirst(node);
+        this.size++;
+
+        return node;
+    }
+
+    /**
+     * Adds a new element right after the given node and returns its node.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @param node    - a node of this list.
+     * @param element - new element to be inserted.
+     * @return Node   - the node of the element.
+     */
+    public Node<T> insertAfter(Node<T> node, T element)
+    {
+        this.checkNode(node);
+
+        Node<T> newNode = new Node<T>(this, element, node, node.next);
+
+        if (node.next == null)
+            this.tail = newNode;
+        else
+            node.next.previous = newNode;
+
+        node.next = newNode;
+        this.size++;
+
+        return newNode;
+    }
+
+    /**
+     * Removes the given node from the linked list.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @param node - a node of this list.
+     * @return T   - the element of the node.
+     */
+    public T removeNode(Node<T> node)
+    {
+        this.checkNode(node);
+
+        this.unlink(node);
+        node.list = null;
+        this.size--;
+
+        return node.key;
+    }
+
+    /**
+     * Moves the given node to the beginning of the linked list.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @param node - a node of this list.
+     */
+    public void moveToFront(Node<T> node)
+    {
+        this.checkNode(node);
+
+        if (node == this.head)
+            return;
+
+        this.unlink(node);
+        this.linkFirst(node);
+    }
+
+    /**
+     * Moves the given node to the end of the linked list.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @param node - a node of this list.
+     */
+    public void moveToBack(Node<T> node)
+    {
+        this.checkNode(node);
+
+        if (node == this.tail)
+            return;
+
+        this.unlink(node);
+        this.linkLast(node);
+    }
+
+    /**
+     * Returns the first node of the linked list, null if the list is empty.
+     */
+    public Node<T> firstNode()
+    {
+        return this.head;
+    }
+
+    /**
+     * Returns the last node of the linked list, null if the list is empty.
+     */
+    public Node<T> lastNode()
+    {
+        return this.tail;
     }
 
     /**
@@ -460,4 +611,68 @@ public class DoublyLinkedList<T> implements Iterable<T>
         
         return stringRepresentation.toString();
     }
-}
\ No newline at end of file
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Checks that a node belongs to this list.
+     */
+    private void checkNode(Node<T> node)
+    {
+        if (node == null)
+            throw new IllegalArgumentException("Null node");
+
+        if (node.list != this)
+            throw new IllegalArgumentException("Node does not belong to this list");
+    }
+
+    /**
+     * Links a detached node at the beginning of the list.
+     */
+    private void linkFirst(Node<T> node)
+    {
+        node.previous = null;
+        node.next     = this.head;
+
+        if (this.head == null)
+            this.tail = node;
+        else
+            this.head.previous = node;
+
+        this.head = node;
+    }
+
+    /**
+     * Links a detached node at the end of the list.
+     */
+    private void linkLast(Node<T> node)
+    {
+        node.previous = this.tail;
+        node.next     = null;
+
+        if (this.tail == null)
+            this.head = node;
+        else
+            this.tail.next = node;
+
+        this.tail = node;
+    }
+
+    /**
+     * Detaches a node from its neighbours (the size is not changed).
+     */
+    private void unlink(Node<T> node)
+    {
+        if (node.previous == null)
+            this.head = node.next;
+        else
+            node.previous.next = node.next;
+
+        if (node.next == null)
+            this.tail = node.previous;
+        else
+            node.next.previous = node.previous;
+
+        node.previous = node.next = null;
+    }
+}
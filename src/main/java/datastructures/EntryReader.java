@@ -0,0 +1,243 @@
+package datastructures;
+
+import java.util.zip.CRC32C;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Streams key-value pairs (or keys only) from a channel written by EntryWriter.
+ *
+ * The reader is a cursor: next() decodes the next entry, and key()/value() return it. Only one block
+ * of entries is held in memory, whatever the number of entries.
+ */
+public class EntryReader<K, V> implements AutoCloseable
+{
+    // the channel the stream is read from.
+    private final ReadableByteChannel channel;
+
+    // serializers of the keys and values (the value serializer is null for keys-only streams).
+    private final Serializer<? extends K> keySerializer;
+    private final Serializer<? extends V> valueSerializer;
+
+    // the decoded block, the stored (perhaps compressed) block, and the entries left in the decoded block.
+    private ByteBuffer block;
+    private byte[] stored;
+    private int blockEntries;
+
+    // checksum of the blocks.
+    private final CRC32C checksum = new CRC32C();
+
+    // the expected number of entries from the header (-1 if not known), the number of entries read so far,
+    // and whether the end of the stream has been read.
+    private final int expectedEntries;
+    private long entries;
+    private boolean finished;
+
+    // the current entry.
+    private K key;
+    private V value;
+
+    /**
+     * EntryReader constructor (reads and validates the stream header).
+     *
+     * @param channel         - the channel the stream is read from.
+     * @param keySerializer   - serializer of the keys.
+     * @param valueSerializer - serializer of the values, or null for a keys-only stream.
+     * @throws IOException if the header can not be read, or the stream does not match the serializers.
+     */
+    public EntryReader(ReadableByteChannel channel, Serializer<? extends K> keySerializer, Serializer<? extends V> valueSerializer) throws IOException
+    {
+        if (channel == null)
+            throw new IllegalArgumentException("Null channel");
+
+        if (keySerializer == null)
+            throw new IllegalArgumentException("Null serializer");
+
+        this.channel         = channel;
+        this.keySerializer   = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.block           = ByteBuffer.allocate(0);
+        this.stored          = new byte[0];
+
+        ByteBuffer header = this.readFully(EntryWriter.HEADER_BYTES);
+
+        if (header.getInt() != EntryWriter.MAGIC)
+            throw new IOException("Not an entry stream");
+
+        final byte version = header.get();
+
+        if (version != EntryWriter.VERSION)
+            throw new IOException("Unsupported entry stream version: " + version);
+
+        final boolean hasValues = (header.get() & EntryWriter.VALUES_FLAG) != 0;
+
+        if (hasValues != (valueSerializer != null))
+            throw new IOException(hasValues ? "Entry stream holds values, a value serializer is required" : "Entry stream holds keys only");
+
+        header.getShort();
+        this.expectedEntries = header.getInt();
+    }
+
+    /**
+     * Decodes the next entry.
+     * Time  Complexity: O(1) amortized
+     * Space Complexity: O(1) amortized
+     *
+     * @return boolean - true if an entry has been decoded, false at the end of the stream.
+     * @throws IOException if the stream is truncated or corrupted.
+     */
+    public boolean next() throws IOException
+    {
+        if (this.finished)
+            return false;
+
+        while (this.blockEntries == 0)
+        {
+            if (this.block.hasRemaining())
+                throw new IOException("Corrupted block: " + this.block.remaining() + " bytes left after its entries");
+
+            if (!this.readBlock())
+                return false;
+        }
+
+        try
+        {
+            this.key   = this.keySerializer.read(this.block);
+            this.value = this.valueSerializer == null ? null : this.valueSerializer.read(this.block);
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw new IOException("Corrupted block: entry exceeds the block");
+        }
+
+        this.blockEntries--;
+        this.entries++;
+
+        return true;
+    }
+
+    /**
+     * Returns the key of the current entry.
+     */
+    public K key()
+    {
+        return this.key;
+    }
+
+    /**
+     * Returns the value of the current entry (null for keys-only streams).
+     */
+    public V value()
+    {
+        return this.value;
+    }
+
+    /**
+     * Returns the number of entries announced by the writer, or -1 if the writer did not know it (or it exceeds an int).
+     */
+    public int getExpectedEntries()
+    {
+        return this.expectedEntries;
+    }
+
+    /**
+     * Returns the number of entries read so far.
+     */
+    public long getEntries()
+    {
+        return this.entries;
+    }
+
+    /**
+     * Releases the buffers (the channel is not closed).
+     */
+    @Override
+    public void close()
+    {
+        this.finished = true;
+        this.block    = ByteBuffer.allocate(0);
+        this.stored   = new byte[0];
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Reads (and if needed decompresses) the next block.
+     *
+     * @return boolean - true if a block has been read, false at the end of the stream.
+     */
+    private boolean readBlock() throws IOException
+    {
+        ByteBuffer header = this.readFully(EntryWriter.BLOCK_HEADER_BYTES);
+
+        final int length       = header.getInt();
+        final int storedLength = header.getInt();
+        final int count        = header.getInt();
+        final int crc          = header.getInt();
+
+        if (count == EntryWriter.END_OF_STREAM)
+        {
+            final long total = this.readFully(Long.BYTES).getLong();
+
+            if (total != this.entries || (this.expectedEntries != -1 && total != this.expectedEntries))
+                throw new IOException("Entry stream holds " + this.entries + " entries, expected " + total);
+
+            this.finished = true;
+            return false;
+        }
+
+        if (length < 0 || length > EntryWriter.MAXIMUM_BLOCK_SIZE || storedLength < 0 || storedLength > length || count < 0)
+            throw new IOException("Corrupted block header");
+
+        if (this.block.capacity() < length)
+            this.block = ByteBuffer.allocate(length);
+
+        this.block.clear().limit(length);
+
+        if (storedLength == length)
+        {
+            this.readFully(this.block);
+            this.block.flip();
+        }
+        else
+        {
+            if (this.stored.length < storedLength)
+                this.stored = new byte[storedLength];
+
+            this.readFully(ByteBuffer.wrap(this.stored, 0, storedLength));
+            BlockCompression.decompress(this.stored, storedLength, this.block.array(), length);
+        }
+
+        this.checksum.reset();
+        this.checksum.update(this.block.array(), 0, length);
+
+        if ((int) this.checksum.getValue() != crc)
+            throw new IOException("Corrupted block: checksum mismatch");
+
+        this.blockEntries = count;
+        return true;
+    }
+
+    /**
+     * Reads the given number of bytes into a new buffer.
+     */
+    private ByteBuffer readFully(int bytes) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+
+        this.readFully(buffer);
+        return buffer.flip();
+    }
+
+    /**
+     * Fills the remaining bytes of a buffer.
+     */
+    private void readFully(ByteBuffer buffer) throws IOException
+    {
+        while (buffer.hasRemaining())
+            if (this.channel.read(buffer) == -1)
+                throw new IOException("Unexpected end of entry stream");
+    }
+}
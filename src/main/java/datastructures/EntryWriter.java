@@ -0,0 +1,251 @@
+package datastructures;
+
+import java.util.zip.CRC32C;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.BufferOverflowException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Streams key-value pairs (or keys only) to a channel in a compact, versioned binary format, read back by EntryReader.
+ *
+ * The stream starts with a 16-byte header (magic, version, flags, the expected number of entries, the block size),
+ * where the expected number of entries is -1 when it is unknown or does not fit in an int (the reader then only checks the total),
+ * followed by blocks of encoded entries. Every block starts with its uncompressed length, its stored length,
+ * its number of entries and a CRC32C checksum of its uncompressed bytes. A compressed block that would not be smaller than its entries is stored uncompressed.
+ * The stream ends with a block header marked as the end, followed by the total number of entries, so a truncated
+ * stream is detected.
+ * Only one block of entries is held in memory, whatever the number of entries.
+ */
+public class EntryWriter<K, V> implements AutoCloseable
+{
+    // the channel the stream is written to.
+    private final WritableByteChannel channel;
+
+    // serializers of the keys and values (the value serializer is null for keys-only streams).
+    private final Serializer<? super K> keySerializer;
+    private final Serializer<? super V> valueSerializer;
+
+    // the block of encoded entries that has not been written yet.
+    private ByteBuffer block;
+    private int blockEntries;
+
+    // block compression buffers (null when the blocks are stored uncompressed).
+    private byte[] compressed;
+    private final int[] compressionTable;
+
+    // checksum of the blocks.
+    private final CRC32C checksum = new CRC32C();
+
+    // the total number of written entries and whether the end of the stream has been written.
+    private long entries;
+    private final long expectedEntries;
+    private boolean finished;
+
+    // stream format constants.
+    static final int  MAGIC              = 0x48545346;
+    static final byte VERSION            = 1;
+    static final int  HEADER_BYTES       = 16;
+    static final int  BLOCK_HEADER_BYTES = 16;
+    static final byte VALUES_FLAG        = 1;
+    static final byte COMPRESSED_FLAG    = 2;
+    static final int  DEFAULT_BLOCK_SIZE = 1 << 16;
+    static final int  MAXIMUM_BLOCK_SIZE = 1 << 30;
+    static final int  END_OF_STREAM      = -1;
+
+    /**
+     * EntryWriter constructor (writes the stream header).
+     *
+     * @param channel         - the channel the stream is written to.
+     * @param keySerializer   - serializer of the keys.
+     * @param valueSerializer - serializer of the values, or null for a keys-only stream.
+     * @param expectedEntries - the number of entries that will be written, or -1 if it is not known (a hint for the reader).
+     * @param compress        - true to compress the blocks.
+     * @throws IOException if the header can not be written.
+     */
+    public EntryWriter(WritableByteChannel channel, Serializer<? super K> keySerializer, Serializer<? super V> valueSerializer, long expectedEntries, boolean compress) throws IOException
+    {
+        if (channel == null)
+            throw new IllegalArgumentException("Null channel");
+
+        if (keySerializer == null)
+            throw new IllegalArgumentException("Null serializer");
+
+        this.channel          = channel;
+        this.keySerializer    = keySerializer;
+        this.valueSerializer  = valueSerializer;
+        this.expectedEntries  = Math.max(-1, expectedEntries);
+        this.block            = ByteBuffer.allocate(EntryWriter.DEFAULT_BLOCK_SIZE);
+        this.compressed       = compress ? new byte[BlockCompression.maximumCompressedLength(EntryWriter.DEFAULT_BLOCK_SIZE)] : null;
+        this.compressionTable = compress ? new int[1 << 14] : null;
+
+        ByteBuffer header = ByteBuffer.allocate(EntryWriter.HEADER_BYTES);
+
+        header.putInt(EntryWriter.MAGIC);
+        header.put(EntryWriter.VERSION);
+        header.put((byte) ((valueSerializer != null ? EntryWriter.VALUES_FLAG : 0) | (compress ? EntryWriter.COMPRESSED_FLAG : 0)));
+        header.putShort((short) 0);
+        header.putInt(this.expectedEntries <= Integer.MAX_VALUE ? (int) this.expectedEntries : -1);
+        header.putInt(EntryWriter.DEFAULT_BLOCK_SIZE);
+
+        this.writeFully(header.flip());
+    }
+
+    /**
+     * Writes a key-value pair (the value is ignored by keys-only streams).
+     * Time  Complexity: O(1) amortized
+     * Space Complexity: O(1) amortized
+     *
+     * @param key   - a key.
+     * @param value - a value (not null in streams with values).
+     * @throws IOException if a full block can not be written.
+     */
+    public void write(K key, V value) throws IOException
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        if (value == null && this.valueSerializer != null)
+            throw new IllegalArgumentException("Null value");
+
+        if (this.finished)
+            throw new IllegalStateException("Stream is finished");
+
+        while (true)
+        {
+            final int start = this.block.position();
+
+            try
+            {
+                this.keySerializer.write(this.block, key);
+
+                if (this.valueSerializer != null)
+                    this.valueSerializer.write(this.block, value);
+
+                this.blockEntries++;
+                this.entries++;
+                return;
+            }
+            catch (BufferOverflowException e)
+            {
+                this.block.position(start);
+
+                // a full block is written, an entry larger than an empty block gets a larger block
+                if (start > 0)
+                    this.writeBlock();
+                else
+                    this.growBlock();
+            }
+        }
+    }
+
+    /**
+     * Writes a key (keys-only streams).
+     *
+     * @param key - a key.
+     * @throws IOException if a full block can not be written.
+     */
+    public void write(K key) throws IOException
+    {
+        this.write(key, null);
+    }
+
+    /**
+     * Returns the number of entries written so far.
+     */
+    public long getEntries()
+    {
+        return this.entries;
+    }
+
+    /**
+     * Writes the last block and the end of the stream. The channel is not closed.
+     *
+     * @throws IOException if the stream can not be written.
+     */
+    public void finish() throws IOException
+    {
+        if (this.finished)
+            return;
+
+        if (this.blockEntries > 0)
+            this.writeBlock();
+
+        if (this.expectedEntries != -1 && this.expectedEntries != this.entries)
+            throw new IllegalStateException("Expected " + this.expectedEntries + " entries, written " + this.entries);
+
+        ByteBuffer end = ByteBuffer.allocate(EntryWriter.BLOCK_HEADER_BYTES + Long.BYTES);
+
+        end.putInt(0).putInt(0).putInt(EntryWriter.END_OF_STREAM).putInt(0).putLong(this.entries);
+
+        this.writeFully(end.flip());
+        this.finished = true;
+    }
+
+    /**
+     * Finishes the stream (the channel is not closed).
+     */
+    @Override
+    public void close() throws IOException
+    {
+        this.finish();
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Writes the current block (compressed if that makes it smaller) and starts a new one.
+     */
+    private void writeBlock() throws IOException
+    {
+        final int length = this.block.position();
+        byte[] stored    = this.block.array();
+        int storedLength = length;
+
+        if (this.compressed != null)
+        {
+            final int compressedLength = BlockCompression.compress(this.block.array(), length, this.compressed, this.compressionTable);
+
+            if (compressedLength < length)
+            {
+                stored       = this.compressed;
+                storedLength = compressedLength;
+            }
+        }
+
+        this.checksum.reset();
+        this.checksum.update(this.block.array(), 0, length);
+
+        ByteBuffer header = ByteBuffer.allocate(EntryWriter.BLOCK_HEADER_BYTES);
+        header.putInt(length).putInt(storedLength).putInt(this.blockEntries).putInt((int) this.checksum.getValue());
+
+        this.writeFully(header.flip());
+        this.writeFully(ByteBuffer.wrap(stored, 0, storedLength));
+
+        this.block.clear();
+        this.blockEntries = 0;
+    }
+
+    /**
+     * Doubles the size of the (empty) block, so an entry larger than a block still fits.
+     */
+    private void growBlock()
+    {
+        if (this.block.capacity() >= EntryWriter.MAXIMUM_BLOCK_SIZE)
+            throw new IllegalArgumentException("Entry does not fit in a block: " + EntryWriter.MAXIMUM_BLOCK_SIZE);
+
+        this.block = ByteBuffer.allocate(2 * this.block.capacity());
+
+        if (this.compressed != null)
+            this.compressed = new byte[BlockCompression.maximumCompressedLength(this.block.capacity())];
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer.
+     */
+    private void writeFully(ByteBuffer buffer) throws IOException
+    {
+        while (buffer.hasRemaining())
+            this.channel.write(buffer);
+    }
+}
@@ -0,0 +1,352 @@
+package datastructures;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A hash table whose entries expire a fixed duration after they were written (AFTER_WRITE) or last read
+ * (AFTER_ACCESS).
+ * <p>
+ * Every entry has a timer in a hierarchical TimerWheel, so scheduling, refreshing and cancelling its
+ * expiry are O(1), and no sweeper scans the table. Expired entries are never returned: get(), hasKey()
+ * and remove() check the expiry of the entry they find. The expired entries are removed a few at a time
+ * (at most CLEANUP_BUDGET per operation) by advancing the wheel, cleanUp() removes all of them.
+ * <p>
+ * Time is read from a clock of nanoseconds (System::nanoTime by default), a test can pass its own.
+ */
+public class ExpiringHashTable<K, V> implements Iterable<K>
+{
+    /**
+     * When the expiry of an entry starts.
+     */
+    public enum Expiry
+    {
+        /**
+         * An entry expires a fixed duration after it was put.
+         */
+        AFTER_WRITE,
+
+        /**
+         * An entry expires a fixed duration after it was put or last read with get().
+         */
+        AFTER_ACCESS
+    }
+
+    // the maximum number of expired entries removed by one operation.
+    private static final int CLEANUP_BUDGET = 16;
+
+    private HashTable<K, Entry<K, V>> entries;
+    private TimerWheel<Entry<K, V>> timers;
+    private LongSupplier clock;
+
+    private final long duration;
+    private final Expiry expiry;
+
+    /**
+     * ExpiringHashTable constructor, entries expire after write.
+     *
+     * @param duration - the lifetime of an entry.
+     * @param unit     - the unit of the duration.
+     */
+    public ExpiringHashTable(long duration, TimeUnit unit)
+    {
+        this(duration, unit, Expiry.AFTER_WRITE);
+    }
+
+    /**
+     * ExpiringHashTable constructor.
+     *
+     * @param duration - the lifetime of an entry.
+     * @param unit     - the unit of the duration.
+     * @param expiry   - when the lifetime starts.
+     */
+    public ExpiringHashTable(long duration, TimeUnit unit, Expiry expiry)
+    {
+        this(duration, unit, expiry, System::nanoTime);
+    }
+
+    /**
+     * ExpiringHashTable constructor.
+     *
+     * @param duration - the lifetime of an entry.
+     * @param unit     - the unit of the duration.
+     * @param expiry   - when the lifetime starts.
+     * @param clock    - returns the current time in nanoseconds.
+     */
+    public ExpiringHashTable(long duration, TimeUnit unit, Expiry expiry, LongSupplier clock)
+    {
+        if (duration <= 0)
+            throw new IllegalArgumentException("Illegal duration: " + duration);
+
+        if (unit == null || expiry == null || clock == null)
+            throw new IllegalArgumentException("Null argument");
+
+        this.duration = unit.toNanos(duration);
+        this.expiry   = expiry;
+        this.clock    = clock;
+        this.entries  = new HashTable<>();
+        this.timers   = new TimerWheel<>(clock.getAsLong());
+    }
+
+    /**
+     * Puts the key-value pair into the table, its lifetime starts now.
+     * Time  Complexity: O(1) amortized
+     * Space Complexity: O(1)
+     *
+     * @param key   - the key.
+     * @param value - the value.
+     * @return V    - the previous value of the key, or null if it was absent or expired.
+     */
+    public V put(K key, V value)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        if (value == null)
+            throw new IllegalArgumentException("Null value");
+
+        long now = this.clock.getAsLong();
+        this.cleanUp(now, CLEANUP_BUDGET);
+
+        Entry<K, V> entry = this.entries.get(key);
+
+        if (entry == null)
+        {
+            entry       = new Entry<>(key, value);
+            entry.timer = this.timers.schedule(entry, now + this.duration);
+
+            this.entries.insert(key, entry);
+
+            return null;
+        }
+
+        V previous  = entry.isExpired(now) ? null : entry.value;
+        entry.value = value;
+
+        this.timers.reschedule(entry.timer, now + this.duration);
+
+        return previous;
+    }
+
+    /**
+     * Returns the value of the key, or null if the key is absent or expired. With AFTER_ACCESS the
+     * lifetime of the entry starts again.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - the key.
+     * @return V  - the value, or null.
+     */
+    public V get(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        long now = this.clock.getAsLong();
+        this.cleanUp(now, CLEANUP_BUDGET);
+
+        Entry<K, V> entry = this.find(key, now);
+
+        if (entry == null)
+            return null;
+
+        if (this.expiry == Expiry.AFTER_ACCESS)
+            this.timers.reschedule(entry.timer, now + this.duration);
+
+        return entry.value;
+    }
+
+    /**
+     * Removes the key from the table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - the key.
+     * @return V  - the value of the key, or null if it was absent or expired.
+     */
+    public V remove(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        long now = this.clock.getAsLong();
+        this.cleanUp(now, CLEANUP_BUDGET);
+
+        Entry<K, V> entry = this.entries.remove(key);
+
+        if (entry == null)
+            return null;
+
+        this.timers.cancel(entry.timer);
+
+        return entry.isExpired(now) ? null : entry.value;
+    }
+
+    /**
+     * Checks if the key is present and not expired (it does not count as an access).
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - the key.
+     * @return boolean - true if the key is present.
+     */
+    public boolean hasKey(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        long now = this.clock.getAsLong();
+        this.cleanUp(now, CLEANUP_BUDGET);
+
+        return this.find(key, now) != null;
+    }
+
+    /**
+     * Removes all the expired entries.
+     * Time  Complexity: O(expired entries)
+     * Space Complexity: O(1)
+     */
+    public void cleanUp()
+    {
+        this.cleanUp(this.clock.getAsLong(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes all the entries.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public void clear()
+    {
+        this.entries.clear();
+        this.timers = new TimerWheel<>(this.clock.getAsLong());
+    }
+
+    /**
+     * Returns the keys that are not expired.
+     */
+    public List<K> keys()
+    {
+        long now     = this.clock.getAsLong();
+        List<K> keys = new ArrayList<>(this.entries.size());
+
+        for (K key : this.entries)
+            if (!this.entries.get(key).isExpired(now))
+                keys.add(key);
+
+        return keys;
+    }
+
+    /**
+     * Returns the number of entries, including the expired ones that were not removed yet (see cleanUp()).
+     */
+    public int size()
+    {
+        return this.entries.size();
+    }
+
+    /**
+     * Returns true if the table holds no entries (see size()).
+     */
+    public boolean isEmpty()
+    {
+        return this.entries.isEmpty();
+    }
+
+    /**
+     * Returns the lifetime of an entry in nanoseconds.
+     */
+    public long getDuration()
+    {
+        return this.duration;
+    }
+
+    /**
+     * Returns when the lifetime of an entry starts.
+     */
+    public Expiry getExpiry()
+    {
+        return this.expiry;
+    }
+
+    @Override
+    public Iterator<K> iterator()
+    {
+        return this.keys().iterator();
+    }
+
+    @Override
+    public String toString()
+    {
+        long now         = this.clock.getAsLong();
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        for (K key : this.entries)
+        {
+            Entry<K, V> entry = this.entries.get(key);
+
+            if (!entry.isExpired(now))
+                sb.append(key + " => " + entry.value + ", ");
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Returns the entry of the key, or null if it is absent. An expired entry is removed.
+     */
+    private Entry<K, V> find(K key, long now)
+    {
+        Entry<K, V> entry = this.entries.get(key);
+
+        if (entry == null || !entry.isExpired(now))
+            return entry;
+
+        this.entries.remove(key);
+        this.timers.cancel(entry.timer);
+
+        return null;
+    }
+
+    /**
+     * Removes at most budget expired entries.
+     */
+    private void cleanUp(long now, int budget)
+    {
+        this.timers.advance(now, budget, entry -> this.entries.remove(entry.key));
+    }
+
+    /**
+     * An entry of the table with the timer of its expiry.
+     */
+    private static final class Entry<K, V>
+    {
+        private final K key;
+        private V value;
+        private TimerWheel.Timer<Entry<K, V>> timer;
+
+        /**
+         * Entry constructor.
+         */
+        private Entry(K key, V value)
+        {
+            this.key   = key;
+            this.value = value;
+        }
+
+        /**
+         * Returns true if the entry expired at the given time.
+         */
+        private boolean isExpired(long now)
+        {
+            return now - this.timer.getTime() >= 0;
+        }
+    }
+}
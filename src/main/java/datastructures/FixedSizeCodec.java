@@ -0,0 +1,107 @@
+package datastructures;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size binary encoding of the keys and values of an off-heap hash table.
+ *
+ * Off-heap tables compare keys by their encoded bytes, so a key encoding must be canonical:
+ * two keys are equal if and only if their encodings are equal.
+ */
+public interface FixedSizeCodec<T>
+{
+    /**
+     * The number of bytes of every encoded value.
+     */
+    int size();
+
+    /**
+     * Writes the encoding of a value at the given absolute offset.
+     *
+     * @param buffer - a buffer.
+     * @param offset - absolute offset inside the buffer.
+     * @param value  - a value.
+     */
+    void write(ByteBuffer buffer, int offset, T value);
+
+    /**
+     * Reads a value encoded at the given absolute offset.
+     *
+     * @param buffer - a buffer.
+     * @param offset - absolute offset inside the buffer.
+     * @return T     - the decoded value.
+     */
+    T read(ByteBuffer buffer, int offset);
+
+    /**
+     * 4-byte codec for integers.
+     */
+    FixedSizeCodec<Integer> INTEGER = new FixedSizeCodec<>()
+    {
+        @Override
+        public int size()
+        {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Integer value)
+        {
+            buffer.putInt(offset, value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset)
+        {
+            return buffer.getInt(offset);
+        }
+    };
+
+    /**
+     * 8-byte codec for longs.
+     */
+    FixedSizeCodec<Long> LONG = new FixedSizeCodec<>()
+    {
+        @Override
+        public int size()
+        {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long value)
+        {
+            buffer.putLong(offset, value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset)
+        {
+            return buffer.getLong(offset);
+        }
+    };
+
+    /**
+     * 8-byte codec for doubles (NaNs with different payloads encode differently, so better suited for values than keys).
+     */
+    FixedSizeCodec<Double> DOUBLE = new FixedSizeCodec<>()
+    {
+        @Override
+        public int size()
+        {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Double value)
+        {
+            buffer.putDouble(offset, value);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer, int offset)
+        {
+            return buffer.getDouble(offset);
+        }
+    };
+}
@@ -0,0 +1,131 @@
+package datastructures;
+
+/**
+ * A count-min sketch of 4-bit counters that estimates how often a key was seen recently (the TinyLFU
+ * admission filter of BoundedCache). Every key maps to 4 counters in up to 4 64-bit words (16 counters
+ * per word): counter i is the i-th counter of the key's group of 4 in a word picked by hash function i.
+ * The estimate is the smallest of them. Counters saturate at 15 and, after 10 increments per
+ * tracked key, all of them are halved so that old popularity fades away.
+ */
+final class FrequencySketch
+{
+    private static final long[] SEEDS = {
+        0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+    };
+
+    // mask of the low 3 bits of every 4-bit counter (halving a word).
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 24;
+
+    private long[] table;
+    private int tableMask;
+    private int sampleSize;
+    private int additions;
+
+    /**
+     * FrequencySketch constructor.
+     *
+     * @param capacity - the number of keys to track.
+     */
+    FrequencySketch(int capacity)
+    {
+        this.ensureCapacity(capacity);
+    }
+
+    /**
+     * Grows the sketch to track the given number of keys, the history is lost when it grows.
+     * Time  Complexity: O(1) amortized
+     * Space Complexity: O(capacity)
+     *
+     * @param capacity - the number of keys to track.
+     */
+    void ensureCapacity(int capacity)
+    {
+        int length = Math.max(8, Integer.highestOneBit(Math.min(capacity, MAXIMUM_CAPACITY) - 1) << 1);
+
+        if (this.table != null && this.table.length >= length)
+            return;
+
+        this.table      = new long[length];
+        this.tableMask  = length - 1;
+        this.sampleSize = 10 * length;
+        this.additions  = 0;
+    }
+
+    /**
+     * Returns the estimated number of times the key was seen (at most 15).
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key  - the key.
+     * @return int - the estimated frequency.
+     */
+    int frequency(Object key)
+    {
+        int hash      = HashTable.spread(key.hashCode());
+        int start     = (hash & 3) << 2;
+        int frequency = 15;
+
+        for (int i = 0; i < 4; i++)
+        {
+            int shift = (start + i) << 2;
+            frequency = Math.min(frequency, (int) (this.table[this.indexOf(hash, i)] >>> shift) & 0xF);
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Records one occurrence of the key.
+     * Time  Complexity: O(1) amortized
+     * Space Complexity: O(1)
+     *
+     * @param key - the key.
+     */
+    void increment(Object key)
+    {
+        int hash          = HashTable.spread(key.hashCode());
+        int start         = (hash & 3) << 2;
+        boolean increased = false;
+
+        for (int i = 0; i < 4; i++)
+        {
+            int index = this.indexOf(hash, i);
+            int shift = (start + i) << 2;
+
+            if (((this.table[index] >>> shift) & 0xF) != 0xF)
+            {
+                this.table[index] += 1L << shift;
+                increased = true;
+            }
+        }
+
+        if (increased && ++this.additions == this.sampleSize)
+            this.reset();
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Returns the word holding the i-th counter of the hash.
+     */
+    private int indexOf(int hash, int i)
+    {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+
+        return (int) h & this.tableMask;
+    }
+
+    /**
+     * Halves every counter.
+     */
+    private void reset()
+    {
+        for (int i = 0; i < this.table.length; i++)
+            this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+
+        this.additions = this.additions >>> 1;
+    }
+}
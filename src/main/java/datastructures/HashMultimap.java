@@ -0,0 +1,575 @@
+package datastructures;
+
+import java.util.List;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+import java.util.function.BiFunction;
+
+/**
+ * A multimap: every key maps to a set of distinct values.
+ * <p>
+ * The keys live in a HashTable, and a key with a single value stores that value directly in its bucket, so
+ * the common one-to-one case costs no object per key. A second value turns the bucket into a small group
+ * that keeps up to INLINE_CAPACITY values in a packed array (searched linearly), larger groups spill into
+ * an open addressing array of their own. put() locates the key once, through HashTable.merge().
+ */
+@SuppressWarnings("unchecked")
+public class HashMultimap<K, V> implements Iterable<K>
+{
+    // the number of values a group keeps in its packed array before it spills into an open addressing array.
+    private static final int INLINE_CAPACITY = 8;
+
+    private HashTable<K, Object> table;
+
+    // the total number of key-value pairs.
+    private int size;
+
+    // set by addValue() when the value of put() was already mapped to the key.
+    private boolean duplicate;
+
+    // merge() function of put(), allocated once.
+    private final BiFunction<Object, Object, Object> addValue = this::addValue;
+
+    /**
+     * HashMultimap constructor.
+     */
+    public HashMultimap()
+    {
+        this.table = new HashTable<>();
+    }
+
+    /**
+     * HashMultimap constructor.
+     *
+     * @param capacity - the capacity of the table of keys.
+     */
+    public HashMultimap(int capacity)
+    {
+        this.table = new HashTable<>(capacity);
+    }
+
+    /**
+     * HashMultimap constructor.
+     *
+     * @param capacity   - the capacity of the table of keys.
+     * @param loadFactor - the load factor of the table of keys.
+     * @param options    - the options of the table of keys (see HashTable.Option).
+     */
+    public HashMultimap(int capacity, double loadFactor, HashTable.Option... options)
+    {
+        this.table = new HashTable<>(capacity, loadFactor, options);
+    }
+
+    /**
+     * Maps a value to a key.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key      - a key.
+     * @param value    - a value.
+     * @return boolean - true if the value is added, false if it was already mapped to the key.
+     */
+    public boolean put(K key, V value)
+    {
+        if (value == null)
+            throw new IllegalArgumentException("Null value");
+
+        this.duplicate = false;
+        this.table.merge(key, value, this.addValue);
+
+        if (this.duplicate)
+            return false;
+
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Maps all the given values to a key.
+     * Time  Complexity: O(values)
+     * Space Complexity: O(values)
+     *
+     * @param key    - a key.
+     * @param values - values.
+     * @return int   - the number of values added.
+     */
+    public int putAll(K key, Iterable<? extends V> values)
+    {
+        int added = 0;
+
+        for (V value : values)
+            if (this.put(key, value))
+                added++;
+
+        return added;
+    }
+
+    /**
+     * Returns the values mapped to a key.
+     * Time  Complexity: O(values)
+     * Space Complexity: O(values)
+     *
+     * @param key      - a key.
+     * @return List<V> - the values, an empty list if the key is absent.
+     */
+    public List<V> get(K key)
+    {
+        List<V> values = new ArrayList<>();
+        this.forEach(key, values::add);
+
+        return values;
+    }
+
+    /**
+     * Visits the values mapped to a key, without copying them into a list.
+     * Time  Complexity: O(values)
+     * Space Complexity: O(1)
+     *
+     * @param key    - a key.
+     * @param action - called with every value of the key.
+     */
+    public void forEach(K key, Consumer<? super V> action)
+    {
+        Object current = this.table.get(key);
+
+        if (current instanceof Values)
+            ((Values) current).forEach((Consumer<Object>) action);
+        else if (current != null)
+            action.accept((V) current);
+    }
+
+    /**
+     * Removes a value from the values of a key, the key is removed with its last value.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @param value    - a value.
+     * @return boolean - true if the value was mapped to the key, false otherwise.
+     */
+    public boolean remove(K key, V value)
+    {
+        Object current = this.table.get(key);
+
+        if (current == null || value == null)
+            return false;
+
+        if (!(current instanceof Values))
+        {
+            if (!current.equals(value))
+                return false;
+
+            this.table.remove(key);
+            this.size--;
+
+            return true;
+        }
+
+        Values values = (Values) current;
+
+        if (!values.remove(value))
+            return false;
+
+        // a key left with one value stores it in its bucket again.
+        if (values.size == 1)
+            this.table.put(key, values.first());
+
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Removes a key with all its values.
+     * Time  Complexity: O(values)
+     * Space Complexity: O(values)
+     *
+     * @param key      - a key.
+     * @return List<V> - the values of the key, an empty list if it was absent.
+     */
+    public List<V> removeAll(K key)
+    {
+        List<V> values = this.get(key);
+
+        if (!values.isEmpty())
+        {
+            this.table.remove(key);
+            this.size -= values.size();
+        }
+
+        return values;
+    }
+
+    /**
+     * Checks if a value is mapped to a key.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @param value    - a value.
+     * @return boolean - true if the value is mapped to the key, false otherwise.
+     */
+    public boolean containsEntry(K key, V value)
+    {
+        Object current = this.table.get(key);
+
+        if (current == null || value == null)
+            return false;
+
+        if (current instanceof Values)
+            return ((Values) current).contains(value);
+
+        return current.equals(value);
+    }
+
+    /**
+     * Checks if the key has at least one value.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean hasKey(K key)
+    {
+        return this.table.hasKey(key);
+    }
+
+    /**
+     * Returns the number of values mapped to a key.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key  - a key.
+     * @return int - the number of values, 0 if the key is absent.
+     */
+    public int count(K key)
+    {
+        Object current = this.table.get(key);
+
+        if (current instanceof Values)
+            return ((Values) current).size;
+
+        return current == null ? 0 : 1;
+    }
+
+    /**
+     * Returns a list of the keys.
+     */
+    public List<K> keys()
+    {
+        return this.table.keys();
+    }
+
+    /**
+     * Returns a list of all the values (a value appears once for every key it is mapped to).
+     */
+    public List<V> values()
+    {
+        List<V> values = new ArrayList<>(this.size);
+
+        for (K key : this.table)
+            this.forEach(key, values::add);
+
+        return values;
+    }
+
+    /**
+     * Returns the total number of key-value pairs.
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of keys.
+     */
+    public int keyCount()
+    {
+        return this.table.size();
+    }
+
+    /**
+     * Checks if the multimap is empty.
+     */
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    /**
+     * Clears the multimap.
+     */
+    public void clear()
+    {
+        this.table.clear();
+        this.size = 0;
+    }
+
+    /**
+     * Iterates over the keys (see get() for their values).
+     */
+    @Override
+    public Iterator<K> iterator()
+    {
+        return this.table.iterator();
+    }
+
+    /**
+     * HashMultimap class string representation.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        for (K key : this.table)
+            sb.append(key + " => " + this.get(key) + ", ");
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * The merge() function of put(): adds a value to the current value (or group) of a key.
+     */
+    private Object addValue(Object current, Object value)
+    {
+        if (current instanceof Values)
+        {
+            this.duplicate = !((Values) current).add(value);
+            return current;
+        }
+
+        if (current.equals(value))
+        {
+            this.duplicate = true;
+            return current;
+        }
+
+        return new Values(current, value);
+    }
+
+    /**
+     * The values of a key with more than one value: a packed array searched linearly while they are few,
+     * then an open addressing array (linear probing, no tombstones: a removal shifts the following values
+     * of the run back). Every value has a tag byte taken from its hash in a parallel array (like the control
+     * bytes of SwissHashTable), so a search only calls equals() on the values whose tag matches, and does
+     * not load the others at all.
+     */
+    private static final class Values
+    {
+        private Object[] elements;
+        private byte[] tags;
+        private boolean hashed;
+        private int size;
+
+        /**
+         * Values constructor.
+         */
+        private Values(Object first, Object second)
+        {
+            this.elements = new Object[] { first, second, null, null };
+            this.tags     = new byte[] { Values.tag(first.hashCode()), Values.tag(second.hashCode()), 0, 0 };
+            this.size     = 2;
+        }
+
+        /**
+         * Adds a value, returns false if it is already present.
+         */
+        private boolean add(Object value)
+        {
+            final int hash = value.hashCode();
+
+            if (this.hashed)
+            {
+                if (4 * (this.size + 1) > 3 * this.elements.length)
+                    this.rehash(2 * this.elements.length);
+
+                if (!this.insert(value, hash))
+                    return false;
+
+                this.size++;
+                return true;
+            }
+
+            if (this.indexOf(value, hash) >= 0)
+                return false;
+
+            if (this.size == HashMultimap.INLINE_CAPACITY)
+            {
+                this.rehash(2 * HashMultimap.INLINE_CAPACITY);
+                this.insert(value, hash);
+            }
+            else
+            {
+                if (this.size == this.elements.length)
+                {
+                    this.elements = Arrays.copyOf(this.elements, 2 * this.size);
+                    this.tags     = Arrays.copyOf(this.tags, 2 * this.size);
+                }
+
+                this.elements[this.size] = value;
+                this.tags[this.size]     = Values.tag(hash);
+            }
+
+            this.size++;
+            return true;
+        }
+
+        /**
+         * Removes a value, returns false if it is absent.
+         */
+        private boolean remove(Object value)
+        {
+            int index = this.indexOf(value, value.hashCode());
+
+            if (index < 0)
+                return false;
+
+            if (!this.hashed)
+            {
+                // the order of the values is not kept, the last one fills the gap.
+                this.size--;
+                this.elements[index]     = this.elements[this.size];
+                this.tags[index]         = this.tags[this.size];
+                this.elements[this.size] = null;
+
+                return true;
+            }
+
+            int mask = this.elements.length - 1;
+            this.elements[index] = null;
+            this.size--;
+
+            // a value moves into the gap unless its home bucket lies between the gap and the value.
+            for (int i = (index + 1) & mask; this.elements[i] != null; i = (i + 1) & mask)
+            {
+                int home = HashTable.spread(this.elements[i].hashCode()) & mask;
+
+                if (((i - home) & mask) >= ((i - index) & mask))
+                {
+                    this.elements[index] = this.elements[i];
+                    this.tags[index]     = this.tags[i];
+                    this.elements[i]     = null;
+                    index                = i;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Checks if a value is present.
+         */
+        private boolean contains(Object value)
+        {
+            return this.indexOf(value, value.hashCode()) >= 0;
+        }
+
+        /**
+         * Returns one of the values.
+         */
+        private Object first()
+        {
+            for (Object element : this.elements)
+                if (element != null)
+                    return element;
+
+            return null;
+        }
+
+        /**
+         * Visits every value.
+         */
+        private void forEach(Consumer<Object> action)
+        {
+            if (this.hashed)
+            {
+                for (Object element : this.elements)
+                    if (element != null)
+                        action.accept(element);
+
+                return;
+            }
+
+            for (int i = 0; i < this.size; i++)
+                action.accept(this.elements[i]);
+        }
+
+        /**
+         * Returns the index of a value, -1 if it is absent.
+         */
+        private int indexOf(Object value, int hash)
+        {
+            final byte tag = Values.tag(hash);
+
+            if (!this.hashed)
+            {
+                for (int i = 0; i < this.size; i++)
+                    if (this.tags[i] == tag && this.elements[i].equals(value))
+                        return i;
+
+                return -1;
+            }
+
+            int mask = this.elements.length - 1;
+
+            for (int i = HashTable.spread(hash) & mask; this.elements[i] != null; i = (i + 1) & mask)
+                if (this.tags[i] == tag && this.elements[i].equals(value))
+                    return i;
+
+            return -1;
+        }
+
+        /**
+         * Places a value in the open addressing array (that has a free bucket), returns false if it is already present.
+         */
+        private boolean insert(Object value, int hash)
+        {
+            final byte tag = Values.tag(hash);
+            final int mask = this.elements.length - 1;
+
+            int i = HashTable.spread(hash) & mask;
+
+            for (; this.elements[i] != null; i = (i + 1) & mask)
+                if (this.tags[i] == tag && this.elements[i].equals(value))
+                    return false;
+
+            this.elements[i] = value;
+            this.tags[i]     = tag;
+
+            return true;
+        }
+
+        /**
+         * Moves the values into an open addressing array of the given capacity (a power of two).
+         */
+        private void rehash(int capacity)
+        {
+            Object[] elements = this.elements;
+            int count         = this.hashed ? elements.length : this.size;
+
+            this.elements = new Object[capacity];
+            this.tags     = new byte[capacity];
+            this.hashed   = true;
+
+            for (int i = 0; i < count; i++)
+                if (elements[i] != null)
+                    this.insert(elements[i], elements[i].hashCode());
+        }
+
+        /**
+         * Returns the tag of a hash code: the high byte of the spread hash (the buckets use the low bits).
+         */
+        private static byte tag(int hash)
+        {
+            return (byte) (HashTable.spread(hash) >>> 24);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package datastructures;
+
+import java.util.List;
+import java.util.Iterator;
+
+/**
+ * A multiset (bag): every element is stored once, with the number of its occurrences.
+ * <p>
+ * The counts live in an ObjectIntHashTable, the open addressing table of HashTable with a primitive int
+ * array of values, so adding an occurrence is a single probe that neither boxes nor allocates (a
+ * HashTable of Integer counts allocates an Integer for every count above 127).
+ */
+public class HashMultiset<T> implements Iterable<T>
+{
+    private ObjectIntHashTable<T> counts;
+
+    // the total number of occurrences.
+    private long size;
+
+    /**
+     * HashMultiset constructor.
+     */
+    public HashMultiset()
+    {
+        this.counts = new ObjectIntHashTable<>();
+    }
+
+    /**
+     * HashMultiset constructor.
+     *
+     * @param capacity - the capacity of the table of distinct elements.
+     */
+    public HashMultiset(int capacity)
+    {
+        this.counts = new ObjectIntHashTable<>(capacity);
+    }
+
+    /**
+     * Adds one occurrence of an element.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param element - an element.
+     * @return int    - the number of occurrences of the element after the addition.
+     */
+    public int add(T element)
+    {
+        return this.add(element, 1);
+    }
+
+    /**
+     * Adds occurrences of an element.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param element     - an element.
+     * @param occurrences - the number of occurrences to add.
+     * @return int        - the number of occurrences of the element after the addition.
+     * @throws IllegalArgumentException if the number of occurrences would exceed Integer.MAX_VALUE.
+     */
+    public int add(T element, int occurrences)
+    {
+        if (occurrences < 0)
+            throw new IllegalArgumentException("Illegal occurrences: " + occurrences);
+
+        if (occurrences == 0)
+            return this.count(element);
+
+        int count = this.counts.addTo(element, occurrences);
+
+        // both terms are positive, so an overflow wraps around to a negative count: it is undone.
+        if (count < 0)
+        {
+            this.counts.addTo(element, -occurrences);
+            throw new IllegalArgumentException("Count overflow: " + element + " already has " + (count - occurrences) + " occurrences");
+        }
+
+        this.size += occurrences;
+
+        return count;
+    }
+
+    /**
+     * Removes one occurrence of an element.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param element - an element.
+     * @return int    - the number of occurrences of the element after the removal.
+     */
+    public int remove(T element)
+    {
+        return this.remove(element, 1);
+    }
+
+    /**
+     * Removes occurrences of an element, the element is removed when none of them is left.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param element     - an element.
+     * @param occurrences - the maximum number of occurrences to remove.
+     * @return int        - the number of occurrences of the element after the removal.
+     */
+    public int remove(T element, int occurrences)
+    {
+        if (occurrences < 0)
+            throw new IllegalArgumentException("Illegal occurrences: " + occurrences);
+
+        int count = this.counts.get(element);
+
+        if (count == 0 || occurrences == 0)
+            return count;
+
+        if (count <= occurrences)
+        {
+            this.counts.remove(element);
+            this.size -= count;
+
+            return 0;
+        }
+
+        this.size -= occurrences;
+
+        return this.counts.addTo(element, -occurrences);
+    }
+
+    /**
+     * Sets the number of occurrences of an element, 0 removes it.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param element - an element.
+     * @param count   - the new number of occurrences.
+     * @return int    - the previous number of occurrences.
+     */
+    public int setCount(T element, int count)
+    {
+        if (count < 0)
+            throw new IllegalArgumentException("Illegal count: " + count);
+
+        int previous = count == 0 ? this.counts.remove(element) : this.counts.put(element, count);
+        this.size   += count - previous;
+
+        return previous;
+    }
+
+    /**
+     * Returns the number of occurrences of an element.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param element - an element.
+     * @return int    - the number of occurrences, 0 if the element is absent.
+     */
+    public int count(T element)
+    {
+        return this.counts.get(element);
+    }
+
+    /**
+     * Checks if the multiset holds at least one occurrence of an element.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param element  - an element.
+     * @return boolean - true if the element exists, false otherwise.
+     */
+    public boolean contains(T element)
+    {
+        return this.counts.hasKey(element);
+    }
+
+    /**
+     * Visits every distinct element with its number of occurrences, without boxing the counts.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     *
+     * @param consumer - visitor of the elements and their counts.
+     */
+    public void forEach(ObjectIntHashTable.EntryConsumer<T> consumer)
+    {
+        this.counts.forEach(consumer);
+    }
+
+    /**
+     * Returns a list of the distinct elements.
+     */
+    public List<T> elements()
+    {
+        return this.counts.keys();
+    }
+
+    /**
+     * Returns the total number of occurrences.
+     */
+    public long size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of distinct elements.
+     */
+    public int elementCount()
+    {
+        return this.counts.size();
+    }
+
+    /**
+     * Checks if the multiset is empty.
+     */
+    public boolean isEmpty()
+    {
+        return this.counts.isEmpty();
+    }
+
+    /**
+     * Clears the multiset.
+     */
+    public void clear()
+    {
+        this.counts.clear();
+        this.size = 0;
+    }
+
+    /**
+     * Iterates over the distinct elements (see count() for their occurrences).
+     */
+    @Override
+    public Iterator<T> iterator()
+    {
+        return this.elements().iterator();
+    }
+
+    /**
+     * HashMultiset class string representation.
+     */
+    @Override
+    public String toString()
+    {
+        return this.counts.toString();
+    }
+}
@@ -0,0 +1,444 @@
+package datastructures;
+
+import java.util.Iterator;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Open addressing hash set.
+ * <p>
+ * It follows the design of HashTable (linear probing with a stride of 17, a capacity co-prime with it,
+ * tombstones for deleted elements, lazy relocation and compaction under churn), but it only has an
+ * array of elements: there is no array of values, so a set takes half the memory of a HashTable of
+ * the same capacity and a probe touches a single array.
+ */
+@SuppressWarnings("unchecked")
+public class HashSet<T> implements Iterable<T>
+{
+    // hash set load factor.
+    private double loadFactor;
+
+    // the total number of elements currently inside the hash set.
+    private int keyCount;
+
+    // the total number of used buckets inside the hash set (includes buckets marked as deleted).
+    private int usedBuckets;
+
+    // hash set capacity and threshold for resizing.
+    private int capacity;
+    private int threshold;
+
+    // array that stores the elements.
+    private T[] keys;
+
+    // marker of deleted buckets.
+    private final T TOMBSTONE = (T) (new Object());
+
+    // hash set constants.
+    private static final int    DEFAULT_CAPACITY    = 25;
+    private static final double DEFAULT_LOAD_FACTOR = 0.7;
+    private static final int    LINEAR_CONSTANT     = 17;
+    private static final int    MAXIMUM_CAPACITY    = 1 << 30;
+    private static final double TOMBSTONE_RATIO     = 0.5;
+
+    /**
+     * HashSet constructor.
+     */
+    public HashSet()
+    {
+        this(HashSet.DEFAULT_CAPACITY, HashSet.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * HashSet constructor.
+     *
+     * @param capacity - hash set capacity.
+     */
+    public HashSet(int capacity)
+    {
+        this(capacity, HashSet.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * HashSet constructor.
+     *
+     * @param capacity   - hash set capacity.
+     * @param loadFactor - hash set load factor (used to determine when we need to resize).
+     */
+    public HashSet(int capacity, double loadFactor)
+    {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        if (loadFactor <= 0 || Double.isNaN(loadFactor) || Double.isInfinite(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+
+        this.loadFactor = Math.max(HashSet.DEFAULT_LOAD_FACTOR, loadFactor);
+        this.allocate(HashSet.adjustCapacity(Math.min(capacity, HashSet.MAXIMUM_CAPACITY)));
+    }
+
+    /**
+     * Adds a new element to the set.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param element  - an element to be added to the hash set.
+     * @return boolean - true if the element is added, false if the element already exists.
+     */
+    public boolean add(T element)
+    {
+        final int hash = HashSet.hash(element);
+
+        if (this.usedBuckets >= this.threshold)
+            this.makeRoom();
+
+        for (int i = this.normalizeIndex(hash), j = -1; ; i = this.next(i))
+        {
+            // 1. the current bucket was previously deleted, remember the first one for reuse.
+            if (this.keys[i] == this.TOMBSTONE)
+            {
+                if (j == -1)
+                    j = i;
+            }
+            // 2. the element already exists, move it into the first deleted bucket on the way.
+            else if (this.keys[i] != null)
+            {
+                if (this.keys[i].equals(element))
+                {
+                    if (j != -1)
+                        this.relocate(i, j);
+
+                    return false;
+                }
+            }
+            // 3. the element does not exist, insert it into the first deleted or the empty bucket.
+            else
+            {
+                if (j == -1)
+                {
+                    j = i;
+                    this.usedBuckets++;
+                }
+
+                this.keys[j] = element;
+                this.keyCount++;
+
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes an element from the hash set.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param element  - an element to be removed.
+     * @return boolean - true if the element was removed, false if it did not exist.
+     */
+    public boolean remove(T element)
+    {
+        final int index = this.indexOf(element);
+
+        if (index == -1)
+            return false;
+
+        this.keys[index] = this.TOMBSTONE;
+        this.keyCount--;
+
+        return true;
+    }
+
+    /**
+     * Checks if an element exists in the hash set.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param element  - an element to check.
+     * @return boolean - true if the element exists, false otherwise.
+     */
+    public boolean contains(T element)
+    {
+        return this.indexOf(element) != -1;
+    }
+
+    /**
+     * Streams all the elements of the set to a channel (see EntryWriter), without copying them into a list.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     *
+     * @param channel    - the channel the elements are written to (it is not closed).
+     * @param serializer - serializer of the elements.
+     * @param compress   - true to compress the written blocks.
+     * @throws IOException if the elements can not be written.
+     */
+    public void writeTo(WritableByteChannel channel, Serializer<? super T> serializer, boolean compress) throws IOException
+    {
+        try (EntryWriter<T, Object> writer = new EntryWriter<>(channel, serializer, null, this.keyCount, compress))
+        {
+            for (int i = 0; i < this.capacity; i++)
+            {
+                if (this.keys[i] != null && this.keys[i] != this.TOMBSTONE)
+                    writer.write(this.keys[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads a set streamed by writeTo() (or any keys-only EntryWriter).
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n)
+     *
+     * @param channel    - the channel the elements are read from (it is not closed).
+     * @param serializer - serializer of the elements.
+     * @return HashSet<T> - a set holding the streamed elements.
+     * @throws IOException if the stream can not be read, or is truncated or corrupted.
+     */
+    public static <T> HashSet<T> readFrom(ReadableByteChannel channel, Serializer<? extends T> serializer) throws IOException
+    {
+        try (EntryReader<T, Object> reader = new EntryReader<>(channel, serializer, null))
+        {
+            HashSet<T> set = new HashSet<>(Math.max(1, (int) Math.min(Integer.MAX_VALUE / 2, (long) reader.getExpectedEntries() * 10 / 7 + 1)));
+
+            while (reader.next())
+                set.add(reader.key());
+
+            return set;
+        }
+    }
+
+    /**
+     * Returns set size.
+     */
+    public int size()
+    {
+        return this.keyCount;
+    }
+
+    /**
+     * Clears the set.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < this.capacity; i++)
+            this.keys[i] = null;
+
+        this.keyCount = this.usedBuckets = 0;
+    }
+
+    /**
+     * Checks if the set is empty.
+     */
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    /**
+     * Hash set capacity getter.
+     */
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new Iterator<T>()
+        {
+            int index = 0, keysLeft = keyCount;
+
+            @Override
+            public boolean hasNext()
+            {
+                return keysLeft != 0;
+            }
+
+            @Override
+            public T next()
+            {
+                keysLeft--;
+
+                while (keys[index] == null || keys[index] == TOMBSTONE) index++;
+
+                return keys[index++];
+            }
+
+            @Override
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * HashSet class string representation.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+
+        for (T key : this)
+            sb.append(key + ", ");
+
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Finds the bucket of an element. Deleted buckets passed on the way are used for lazy relocation.
+     *
+     * @param element - an element.
+     * @return int    - the bucket of the element if it exists, -1 otherwise.
+     */
+    private int indexOf(T element)
+    {
+        for (int i = this.normalizeIndex(HashSet.hash(element)), j = -1; ; i = this.next(i))
+        {
+            if (this.keys[i] == this.TOMBSTONE)
+            {
+                if (j == -1)
+                    j = i;
+            }
+            else if (this.keys[i] != null)
+            {
+                if (this.keys[i].equals(element))
+                {
+                    if (j == -1)
+                        return i;
+
+                    this.relocate(i, j);
+                    return j;
+                }
+            }
+            else
+            {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Moves an element into a deleted bucket found earlier on its probe sequence.
+     */
+    private void relocate(int from, int to)
+    {
+        this.keys[to]   = this.keys[from];
+        this.keys[from] = this.TOMBSTONE;
+    }
+
+    /**
+     * Called when the used buckets reach the threshold. When at least TOMBSTONE_RATIO of the used buckets
+     * are deleted ones, the elements are re-hashed at the same capacity instead of being grown, so a set
+     * under add/remove churn with a flat number of elements does not grow without bound.
+     */
+    private void makeRoom()
+    {
+        final int tombstones = this.usedBuckets - this.keyCount;
+
+        if (tombstones > 0 && tombstones >= HashSet.TOMBSTONE_RATIO * this.usedBuckets)
+            this.rehash(this.capacity);
+        else if (this.capacity < HashSet.MAXIMUM_CAPACITY)
+            this.rehash(HashSet.adjustCapacity(HashSet.increaseCapacity(this.capacity)));
+        else if (this.keyCount >= this.capacity - 1)
+            throw new IllegalStateException("Hash set is full: " + this.keyCount);
+        else
+            this.rehash(this.capacity);
+    }
+
+    /**
+     * Re-hashes the elements into a new array of the given capacity, dropping the deleted buckets.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n)
+     */
+    private void rehash(int newCapacity)
+    {
+        T[] oldKeys = this.keys;
+
+        this.allocate(newCapacity);
+
+        for (T key : oldKeys)
+        {
+            if (key == null || key == this.TOMBSTONE)
+                continue;
+
+            int i = this.normalizeIndex(HashSet.hash(key));
+
+            while (this.keys[i] != null)
+                i = this.next(i);
+
+            this.keys[i] = key;
+        }
+
+        this.usedBuckets = this.keyCount;
+    }
+
+    /**
+     * Allocates an empty array of the given capacity. At least one bucket is always left empty, it ends
+     * the probe sequences of absent elements; at the maximum capacity the threshold is raised to that.
+     */
+    private void allocate(int capacity)
+    {
+        this.capacity  = capacity;
+        this.threshold = capacity < HashSet.MAXIMUM_CAPACITY ? Math.min((int) (this.loadFactor * capacity), capacity - 1) : capacity - 1;
+        this.keys      = (T[]) new Object[capacity];
+    }
+
+    /**
+     * Converts a hash value to an index.
+     * Essentially, this strips the negative sign and
+     * places the hash value in the domain [0, capacity)
+     */
+    private int normalizeIndex(int hashedKey)
+    {
+        return (hashedKey & 0x7FFFFFFF) % this.capacity;
+    }
+
+    /**
+     * Computes the hash value of an element.
+     */
+    private static int hash(Object element)
+    {
+        if (element == null)
+            throw new IllegalArgumentException("Null key");
+
+        return element.hashCode();
+    }
+
+    /**
+     * Returns the next bucket of a probe sequence. It is the bucket (offset + LINEAR_CONSTANT * x) % capacity
+     * of HashTable, computed from the previous one, so it needs no division and can not overflow.
+     */
+    private int next(int index)
+    {
+        index += HashSet.LINEAR_CONSTANT;
+
+        return index < this.capacity ? index : index % this.capacity;
+    }
+
+    /**
+     * Increases hash set capacity.
+     */
+    private static int increaseCapacity(int capacity)
+    {
+        return (int) Math.min(2L * capacity + 1, HashSet.MAXIMUM_CAPACITY);
+    }
+
+    /**
+     * Adjusts capacity to avoid probing cycles.
+     */
+    private static int adjustCapacity(int capacity)
+    {
+        while (capacity % HashSet.LINEAR_CONSTANT == 0)
+            capacity = capacity + 1;
+
+        return capacity;
+    }
+}
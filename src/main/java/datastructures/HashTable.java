@@ -0,0 +1,2624 @@
+package datastructures;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.AbstractSet;
+import java.util.AbstractCollection;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.Consumer;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+@SuppressWarnings("unchecked")
+public class HashTable<K, V> implements Iterable<K>
+{
+    // hash table load factor.
+    private double loadFactor;
+
+    // the total number of unique keys currently inside the hash table.
+    private int keyCount;
+
+    // the total number of used buckets inside the hash table (includes cells marked as deleted).
+    private int usedBuckets;
+
+    // hash table capacity and threshold for resizing.
+    private int capacity;
+    private int threshold;
+
+    // arrays that store the key-value pairs.
+    private K[] keys;
+    private V[] values;
+
+    // cached hashes mode: the hash of every key is stored next to it (null when disabled).
+    private int[] hashes;
+
+    // power-of-two mode: capacity is always a power of two and indices are computed with a bit mask.
+    private final boolean powerOfTwo;
+    private int mask;
+
+    // arrays of the previous (smaller) table while a resize is in progress (null otherwise).
+    // Buckets before migrationIndex have already been moved into the current arrays.
+    private K[] oldKeys;
+    private V[] oldValues;
+    private int[] oldHashes;
+    private int oldCapacity;
+    private int migrationIndex;
+
+    // incremental resize mode: keys are migrated a few buckets at a time instead of all at once.
+    private final boolean incrementalResize;
+
+    // metrics mode: probe lengths, lookups and resizes are counted (null when disabled),
+    // and the name the JMX view is registered under (null when not registered).
+    private final HashTableMetrics metrics;
+    private ObjectName mbeanName;
+
+    // seeded hashing mode: hash codes are mixed with a random per-table key, and String keys are hashed with SipHash.
+    private final boolean seeded;
+    private final long seed0;
+    private final long seed1;
+
+    // linked mode: the occupied slots form a doubly linked list threaded through two int arrays (previous and
+    // next slot, -1 at the ends), in insertion order or in access order (null when disabled).
+    private int[] before;
+    private int[] after;
+    private int head = -1, tail = -1;
+    private final boolean accessOrder;
+
+    // structural modification counter (keys placed, moved or removed, arrays replaced), so the compute
+    // methods notice when their function changed the table and the bucket they found is no longer valid.
+    private int modifications;
+
+    // special marker token used to indicate the deletion of a key-value pair.
+    private final K TOMBSTONE = (K) (new Object());
+
+    // hash table constants.
+    private static final int    DEFAULT_CAPACITY    = 25;
+    private static final double DEFAULT_LOAD_FACTOR = 0.7;
+    private static final int    LINEAR_CONSTANT     = 17; 
+    private static final int    MAXIMUM_CAPACITY    = 1 << 30;
+    private static final int    MIGRATION_STEP      = 16;
+    private static final int    BATCH_GROUP         = 16;
+    private static final int    PARALLEL_GRAIN      = 1 << 14;
+    private static final double TOMBSTONE_RATIO     = 0.5;
+
+    /**
+     * Optional hash table behaviours, selected at construction.
+     */
+    public enum Option
+    {
+        /**
+         * Capacity is rounded up to a power of two and bucket indices are computed with a bit mask
+         * instead of an integer division. Hash codes are spread with a mixing function first, so
+         * keys that only differ in their high bits still end up in different buckets.
+         */
+        POWER_OF_TWO_CAPACITY,
+
+        /**
+         * The hash of every key is stored in a parallel array. Probes compare the stored hash
+         * before calling equals(), and resizing never calls hashCode() again. This pays off for
+         * keys with expensive equals()/hashCode(), such as long strings, at the cost of 4 bytes per bucket.
+         */
+        CACHED_HASHES,
+
+        /**
+         * Resizing allocates the larger arrays but does not rehash all the keys at once. Until the old
+         * arrays are drained, every insert/get/remove migrates a small, fixed number of buckets and
+         * lookups check both arrays, so the worst-case insert latency does not grow with the table size.
+         */
+        INCREMENTAL_RESIZE,
+
+        /**
+         * Probe lengths, lookup hits/misses and resizes are counted, and exposed through stats() and
+         * registerMBean(). Without this option the operations only pay a check of a null field.
+         */
+        METRICS,
+
+        /**
+         * Every table draws a random 128-bit key, so an attacker who controls the keys can not predict
+         * which of them end up in the same probe sequence. Strings are hashed with SipHash over their
+         * characters, which also separates strings with equal hashCode() values (such as "Aa" and "BB").
+         * Other keys have their hashCode() mixed with the key, which only separates different hash codes.
+         * Hashing a String costs O(length) on every operation, combine with CACHED_HASHES so resizes do not pay it again.
+         */
+        SEEDED_HASHING,
+
+        /**
+         * The keys are iterated in the order they were inserted (re-inserting a key keeps its position).
+         * The order is a doubly linked list of slot indices kept in two int arrays, so it costs 8 bytes
+         * per bucket and no object per key. Can not be combined with INCREMENTAL_RESIZE.
+         */
+        INSERTION_ORDER,
+
+        /**
+         * Like INSERTION_ORDER, but get(), getAll(), put() of an existing key and the compute methods
+         * move the key to the end, so the iteration goes from the least to the most recently used key
+         * and firstKey() is the key an LRU cache evicts.
+         */
+        ACCESS_ORDER
+    }
+    
+    /**
+     * HashTable constructor.
+     */
+    public HashTable()
+    {
+        this(HashTable.DEFAULT_CAPACITY, HashTable.DEFAULT_LOAD_FACTOR);
+    } 
+
+    /**
+     * HashTable constructor.
+     * 
+     * @param capacity - hash table capacity.
+     */
+    public HashTable(int capacity)
+    {
+        this(capacity, HashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * HashTable constructor.
+     * 
+     * @param capacity   - hash table capacity.
+     * @param loadFactor - hash table load factor (used to determine when we need to resize).
+     */
+    public HashTable(int capacity, double loadFactor)
+    {
+        this(capacity, loadFactor, new Option[0]);
+    }
+
+    /**
+     * HashTable constructor.
+     * 
+     * @param capacity   - hash table capacity.
+     * @param loadFactor - hash table load factor (used to determine when we need to resize).
+     * @param options    - optional hash table behaviours.
+     */
+    public HashTable(int capacity, double loadFactor, Option... options)
+    {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        if (loadFactor <= 0 || Double.isNaN(loadFactor) || Double.isInfinite(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+
+        this.loadFactor = Math.max(HashTable.DEFAULT_LOAD_FACTOR, loadFactor);
+        this.powerOfTwo = HashTable.hasOption(options, Option.POWER_OF_TWO_CAPACITY);
+        this.incrementalResize = HashTable.hasOption(options, Option.INCREMENTAL_RESIZE);
+
+        // if needed, we need to adjust capacity to avoid probing cycles.
+        this.capacity = this.adjustCapacity(capacity);
+        this.mask     = this.capacity - 1;
+
+        this.threshold = (int) (this.loadFactor * this.capacity);
+        
+        this.keys   = (K[]) new Object[this.capacity];
+        this.values = (V[]) new Object[this.capacity];
+
+        if (HashTable.hasOption(options, Option.CACHED_HASHES))
+            this.hashes = new int[this.capacity];
+
+        this.metrics = HashTable.hasOption(options, Option.METRICS) ? new HashTableMetrics() : null;
+
+        this.seeded = HashTable.hasOption(options, Option.SEEDED_HASHING);
+        this.seed0  = this.seeded ? SipHash.randomKey() : 0;
+        this.seed1  = this.seeded ? SipHash.randomKey() : 0;
+
+        this.accessOrder = HashTable.hasOption(options, Option.ACCESS_ORDER);
+
+        if (this.accessOrder || HashTable.hasOption(options, Option.INSERTION_ORDER))
+        {
+            // the order is kept by walking the list while rehashing, which a resize spread over operations can not do.
+            if (this.incrementalResize)
+                throw new IllegalArgumentException("Illegal options: a linked order with INCREMENTAL_RESIZE");
+
+            this.before = new int[this.capacity];
+            this.after  = new int[this.capacity];
+        }
+    }
+
+    /**
+     * Puts a new key-value pair in the hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     * 
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V put(K key, V value)
+    {
+        return insert(key, value);
+    }
+
+    /**
+     * Adds a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     * 
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V add(K key, V value)
+    {
+        return insert(key, value);
+    }
+
+    /**
+     * Inserts a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     * 
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V insert(K key, V value)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        if (this.oldKeys != null)
+            this.migrate(HashTable.MIGRATION_STEP);
+
+        if (this.usedBuckets >= this.threshold)
+            this.makeRoom();
+
+        return this.insert(key, value, this.hash(key));
+    }
+
+    /**
+     * Computes the value of a key that is absent (or mapped to null) and inserts it, unless it is null.
+     * The key is located once: the bucket found by the lookup is the bucket the value is stored in.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     * 
+     * @param key             - a key.
+     * @param mappingFunction - computes the value of an absent key.
+     * @return V              - the existing or the computed value, null if there is none.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction)
+    {
+        if (mappingFunction == null)
+            throw new IllegalArgumentException("Null function");
+
+        final int hash = this.prepareUpdate(key);
+        int slot       = this.locate(key, hash);
+
+        if (slot >= 0 && this.values[slot] != null)
+            return this.values[slot];
+
+        final int modifications = this.modifications;
+        final V value           = mappingFunction.apply(key);
+
+        if (value != null)
+        {
+            if (this.modifications != modifications)
+                slot = this.relocate(key, hash);
+
+            this.store(slot, key, value, hash);
+        }
+
+        return value;
+    }
+
+    /**
+     * Computes a new value for a key that is mapped to a non-null value. The key is removed if the new value is null.
+     * The key is located once: the bucket found by the lookup is the bucket the value is stored in.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @param key               - a key.
+     * @param remappingFunction - computes the new value from the key and its current value.
+     * @return V                - the new value, null if there is none.
+     */
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction)
+    {
+        if (remappingFunction == null)
+            throw new IllegalArgumentException("Null function");
+
+        final int hash = this.prepareUpdate(key);
+        int slot       = this.locate(key, hash);
+
+        if (slot < 0 || this.values[slot] == null)
+            return null;
+
+        final int modifications = this.modifications;
+        final V value           = remappingFunction.apply(key, this.values[slot]);
+
+        if (this.modifications != modifications)
+            slot = this.relocate(key, hash);
+
+        this.update(slot, key, value, hash);
+
+        return value;
+    }
+
+    /**
+     * Computes a new value for a key from its current value (null if it is absent).
+     * The key is removed if the new value is null.
+     * The key is located once: the bucket found by the lookup is the bucket the value is stored in.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     * 
+     * @param key               - a key.
+     * @param remappingFunction - computes the new value from the key and its current value.
+     * @return V                - the new value, null if there is none.
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction)
+    {
+        if (remappingFunction == null)
+            throw new IllegalArgumentException("Null function");
+
+        final int hash = this.prepareUpdate(key);
+        int slot       = this.locate(key, hash);
+
+        final int modifications = this.modifications;
+        final V value           = remappingFunction.apply(key, slot >= 0 ? this.values[slot] : null);
+
+        if (this.modifications != modifications)
+            slot = this.relocate(key, hash);
+
+        this.update(slot, key, value, hash);
+
+        return value;
+    }
+
+    /**
+     * Inserts the given value for a key that is absent (or mapped to null), otherwise combines
+     * the current value with the given one. The key is removed if the combined value is null.
+     * The key is located once: the bucket found by the lookup is the bucket the value is stored in.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     * 
+     * @param key               - a key.
+     * @param value             - the value to insert or to combine with the current value.
+     * @param remappingFunction - combines the current value with the given one.
+     * @return V                - the new value, null if there is none.
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction)
+    {
+        if (value == null)
+            throw new IllegalArgumentException("Null value");
+
+        if (remappingFunction == null)
+            throw new IllegalArgumentException("Null function");
+
+        final int hash = this.prepareUpdate(key);
+        int slot       = this.locate(key, hash);
+
+        if (slot < 0 || this.values[slot] == null)
+        {
+            this.store(slot, key, value, hash);
+            return value;
+        }
+
+        final int modifications = this.modifications;
+        final V newValue        = remappingFunction.apply(this.values[slot], value);
+
+        if (this.modifications != modifications)
+            slot = this.relocate(key, hash);
+
+        this.update(slot, key, newValue, hash);
+
+        return newValue;
+    }
+
+    /**
+     * Adds a delta to the value of a key in a table of Integer values, where an absent key (or a null
+     * value) counts as 0. The key is located once and no function object is needed, so counting is a
+     * single probe and a box. ObjectIntHashTable counts without boxing.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     * 
+     * @param table - a hash table of Integer values.
+     * @param key   - a key.
+     * @param delta - the amount to add.
+     * @return int  - the new value.
+     */
+    public static <K> int addTo(HashTable<K, Integer> table, K key, int delta)
+    {
+        final int hash = table.prepareUpdate(key);
+        final int slot = table.locate(key, hash);
+
+        // the array is created as an Object[], so it is not read as the Integer[] its generic type erases to.
+        final Object[] values = table.values;
+
+        if (slot < 0 || values[slot] == null)
+        {
+            table.store(slot, key, delta, hash);
+            return delta;
+        }
+
+        final int value = (Integer) values[slot] + delta;
+        values[slot] = value;
+
+        return value;
+    }
+
+    /**
+     * Puts all the key-value pairs from the given arrays in the hash table.
+     * The table is grown once up front, to the capacity that inserting the keys one by one would
+     * reach, and keys are hashed in small groups before they are inserted, so the loads of their
+     * home buckets are issued together instead of one cache miss at a time.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n)
+     * 
+     * @param keys   - keys.
+     * @param values - values (values[i] is assigned to keys[i]).
+     * @return int   - the number of resizes avoided by growing the table once (assuming all the keys are new).
+     */
+    public int putAll(K[] keys, V[] values)
+    {
+        if (keys.length != values.length)
+            throw new IllegalArgumentException("Keys and values differ in length: " + keys.length + " != " + values.length);
+
+        for (K key : keys)
+            if (key == null)
+                throw new IllegalArgumentException("Null key");
+
+        final int resizesAvoided = this.presize(keys.length);
+        final int[] groupHashes  = new int[HashTable.BATCH_GROUP];
+
+        for (int start = 0; start < keys.length; start += HashTable.BATCH_GROUP)
+        {
+            final int end = Math.min(start + HashTable.BATCH_GROUP, keys.length);
+
+            this.hashGroup(keys, start, end, groupHashes);
+
+            for (int i = start; i < end; i++)
+            {
+                if (this.usedBuckets >= this.threshold)
+                    this.makeRoom();
+
+                this.insert(keys[i], values[i], groupHashes[i - start]);
+            }
+        }
+
+        return resizesAvoided;
+    }
+
+    /**
+     * Puts all the given entries in the hash table.
+     * When the entries come from a Collection, the table is grown once up front (see putAll(K[], V[]))
+     * and the entries are inserted while they are iterated, without copying them.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n)
+     * 
+     * @param entries - key-value pairs.
+     * @return int    - the number of resizes avoided by growing the table once (assuming all the keys are new).
+     */
+    public int putAll(Iterable<? extends Map.Entry<? extends K, ? extends V>> entries)
+    {
+        final int resizesAvoided = entries instanceof Collection ? this.presize(((Collection<?>) entries).size()) : 0;
+
+        for (Map.Entry<? extends K, ? extends V> entry : entries)
+            this.insert(entry.getKey(), entry.getValue());
+
+        return resizesAvoided;
+    }
+
+    /**
+     * Gets the values associated with the given keys.
+     * Keys are hashed in small groups and the home buckets of a whole group are loaded before any
+     * of the keys is resolved, so the cache misses of independent lookups overlap.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     * 
+     * @param keys   - keys.
+     * @param values - output array (values[i] receives the value of keys[i], or null if the key does not exist).
+     * @return int   - the number of keys found.
+     */
+    public int getAll(K[] keys, V[] values)
+    {
+        if (values.length < keys.length)
+            throw new IllegalArgumentException("Output array too small: " + values.length + " < " + keys.length);
+
+        for (K key : keys)
+            if (key == null)
+                throw new IllegalArgumentException("Null key");
+
+        // a pending incremental resize is finished once instead of checking the old arrays on every miss.
+        this.completeResize();
+
+        final int[] groupHashes  = new int[HashTable.BATCH_GROUP];
+        final int[] groupIndices = new int[HashTable.BATCH_GROUP];
+        final K[] groupKeys      = (K[]) new Object[HashTable.BATCH_GROUP];
+        int found = 0;
+
+        for (int start = 0; start < keys.length; start += HashTable.BATCH_GROUP)
+        {
+            final int end = Math.min(start + HashTable.BATCH_GROUP, keys.length);
+
+            this.hashGroup(keys, start, end, groupHashes);
+
+            // 1. load the home bucket of every key in the group.
+            for (int g = 0; g < end - start; g++)
+            {
+                groupIndices[g] = this.normalizeIndex(groupHashes[g]);
+                groupKeys[g]    = this.keys[groupIndices[g]];
+            }
+
+            // 2. resolve the keys, most of them are found in their (now cached) home bucket.
+            for (int i = start; i < end; i++)
+            {
+                final int hash  = groupHashes[i - start];
+                final int index = groupIndices[i - start];
+                final K home    = groupKeys[i - start];
+
+                if (home == null)
+                {
+                    values[i] = null;
+
+                    if (this.metrics != null)
+                        this.metrics.recordLookup(1, false);
+                }
+                else if (home != this.TOMBSTONE && this.matches(index, keys[i], hash))
+                {
+                    values[i] = this.values[index];
+
+                    if (this.accessOrder)
+                        this.recordAccess(index);
+
+                    if (this.metrics != null)
+                        this.metrics.recordLookup(1, true);
+                }
+                else
+                {
+                    values[i] = this.get(keys[i], hash);
+                }
+
+                if (values[i] != null)
+                    found++;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Streams all the key-value pairs of the hash table to a channel (see EntryWriter), without copying them into lists.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     * 
+     * @param channel         - the channel the entries are written to (it is not closed).
+     * @param keySerializer   - serializer of the keys.
+     * @param valueSerializer - serializer of the values, or null to write the keys only.
+     * @param compress        - true to compress the written blocks.
+     * @throws IOException if the entries can not be written.
+     * @throws IllegalArgumentException if values are written and a key is mapped to null (nothing is written then).
+     */
+    public void writeTo(WritableByteChannel channel, Serializer<? super K> keySerializer, Serializer<? super V> valueSerializer, boolean compress) throws IOException
+    {
+        this.completeResize();
+
+        // the format has no null values, they are rejected before the header, so no truncated stream is left behind.
+        if (valueSerializer != null)
+        {
+            for (int i = 0; i < this.capacity; i++)
+            {
+                if (this.values[i] == null && this.keys[i] != null && this.keys[i] != this.TOMBSTONE)
+                    throw new IllegalArgumentException("Null value of key: " + this.keys[i]);
+            }
+        }
+
+        try (EntryWriter<K, V> writer = new EntryWriter<>(channel, keySerializer, valueSerializer, this.keyCount, compress))
+        {
+            if (this.after != null)
+            {
+                for (int i = this.head; i != -1; i = this.after[i])
+                    writer.write(this.keys[i], this.values[i]);
+
+                return;
+            }
+
+            for (int i = 0; i < this.capacity; i++)
+            {
+                if (this.keys[i] != null && this.keys[i] != this.TOMBSTONE)
+                    writer.write(this.keys[i], this.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads a hash table streamed by writeTo() (or any EntryWriter with values).
+     * The table is sized once for the number of entries announced by the stream.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n)
+     * 
+     * @param channel         - the channel the entries are read from (it is not closed).
+     * @param keySerializer   - serializer of the keys.
+     * @param valueSerializer - serializer of the values.
+     * @param options         - optional behaviours of the new hash table.
+     * @return HashTable<K, V> - a hash table holding the streamed entries.
+     * @throws IOException if the stream can not be read, or is truncated or corrupted.
+     */
+    public static <K, V> HashTable<K, V> readFrom(ReadableByteChannel channel, Serializer<? extends K> keySerializer, Serializer<? extends V> valueSerializer, Option... options) throws IOException
+    {
+        if (valueSerializer == null)
+            throw new IllegalArgumentException("Null serializer");
+
+        HashTable<K, V> hashTable = new HashTable<>(HashTable.DEFAULT_CAPACITY, HashTable.DEFAULT_LOAD_FACTOR, options);
+
+        try (EntryReader<K, V> reader = new EntryReader<>(channel, keySerializer, valueSerializer))
+        {
+            if (reader.getExpectedEntries() > 0)
+                hashTable.presize(reader.getExpectedEntries());
+
+            while (reader.next())
+                hashTable.insert(reader.key(), reader.value());
+        }
+
+        return hashTable;
+    }
+
+    /**
+     * Gets a value associated with the key.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @param key - a key.
+     * @return V  - a value associated with the given key if the key exists, null otherwise.
+     */
+    public V get(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        if (this.oldKeys != null)
+            this.migrate(HashTable.MIGRATION_STEP);
+
+        return this.get(key, this.hash(key));
+    }
+
+    /**
+     * Removes a "key -> value" pair from a hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V remove(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        if (this.oldKeys != null)
+            this.migrate(HashTable.MIGRATION_STEP);
+
+        final int hash   = this.hash(key);
+        final int offset = this.normalizeIndex(hash);
+
+        // starting at the original hash probe until we find a spot where our key is
+        // or we hit a null element in which case our element does not exist.
+        for(int i = offset, x = 1; ; i = this.normalizeIndex(offset + this.probe(x++)))
+        {
+            if (this.keys[i] == this.TOMBSTONE)
+                continue;
+            else if (this.keys[i] == null) 
+                return this.removeFromOldTable(key, hash);
+            else if (this.matches(i, key, hash))
+                return this.removeAt(i);
+        }
+    }
+
+    /**
+     * Deletes a "key -> value" pair from a hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V delete(K key)
+    {
+        return this.remove(key);
+    }
+
+    /**
+     * Checks if the key exists in the hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean hasKey(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        if (this.oldKeys != null)
+            this.migrate(HashTable.MIGRATION_STEP);
+
+        final int hash   = this.hash(key);
+        final int offset = this.normalizeIndex(hash);
+
+        // start at the original hash value and probe until we find a spot where our key
+        // is or we hit a null element in which case our element does not exist.
+        for(int i = offset, j = -1, x = 1; ; i = this.normalizeIndex(offset + this.probe(x++)))
+        {
+            // 1. ignore deleted cells, but record where the first index 
+            // of a deleted cell is found to perform lazy relocation later.
+            if (this.keys[i] == this.TOMBSTONE)
+            {
+                if (j == -1) 
+                    j = i;
+            }
+            // 2. we hit a non-null key, perhaps it's the one we're looking for.
+            else if (this.keys[i] != null)
+            {
+                // if j != -1 this means we previously encountered a deleted cell.
+                // We can perform an optimization by swapping the entries in cells
+                // i and j so that the next time we search for this key it will be
+                // found faster. This is called lazy deletion/relocation.
+                if (this.matches(i, key, hash))
+                {
+                    if (this.metrics != null)
+                        this.metrics.recordLookup(x, true);
+
+                    if (j != -1)
+                        this.moveSlot(i, j);
+
+                    return true;
+                }
+            }
+            // 3. the element was not found in the hash table (unless it still waits for migration).
+            else
+            {
+                final boolean found = this.oldIndexOf(key, hash) != -1;
+
+                if (this.metrics != null)
+                    this.metrics.recordLookup(x, found);
+
+                return found;
+            }
+        }
+    }
+
+    /**
+     * Checks if the key exists in the hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean containsKey(K key)
+    {
+        return this.hasKey(key);
+    }
+
+    /**
+     * Clears the hash table.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public void clear()
+    {
+        for(int i = 0; i < this.capacity; i++)
+        {
+            this.keys[i] = null;
+            this.values[i] = null;
+        }
+
+        this.oldKeys   = null;
+        this.oldValues = null;
+        this.oldHashes = null;
+
+        this.keyCount = this.usedBuckets = 0;
+        this.head     = this.tail = -1;
+        this.modifications++;
+    }
+
+    /**
+     * Removes all the deleted buckets (tombstones) without changing the capacity. The keys are
+     * re-hashed in place, so no second pair of arrays is allocated.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n / 64)
+     * 
+     * @return int - the number of deleted buckets removed.
+     */
+    public int compact()
+    {
+        this.completeResize();
+
+        final int tombstones = this.usedBuckets - this.keyCount;
+
+        if (tombstones > 0)
+            this.rehashInPlace();
+
+        return tombstones;
+    }
+
+    /**
+     * Shrinks the hash table to the smallest capacity that holds its keys below the load factor,
+     * dropping the deleted buckets on the way. The capacity is never increased.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n)
+     */
+    public void trimToSize()
+    {
+        this.completeResize();
+
+        int newCapacity = this.adjustCapacity(Math.max(1, (int) Math.ceil((this.keyCount + 1) / this.loadFactor)));
+
+        while ((int) (this.loadFactor * newCapacity) <= this.keyCount && newCapacity < HashTable.MAXIMUM_CAPACITY)
+            newCapacity = this.adjustCapacity(newCapacity + 1);
+
+        if (newCapacity >= this.capacity)
+        {
+            this.compact();
+            return;
+        }
+
+        this.resizeHashTable(newCapacity);
+        this.completeResize();
+    }
+
+    /**
+     * Returns a list of keys found in the hash table.
+     */
+    public List<K> keys()
+    {
+        this.completeResize();
+
+        List<K> hashTableKeys = new ArrayList<>(this.size());
+
+        if (this.after != null)
+        {
+            for (int i = this.head; i != -1; i = this.after[i])
+                hashTableKeys.add(this.keys[i]);
+
+            return hashTableKeys;
+        }
+        
+        for (int i = 0; i < this.capacity; i++)
+        {
+            if (this.keys[i] != null && this.keys[i] != this.TOMBSTONE) 
+                hashTableKeys.add(this.keys[i]);
+        }
+
+        return hashTableKeys;
+    }
+
+    /**
+     * Returns a list of values found in the hash table.
+     */
+    public List<V> values()
+    {
+        this.completeResize();
+
+        List<V> hashTableValues = new ArrayList<>(this.size());
+
+        if (this.after != null)
+        {
+            for (int i = this.head; i != -1; i = this.after[i])
+                hashTableValues.add(this.values[i]);
+
+            return hashTableValues;
+        }
+        
+        for (int i = 0; i < this.capacity; i++)
+        {
+            if (this.keys[i] != null && this.keys[i] != this.TOMBSTONE) 
+                hashTableValues.add(this.values[i]);
+        }
+
+        return hashTableValues;
+    }
+
+    /**
+     * Returns a live view of the keys: it reads the arrays of the hash table instead of copying them,
+     * and removing a key from the view removes it from the hash table.
+     * The hash table must not be modified during an iteration other than through the iterator
+     * (get() is a modification too, because it relocates keys).
+     */
+    public Set<K> keySet()
+    {
+        return new AbstractSet<K>()
+        {
+            @Override
+            public Iterator<K> iterator()
+            {
+                return new SlotIterator<K>()
+                {
+                    @Override
+                    public K next()
+                    {
+                        return keys[this.nextSlot()];
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return keyCount;
+            }
+
+            @Override
+            public boolean contains(Object key)
+            {
+                return key != null && hasKey((K) key);
+            }
+
+            @Override
+            public boolean remove(Object key)
+            {
+                return key != null && removeKey((K) key);
+            }
+
+            @Override
+            public void clear()
+            {
+                HashTable.this.clear();
+            }
+        };
+    }
+
+    /**
+     * Returns a live view of the values: it reads the arrays of the hash table instead of copying them,
+     * and removing a value through the iterator removes its key from the hash table.
+     * The hash table must not be modified during an iteration other than through the iterator.
+     */
+    public Collection<V> valueView()
+    {
+        return new AbstractCollection<V>()
+        {
+            @Override
+            public Iterator<V> iterator()
+            {
+                return new SlotIterator<V>()
+                {
+                    @Override
+                    public V next()
+                    {
+                        return values[this.nextSlot()];
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return keyCount;
+            }
+
+            @Override
+            public void clear()
+            {
+                HashTable.this.clear();
+            }
+        };
+    }
+
+    /**
+     * Returns a cursor over the key-value pairs. A cursor is a single reusable object, so walking
+     * the whole table allocates nothing per pair, and each pair is read without a second lookup.
+     * The hash table must not be modified during a walk other than through the cursor.
+     */
+    public Cursor cursor()
+    {
+        this.completeResize();
+
+        return new Cursor();
+    }
+
+    /**
+     * Performs the given action for every key-value pair, walking the arrays once.
+     * The action must not modify the hash table.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     * 
+     * @param action - the action performed for every key-value pair.
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action)
+    {
+        if (action == null)
+            throw new IllegalArgumentException("Null action");
+
+        this.completeResize();
+
+        final K[] keys   = this.keys;
+        final V[] values = this.values;
+
+        if (this.after != null)
+        {
+            for (int i = this.head; i != -1; i = this.after[i])
+                action.accept(keys[i], values[i]);
+
+            return;
+        }
+
+        for (int i = 0; i < keys.length; i++)
+        {
+            final K key = keys[i];
+
+            if (key != null && key != this.TOMBSTONE)
+                action.accept(key, values[i]);
+        }
+    }
+
+    /**
+     * Performs the given action for every key-value pair, splitting the arrays by index range across
+     * the threads of the common fork/join pool. The action must be thread-safe and must not modify the hash table,
+     * and the hash table must not be modified until this method returns.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(log n)
+     * 
+     * @param action - the action performed for every key-value pair.
+     */
+    public void parallelForEach(BiConsumer<? super K, ? super V> action)
+    {
+        if (action == null)
+            throw new IllegalArgumentException("Null action");
+
+        this.completeResize();
+
+        new ForEachTask<>(this.keys, this.values, this.TOMBSTONE, 0, this.capacity, action).invoke();
+    }
+
+    /**
+     * Transforms every key-value pair and reduces the non-null results, splitting the arrays by index range across
+     * the threads of the common fork/join pool. The functions must be thread-safe and must not modify the hash table,
+     * and the reducer must be associative.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(log n)
+     * 
+     * @param transformer - returns the result of a key-value pair, or null to skip the pair.
+     * @param reducer     - combines two results.
+     * @return R          - the reduced result, or null if no pair had a result.
+     */
+    public <R> R parallelReduce(BiFunction<? super K, ? super V, ? extends R> transformer, BinaryOperator<R> reducer)
+    {
+        if (transformer == null || reducer == null)
+            throw new IllegalArgumentException("Null function");
+
+        this.completeResize();
+
+        return new ReduceTask<>(this.keys, this.values, this.TOMBSTONE, 0, this.capacity, transformer, reducer).invoke();
+    }
+
+    /**
+     * Returns a sequential stream of the keys (see spliterator()).
+     */
+    public Stream<K> stream()
+    {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream of the keys (see spliterator()).
+     */
+    public Stream<K> parallelStream()
+    {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    /**
+     * Returns a spliterator of the keys, which splits the arrays in halves by index range.
+     * The whole spliterator knows its exact size, the halves only estimate it (half of their parent),
+     * since counting the keys of a range would take a scan of its own.
+     * In linked mode the spliterator follows the order (it is ORDERED and splits like an iterator).
+     * The hash table must not be modified while the spliterator is in use.
+     */
+    @Override
+    public Spliterator<K> spliterator()
+    {
+        this.completeResize();
+
+        if (this.after != null)
+            return Spliterators.spliterator(this.iterator(), this.keyCount, Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.ORDERED);
+
+        return new KeySpliterator<>(this.keys, this.TOMBSTONE, 0, this.capacity, this.keyCount, true);
+    }
+
+    /**
+     * Returns a snapshot of the occupancy of the hash table and, with Option.METRICS,
+     * of its probe lengths, lookups and resizes.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     */
+    public HashTableStats stats()
+    {
+        return new HashTableStats(this.keyCount, this.capacity, this.usedBuckets, this.loadFactor, this.metrics);
+    }
+
+    /**
+     * Resets the probe, lookup and resize counters (does nothing without Option.METRICS).
+     */
+    public void resetMetrics()
+    {
+        if (this.metrics != null)
+            this.metrics.reset();
+    }
+
+    /**
+     * Registers a JMX view of the hash table (see HashTableMXBean) in the platform MBean server,
+     * under "datastructures:type=HashTable,name=[name]". The view keeps the hash table reachable
+     * until unregisterMBean() is called. Monitoring threads read the counters without synchronization,
+     * so they may see slightly stale values.
+     * 
+     * @param name        - the name of the hash table.
+     * @return ObjectName - the name the view has been registered under.
+     */
+    public ObjectName registerMBean(String name)
+    {
+        if (name == null)
+            throw new IllegalArgumentException("Null name");
+
+        if (this.mbeanName != null)
+            throw new IllegalStateException("MBean already registered: " + this.mbeanName);
+
+        final HashTable<K, V> hashTable = this;
+
+        HashTableMXBean view = new HashTableMXBean()
+        {
+            public int getSize()               { return hashTable.stats().getSize(); }
+            public int getCapacity()           { return hashTable.stats().getCapacity(); }
+            public double getTombstoneRatio()  { return hashTable.stats().getTombstoneRatio(); }
+            public int getMaxProbeLength()     { return hashTable.stats().getMaxProbeLength(); }
+            public double getMeanProbeLength() { return hashTable.stats().getMeanProbeLength(); }
+            public double getHitRatio()        { return hashTable.stats().getHitRatio(); }
+            public long getResizeCount()       { return hashTable.stats().getResizeCount(); }
+            public HashTableStats getStats()   { return hashTable.stats(); }
+            public void resetMetrics()         { hashTable.resetMetrics(); }
+        };
+
+        try
+        {
+            ObjectName objectName = ObjectName.getInstance("datastructures:type=HashTable,name=" + ObjectName.quote(name));
+
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new StandardMBean(view, HashTableMXBean.class, true), objectName);
+            this.mbeanName = objectName;
+
+            return objectName;
+        }
+        catch (JMException e)
+        {
+            throw new IllegalStateException("Can not register MBean: " + name, e);
+        }
+    }
+
+    /**
+     * Unregisters the JMX view registered by registerMBean() (does nothing if there is none).
+     */
+    public void unregisterMBean()
+    {
+        if (this.mbeanName == null)
+            return;
+
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.mbeanName);
+        }
+        catch (JMException e)
+        {
+            // already unregistered by someone else
+        }
+
+        this.mbeanName = null;
+    }
+
+    /**
+     * Returns the first key of the linked order: the eldest key in insertion order, the least recently
+     * used key in access order. Only for tables created with INSERTION_ORDER or ACCESS_ORDER.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @return K - the first key, null if the hash table is empty.
+     */
+    public K firstKey()
+    {
+        this.checkLinked();
+
+        return this.head == -1 ? null : this.keys[this.head];
+    }
+
+    /**
+     * Returns the last key of the linked order: the newest key in insertion order, the most recently
+     * used key in access order. Only for tables created with INSERTION_ORDER or ACCESS_ORDER.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @return K - the last key, null if the hash table is empty.
+     */
+    public K lastKey()
+    {
+        this.checkLinked();
+
+        return this.tail == -1 ? null : this.keys[this.tail];
+    }
+
+    /**
+     * Hash table size (total active keys).
+     */
+    public int size()
+    {
+        return this.keyCount;
+    }
+
+    /**
+     * Checks if hash table is empty.
+     */
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    /**
+     * Hash table capacity getter.
+     */
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Hash table load factor getter.
+     */
+    public double getLoadFactor()
+    {
+        return this.loadFactor;
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        this.completeResize();
+
+        return new Iterator<K>() 
+        {
+            int index = after != null ? head : 0, keysLeft = keyCount;
+
+            @Override
+            public boolean hasNext() 
+            {
+                return keysLeft != 0;
+            }
+
+            @Override
+            public K next() 
+            {
+                keysLeft--;
+
+                if (after != null)
+                {
+                    final int slot = index;
+                    index = after[slot];
+
+                    return keys[slot];
+                }
+
+                while (keys[index] == null || keys[index] == TOMBSTONE) index++;
+
+                return keys[index++];
+            }
+
+            @Override
+            public void remove() 
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * HashTable class string representation.
+     */
+    @Override
+    public String toString() 
+    {
+        this.completeResize();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        if (this.after != null)
+        {
+            for (int i = this.head; i != -1; i = this.after[i])
+                sb.append(this.keys[i] + " => " + this.values[i] + ", ");
+        }
+        else
+        {
+            for (int i = 0; i < this.capacity; i++)
+              if (this.keys[i] != null && this.keys[i] != TOMBSTONE) 
+                sb.append(this.keys[i] + " => " + this.values[i] + ", ");
+        }
+
+        sb.append("}");
+        return sb.toString();    
+    }
+
+    /**
+     * A cursor over the key-value pairs of a hash table (see cursor()).
+     */
+    public final class Cursor
+    {
+        // the slot of the current pair (-1 before the first pair or after a removal), the slot
+        // where the search for the next pair starts, and the number of pairs not visited yet.
+        private int index = -1, nextIndex = after != null ? head : 0, keysLeft = keyCount;
+
+        private Cursor()
+        {
+        }
+
+        /**
+         * Moves to the next key-value pair.
+         * 
+         * @return boolean - true if the cursor is on a pair, false if all the pairs have been visited.
+         */
+        public boolean next()
+        {
+            if (this.keysLeft == 0)
+            {
+                this.index = -1;
+                return false;
+            }
+
+            this.keysLeft--;
+
+            if (after != null)
+            {
+                this.index     = this.nextIndex;
+                this.nextIndex = after[this.index];
+
+                return true;
+            }
+
+            while (keys[this.nextIndex] == null || keys[this.nextIndex] == TOMBSTONE) this.nextIndex++;
+
+            this.index = this.nextIndex++;
+
+            return true;
+        }
+
+        /**
+         * Returns the key of the current pair.
+         */
+        public K getKey()
+        {
+            return keys[this.current()];
+        }
+
+        /**
+         * Returns the value of the current pair.
+         */
+        public V getValue()
+        {
+            return values[this.current()];
+        }
+
+        /**
+         * Replaces the value of the current pair.
+         * 
+         * @param value - a new value.
+         * @return V    - the replaced value.
+         */
+        public V setValue(V value)
+        {
+            final int index = this.current();
+
+            V oldValue = values[index];
+            values[index] = value;
+
+            return oldValue;
+        }
+
+        /**
+         * Removes the current pair from the hash table.
+         * 
+         * @return V - the value of the removed pair.
+         */
+        public V remove()
+        {
+            V oldValue = removeAt(this.current());
+            this.index = -1;
+
+            return oldValue;
+        }
+
+        /**
+         * Returns the slot of the current pair.
+         */
+        private int current()
+        {
+            if (this.index == -1)
+                throw new IllegalStateException("Cursor is not on a key-value pair");
+
+            return this.index;
+        }
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Iterates the occupied slots of the arrays (the base of the live views).
+     */
+    private abstract class SlotIterator<E> implements Iterator<E>
+    {
+        // the slot where the search for the next element starts, the slot of the last returned element
+        // (-1 if there is none, or it has been removed) and the number of elements not returned yet.
+        private int index, last = -1, keysLeft;
+
+        SlotIterator()
+        {
+            completeResize();
+
+            this.index    = after != null ? head : 0;
+            this.keysLeft = keyCount;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.keysLeft != 0;
+        }
+
+        /**
+         * Finds the slot of the next element.
+         */
+        int nextSlot()
+        {
+            if (this.keysLeft == 0)
+                throw new NoSuchElementException();
+
+            this.keysLeft--;
+
+            if (after != null)
+            {
+                this.last  = this.index;
+                this.index = after[this.last];
+
+                return this.last;
+            }
+
+            while (keys[this.index] == null || keys[this.index] == TOMBSTONE) this.index++;
+
+            this.last = this.index++;
+
+            return this.last;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.last == -1)
+                throw new IllegalStateException();
+
+            removeAt(this.last);
+            this.last = -1;
+        }
+    }
+
+    /**
+     * Spliterator of the keys in an index range of the keys array.
+     */
+    private static final class KeySpliterator<K> implements Spliterator<K>
+    {
+        private final K[] keys;
+        private final K tombstone;
+
+        // the index range [index, fence) left to traverse, the estimated number of keys in it,
+        // and whether the estimate is exact (only until the spliterator of the whole table is split).
+        private int index;
+        private final int fence;
+        private long estimate;
+        private boolean sized;
+
+        KeySpliterator(K[] keys, K tombstone, int index, int fence, long estimate, boolean sized)
+        {
+            this.keys      = keys;
+            this.tombstone = tombstone;
+            this.index     = index;
+            this.fence     = fence;
+            this.estimate  = estimate;
+            this.sized     = sized;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super K> action)
+        {
+            while (this.index < this.fence)
+            {
+                final K key = this.keys[this.index++];
+
+                if (key != null && key != this.tombstone)
+                {
+                    if (this.estimate > 0)
+                        this.estimate--;
+
+                    action.accept(key);
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super K> action)
+        {
+            final K[] keys  = this.keys;
+            final int fence = this.fence;
+
+            for (int i = this.index; i < fence; i++)
+            {
+                final K key = keys[i];
+
+                if (key != null && key != this.tombstone)
+                    action.accept(key);
+            }
+
+            this.index    = fence;
+            this.estimate = 0;
+        }
+
+        @Override
+        public Spliterator<K> trySplit()
+        {
+            final int middle = (this.index + this.fence) >>> 1;
+
+            if (middle <= this.index)
+                return null;
+
+            KeySpliterator<K> prefix = new KeySpliterator<>(this.keys, this.tombstone, this.index, middle, this.estimate >>>= 1, false);
+
+            this.index = middle;
+            this.sized = false;
+
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return this.estimate;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return Spliterator.DISTINCT | Spliterator.NONNULL | (this.sized ? Spliterator.SIZED : 0);
+        }
+    }
+
+    /**
+     * Fork/join task that performs an action for the key-value pairs of an index range,
+     * splitting the range in halves until it is small enough to be scanned by one thread.
+     */
+    private static final class ForEachTask<K, V> extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final K[] keys;
+        private final V[] values;
+        private final K tombstone;
+        private final int from, to;
+        private final BiConsumer<? super K, ? super V> action;
+
+        ForEachTask(K[] keys, V[] values, K tombstone, int from, int to, BiConsumer<? super K, ? super V> action)
+        {
+            this.keys      = keys;
+            this.values    = values;
+            this.tombstone = tombstone;
+            this.from      = from;
+            this.to        = to;
+            this.action    = action;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (this.to - this.from > HashTable.PARALLEL_GRAIN)
+            {
+                final int middle = (this.from + this.to) >>> 1;
+
+                ForEachTask.invokeAll(new ForEachTask<>(this.keys, this.values, this.tombstone, this.from, middle, this.action),
+                                      new ForEachTask<>(this.keys, this.values, this.tombstone, middle, this.to, this.action));
+                return;
+            }
+
+            for (int i = this.from; i < this.to; i++)
+            {
+                final K key = this.keys[i];
+
+                if (key != null && key != this.tombstone)
+                    this.action.accept(key, this.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Fork/join task that transforms and reduces the key-value pairs of an index range,
+     * splitting the range in halves until it is small enough to be scanned by one thread.
+     */
+    private static final class ReduceTask<K, V, R> extends RecursiveTask<R>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final K[] keys;
+        private final V[] values;
+        private final K tombstone;
+        private final int from, to;
+        private final BiFunction<? super K, ? super V, ? extends R> transformer;
+        private final BinaryOperator<R> reducer;
+
+        ReduceTask(K[] keys, V[] values, K tombstone, int from, int to, BiFunction<? super K, ? super V, ? extends R> transformer, BinaryOperator<R> reducer)
+        {
+            this.keys        = keys;
+            this.values      = values;
+            this.tombstone   = tombstone;
+            this.from        = from;
+            this.to          = to;
+            this.transformer = transformer;
+            this.reducer     = reducer;
+        }
+
+        @Override
+        protected R compute()
+        {
+            if (this.to - this.from > HashTable.PARALLEL_GRAIN)
+            {
+                final int middle = (this.from + this.to) >>> 1;
+
+                ReduceTask<K, V, R> left = new ReduceTask<>(this.keys, this.values, this.tombstone, this.from, middle, this.transformer, this.reducer);
+                left.fork();
+
+                R right = new ReduceTask<>(this.keys, this.values, this.tombstone, middle, this.to, this.transformer, this.reducer).compute();
+
+                return this.combine(left.join(), right);
+            }
+
+            R result = null;
+
+            for (int i = this.from; i < this.to; i++)
+            {
+                final K key = this.keys[i];
+
+                if (key != null && key != this.tombstone)
+                    result = this.combine(result, this.transformer.apply(key, this.values[i]));
+            }
+
+            return result;
+        }
+
+        /**
+         * Reduces two results, either of which may be missing (null).
+         */
+        private R combine(R a, R b)
+        {
+            return a == null ? b : b == null ? a : this.reducer.apply(a, b);
+        }
+    }
+
+    /**
+     * Removes the key-value pair of a slot.
+     * 
+     * @param index - the slot of a key.
+     * @return V    - the removed value.
+     */
+    private V removeAt(int index)
+    {
+        this.keyCount--;
+        this.modifications++;
+
+        V oldValue = this.values[index];
+
+        this.keys[index]   = this.TOMBSTONE;
+        this.values[index] = null;
+
+        if (this.after != null)
+            this.unlink(index);
+
+        return oldValue;
+    }
+
+    /**
+     * Prepares an update of a key: migrates a few buckets of an unfinished resize and makes room
+     * for one more key, so the bucket found by locate() can be filled.
+     * 
+     * @param key  - a key.
+     * @return int - the hash value of the key.
+     */
+    private int prepareUpdate(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        if (this.oldKeys != null)
+            this.migrate(HashTable.MIGRATION_STEP);
+
+        if (this.usedBuckets >= this.threshold)
+            this.makeRoom();
+
+        return this.hash(key);
+    }
+
+    /**
+     * Finds the bucket of a key whose hash is already known, in a single probe sequence.
+     * Deleted buckets passed on the way are used for lazy relocation, and a key that still
+     * waits for migration is moved into the current arrays first.
+     * 
+     * @param key  - a key.
+     * @param hash - hash value of the key.
+     * @return int - the bucket of the key if it exists, otherwise -(bucket + 1) of the bucket an insert would use.
+     */
+    private int locate(K key, int hash)
+    {
+        final int offset = this.normalizeIndex(hash);
+
+        for (int i = offset, j = -1, x = 1; ; i = this.normalizeIndex(offset + this.probe(x++)))
+        {
+            if (this.keys[i] == this.TOMBSTONE)
+            {
+                if (j == -1)
+                    j = i;
+            }
+            else if (this.keys[i] != null)
+            {
+                if (this.matches(i, key, hash))
+                {
+                    if (this.metrics != null)
+                        this.metrics.recordProbes(x);
+
+                    if (j != -1)
+                    {
+                        this.moveSlot(i, j);
+                        i = j;
+                    }
+
+                    if (this.accessOrder)
+                        this.recordAccess(i);
+
+                    return i;
+                }
+            }
+            else
+            {
+                if (this.metrics != null)
+                    this.metrics.recordProbes(x);
+
+                if (j == -1)
+                    j = i;
+
+                final int oldIndex = this.oldIndexOf(key, hash);
+
+                if (oldIndex == -1)
+                    return -(j + 1);
+
+                if (this.keys[j] == null)
+                    this.usedBuckets++;
+
+                this.setSlot(j, this.oldKeys[oldIndex], this.oldValues[oldIndex], hash);
+
+                this.oldKeys[oldIndex]   = this.TOMBSTONE;
+                this.oldValues[oldIndex] = null;
+
+                return j;
+            }
+        }
+    }
+
+    /**
+     * Locates a key again after a compute function changed the table, making room first
+     * in case the function filled the table up to its threshold.
+     */
+    private int relocate(K key, int hash)
+    {
+        if (this.usedBuckets >= this.threshold)
+            this.makeRoom();
+
+        return this.locate(key, hash);
+    }
+
+    /**
+     * Stores a non-null value in a bucket found by locate(), inserting the key if it is absent.
+     */
+    private void store(int slot, K key, V value, int hash)
+    {
+        if (slot >= 0)
+        {
+            this.values[slot] = value;
+            return;
+        }
+
+        slot = -(slot + 1);
+
+        if (this.keys[slot] == null)
+            this.usedBuckets++;
+
+        this.keyCount++;
+        this.setSlot(slot, key, value, hash);
+
+        if (this.after != null)
+            this.linkLast(slot);
+    }
+
+    /**
+     * Stores the result of a compute function in a bucket found by locate(): a null value removes the key.
+     */
+    private void update(int slot, K key, V value, int hash)
+    {
+        if (value != null)
+            this.store(slot, key, value, hash);
+        else if (slot >= 0)
+            this.removeAt(slot);
+    }
+
+    /**
+     * Removes a key, reporting whether it existed (remove() can not tell a missing key from a null value).
+     */
+    private boolean removeKey(K key)
+    {
+        if (!this.hasKey(key))
+            return false;
+
+        this.remove(key);
+        return true;
+    }
+
+    /**
+     * Inserts a key-value pair whose hash is already known.
+     */
+    private V insert(K key, V value, int hash)
+    {
+        final int offset = this.normalizeIndex(hash);
+
+        // while a resize is in progress, a key that still waits for migration is updated in place.
+        final int oldIndex = this.oldIndexOf(key, hash);
+
+        if (oldIndex != -1)
+        {
+            V oldValue = this.oldValues[oldIndex];
+            this.oldValues[oldIndex] = value;
+
+            return oldValue;
+        }
+
+        for (int i = offset, j = -1, x = 1; ; i = normalizeIndex(offset + this.probe(x++))) 
+        {
+            // 1. the current slot was previously deleted
+            if (this.keys[i] == this.TOMBSTONE)
+            {
+                if (j == -1) 
+                    j = i;
+            }
+            // 2. the current cell already contains a key
+            else if (this.keys[i] != null)
+            {
+                // the key we're trying to insert already exists in the hash-table,
+                // so update its value with the most recent value
+                if(this.matches(i, key, hash))
+                {
+                    if (this.metrics != null)
+                        this.metrics.recordProbes(x);
+
+                    V oldValue = this.values[i];
+
+                    if (j != -1)
+                    {
+                        this.moveSlot(i, j);
+                        i = j;
+                    }
+
+                    this.values[i] = value;
+
+                    if (this.accessOrder)
+                        this.recordAccess(i);
+
+                    return oldValue;
+                }
+
+            }
+            // 3. the current cell is null so an insertion/update can occur
+            else
+            {
+                if (this.metrics != null)
+                    this.metrics.recordProbes(x);
+
+                // no previously encountered deleted buckets
+                if (j == -1)
+                {
+                    this.usedBuckets++;
+                    this.keyCount++;
+
+                    this.setSlot(i, key, value, hash);
+                }
+                // previously seen deleted bucket. Instead of inserting
+                // the new element at i where the null element is 
+                // insert it where the deleted token was found.
+                else
+                {
+                    this.keyCount++;
+
+                    this.setSlot(j, key, value, hash);
+                    i = j;
+                }
+
+                if (this.after != null)
+                    this.linkLast(i);
+
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Gets a value associated with a key whose hash is already known.
+     * Deleted buckets passed on the way are used for lazy relocation.
+     */
+    private V get(K key, int hash)
+    {
+        final int offset = this.normalizeIndex(hash);
+
+        // start at the original hash value and probe until we find a spot where our key
+        // is or we hit a null element in which case our element does not exist.
+        for(int i = offset, j = -1, x = 1; ; i = this.normalizeIndex(offset + this.probe(x++)))
+        {
+            // 1. ignore deleted cells, but record where the first index 
+            // of a deleted cell is found to perform lazy relocation later.
+            if (this.keys[i] == this.TOMBSTONE)
+            {
+                if (j == -1) 
+                    j = i;
+            }
+            // 2. we hit a non-null key, perhaps it's the one we're looking for.
+            else if (this.keys[i] != null)
+            {
+                // if j != -1 this means we previously encountered a deleted cell.
+                // We can perform an optimization by swapping the entries in cells
+                // i and j so that the next time we search for this key it will be
+                // found faster. This is called lazy deletion/relocation.
+                if (this.matches(i, key, hash))
+                {
+                    if (this.metrics != null)
+                        this.metrics.recordLookup(x, true);
+
+                    if (j != -1)
+                    {
+                        this.moveSlot(i, j);
+                        i = j;
+                    }
+
+                    if (this.accessOrder)
+                        this.recordAccess(i);
+
+                    return this.values[i];
+                }
+            }
+            // 3. the element was not found in the hash table (unless it still waits for migration).
+            else
+            {
+                final int oldIndex = this.oldIndexOf(key, hash);
+
+                if (this.metrics != null)
+                    this.metrics.recordLookup(x, oldIndex != -1);
+
+                return oldIndex == -1 ? null : this.oldValues[oldIndex];
+            }
+        }
+    }
+
+    /**
+     * Probing function.
+     */
+    private int probe(int x)
+    {
+        return HashTable.LINEAR_CONSTANT * x;
+    }
+
+    /**
+     * Resizes the hash table. 
+     * It doubles the size of the table and re-hashes the keys.
+     * In incremental resize mode, the keys are re-hashed by subsequent operations instead.
+     * Time  Complexity: O(n), O(1) in incremental resize mode
+     * Space Complexity: O(n)
+     */
+    private void resizeHashTable()
+    {
+        this.resizeHashTable(this.adjustCapacity(this.increaseCapacity(this.capacity)));
+    }
+
+    /**
+     * Called when the used buckets reach the threshold. When at least TOMBSTONE_RATIO of the used buckets
+     * are deleted ones (and there is any), the table is compacted at the same capacity instead of being grown, so a table
+     * under insert/remove churn with a flat number of keys does not grow without bound.
+     * In incremental resize mode the compaction is an incremental resize to the same capacity,
+     * so its cost is spread like the one of a growing resize.
+     */
+    private void makeRoom()
+    {
+        final int tombstones = this.usedBuckets - this.keyCount;
+
+        if (tombstones == 0 || tombstones < HashTable.TOMBSTONE_RATIO * this.usedBuckets)
+            this.resizeHashTable();
+        else if (this.incrementalResize)
+            this.resizeHashTable(this.capacity);
+        else
+            this.rehashInPlace();
+    }
+
+    /**
+     * Drops the deleted buckets and re-hashes the keys inside the current arrays.
+     * Every key is taken out of its bucket and placed at the first free bucket of its probe sequence;
+     * a bucket that still holds a key waiting to be placed counts as free, and the key found there
+     * is carried on to its own probe sequence. Keys that are already placed are never moved again,
+     * so every probe sequence stays unbroken and the pass ends after every key has been placed once.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n / 64)
+     */
+    private void rehashInPlace()
+    {
+        this.completeResize();
+
+        // in linked mode the keys are re-inserted in their order into new arrays of the same capacity instead.
+        if (this.after != null)
+        {
+            this.resizeHashTable(this.capacity);
+            return;
+        }
+
+        final long start = this.metrics != null ? System.nanoTime() : 0;
+
+        // a bit per bucket that holds a key which has not been placed yet.
+        final long[] pending = new long[(this.capacity + 63) >>> 6];
+
+        for (int i = 0; i < this.capacity; i++)
+        {
+            if (this.keys[i] == this.TOMBSTONE)
+                this.keys[i] = null;
+            else if (this.keys[i] != null)
+                pending[i >>> 6] |= 1L << i;
+        }
+
+        for (int i = 0; i < this.capacity; i++)
+        {
+            if ((pending[i >>> 6] & (1L << i)) == 0)
+                continue;
+
+            K key    = this.keys[i];
+            V value  = this.values[i];
+            int hash = this.hashes != null ? this.hashes[i] : this.hash(key);
+
+            pending[i >>> 6] &= ~(1L << i);
+            this.setSlot(i, null, null, 0);
+
+            while (key != null)
+            {
+                final int offset = this.normalizeIndex(hash);
+
+                for (int j = offset, x = 1; ; j = this.normalizeIndex(offset + this.probe(x++)))
+                {
+                    if (this.keys[j] == null)
+                    {
+                        this.setSlot(j, key, value, hash);
+                        key = null;
+                        break;
+                    }
+
+                    if ((pending[j >>> 6] & (1L << j)) != 0)
+                    {
+                        // swap with the waiting key, which is placed next
+                        final K waitingKey    = this.keys[j];
+                        final V waitingValue  = this.values[j];
+                        final int waitingHash = this.hashes != null ? this.hashes[j] : this.hash(waitingKey);
+
+                        pending[j >>> 6] &= ~(1L << j);
+                        this.setSlot(j, key, value, hash);
+
+                        key   = waitingKey;
+                        value = waitingValue;
+                        hash  = waitingHash;
+                        break;
+                    }
+                }
+            }
+        }
+
+        this.usedBuckets = this.keyCount;
+
+        if (this.metrics != null)
+        {
+            this.metrics.compactions++;
+            this.metrics.compactionNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Resizes the hash table to the given (already adjusted) capacity and re-hashes the keys.
+     */
+    private void resizeHashTable(int newCapacity)
+    {
+        // the previous resize must be finished before the arrays are replaced again.
+        this.completeResize();
+
+        final long start = this.metrics != null ? System.nanoTime() : 0;
+
+        this.oldKeys        = this.keys;
+        this.oldValues      = this.values;
+        this.oldHashes      = this.hashes;
+        this.oldCapacity    = this.capacity;
+        this.migrationIndex = 0;
+
+        this.capacity  = newCapacity;
+        this.mask      = newCapacity - 1;
+        this.threshold = (int) (this.loadFactor * this.capacity);   // recalculate the new threshold
+
+        this.keys   = (K[]) new Object[this.capacity];
+        this.values = (V[]) new Object[this.capacity];
+
+        if (this.oldHashes != null)
+            this.hashes = new int[this.capacity];
+        
+        this.usedBuckets = 0;   // tombstones are dropped, migrated keys are counted again
+        this.modifications++;
+
+        if (this.after != null)
+            this.migrateInOrder();
+
+        if (!this.incrementalResize)
+            this.completeResize();
+
+        if (this.metrics != null)
+        {
+            this.metrics.resizes++;
+            this.metrics.resizeNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Grows the hash table once, to the capacity it would reach by inserting the given
+     * number of new keys one by one, replaying the growth policy of insert().
+     * 
+     * @param additionalKeys - the number of keys about to be inserted.
+     * @return int           - the number of resizes avoided.
+     */
+    private int presize(int additionalKeys)
+    {
+        this.completeResize();
+
+        int newCapacity = this.capacity;
+        int resizes     = 0;
+
+        // every time the used buckets reach the threshold the table grows, and afterwards only live keys are counted
+        for (long used = (long) this.usedBuckets + additionalKeys; 
+             used > (long) (this.loadFactor * newCapacity) && newCapacity < HashTable.MAXIMUM_CAPACITY; 
+             used = (long) this.keyCount + additionalKeys)
+        {
+            newCapacity = this.adjustCapacity(this.increaseCapacity(newCapacity));
+            resizes++;
+        }
+
+        if (resizes == 0)
+            return 0;
+
+        this.resizeHashTable(newCapacity);
+
+        return resizes - 1;
+    }
+
+    /**
+     * Hashes a group of keys, keys[start, end), into hashes[0, end - start).
+     */
+    private void hashGroup(K[] keys, int start, int end, int[] hashes)
+    {
+        for (int i = start; i < end; i++)
+            hashes[i - start] = this.hash(keys[i]);
+    }
+
+    /**
+     * Migrates all the remaining buckets of an unfinished resize.
+     */
+    private void completeResize()
+    {
+        if (this.oldKeys != null)
+            this.migrate(this.oldCapacity - this.migrationIndex);
+    }
+
+    /**
+     * Moves up to the given number of buckets from the old arrays into the current ones.
+     * Migrated keys are marked as deleted in the old arrays, so the probe sequences 
+     * of keys that have not been migrated yet stay intact.
+     * 
+     * @param buckets - the number of old buckets to migrate.
+     */
+    private void migrate(int buckets)
+    {
+        final int end = Math.min(this.migrationIndex + buckets, this.oldCapacity);
+
+        for (int i = this.migrationIndex; i < end; i++)
+        {
+            final K key = this.oldKeys[i];
+
+            if (key != null && key != this.TOMBSTONE)
+            {
+                final int hash = this.oldHashes != null ? this.oldHashes[i] : this.hash(key);
+
+                this.reinsert(key, this.oldValues[i], hash);
+                this.usedBuckets++;
+
+                this.oldKeys[i]   = this.TOMBSTONE;
+                this.oldValues[i] = null;
+            }
+        }
+
+        this.migrationIndex = end;
+
+        if (end == this.oldCapacity)
+        {
+            this.oldKeys   = null;
+            this.oldValues = null;
+            this.oldHashes = null;
+        }
+    }
+
+    /**
+     * Finds the bucket of a key in the old arrays of an unfinished resize.
+     * 
+     * @param key  - a key.
+     * @param hash - hash value of the key.
+     * @return int - the index of the key in the old arrays if it is still there, -1 otherwise.
+     */
+    private int oldIndexOf(K key, int hash)
+    {
+        if (this.oldKeys == null)
+            return -1;
+
+        final int offset = this.normalizeIndex(hash, this.oldCapacity);
+
+        for (int i = offset, x = 1; ; i = this.normalizeIndex(offset + this.probe(x++), this.oldCapacity))
+        {
+            if (this.oldKeys[i] == null)
+                return -1;
+
+            if (this.oldKeys[i] != this.TOMBSTONE 
+                && (this.oldHashes == null || this.oldHashes[i] == hash) 
+                && this.oldKeys[i].equals(key))
+                return i;
+        }
+    }
+
+    /**
+     * Removes a key from the old arrays of an unfinished resize.
+     * 
+     * @param key  - a key.
+     * @param hash - hash value of the key.
+     * @return V   - deleted value if exists, null otherwise.
+     */
+    private V removeFromOldTable(K key, int hash)
+    {
+        final int index = this.oldIndexOf(key, hash);
+
+        if (index == -1)
+            return null;
+
+        this.keyCount--;
+
+        V oldValue = this.oldValues[index];
+
+        this.oldKeys[index]   = this.TOMBSTONE;
+        this.oldValues[index] = null;
+
+        return oldValue;
+    }
+
+    /**
+     * Places a key that is known to be absent into the first free bucket of its probe sequence.
+     * Used while rehashing, when the table contains no tombstones and no duplicates.
+     * 
+     * @return int - the bucket of the key.
+     */
+    private int reinsert(K key, V value, int hash)
+    {
+        final int offset = this.normalizeIndex(hash);
+
+        for (int i = offset, x = 1; ; i = this.normalizeIndex(offset + this.probe(x++)))
+        {
+            if (this.keys[i] == null)
+            {
+                this.setSlot(i, key, value, hash);
+                return i;
+            }
+        }
+    }
+
+    /**
+     * Moves all the keys of the old arrays into the current ones in linked mode, walking the old
+     * linked order, so the new list is built by appending the keys in the same order.
+     */
+    private void migrateInOrder()
+    {
+        final int[] oldAfter = this.after;
+        int slot             = this.head;
+
+        this.before = new int[this.capacity];
+        this.after  = new int[this.capacity];
+        this.head   = this.tail = -1;
+
+        for (; slot != -1; slot = oldAfter[slot])
+        {
+            final K key    = this.oldKeys[slot];
+            final int hash = this.oldHashes != null ? this.oldHashes[slot] : this.hash(key);
+
+            this.linkLast(this.reinsert(key, this.oldValues[slot], hash));
+            this.usedBuckets++;
+        }
+
+        this.oldKeys   = null;
+        this.oldValues = null;
+        this.oldHashes = null;
+    }
+
+    /**
+     * Throws if the hash table has no linked order.
+     */
+    private void checkLinked()
+    {
+        if (this.after == null)
+            throw new IllegalStateException("Hash table has no linked order");
+    }
+
+    /**
+     * Appends a slot at the end of the linked order.
+     */
+    private void linkLast(int index)
+    {
+        this.before[index] = this.tail;
+        this.after[index]  = -1;
+
+        if (this.tail == -1)
+            this.head = index;
+        else
+            this.after[this.tail] = index;
+
+        this.tail = index;
+    }
+
+    /**
+     * Removes a slot from the linked order. Its own links are kept, so an iterator that
+     * has already moved past it is not affected.
+     */
+    private void unlink(int index)
+    {
+        final int previous = this.before[index];
+        final int next     = this.after[index];
+
+        if (previous == -1)
+            this.head = next;
+        else
+            this.after[previous] = next;
+
+        if (next == -1)
+            this.tail = previous;
+        else
+            this.before[next] = previous;
+    }
+
+    /**
+     * Moves an accessed slot to the end of the linked order (access order mode).
+     */
+    private void recordAccess(int index)
+    {
+        if (index == this.tail)
+            return;
+
+        this.unlink(index);
+        this.linkLast(index);
+    }
+
+    /**
+     * Checks if the bucket holds the given key.
+     * In cached hashes mode the stored hash is compared first, so equals() is only called on a likely match.
+     */
+    private boolean matches(int index, K key, int hash)
+    {
+        return (this.hashes == null || this.hashes[index] == hash) && this.keys[index].equals(key);
+    }
+
+    /**
+     * Stores a key-value pair (and its hash in cached hashes mode) in the given bucket.
+     */
+    private void setSlot(int index, K key, V value, int hash)
+    {
+        this.modifications++;
+
+        this.keys[index]   = key;
+        this.values[index] = value;
+
+        if (this.hashes != null)
+            this.hashes[index] = hash;
+    }
+
+    /**
+     * Moves a key-value pair into an earlier (deleted) bucket of its probe sequence
+     * and marks the bucket it came from as deleted. This is called lazy relocation.
+     */
+    private void moveSlot(int from, int to)
+    {
+        this.modifications++;
+
+        this.keys[to]   = this.keys[from];
+        this.values[to] = this.values[from];
+
+        if (this.hashes != null)
+            this.hashes[to] = this.hashes[from];
+
+        this.keys[from]   = this.TOMBSTONE;
+        this.values[from] = null;
+
+        // the moved key keeps its position in the linked order.
+        if (this.after != null)
+        {
+            final int previous = this.before[from];
+            final int next     = this.after[from];
+
+            this.before[to] = previous;
+            this.after[to]  = next;
+
+            if (previous == -1)
+                this.head = to;
+            else
+                this.after[previous] = to;
+
+            if (next == -1)
+                this.tail = to;
+            else
+                this.before[next] = to;
+        }
+    }
+
+    /**
+     * Computes the hash value of a key.
+     * In power-of-two mode only the low bits select a bucket, so the
+     * hash code is spread first.
+     */
+    private int hash(K key)
+    {
+        if (this.seeded)
+            return this.seededHash(key);
+
+        return this.powerOfTwo ? HashTable.spread(key.hashCode()) : key.hashCode();
+    }
+
+    /**
+     * Computes the hash value of a key in seeded hashing mode: SipHash of the characters
+     * of a String, otherwise the hash code mixed with the table key (SplitMix64 finalizer).
+     */
+    private int seededHash(K key)
+    {
+        long h;
+
+        if (key instanceof String)
+        {
+            h = SipHash.hash(this.seed0, this.seed1, (String) key);
+        }
+        else
+        {
+            h = (key.hashCode() ^ this.seed0) * 0xBF58476D1CE4E5B9L;
+            h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+            h = (h ^ (h >>> 31)) + this.seed1;
+        }
+
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Spreads the bits of a hash code (MurmurHash3 finalizer), so that
+     * every input bit affects the low bits used for bucket selection.
+     */
+    static int spread(int h)
+    {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+
+        return h;
+    }
+
+    /**
+     * Converts a hash value to an index. 
+     * Essentially, this strips the negative sign and 
+     * places the hash value in the domain [0, capacity)
+     */
+    private int normalizeIndex(int hashedKey)
+    {
+        if (this.powerOfTwo)
+            return hashedKey & this.mask;
+
+        return (hashedKey & 0x7FFFFFFF) % this.capacity;
+    }
+
+    /**
+     * Converts a hash value to an index in a table of the given capacity.
+     */
+    private int normalizeIndex(int hashedKey, int capacity)
+    {
+        if (this.powerOfTwo)
+            return hashedKey & (capacity - 1);
+
+        return (hashedKey & 0x7FFFFFFF) % capacity;
+    }
+
+    /**
+     * Increases hash table capacity.
+     */
+    private int increaseCapacity(int capacity)
+    {
+        if (this.powerOfTwo)
+            return Math.min(2 * capacity, HashTable.MAXIMUM_CAPACITY);
+
+        return (2 * capacity) + 1;
+    }
+
+    /**
+     * Adjusts capacity to avoid probing cycles. 
+     * In power-of-two mode the capacity is rounded up to the next power of two: 
+     * the probing stride is odd, so the probe sequence still visits every bucket.
+     */
+    private int adjustCapacity(int capacity)
+    {
+        if (this.powerOfTwo)
+        {
+            if (capacity >= HashTable.MAXIMUM_CAPACITY)
+                return HashTable.MAXIMUM_CAPACITY;
+
+            return capacity > 1 ? Integer.highestOneBit(capacity - 1) << 1 : capacity;
+        }
+
+        while(HashTable.gcd(HashTable.LINEAR_CONSTANT, capacity) != 1)
+            capacity = capacity + 1;
+
+        return capacity;
+    }
+
+    /**
+     * Checks if an option is present among the given options.
+     */
+    private static boolean hasOption(Option[] options, Option option)
+    {
+        for (Option current : options)
+            if (current == option)
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Finds the greatest common denominator of x and y.
+     * 
+     * @param a    - a number.
+     * @param b    - a number.
+     * @return int - gcd between x and y. 
+     */
+    private static final int gcd(int a, int b) 
+    {
+        if (b == 0) return a;
+        return gcd(b, a % b);
+    }
+}
@@ -0,0 +1,52 @@
+package datastructures;
+
+/**
+ * JMX view of a HashTable, registered with HashTable.registerMBean(). Every attribute reads a fresh snapshot.
+ */
+public interface HashTableMXBean
+{
+    /**
+     * The number of keys.
+     */
+    int getSize();
+
+    /**
+     * The number of buckets.
+     */
+    int getCapacity();
+
+    /**
+     * The share of the used buckets that hold a tombstone.
+     */
+    double getTombstoneRatio();
+
+    /**
+     * The largest number of buckets visited by a single lookup or insert.
+     */
+    int getMaxProbeLength();
+
+    /**
+     * The mean number of buckets visited by a lookup or insert.
+     */
+    double getMeanProbeLength();
+
+    /**
+     * The share of the lookups that found their key.
+     */
+    double getHitRatio();
+
+    /**
+     * The number of resizes.
+     */
+    long getResizeCount();
+
+    /**
+     * The whole snapshot (exposed to JMX clients as composite data).
+     */
+    HashTableStats getStats();
+
+    /**
+     * Resets the probe, lookup and resize counters.
+     */
+    void resetMetrics();
+}
@@ -0,0 +1,68 @@
+package datastructures;
+
+import java.util.Arrays;
+
+/**
+ * Counters of a HashTable created with Option.METRICS. The hash table is not thread-safe,
+ * so the counters are plain fields: monitoring threads (JMX) read them racily, which can only make a
+ * snapshot slightly stale.
+ */
+final class HashTableMetrics
+{
+    // probe lengths 1 to 31 are counted exactly, longer ones in the last bucket.
+    static final int HISTOGRAM_SIZE = 32;
+
+    final long[] probeHistogram = new long[HashTableMetrics.HISTOGRAM_SIZE];
+    int maxProbeLength;
+
+    long hits;
+    long misses;
+
+    long resizes;
+    long resizeNanos;
+    long compactions;
+    long compactionNanos;
+
+    /**
+     * Records a lookup.
+     *
+     * @param probes - the number of buckets visited.
+     * @param hit    - true if the key has been found.
+     */
+    void recordLookup(int probes, boolean hit)
+    {
+        this.recordProbes(probes);
+
+        if (hit)
+            this.hits++;
+        else
+            this.misses++;
+    }
+
+    /**
+     * Records the number of buckets visited by an operation.
+     */
+    void recordProbes(int probes)
+    {
+        this.probeHistogram[Math.min(probes, HashTableMetrics.HISTOGRAM_SIZE) - 1]++;
+
+        if (probes > this.maxProbeLength)
+            this.maxProbeLength = probes;
+    }
+
+    /**
+     * Resets all the counters.
+     */
+    void reset()
+    {
+        Arrays.fill(this.probeHistogram, 0);
+
+        this.maxProbeLength  = 0;
+        this.hits            = 0;
+        this.misses          = 0;
+        this.resizes         = 0;
+        this.resizeNanos     = 0;
+        this.compactions     = 0;
+        this.compactionNanos = 0;
+    }
+}
@@ -0,0 +1,235 @@
+package datastructures;
+
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of the occupancy of a HashTable and, for tables created with Option.METRICS,
+ * of its probe lengths, lookups and resizes (the counters are 0 otherwise).
+ */
+public final class HashTableStats
+{
+    private final boolean metricsEnabled;
+
+    // occupancy.
+    private final int size;
+    private final int capacity;
+    private final int usedBuckets;
+    private final double loadFactor;
+
+    // probe lengths (probeHistogram[i] counts the operations that visited i + 1 buckets,
+    // the last element counts the operations that visited HashTableMetrics.HISTOGRAM_SIZE buckets or more).
+    private final long[] probeHistogram;
+    private final int maxProbeLength;
+
+    // lookups.
+    private final long hits;
+    private final long misses;
+
+    // resizes and in-place compactions.
+    private final long resizes;
+    private final long resizeNanos;
+    private final long compactions;
+    private final long compactionNanos;
+
+    /**
+     * HashTableStats constructor.
+     *
+     * @param size        - the number of keys.
+     * @param capacity    - the number of buckets.
+     * @param usedBuckets - the number of buckets holding a key or a tombstone.
+     * @param loadFactor  - the load factor.
+     * @param metrics     - the counters, or null if the metrics are disabled.
+     */
+    HashTableStats(int size, int capacity, int usedBuckets, double loadFactor, HashTableMetrics metrics)
+    {
+        this.metricsEnabled  = metrics != null;
+        this.size            = size;
+        this.capacity        = capacity;
+        this.usedBuckets     = usedBuckets;
+        this.loadFactor      = loadFactor;
+        this.probeHistogram  = metrics != null ? metrics.probeHistogram.clone() : new long[HashTableMetrics.HISTOGRAM_SIZE];
+        this.maxProbeLength  = metrics != null ? metrics.maxProbeLength : 0;
+        this.hits            = metrics != null ? metrics.hits : 0;
+        this.misses          = metrics != null ? metrics.misses : 0;
+        this.resizes         = metrics != null ? metrics.resizes : 0;
+        this.resizeNanos     = metrics != null ? metrics.resizeNanos : 0;
+        this.compactions     = metrics != null ? metrics.compactions : 0;
+        this.compactionNanos = metrics != null ? metrics.compactionNanos : 0;
+    }
+
+    /**
+     * Checks if the hash table records probe lengths, lookups and resizes.
+     */
+    public boolean isMetricsEnabled()
+    {
+        return this.metricsEnabled;
+    }
+
+    /**
+     * The number of keys.
+     */
+    public int getSize()
+    {
+        return this.size;
+    }
+
+    /**
+     * The number of buckets.
+     */
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * The number of buckets holding a key or a tombstone.
+     */
+    public int getUsedBuckets()
+    {
+        return this.usedBuckets;
+    }
+
+    /**
+     * The number of buckets holding a tombstone (a deleted key).
+     */
+    public int getTombstones()
+    {
+        return this.usedBuckets - this.size;
+    }
+
+    /**
+     * The share of the used buckets that hold a tombstone.
+     */
+    public double getTombstoneRatio()
+    {
+        return this.usedBuckets == 0 ? 0 : (double) this.getTombstones() / this.usedBuckets;
+    }
+
+    /**
+     * The share of the buckets that are used (the hash table grows or compacts when it reaches the load factor).
+     */
+    public double getOccupancy()
+    {
+        return this.capacity == 0 ? 0 : (double) this.usedBuckets / this.capacity;
+    }
+
+    /**
+     * The load factor.
+     */
+    public double getLoadFactor()
+    {
+        return this.loadFactor;
+    }
+
+    /**
+     * Returns a copy of the probe length histogram: element i counts the lookups and inserts that visited i + 1 buckets,
+     * the last element counts the ones that visited as many buckets as the histogram has elements, or more.
+     */
+    public long[] getProbeHistogram()
+    {
+        return this.probeHistogram.clone();
+    }
+
+    /**
+     * The largest number of buckets visited by a single lookup or insert.
+     */
+    public int getMaxProbeLength()
+    {
+        return this.maxProbeLength;
+    }
+
+    /**
+     * The mean number of buckets visited by a lookup or insert (probe lengths in the last bucket
+     * of the histogram are counted as its lower bound).
+     */
+    public double getMeanProbeLength()
+    {
+        long operations = 0, probes = 0;
+
+        for (int i = 0; i < this.probeHistogram.length; i++)
+        {
+            operations += this.probeHistogram[i];
+            probes     += this.probeHistogram[i] * (i + 1);
+        }
+
+        return operations == 0 ? 0 : (double) probes / operations;
+    }
+
+    /**
+     * The number of lookups that found their key.
+     */
+    public long getHits()
+    {
+        return this.hits;
+    }
+
+    /**
+     * The number of lookups that did not find their key.
+     */
+    public long getMisses()
+    {
+        return this.misses;
+    }
+
+    /**
+     * The share of the lookups that found their key.
+     */
+    public double getHitRatio()
+    {
+        return this.hits + this.misses == 0 ? 0 : (double) this.hits / (this.hits + this.misses);
+    }
+
+    /**
+     * The number of resizes (including the resizes to the same capacity of incremental mode).
+     */
+    public long getResizeCount()
+    {
+        return this.resizes;
+    }
+
+    /**
+     * The total time spent resizing, in nanoseconds (in incremental mode, only the part done up front).
+     */
+    public long getResizeNanos()
+    {
+        return this.resizeNanos;
+    }
+
+    /**
+     * The number of in-place compactions.
+     */
+    public long getCompactionCount()
+    {
+        return this.compactions;
+    }
+
+    /**
+     * The total time spent compacting in place, in nanoseconds.
+     */
+    public long getCompactionNanos()
+    {
+        return this.compactionNanos;
+    }
+
+    /**
+     * HashTableStats class string representation.
+     */
+    @Override
+    public String toString()
+    {
+        return "HashTableStats{size=" + this.size
+            + ", capacity=" + this.capacity
+            + ", usedBuckets=" + this.usedBuckets
+            + ", tombstoneRatio=" + this.getTombstoneRatio()
+            + ", maxProbeLength=" + this.maxProbeLength
+            + ", meanProbeLength=" + this.getMeanProbeLength()
+            + ", hits=" + this.hits
+            + ", misses=" + this.misses
+            + ", resizes=" + this.resizes
+            + ", resizeNanos=" + this.resizeNanos
+            + ", compactions=" + this.compactions
+            + ", compactionNanos=" + this.compactionNanos
+            + ", probeHistogram=" + Arrays.toString(this.probeHistogram)
+            + "}";
+    }
+}
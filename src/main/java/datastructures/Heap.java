@@ -1,3 +1,5 @@
+package datastructures;
+
 public class Heap<T extends Comparable<T>>
 {
     // a dynamic array to track the elements inside the heap.
@@ -0,0 +1,688 @@
+package datastructures;
+
+import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
+import java.lang.invoke.VarHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Non-blocking open addressing hash table.
+ *
+ * Keys are claimed with a compare-and-set on an empty bucket and are never removed from a table, so a
+ * bucket is owned by a single key for the lifetime of the table. Everything else happens on the value
+ * bucket: a deletion swaps in the TOMBSTONE marker, and a resize first freezes a value (boxes it in a
+ * Prime) and, once it has been copied to the next table, replaces it with MOVED (an empty bucket is
+ * frozen with MOVED_EMPTY right away). Writers that run into a resize help migrating the table chunk
+ * by chunk. Readers never write: a frozen value is resolved by looking into the next table, so get()
+ * never blocks, even while the table is being resized.
+ */
+@SuppressWarnings("unchecked")
+public class LockFreeHashTable<K, V> implements Iterable<K>
+{
+    // the current table (the head of the resize chain).
+    private final AtomicReference<Table> top;
+
+    // hash table load factor.
+    private final double loadFactor;
+
+    // special marker value used to indicate the deletion of a key-value pair.
+    private static final Object TOMBSTONE = new Object();
+
+    // special marker values used to indicate that a bucket has been copied to the next table,
+    // either after it held a value (or a deleted one) or while it was still empty.
+    private static final Object MOVED       = new Object();
+    private static final Object MOVED_EMPTY = new Object();
+
+    // volatile and compare-and-set access to the elements of the bucket arrays.
+    private static final VarHandle BUCKETS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    // hash table constants.
+    private static final int    DEFAULT_CAPACITY    = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.7;
+    private static final int    MAXIMUM_CAPACITY    = 1 << 30;
+    private static final int    LINEAR_CONSTANT     = 17;
+    private static final int    MIGRATION_STEP      = 16;
+
+    // expectations on the current value of a bucket when updating it.
+    private enum Expect { ANY, EMPTY, LIVE }
+
+    /**
+     * A value frozen by a resize, it can no longer change in the current table.
+     */
+    private static final class Prime
+    {
+        private final Object value;
+
+        private Prime(Object value)
+        {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Buckets of a hash table along with the state of its migration to the next table.
+     */
+    private static final class Table
+    {
+        private final Object[] keys;
+        private final Object[] values;
+        private final int threshold;
+
+        // the number of claimed key buckets (includes deleted keys).
+        private final AtomicInteger slots = new AtomicInteger();
+
+        // the number of live keys, shared by all the tables of a resize chain.
+        private final LongAdder size;
+
+        // resize state: the next table, the next chunk to migrate and the number of migrated buckets.
+        private final AtomicReference<Table> next = new AtomicReference<>();
+        private final AtomicInteger copyIndex     = new AtomicInteger();
+        private final AtomicInteger copyDone      = new AtomicInteger();
+
+        /**
+         * Table constructor.
+         *
+         * @param capacity   - the number of buckets (a power of two).
+         * @param loadFactor - load factor used to compute the resize threshold.
+         * @param size       - live key counter.
+         */
+        private Table(int capacity, double loadFactor, LongAdder size)
+        {
+            this.keys      = new Object[capacity];
+            this.values    = new Object[capacity];
+            this.threshold = (int) (loadFactor * capacity);
+            this.size      = size;
+        }
+    }
+
+    /**
+     * LockFreeHashTable constructor.
+     */
+    public LockFreeHashTable()
+    {
+        this(LockFreeHashTable.DEFAULT_CAPACITY, LockFreeHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * LockFreeHashTable constructor.
+     *
+     * @param capacity - initial hash table capacity.
+     */
+    public LockFreeHashTable(int capacity)
+    {
+        this(capacity, LockFreeHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * LockFreeHashTable constructor.
+     *
+     * @param capacity   - initial hash table capacity (rounded up to a power of two).
+     * @param loadFactor - hash table load factor in (0, 1) (used to determine when hash table needs to resize).
+     */
+    public LockFreeHashTable(int capacity, double loadFactor)
+    {
+        if (capacity <= 0 || capacity > LockFreeHashTable.MAXIMUM_CAPACITY)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        if (loadFactor <= 0 || loadFactor >= 1 || Double.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+
+        this.loadFactor = loadFactor;
+        this.top        = new AtomicReference<>(new Table(LockFreeHashTable.tableSizeFor(capacity), loadFactor, new LongAdder()));
+    }
+
+    /**
+     * Puts a new key-value pair in the hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V put(K key, V value)
+    {
+        return this.insert(key, value);
+    }
+
+    /**
+     * Adds a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V add(K key, V value)
+    {
+        return this.insert(key, value);
+    }
+
+    /**
+     * Inserts a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V insert(K key, V value)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        if (value == null)
+            throw new IllegalArgumentException("Null value");
+
+        Object oldValue = this.putValue(this.top.get(), key, HashTable.spread(key.hashCode()), value, Expect.ANY);
+
+        return LockFreeHashTable.isLive(oldValue) ? (V) oldValue : null;
+    }
+
+    /**
+     * Gets a value associated with the key. Never blocks and never writes to the table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - a value associated with the given key if the key exists, null otherwise.
+     */
+    public V get(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        Object value = this.getValue(this.top.get(), key, HashTable.spread(key.hashCode()));
+
+        return LockFreeHashTable.isLive(value) ? (V) value : null;
+    }
+
+    /**
+     * Removes a "key -> value" pair from a hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V remove(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        Object oldValue = this.putValue(this.top.get(), key, HashTable.spread(key.hashCode()), TOMBSTONE, Expect.LIVE);
+
+        return LockFreeHashTable.isLive(oldValue) ? (V) oldValue : null;
+    }
+
+    /**
+     * Deletes a "key -> value" pair from a hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V delete(K key)
+    {
+        return this.remove(key);
+    }
+
+    /**
+     * Checks if the key exists in the hash table. Never blocks.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean hasKey(K key)
+    {
+        return this.get(key) != null;
+    }
+
+    /**
+     * Checks if the key exists in the hash table. Never blocks.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean containsKey(K key)
+    {
+        return this.hasKey(key);
+    }
+
+    /**
+     * Clears the hash table by replacing the current table with an empty one.
+     * Updates that race with clear() may still land in the discarded table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     */
+    public void clear()
+    {
+        this.top.set(new Table(LockFreeHashTable.DEFAULT_CAPACITY, this.loadFactor, new LongAdder()));
+    }
+
+    /**
+     * Returns a list of keys found in the hash table.
+     * Finishes any resize in progress first, the list is weakly consistent with concurrent updates.
+     */
+    public List<K> keys()
+    {
+        List<K> hashTableKeys = new ArrayList<>();
+        Table table = this.settle();
+
+        for (int i = 0; i < table.keys.length; i++)
+        {
+            Object key = BUCKETS.getAcquire(table.keys, i);
+
+            if (key != null && LockFreeHashTable.isLive(this.valueAt(table, i, key)))
+                hashTableKeys.add((K) key);
+        }
+
+        return hashTableKeys;
+    }
+
+    /**
+     * Returns a list of values found in the hash table.
+     * Finishes any resize in progress first, the list is weakly consistent with concurrent updates.
+     */
+    public List<V> values()
+    {
+        List<V> hashTableValues = new ArrayList<>();
+        Table table = this.settle();
+
+        for (int i = 0; i < table.keys.length; i++)
+        {
+            Object key = BUCKETS.getAcquire(table.keys, i);
+
+            if (key == null)
+                continue;
+
+            Object value = this.valueAt(table, i, key);
+
+            if (LockFreeHashTable.isLive(value))
+                hashTableValues.add((V) value);
+        }
+
+        return hashTableValues;
+    }
+
+    /**
+     * Hash table size (total active keys).
+     */
+    public int size()
+    {
+        return (int) Math.max(0, this.top.get().size.sum());
+    }
+
+    /**
+     * Checks if hash table is empty.
+     */
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    /**
+     * Hash table capacity getter (capacity of the current table).
+     */
+    public int getCapacity()
+    {
+        return this.top.get().keys.length;
+    }
+
+    /**
+     * Hash table load factor getter.
+     */
+    public double getLoadFactor()
+    {
+        return this.loadFactor;
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the keys.
+     */
+    @Override
+    public Iterator<K> iterator()
+    {
+        return this.keys().iterator();
+    }
+
+    /**
+     * LockFreeHashTable class string representation.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        for (K key : this)
+        {
+            V value = this.get(key);
+
+            if (value != null)
+                sb.append(key + " => " + value + ", ");
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Checks if a raw bucket value is an actual value (not empty, deleted or a resize marker).
+     */
+    private static boolean isLive(Object value)
+    {
+        return value != null && value != TOMBSTONE && value != MOVED && value != MOVED_EMPTY && !(value instanceof Prime);
+    }
+
+    /**
+     * Looks up the raw value of a key (null, TOMBSTONE or a value) without writing anything.
+     * A frozen value is resolved by the next table: it is current unless a newer one has been written there.
+     */
+    private Object getValue(Table table, Object key, int hash)
+    {
+        while (true)
+        {
+            final int mask = table.keys.length - 1;
+            int i = hash & mask;
+            int probes = 0;
+            Object current;
+
+            while ((current = BUCKETS.getAcquire(table.keys, i)) != null && current != key && !current.equals(key))
+            {
+                if (++probes > mask)
+                    break;
+
+                i = (i + LINEAR_CONSTANT) & mask;
+            }
+
+            // 1. the key does not exist (a key that does not fit in a full table lives in the next one).
+            if (current == null || probes > mask)
+            {
+                if (probes > mask && table.next.get() != null)
+                {
+                    table = table.next.get();
+                    continue;
+                }
+
+                return null;
+            }
+
+            Object value = BUCKETS.getAcquire(table.values, i);
+
+            // 2. the bucket has already been copied, so the next table holds the value.
+            if (value == MOVED || value == MOVED_EMPTY)
+            {
+                table = table.next.get();
+                continue;
+            }
+
+            // 3. the bucket is being copied, the next table may hold a newer value.
+            if (value instanceof Prime)
+            {
+                Object newer = this.getValue(table.next.get(), key, hash);
+                return newer != null ? newer : ((Prime) value).value;
+            }
+
+            return value;
+        }
+    }
+
+    /**
+     * Resolves the raw value of a bucket whose key is known.
+     */
+    private Object valueAt(Table table, int index, Object key)
+    {
+        Object value = BUCKETS.getAcquire(table.values, index);
+
+        if (value == MOVED || value == MOVED_EMPTY || value instanceof Prime)
+            return this.getValue(table, key, HashTable.spread(key.hashCode()));
+
+        return value;
+    }
+
+    /**
+     * Updates the value of a key, claiming a bucket for it if needed.
+     * A key always claims its bucket in a table before its value can move on to the next table,
+     * so concurrent writers of the same key always meet in the same bucket.
+     *
+     * @param table  - the table to start with.
+     * @param key    - a key.
+     * @param hash   - spread hash of the key.
+     * @param value  - the new value (TOMBSTONE deletes the key).
+     * @param expect - the kind of current value the update is allowed to replace.
+     * @return the previous raw value.
+     */
+    private Object putValue(Table table, Object key, int hash, Object value, Expect expect)
+    {
+        while (true)
+        {
+            final int mask = table.keys.length - 1;
+            int i = hash & mask;
+            int probes = 0;
+            boolean full = false;
+
+            // 1. find or claim the bucket of the key.
+            while (true)
+            {
+                Object current = BUCKETS.getAcquire(table.keys, i);
+
+                if (current == null)
+                {
+                    // a key that is not there does not need to be deleted
+                    if (value == TOMBSTONE)
+                        return null;
+
+                    if (BUCKETS.compareAndSet(table.keys, i, null, key))
+                    {
+                        if (table.slots.incrementAndGet() > table.threshold)
+                            this.resize(table);
+
+                        break;
+                    }
+
+                    current = BUCKETS.getAcquire(table.keys, i);
+                }
+
+                if (current == key || current.equals(key))
+                    break;
+
+                if (++probes > mask)
+                {
+                    full = true;
+                    break;
+                }
+
+                i = (i + LINEAR_CONSTANT) & mask;
+            }
+
+            // 2. a full table can not hold the key, so it goes straight to the next one.
+            if (full)
+            {
+                if (value == TOMBSTONE && table.next.get() == null)
+                    return null;
+
+                Table next = this.resize(table);
+                this.helpCopy(table);
+                table = next;
+                continue;
+            }
+
+            // 3. update the value, unless the table is being resized.
+            Object current = BUCKETS.getAcquire(table.values, i);
+
+            // a late copy must not bring back a value that has already been copied (and maybe deleted) here
+            if (expect == Expect.EMPTY && current != null && current != MOVED_EMPTY)
+                return current;
+
+            while (current != MOVED && current != MOVED_EMPTY && !(current instanceof Prime) && table.next.get() == null)
+            {
+                if (expect == Expect.EMPTY && current != null)
+                    return current;
+
+                if (expect == Expect.LIVE && !LockFreeHashTable.isLive(current))
+                    return current;
+
+                if (BUCKETS.compareAndSet(table.values, i, current, value))
+                {
+                    if (expect != Expect.EMPTY)
+                    {
+                        if (!LockFreeHashTable.isLive(current) && value != TOMBSTONE)
+                            table.size.increment();
+                        else if (LockFreeHashTable.isLive(current) && value == TOMBSTONE)
+                            table.size.decrement();
+                    }
+
+                    return current;
+                }
+
+                current = BUCKETS.getAcquire(table.values, i);
+            }
+
+            // 4. a resize is in progress: move this bucket, help with the rest and retry in the next table.
+            this.copySlot(table, i);
+            this.helpCopy(table);
+            table = table.next.get();
+        }
+    }
+
+    /**
+     * Starts a resize of a table, unless one has already been started.
+     * The capacity is doubled, unless most of the claimed buckets belong to deleted keys,
+     * in which case the deleted keys are only dropped.
+     *
+     * @return the next table.
+     */
+    private Table resize(Table table)
+    {
+        Table next = table.next.get();
+
+        if (next != null)
+            return next;
+
+        final int capacity = table.keys.length;
+        final boolean grow = table.size.sum() >= table.threshold / 2 && capacity < LockFreeHashTable.MAXIMUM_CAPACITY;
+
+        next = new Table(grow ? 2 * capacity : capacity, this.loadFactor, table.size);
+
+        return table.next.compareAndSet(null, next) ? next : table.next.get();
+    }
+
+    /**
+     * Migrates the next chunk of a table that is being resized.
+     * Chunks wrap around, so buckets left behind by a stalled thread are picked up by the others.
+     */
+    private void helpCopy(Table table)
+    {
+        final int capacity = table.keys.length;
+
+        if (table.copyDone.get() < capacity)
+        {
+            final int start = table.copyIndex.getAndAdd(LockFreeHashTable.MIGRATION_STEP);
+
+            for (int i = 0; i < LockFreeHashTable.MIGRATION_STEP && i < capacity; i++)
+                this.copySlot(table, (start + i) & (capacity - 1));
+        }
+
+        this.promote(table);
+    }
+
+    /**
+     * Copies a bucket to the next table: freezes its value, puts it into the next table
+     * (unless a newer value got there first) and marks the bucket as moved.
+     */
+    private void copySlot(Table table, int index)
+    {
+        Object value = BUCKETS.getAcquire(table.values, index);
+
+        while (!(value instanceof Prime))
+        {
+            if (value == MOVED || value == MOVED_EMPTY)
+                return;
+
+            // empty and deleted buckets have nothing to copy
+            Object frozen = value == null ? MOVED_EMPTY : value == TOMBSTONE ? MOVED : new Prime(value);
+
+            if (BUCKETS.compareAndSet(table.values, index, value, frozen))
+            {
+                if (!(frozen instanceof Prime))
+                {
+                    this.slotCopied(table);
+                    return;
+                }
+
+                value = frozen;
+                break;
+            }
+
+            value = BUCKETS.getAcquire(table.values, index);
+        }
+
+        Object key = BUCKETS.getAcquire(table.keys, index);
+        this.putValue(table.next.get(), key, HashTable.spread(key.hashCode()), ((Prime) value).value, Expect.EMPTY);
+
+        if (BUCKETS.compareAndSet(table.values, index, value, MOVED))
+            this.slotCopied(table);
+    }
+
+    /**
+     * Counts a migrated bucket, promoting the next table once every bucket has been migrated.
+     */
+    private void slotCopied(Table table)
+    {
+        if (table.copyDone.incrementAndGet() == table.keys.length)
+            this.promote(table);
+    }
+
+    /**
+     * Replaces a fully migrated table with its next table.
+     */
+    private void promote(Table table)
+    {
+        if (table.copyDone.get() == table.keys.length)
+            this.top.compareAndSet(table, table.next.get());
+    }
+
+    /**
+     * Finishes any resize in progress and returns the current table.
+     */
+    private Table settle()
+    {
+        Table table = this.top.get();
+
+        while (table.next.get() != null)
+        {
+            for (int i = 0; i < table.keys.length; i++)
+                this.copySlot(table, i);
+
+            this.promote(table);
+            table = this.top.get();
+        }
+
+        return table;
+    }
+
+    /**
+     * Rounds a number up to the next power of two.
+     */
+    private static int tableSizeFor(int capacity)
+    {
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
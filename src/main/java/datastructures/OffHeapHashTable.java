@@ -0,0 +1,1104 @@
+package datastructures;
+
+import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Open addressing hash table that stores its entries outside the Java heap.
+ *
+ * Every bucket is a fixed-size record inside direct byte buffers: [state: 1 byte][hash: 4 bytes][key][value],
+ * with keys and values encoded by fixed-size codecs. The probe semantics are those of HashTable in power-of-two
+ * mode (spread hash, stride probing, tombstones that are reused by inserts and lazy relocation on lookups).
+ * Keys are compared by their encoded bytes and rehashing uses the stored hashes, so the table never decodes
+ * a key unless it is asked for one. The memory is released by close() (or by the garbage collector, when the
+ * JDK does not allow to release it explicitly).
+ *
+ * A table opened with open(Path, ...) is backed by a memory-mapped file instead: a header (capacity, counters,
+ * codec sizes) followed by the buckets, so reopening it only maps the file. A resize writes the new buckets to
+ * a temporary file that atomically replaces the old one. In this mode buckets are never relocated by lookups.
+ * The header is marked dirty while there are unflushed updates, and a table reopened from a dirty file
+ * recounts its keys. For a copy that survives power loss, use snapshot(Path).
+ */
+public class OffHeapHashTable<K, V> implements Iterable<K>, AutoCloseable
+{
+    // codecs of the keys and values.
+    private final FixedSizeCodec<K> keyCodec;
+    private final FixedSizeCodec<V> valueCodec;
+
+    // bucket layout: offsets of the key and the value inside a bucket, and the size of a bucket.
+    private final int keyOffset;
+    private final int valueOffset;
+    private final int bucketSize;
+
+    // hash table load factor.
+    private final double loadFactor;
+
+    // the total number of unique keys currently inside the hash table.
+    private int keyCount;
+
+    // the total number of used buckets inside the hash table (includes buckets marked as deleted).
+    private int usedBuckets;
+
+    // hash table capacity (a power of two), threshold for resizing and bit mask used for indexing.
+    private int capacity;
+    private int threshold;
+    private int mask;
+
+    // the buckets are split across chunks, each holding a power-of-two number of buckets.
+    private ByteBuffer[] chunks;
+    private int chunkShift;
+    private int chunkMask;
+    private final int maximumChunkBytes;
+
+    // the encoding of the key that is currently looked up.
+    private final ByteBuffer probeKey;
+
+    // file-backed mode: the table file and its mapped header (both null for direct buffers),
+    // and whether the header has been marked dirty since the last flush.
+    private final Path file;
+    private ByteBuffer header;
+    private boolean dirty;
+
+    // bucket states.
+    private static final byte EMPTY    = 0;
+    private static final byte OCCUPIED = 1;
+    private static final byte DELETED  = 2;
+
+    // hash table constants.
+    private static final int    DEFAULT_CAPACITY    = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.7;
+    private static final int    LINEAR_CONSTANT     = 17;
+    private static final int    MAXIMUM_CAPACITY    = 1 << 30;
+    private static final int    MAXIMUM_CHUNK_BYTES = 1 << 30;
+    private static final int    HASH_OFFSET         = 1;
+
+    // file header layout.
+    private static final int    FILE_MAGIC          = 0x48544246;
+    private static final int    FILE_VERSION        = 1;
+    private static final int    HEADER_BYTES        = 64;
+    private static final int    MAGIC_OFFSET        = 0;
+    private static final int    VERSION_OFFSET      = 4;
+    private static final int    BYTE_ORDER_OFFSET   = 8;
+    private static final int    CLEAN_OFFSET        = 9;
+    private static final int    KEY_SIZE_OFFSET     = 12;
+    private static final int    VALUE_SIZE_OFFSET   = 16;
+    private static final int    CAPACITY_OFFSET     = 20;
+    private static final int    KEY_COUNT_OFFSET    = 24;
+    private static final int    USED_OFFSET         = 28;
+    private static final int    LOAD_FACTOR_OFFSET  = 32;
+    private static final int    CHUNK_BYTES_OFFSET  = 40;
+
+    // sun.misc.Unsafe.invokeCleaner, used to release direct memory on close() (null when not available).
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static
+    {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+
+        try
+        {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+
+            unsafe        = field.get(null);
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            unsafe        = null;
+            invokeCleaner = null;
+        }
+
+        UNSAFE         = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * OffHeapHashTable constructor.
+     *
+     * @param keyCodec   - codec of the keys.
+     * @param valueCodec - codec of the values.
+     */
+    public OffHeapHashTable(FixedSizeCodec<K> keyCodec, FixedSizeCodec<V> valueCodec)
+    {
+        this(OffHeapHashTable.DEFAULT_CAPACITY, OffHeapHashTable.DEFAULT_LOAD_FACTOR, keyCodec, valueCodec);
+    }
+
+    /**
+     * OffHeapHashTable constructor.
+     *
+     * @param capacity   - initial hash table capacity (rounded up to a power of two).
+     * @param loadFactor - hash table load factor in (0, 1) (used to determine when hash table needs to resize).
+     * @param keyCodec   - codec of the keys.
+     * @param valueCodec - codec of the values.
+     */
+    public OffHeapHashTable(int capacity, double loadFactor, FixedSizeCodec<K> keyCodec, FixedSizeCodec<V> valueCodec)
+    {
+        this(capacity, loadFactor, keyCodec, valueCodec, OffHeapHashTable.MAXIMUM_CHUNK_BYTES);
+    }
+
+    /**
+     * OffHeapHashTable constructor.
+     *
+     * @param capacity          - initial hash table capacity (rounded up to a power of two).
+     * @param loadFactor        - hash table load factor in (0, 1).
+     * @param keyCodec          - codec of the keys.
+     * @param valueCodec        - codec of the values.
+     * @param maximumChunkBytes - the maximum size of a single direct buffer.
+     */
+    OffHeapHashTable(int capacity, double loadFactor, FixedSizeCodec<K> keyCodec, FixedSizeCodec<V> valueCodec, int maximumChunkBytes)
+    {
+        this(null, false, capacity, loadFactor, keyCodec, valueCodec, maximumChunkBytes);
+    }
+
+    /**
+     * OffHeapHashTable constructor.
+     *
+     * @param file              - the table file, or null for direct buffers.
+     * @param existing          - true if the file already holds the table (its header has been validated).
+     * @param capacity          - hash table capacity (a power of two for existing files).
+     * @param loadFactor        - hash table load factor in (0, 1).
+     * @param keyCodec          - codec of the keys.
+     * @param valueCodec        - codec of the values.
+     * @param maximumChunkBytes - the maximum size of a single buffer.
+     */
+    private OffHeapHashTable(Path file, boolean existing, int capacity, double loadFactor, FixedSizeCodec<K> keyCodec, FixedSizeCodec<V> valueCodec, int maximumChunkBytes)
+    {
+        if (capacity <= 0 || capacity > OffHeapHashTable.MAXIMUM_CAPACITY)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        if (loadFactor <= 0 || loadFactor >= 1 || Double.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+
+        if (keyCodec == null || valueCodec == null)
+            throw new IllegalArgumentException("Null codec");
+
+        if (keyCodec.size() <= 0 || valueCodec.size() < 0)
+            throw new IllegalArgumentException("Illegal codec size: " + keyCodec.size() + ", " + valueCodec.size());
+
+        this.keyCodec          = keyCodec;
+        this.valueCodec        = valueCodec;
+        this.loadFactor        = loadFactor;
+        this.keyOffset         = OffHeapHashTable.HASH_OFFSET + Integer.BYTES;
+        this.valueOffset       = this.keyOffset + keyCodec.size();
+        this.bucketSize        = this.valueOffset + valueCodec.size();
+        this.maximumChunkBytes = maximumChunkBytes;
+        this.probeKey          = ByteBuffer.allocate(keyCodec.size()).order(ByteOrder.nativeOrder());
+        this.file              = file;
+
+        if (this.bucketSize > maximumChunkBytes)
+            throw new IllegalArgumentException("Bucket does not fit in a chunk: " + this.bucketSize);
+
+        if (existing)
+        {
+            this.mapExistingFile(capacity);
+        }
+        else
+        {
+            this.allocate(OffHeapHashTable.tableSizeFor(capacity));
+            this.commit();
+        }
+    }
+
+    /**
+     * Opens a file-backed hash table, creating it with the default capacity and load factor if the file does not exist.
+     *
+     * @param file       - the table file.
+     * @param keyCodec   - codec of the keys.
+     * @param valueCodec - codec of the values.
+     * @return the opened hash table.
+     * @throws IOException if the file can not be read or does not hold a hash table with the given codec sizes.
+     */
+    public static <K, V> OffHeapHashTable<K, V> open(Path file, FixedSizeCodec<K> keyCodec, FixedSizeCodec<V> valueCodec) throws IOException
+    {
+        return OffHeapHashTable.open(file, OffHeapHashTable.DEFAULT_CAPACITY, OffHeapHashTable.DEFAULT_LOAD_FACTOR, keyCodec, valueCodec);
+    }
+
+    /**
+     * Opens a file-backed hash table, creating it with the given capacity and load factor if the file does not exist.
+     * An existing file keeps the capacity and load factor stored in its header.
+     *
+     * @param file       - the table file.
+     * @param capacity   - initial hash table capacity of a new file.
+     * @param loadFactor - hash table load factor of a new file.
+     * @param keyCodec   - codec of the keys.
+     * @param valueCodec - codec of the values.
+     * @return the opened hash table.
+     * @throws IOException if the file can not be read or does not hold a hash table with the given codec sizes.
+     */
+    public static <K, V> OffHeapHashTable<K, V> open(Path file, int capacity, double loadFactor, FixedSizeCodec<K> keyCodec, FixedSizeCodec<V> valueCodec) throws IOException
+    {
+        if (file == null)
+            throw new IllegalArgumentException("Null file");
+
+        if (!Files.exists(file))
+        {
+            try
+            {
+                return new OffHeapHashTable<>(file, false, capacity, loadFactor, keyCodec, valueCodec, OffHeapHashTable.MAXIMUM_CHUNK_BYTES);
+            }
+            catch (UncheckedIOException e)
+            {
+                throw e.getCause();
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(OffHeapHashTable.HEADER_BYTES);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            while (header.hasRemaining() && channel.read(header) != -1);
+        }
+
+        if (header.hasRemaining() || header.getInt(OffHeapHashTable.MAGIC_OFFSET) != OffHeapHashTable.FILE_MAGIC)
+            throw new IOException("Not a hash table file: " + file);
+
+        if (header.getInt(OffHeapHashTable.VERSION_OFFSET) != OffHeapHashTable.FILE_VERSION)
+            throw new IOException("Unsupported hash table file version: " + header.getInt(OffHeapHashTable.VERSION_OFFSET));
+
+        if (header.get(OffHeapHashTable.BYTE_ORDER_OFFSET) != OffHeapHashTable.byteOrderCode())
+            throw new IOException("Hash table file written with a different byte order: " + file);
+
+        if (keyCodec == null || valueCodec == null)
+            throw new IllegalArgumentException("Null codec");
+
+        if (header.getInt(OffHeapHashTable.KEY_SIZE_OFFSET) != keyCodec.size() || header.getInt(OffHeapHashTable.VALUE_SIZE_OFFSET) != valueCodec.size())
+            throw new IOException("Codec sizes do not match the hash table file: " + header.getInt(OffHeapHashTable.KEY_SIZE_OFFSET) + ", " + header.getInt(OffHeapHashTable.VALUE_SIZE_OFFSET));
+
+        try
+        {
+            return new OffHeapHashTable<>(file, true,
+                                          header.getInt(OffHeapHashTable.CAPACITY_OFFSET),
+                                          header.getDouble(OffHeapHashTable.LOAD_FACTOR_OFFSET),
+                                          keyCodec, valueCodec,
+                                          header.getInt(OffHeapHashTable.CHUNK_BYTES_OFFSET));
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Puts a new key-value pair in the hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V put(K key, V value)
+    {
+        return this.insert(key, value);
+    }
+
+    /**
+     * Adds a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V add(K key, V value)
+    {
+        return this.insert(key, value);
+    }
+
+    /**
+     * Inserts a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V insert(K key, V value)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        if (value == null)
+            throw new IllegalArgumentException("Null value");
+
+        this.ensureOpen();
+
+        if (this.usedBuckets >= this.threshold)
+            this.resize();
+
+        this.beforeUpdate();
+
+        final int hash = this.encodeProbeKey(key);
+
+        for (int i = hash & this.mask, j = -1; ; i = (i + OffHeapHashTable.LINEAR_CONSTANT) & this.mask)
+        {
+            final ByteBuffer chunk = this.chunk(i);
+            final int offset       = this.offset(i);
+            final byte state       = chunk.get(offset);
+
+            // 1. the current bucket was previously deleted
+            if (state == OffHeapHashTable.DELETED)
+            {
+                if (j == -1)
+                    j = i;
+            }
+            // 2. the current bucket already contains a key, perhaps the one we're inserting
+            else if (state == OffHeapHashTable.OCCUPIED)
+            {
+                if (this.matches(chunk, offset, hash))
+                {
+                    V oldValue = this.valueCodec.read(chunk, offset + this.valueOffset);
+
+                    if (j != -1 && this.file == null)
+                    {
+                        this.moveBucket(i, j);
+                        i = j;
+                    }
+
+                    this.valueCodec.write(this.chunk(i), this.offset(i) + this.valueOffset, value);
+
+                    return oldValue;
+                }
+            }
+            // 3. the current bucket is empty, so the key does not exist
+            else
+            {
+                if (j == -1)
+                    this.usedBuckets++;
+                else
+                    i = j;   // reuse the first deleted bucket of the probe sequence
+
+                this.keyCount++;
+                this.writeBucket(i, hash, key, value);
+
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Gets a value associated with the key.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - a value associated with the given key if the key exists, null otherwise.
+     */
+    public V get(K key)
+    {
+        final int index = this.indexOf(key);
+
+        return index == -1 ? null : this.valueCodec.read(this.chunk(index), this.offset(index) + this.valueOffset);
+    }
+
+    /**
+     * Removes a "key -> value" pair from a hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V remove(K key)
+    {
+        final int index = this.indexOf(key);
+
+        if (index == -1)
+            return null;
+
+        final ByteBuffer chunk = this.chunk(index);
+        final int offset       = this.offset(index);
+
+        V oldValue = this.valueCodec.read(chunk, offset + this.valueOffset);
+
+        this.beforeUpdate();
+        chunk.put(offset, OffHeapHashTable.DELETED);
+        this.keyCount--;
+
+        return oldValue;
+    }
+
+    /**
+     * Deletes a "key -> value" pair from a hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V delete(K key)
+    {
+        return this.remove(key);
+    }
+
+    /**
+     * Checks if the key exists in the hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean hasKey(K key)
+    {
+        return this.indexOf(key) != -1;
+    }
+
+    /**
+     * Checks if the key exists in the hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean containsKey(K key)
+    {
+        return this.hasKey(key);
+    }
+
+    /**
+     * Clears the hash table (the memory is replaced with zeroed memory of the same capacity).
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n)
+     */
+    public void clear()
+    {
+        this.ensureOpen();
+
+        final ByteBuffer[] oldChunks = this.chunks;
+        final ByteBuffer oldHeader   = this.header;
+
+        this.allocate(this.capacity);
+        this.commit();
+
+        OffHeapHashTable.release(oldChunks);
+        OffHeapHashTable.release(oldHeader);
+    }
+
+    /**
+     * Writes the buckets of a file-backed hash table to the disk and marks its header clean,
+     * so the table reopens without recounting its keys. Does nothing for direct buffers.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public void flush()
+    {
+        this.ensureOpen();
+
+        if (this.file == null)
+            return;
+
+        for (ByteBuffer chunk : this.chunks)
+            ((MappedByteBuffer) chunk).force();
+
+        this.writeHeader(this.header);
+        ((MappedByteBuffer) this.header).force();
+        this.dirty = false;
+    }
+
+    /**
+     * Writes a consistent copy of the hash table to the given file, which can be opened with open(Path, ...).
+     * The copy is written to a temporary file, forced to the disk and atomically renamed to the target,
+     * so the target either keeps its previous content or holds the whole snapshot.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     *
+     * @param target - the snapshot file.
+     * @throws IOException if the snapshot can not be written.
+     */
+    public void snapshot(Path target) throws IOException
+    {
+        if (target == null)
+            throw new IllegalArgumentException("Null file");
+
+        this.ensureOpen();
+
+        if (this.file != null && target.toAbsolutePath().normalize().equals(this.file.toAbsolutePath().normalize()))
+            throw new IllegalArgumentException("Snapshot target is the table file: " + target);
+
+        final Path temporary      = OffHeapHashTable.temporaryFile(target);
+        final ByteBuffer snapshot = ByteBuffer.allocate(OffHeapHashTable.HEADER_BYTES);
+
+        this.writeHeader(snapshot);
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            OffHeapHashTable.writeFully(channel, snapshot);
+
+            for (ByteBuffer chunk : this.chunks)
+                OffHeapHashTable.writeFully(channel, chunk.duplicate().clear());
+
+            channel.force(true);
+        }
+
+        OffHeapHashTable.replace(temporary, target);
+    }
+
+    /**
+     * Releases the off-heap memory of the hash table (a file-backed table is flushed first).
+     * The hash table can not be used afterwards.
+     */
+    @Override
+    public void close()
+    {
+        if (this.chunks == null)
+            return;
+
+        if (this.file != null)
+            this.flush();
+
+        final ByteBuffer[] oldChunks = this.chunks;
+        final ByteBuffer oldHeader   = this.header;
+
+        this.chunks   = null;
+        this.header   = null;
+        this.keyCount = this.usedBuckets = 0;
+
+        OffHeapHashTable.release(oldChunks);
+        OffHeapHashTable.release(oldHeader);
+    }
+
+    /**
+     * Returns a list of keys found in the hash table (decoded on the heap).
+     */
+    public List<K> keys()
+    {
+        this.ensureOpen();
+
+        List<K> hashTableKeys = new ArrayList<>(this.size());
+
+        for (int i = 0; i < this.capacity; i++)
+        {
+            if (this.chunk(i).get(this.offset(i)) == OffHeapHashTable.OCCUPIED)
+                hashTableKeys.add(this.keyCodec.read(this.chunk(i), this.offset(i) + this.keyOffset));
+        }
+
+        return hashTableKeys;
+    }
+
+    /**
+     * Returns a list of values found in the hash table (decoded on the heap).
+     */
+    public List<V> values()
+    {
+        this.ensureOpen();
+
+        List<V> hashTableValues = new ArrayList<>(this.size());
+
+        for (int i = 0; i < this.capacity; i++)
+        {
+            if (this.chunk(i).get(this.offset(i)) == OffHeapHashTable.OCCUPIED)
+                hashTableValues.add(this.valueCodec.read(this.chunk(i), this.offset(i) + this.valueOffset));
+        }
+
+        return hashTableValues;
+    }
+
+    /**
+     * Hash table size (total active keys).
+     */
+    public int size()
+    {
+        return this.keyCount;
+    }
+
+    /**
+     * Checks if hash table is empty.
+     */
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    /**
+     * Hash table capacity getter.
+     */
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Hash table load factor getter.
+     */
+    public double getLoadFactor()
+    {
+        return this.loadFactor;
+    }
+
+    /**
+     * Returns the number of off-heap bytes held by the hash table.
+     */
+    public long getOffHeapBytes()
+    {
+        return this.chunks == null ? 0 : (long) this.capacity * this.bucketSize;
+    }
+
+    /**
+     * Checks if the hash table has been closed.
+     */
+    public boolean isClosed()
+    {
+        return this.chunks == null;
+    }
+
+    @Override
+    public Iterator<K> iterator()
+    {
+        return this.keys().iterator();
+    }
+
+    /**
+     * OffHeapHashTable class string representation.
+     */
+    @Override
+    public String toString()
+    {
+        this.ensureOpen();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        for (int i = 0; i < this.capacity; i++)
+        {
+            final ByteBuffer chunk = this.chunk(i);
+            final int offset       = this.offset(i);
+
+            if (chunk.get(offset) == OffHeapHashTable.OCCUPIED)
+                sb.append(this.keyCodec.read(chunk, offset + this.keyOffset) + " => " + this.valueCodec.read(chunk, offset + this.valueOffset) + ", ");
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Finds the bucket of a key. Deleted buckets passed on the way are used for lazy relocation
+     * (except for file-backed tables, where a relocation interrupted by a crash would leave the key twice).
+     *
+     * @param key  - a key.
+     * @return int - the index of the key's bucket if the key exists, -1 otherwise.
+     */
+    private int indexOf(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        this.ensureOpen();
+
+        final int hash = this.encodeProbeKey(key);
+
+        for (int i = hash & this.mask, j = -1; ; i = (i + OffHeapHashTable.LINEAR_CONSTANT) & this.mask)
+        {
+            final ByteBuffer chunk = this.chunk(i);
+            final int offset       = this.offset(i);
+            final byte state       = chunk.get(offset);
+
+            if (state == OffHeapHashTable.EMPTY)
+                return -1;
+
+            if (state == OffHeapHashTable.DELETED)
+            {
+                if (j == -1)
+                    j = i;
+            }
+            else if (this.matches(chunk, offset, hash))
+            {
+                if (j == -1 || this.file != null)
+                    return i;
+
+                this.moveBucket(i, j);
+                return j;
+            }
+        }
+    }
+
+    /**
+     * Encodes the key that is looked up into the probe buffer.
+     *
+     * @return int - the spread hash of the key.
+     */
+    private int encodeProbeKey(K key)
+    {
+        this.keyCodec.write(this.probeKey, 0, key);
+
+        return HashTable.spread(key.hashCode());
+    }
+
+    /**
+     * Checks if an occupied bucket holds the key that is looked up: compares the stored hash first and the encoded key bytes after.
+     */
+    private boolean matches(ByteBuffer chunk, int offset, int hash)
+    {
+        if (chunk.getInt(offset + OffHeapHashTable.HASH_OFFSET) != hash)
+            return false;
+
+        final int keySize = this.keyCodec.size();
+        final int start   = offset + this.keyOffset;
+        int k = 0;
+
+        for (; k + Long.BYTES <= keySize; k += Long.BYTES)
+            if (chunk.getLong(start + k) != this.probeKey.getLong(k))
+                return false;
+
+        for (; k < keySize; k++)
+            if (chunk.get(start + k) != this.probeKey.get(k))
+                return false;
+
+        return true;
+    }
+
+    /**
+     * Writes a whole bucket.
+     */
+    private void writeBucket(int index, int hash, K key, V value)
+    {
+        final ByteBuffer chunk = this.chunk(index);
+        final int offset       = this.offset(index);
+
+        chunk.putInt(offset + OffHeapHashTable.HASH_OFFSET, hash);
+        this.keyCodec.write(chunk, offset + this.keyOffset, key);
+        this.valueCodec.write(chunk, offset + this.valueOffset, value);
+        chunk.put(offset, OffHeapHashTable.OCCUPIED);
+    }
+
+    /**
+     * Moves a bucket into an earlier (deleted) bucket of its probe sequence
+     * and marks the bucket it came from as deleted. This is called lazy relocation.
+     */
+    private void moveBucket(int from, int to)
+    {
+        this.chunk(to).put(this.offset(to), this.chunk(from), this.offset(from), this.bucketSize);
+        this.chunk(from).put(this.offset(from), OffHeapHashTable.DELETED);
+    }
+
+    /**
+     * Resizes the hash table and re-hashes the keys using the stored hashes.
+     * The capacity is doubled, unless most of the used buckets are deleted ones,
+     * in which case the deleted buckets are only dropped.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n)
+     */
+    private void resize()
+    {
+        final ByteBuffer[] oldChunks = this.chunks;
+        final ByteBuffer oldHeader   = this.header;
+        final int oldCapacity        = this.capacity;
+        final int oldChunkShift      = this.chunkShift;
+        final int oldChunkMask       = this.chunkMask;
+
+        final boolean grow = this.keyCount >= this.threshold / 2 && oldCapacity < OffHeapHashTable.MAXIMUM_CAPACITY;
+
+        this.allocate(grow ? 2 * oldCapacity : oldCapacity);
+
+        for (int i = 0; i < oldCapacity; i++)
+        {
+            final ByteBuffer oldChunk = oldChunks[i >>> oldChunkShift];
+            final int oldOffset       = (i & oldChunkMask) * this.bucketSize;
+
+            if (oldChunk.get(oldOffset) != OffHeapHashTable.OCCUPIED)
+                continue;
+
+            int j = oldChunk.getInt(oldOffset + OffHeapHashTable.HASH_OFFSET) & this.mask;
+
+            while (this.chunk(j).get(this.offset(j)) != OffHeapHashTable.EMPTY)
+                j = (j + OffHeapHashTable.LINEAR_CONSTANT) & this.mask;
+
+            this.chunk(j).put(this.offset(j), oldChunk, oldOffset, this.bucketSize);
+            this.keyCount++;
+            this.usedBuckets++;
+        }
+
+        this.commit();
+
+        OffHeapHashTable.release(oldChunks);
+        OffHeapHashTable.release(oldHeader);
+    }
+
+    /**
+     * Allocates zeroed buckets for the given capacity and resets the counters.
+     * A file-backed table maps the buckets of a temporary file, which replaces the table file on commit().
+     */
+    private void allocate(int capacity)
+    {
+        final int bucketsPerChunk = this.layout(capacity);
+
+        this.keyCount    = 0;
+        this.usedBuckets = 0;
+
+        if (this.file == null)
+        {
+            for (int i = 0; i < this.chunks.length; i++)
+                this.chunks[i] = ByteBuffer.allocateDirect(bucketsPerChunk * this.bucketSize).order(ByteOrder.nativeOrder());
+
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(OffHeapHashTable.temporaryFile(this.file), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            this.map(channel, bucketsPerChunk);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps the buckets of an existing table file. The counters are read from a clean header,
+     * and recounted from the buckets when the table was not flushed after its last update.
+     */
+    private void mapExistingFile(int capacity)
+    {
+        if (Integer.bitCount(capacity) != 1)
+            throw new UncheckedIOException(new IOException("Illegal capacity in hash table file: " + capacity));
+
+        final int bucketsPerChunk = this.layout(capacity);
+
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            if (channel.size() != OffHeapHashTable.HEADER_BYTES + (long) capacity * this.bucketSize)
+                throw new IOException("Truncated hash table file: " + this.file);
+
+            this.map(channel, bucketsPerChunk);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        if (this.header.get(OffHeapHashTable.CLEAN_OFFSET) == 1)
+        {
+            this.keyCount    = this.header.getInt(OffHeapHashTable.KEY_COUNT_OFFSET);
+            this.usedBuckets = this.header.getInt(OffHeapHashTable.USED_OFFSET);
+            return;
+        }
+
+        this.keyCount    = 0;
+        this.usedBuckets = 0;
+        this.dirty       = true;
+
+        for (int i = 0; i < capacity; i++)
+        {
+            final byte state = this.chunk(i).get(this.offset(i));
+
+            if (state != OffHeapHashTable.EMPTY)
+                this.usedBuckets++;
+
+            if (state == OffHeapHashTable.OCCUPIED)
+                this.keyCount++;
+        }
+    }
+
+    /**
+     * Sets the capacity and the chunk layout.
+     *
+     * @return int - the number of buckets per chunk.
+     */
+    private int layout(int capacity)
+    {
+        final int bucketsPerChunk = Math.min(capacity, Integer.highestOneBit(this.maximumChunkBytes / this.bucketSize));
+
+        this.capacity   = capacity;
+        this.mask       = capacity - 1;
+        this.threshold  = (int) (this.loadFactor * capacity);
+        this.chunkShift = Integer.numberOfTrailingZeros(bucketsPerChunk);
+        this.chunkMask  = bucketsPerChunk - 1;
+        this.chunks     = new ByteBuffer[capacity / bucketsPerChunk];
+
+        return bucketsPerChunk;
+    }
+
+    /**
+     * Maps the header and the chunks of a table file (mappings stay valid after the channel is closed).
+     */
+    private void map(FileChannel channel, int bucketsPerChunk) throws IOException
+    {
+        final long chunkBytes = (long) bucketsPerChunk * this.bucketSize;
+
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, OffHeapHashTable.HEADER_BYTES);
+
+        for (int i = 0; i < this.chunks.length; i++)
+            this.chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, OffHeapHashTable.HEADER_BYTES + i * chunkBytes, chunkBytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Makes freshly allocated buckets of a file-backed table durable: writes a clean header,
+     * forces the temporary file to the disk and atomically renames it over the table file.
+     */
+    private void commit()
+    {
+        if (this.file == null)
+            return;
+
+        for (ByteBuffer chunk : this.chunks)
+            ((MappedByteBuffer) chunk).force();
+
+        this.writeHeader(this.header);
+        ((MappedByteBuffer) this.header).force();
+        this.dirty = false;
+
+        try
+        {
+            OffHeapHashTable.replace(OffHeapHashTable.temporaryFile(this.file), this.file);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Marks the header of a file-backed table dirty before its first unflushed update,
+     * so a table that is not closed properly recounts its keys when reopened.
+     */
+    private void beforeUpdate()
+    {
+        if (this.file == null || this.dirty)
+            return;
+
+        this.header.put(OffHeapHashTable.CLEAN_OFFSET, (byte) 0);
+        ((MappedByteBuffer) this.header).force();
+        this.dirty = true;
+    }
+
+    /**
+     * Writes a clean file header (always big-endian) describing the current state of the hash table.
+     */
+    private void writeHeader(ByteBuffer header)
+    {
+        header.putInt(OffHeapHashTable.MAGIC_OFFSET, OffHeapHashTable.FILE_MAGIC);
+        header.putInt(OffHeapHashTable.VERSION_OFFSET, OffHeapHashTable.FILE_VERSION);
+        header.put(OffHeapHashTable.BYTE_ORDER_OFFSET, OffHeapHashTable.byteOrderCode());
+        header.put(OffHeapHashTable.CLEAN_OFFSET, (byte) 1);
+        header.putInt(OffHeapHashTable.KEY_SIZE_OFFSET, this.keyCodec.size());
+        header.putInt(OffHeapHashTable.VALUE_SIZE_OFFSET, this.valueCodec.size());
+        header.putInt(OffHeapHashTable.CAPACITY_OFFSET, this.capacity);
+        header.putInt(OffHeapHashTable.KEY_COUNT_OFFSET, this.keyCount);
+        header.putInt(OffHeapHashTable.USED_OFFSET, this.usedBuckets);
+        header.putDouble(OffHeapHashTable.LOAD_FACTOR_OFFSET, this.loadFactor);
+        header.putInt(OffHeapHashTable.CHUNK_BYTES_OFFSET, this.maximumChunkBytes);
+    }
+
+    /**
+     * The byte order the buckets were written in (they are not portable between byte orders).
+     */
+    private static byte byteOrderCode()
+    {
+        return (byte) (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 1 : 2);
+    }
+
+    /**
+     * Returns the temporary file that is renamed over the given file.
+     */
+    private static Path temporaryFile(Path file)
+    {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    /**
+     * Atomically renames a file over another one and syncs the directory (where the platform allows it).
+     */
+    private static void replace(Path source, Path target) throws IOException
+    {
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        final Path directory = target.toAbsolutePath().getParent();
+
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ))
+        {
+            channel.force(true);
+        }
+        catch (IOException e)
+        {
+            // not every platform can open or sync a directory, the rename itself is still atomic
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    /**
+     * Releases direct (or mapped) buffers right away when the JDK allows it, otherwise leaves them to the garbage collector.
+     */
+    private static void release(ByteBuffer... chunks)
+    {
+        if (OffHeapHashTable.INVOKE_CLEANER == null || chunks == null)
+            return;
+
+        try
+        {
+            for (ByteBuffer chunk : chunks)
+                if (chunk != null)
+                    OffHeapHashTable.INVOKE_CLEANER.invoke(OffHeapHashTable.UNSAFE, chunk);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            // the remaining buffers are released by the garbage collector
+        }
+    }
+
+    /**
+     * Returns the chunk that holds a bucket.
+     */
+    private ByteBuffer chunk(int index)
+    {
+        return this.chunks[index >>> this.chunkShift];
+    }
+
+    /**
+     * Returns the offset of a bucket inside its chunk.
+     */
+    private int offset(int index)
+    {
+        return (index & this.chunkMask) * this.bucketSize;
+    }
+
+    /**
+     * Throws if the hash table has been closed.
+     */
+    private void ensureOpen()
+    {
+        if (this.chunks == null)
+            throw new IllegalStateException("Hash table is closed");
+    }
+
+    /**
+     * Rounds a number up to the next power of two.
+     */
+    private static int tableSizeFor(int capacity)
+    {
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
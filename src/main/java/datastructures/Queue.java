@@ -1,3 +1,5 @@
+package datastructures;
+
 import java.util.Iterator;
 
 public class Queue<T> implements Iterable<T>
@@ -0,0 +1,504 @@
+package datastructures;
+
+import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
+
+/**
+ * Open addressing hash table that uses Robin Hood linear probing.
+ *
+ * On insertion, a key that is further away from its home bucket takes the slot of a key that is closer
+ * to its own home bucket ("take from the rich, give to the poor"), which keeps the variance of probe
+ * lengths low. Deletion shifts the following cluster one slot back instead of leaving a tombstone,
+ * so heavy insert/remove churn never degrades lookups and the table can run at high load factors.
+ */
+@SuppressWarnings("unchecked")
+public class RobinHoodHashTable<K, V> implements Iterable<K>
+{
+    // hash table load factor.
+    private double loadFactor;
+
+    // the total number of unique keys currently inside the hash table.
+    private int keyCount;
+
+    // hash table capacity (always a power of two), index mask and threshold for resizing.
+    private int capacity;
+    private int mask;
+    private int threshold;
+
+    // arrays that store the key-value pairs and the spread hash of every key.
+    private K[] keys;
+    private V[] values;
+    private int[] hashes;
+
+    // hash table constants.
+    private static final int    DEFAULT_CAPACITY    = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.85;
+    private static final int    MAXIMUM_CAPACITY    = 1 << 30;
+
+    /**
+     * RobinHoodHashTable constructor.
+     */
+    public RobinHoodHashTable()
+    {
+        this(RobinHoodHashTable.DEFAULT_CAPACITY, RobinHoodHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * RobinHoodHashTable constructor.
+     *
+     * @param capacity - hash table capacity.
+     */
+    public RobinHoodHashTable(int capacity)
+    {
+        this(capacity, RobinHoodHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * RobinHoodHashTable constructor.
+     *
+     * @param capacity   - hash table capacity (rounded up to a power of two).
+     * @param loadFactor - hash table load factor in (0, 1) (used to determine when we need to resize).
+     */
+    public RobinHoodHashTable(int capacity, double loadFactor)
+    {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        if (loadFactor <= 0 || loadFactor >= 1 || Double.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+
+        this.loadFactor = loadFactor;
+        this.allocate(RobinHoodHashTable.tableSizeFor(capacity));
+    }
+
+    /**
+     * Puts a new key-value pair in the hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V put(K key, V value)
+    {
+        return this.insert(key, value);
+    }
+
+    /**
+     * Adds a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V add(K key, V value)
+    {
+        return this.insert(key, value);
+    }
+
+    /**
+     * Inserts a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V insert(K key, V value)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        final int hash = HashTable.spread(key.hashCode());
+
+        // 1. the key already exists, so only its value is updated.
+        final int index = this.indexOf(key, hash);
+
+        if (index != -1)
+        {
+            V oldValue = this.values[index];
+            this.values[index] = value;
+
+            return oldValue;
+        }
+
+        // 2. the key is new, so make room for it if needed and place it.
+        if (this.keyCount >= this.threshold)
+            this.resizeHashTable();
+
+        this.place(key, value, hash);
+        this.keyCount++;
+
+        return null;
+    }
+
+    /**
+     * Gets a value associated with the key.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - a value associated with the given key if the key exists, null otherwise.
+     */
+    public V get(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        final int index = this.indexOf(key, HashTable.spread(key.hashCode()));
+
+        return index == -1 ? null : this.values[index];
+    }
+
+    /**
+     * Removes a "key -> value" pair from a hash table.
+     * The cluster that follows the removed key is shifted one slot back, so no tombstone is left behind.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V remove(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        int i = this.indexOf(key, HashTable.spread(key.hashCode()));
+
+        if (i == -1)
+            return null;
+
+        V oldValue = this.values[i];
+
+        // backward shift deletion: pull every following key that is not in its
+        // home bucket one slot closer to it, until an empty slot or a key at home.
+        for (int j = (i + 1) & this.mask; this.keys[j] != null && this.probeLength(j) > 0; j = (j + 1) & this.mask)
+        {
+            this.keys[i]   = this.keys[j];
+            this.values[i] = this.values[j];
+            this.hashes[i] = this.hashes[j];
+
+            i = j;
+        }
+
+        this.keys[i]   = null;
+        this.values[i] = null;
+        this.hashes[i] = 0;
+
+        this.keyCount--;
+
+        return oldValue;
+    }
+
+    /**
+     * Deletes a "key -> value" pair from a hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V delete(K key)
+    {
+        return this.remove(key);
+    }
+
+    /**
+     * Checks if the key exists in the hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean hasKey(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        return this.indexOf(key, HashTable.spread(key.hashCode())) != -1;
+    }
+
+    /**
+     * Checks if the key exists in the hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean containsKey(K key)
+    {
+        return this.hasKey(key);
+    }
+
+    /**
+     * Clears the hash table.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public void clear()
+    {
+        for (int i = 0; i < this.capacity; i++)
+        {
+            this.keys[i]   = null;
+            this.values[i] = null;
+            this.hashes[i] = 0;
+        }
+
+        this.keyCount = 0;
+    }
+
+    /**
+     * Returns a list of keys found in the hash table.
+     */
+    public List<K> keys()
+    {
+        List<K> hashTableKeys = new ArrayList<>(this.size());
+
+        for (int i = 0; i < this.capacity; i++)
+        {
+            if (this.keys[i] != null)
+                hashTableKeys.add(this.keys[i]);
+        }
+
+        return hashTableKeys;
+    }
+
+    /**
+     * Returns a list of values found in the hash table.
+     */
+    public List<V> values()
+    {
+        List<V> hashTableValues = new ArrayList<>(this.size());
+
+        for (int i = 0; i < this.capacity; i++)
+        {
+            if (this.keys[i] != null)
+                hashTableValues.add(this.values[i]);
+        }
+
+        return hashTableValues;
+    }
+
+    /**
+     * Returns the longest distance between a key and its home bucket.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public int getMaxProbeLength()
+    {
+        int maxProbeLength = 0;
+
+        for (int i = 0; i < this.capacity; i++)
+        {
+            if (this.keys[i] != null)
+                maxProbeLength = Math.max(maxProbeLength, this.probeLength(i));
+        }
+
+        return maxProbeLength;
+    }
+
+    /**
+     * Hash table size (total active keys).
+     */
+    public int size()
+    {
+        return this.keyCount;
+    }
+
+    /**
+     * Checks if hash table is empty.
+     */
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    /**
+     * Hash table capacity getter.
+     */
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Hash table load factor getter.
+     */
+    public double getLoadFactor()
+    {
+        return this.loadFactor;
+    }
+
+    @Override
+    public Iterator<K> iterator()
+    {
+        return new Iterator<K>()
+        {
+            int index, keysLeft = keyCount;
+
+            @Override
+            public boolean hasNext()
+            {
+                return keysLeft != 0;
+            }
+
+            @Override
+            public K next()
+            {
+                while (keys[index] == null) index++;
+
+                keysLeft--;
+                return keys[index++];
+            }
+
+            @Override
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * RobinHoodHashTable class string representation.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        for (int i = 0; i < this.capacity; i++)
+          if (this.keys[i] != null)
+            sb.append(this.keys[i] + " => " + this.values[i] + ", ");
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Finds the slot of a key.
+     * The probe stops as soon as it reaches an empty slot or a key that is closer to its home
+     * bucket than the searched key would be, since Robin Hood insertion would have placed it there.
+     *
+     * @param key  - a key.
+     * @param hash - spread hash of the key.
+     * @return int - the index of the key if it exists, -1 otherwise.
+     */
+    private int indexOf(K key, int hash)
+    {
+        for (int i = hash & this.mask, distance = 0; ; i = (i + 1) & this.mask, distance++)
+        {
+            if (this.keys[i] == null || this.probeLength(i) < distance)
+                return -1;
+
+            if (this.hashes[i] == hash && this.keys[i].equals(key))
+                return i;
+        }
+    }
+
+    /**
+     * Places a key that does not exist in the hash table yet.
+     * Whenever the key being placed is further from home than the resident key,
+     * they swap places and the displaced resident continues the probe.
+     */
+    private void place(K key, V value, int hash)
+    {
+        for (int i = hash & this.mask, distance = 0; ; i = (i + 1) & this.mask, distance++)
+        {
+            if (this.keys[i] == null)
+            {
+                this.keys[i]   = key;
+                this.values[i] = value;
+                this.hashes[i] = hash;
+
+                return;
+            }
+
+            final int residentDistance = this.probeLength(i);
+
+            if (residentDistance < distance)
+            {
+                K residentKey   = this.keys[i];
+                V residentValue = this.values[i];
+                int residentHash = this.hashes[i];
+
+                this.keys[i]   = key;
+                this.values[i] = value;
+                this.hashes[i] = hash;
+
+                key      = residentKey;
+                value    = residentValue;
+                hash     = residentHash;
+                distance = residentDistance;
+            }
+        }
+    }
+
+    /**
+     * Returns the distance between the key in the given slot and its home bucket.
+     */
+    private int probeLength(int index)
+    {
+        return (index - (this.hashes[index] & this.mask)) & this.mask;
+    }
+
+    /**
+     * Resizes the hash table.
+     * It doubles the size of the table and re-inserts the keys (hash codes are not recomputed).
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n)
+     */
+    private void resizeHashTable()
+    {
+        K[] oldKeyTable     = this.keys;
+        V[] oldValueTable   = this.values;
+        int[] oldHashTable  = this.hashes;
+
+        this.allocate(Math.min(2 * this.capacity, RobinHoodHashTable.MAXIMUM_CAPACITY));
+
+        for (int i = 0; i < oldKeyTable.length; i++)
+        {
+            if (oldKeyTable[i] != null)
+                this.place(oldKeyTable[i], oldValueTable[i], oldHashTable[i]);
+        }
+    }
+
+    /**
+     * Allocates empty arrays of the given capacity.
+     */
+    private void allocate(int capacity)
+    {
+        this.capacity  = capacity;
+        this.mask      = capacity - 1;
+        this.threshold = (int) (this.loadFactor * capacity);
+
+        this.keys   = (K[]) new Object[capacity];
+        this.values = (V[]) new Object[capacity];
+        this.hashes = new int[capacity];
+    }
+
+    /**
+     * Rounds capacity up to the next power of two.
+     */
+    private static int tableSizeFor(int capacity)
+    {
+        if (capacity >= RobinHoodHashTable.MAXIMUM_CAPACITY)
+            return RobinHoodHashTable.MAXIMUM_CAPACITY;
+
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
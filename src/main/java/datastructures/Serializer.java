@@ -0,0 +1,157 @@
+package datastructures;
+
+import java.nio.ByteBuffer;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of the keys and values written by EntryWriter and read back by EntryReader.
+ *
+ * Unlike FixedSizeCodec, encodings may have any length: a serializer writes at the position of the buffer
+ * and advances it. When the buffer has not enough room left, the serializer throws BufferOverflowException
+ * and the writer retries the entry with more room.
+ */
+public interface Serializer<T>
+{
+    /**
+     * Writes the encoding of a value at the position of the buffer.
+     *
+     * @param buffer - a buffer.
+     * @param value  - a value.
+     * @throws BufferOverflowException if the buffer has not enough room left.
+     */
+    void write(ByteBuffer buffer, T value);
+
+    /**
+     * Reads a value encoded at the position of the buffer.
+     *
+     * @param buffer - a buffer.
+     * @return T     - the decoded value.
+     */
+    T read(ByteBuffer buffer);
+
+    /**
+     * Adapts a fixed-size codec.
+     *
+     * @param codec - a fixed-size codec.
+     * @return Serializer<T> - a serializer writing the encoding of the codec.
+     */
+    static <T> Serializer<T> of(FixedSizeCodec<T> codec)
+    {
+        if (codec == null)
+            throw new IllegalArgumentException("Null codec");
+
+        return new Serializer<>()
+        {
+            @Override
+            public void write(ByteBuffer buffer, T value)
+            {
+                final int position = buffer.position();
+
+                if (buffer.remaining() < codec.size())
+                    throw new BufferOverflowException();
+
+                codec.write(buffer, position, value);
+                buffer.position(position + codec.size());
+            }
+
+            @Override
+            public T read(ByteBuffer buffer)
+            {
+                final int position = buffer.position();
+
+                if (buffer.remaining() < codec.size())
+                    throw new BufferUnderflowException();
+
+                T value = codec.read(buffer, position);
+                buffer.position(position + codec.size());
+
+                return value;
+            }
+        };
+    }
+
+    /**
+     * 4-byte serializer for integers.
+     */
+    Serializer<Integer> INTEGER = new Serializer<>()
+    {
+        @Override
+        public void write(ByteBuffer buffer, Integer value)
+        {
+            buffer.putInt(value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer)
+        {
+            return buffer.getInt();
+        }
+    };
+
+    /**
+     * 8-byte serializer for longs.
+     */
+    Serializer<Long> LONG = new Serializer<>()
+    {
+        @Override
+        public void write(ByteBuffer buffer, Long value)
+        {
+            buffer.putLong(value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer)
+        {
+            return buffer.getLong();
+        }
+    };
+
+    /**
+     * 8-byte serializer for doubles.
+     */
+    Serializer<Double> DOUBLE = new Serializer<>()
+    {
+        @Override
+        public void write(ByteBuffer buffer, Double value)
+        {
+            buffer.putDouble(value);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer)
+        {
+            return buffer.getDouble();
+        }
+    };
+
+    /**
+     * Serializer for strings: the length of the UTF-8 encoding followed by the encoding.
+     */
+    Serializer<String> STRING = new Serializer<>()
+    {
+        @Override
+        public void write(ByteBuffer buffer, String value)
+        {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+
+        @Override
+        public String read(ByteBuffer buffer)
+        {
+            final int length = buffer.getInt();
+
+            if (length < 0 || length > buffer.remaining())
+                throw new BufferUnderflowException();
+
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+}
@@ -0,0 +1,147 @@
+package datastructures;
+
+import java.nio.ByteOrder;
+import java.security.SecureRandom;
+import java.lang.invoke.VarHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * SipHash-2-4, a keyed hash function: without the 128-bit key, an attacker can not compute which inputs
+ * collide, so keys crafted to collide in one process do not collide in another one (or in another table).
+ * Strings are hashed as their UTF-16 code units in little-endian order, so hash(k0, k1, s) equals the hash
+ * of s.getBytes(UTF_16LE).
+ */
+final class SipHash
+{
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // source of the keys (loaded with the class, so tables that do not use seeded hashing never initialize it).
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private SipHash()
+    {
+    }
+
+    /**
+     * Returns a new random key half.
+     */
+    static long randomKey()
+    {
+        return SipHash.RANDOM.nextLong();
+    }
+
+    /**
+     * Hashes a byte array.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     *
+     * @param k0    - the first half of the key.
+     * @param k1    - the second half of the key.
+     * @param bytes - the input.
+     * @return long - the 64-bit hash.
+     */
+    static long hash(long k0, long k1, byte[] bytes)
+    {
+        return SipHash.hash(k0, k1, bytes, null, bytes.length);
+    }
+
+    /**
+     * Hashes the UTF-16 code units of a string.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     *
+     * @param k0     - the first half of the key.
+     * @param k1     - the second half of the key.
+     * @param string - the input.
+     * @return long  - the 64-bit hash.
+     */
+    static long hash(long k0, long k1, String string)
+    {
+        return SipHash.hash(k0, k1, null, string, 2 * string.length());
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Hashes either a byte array or a string (the other one is null) of the given length in bytes.
+     */
+    private static long hash(long k0, long k1, byte[] bytes, String string, int length)
+    {
+        long v0 = k0 ^ 0x736F6D6570736575L;
+        long v1 = k1 ^ 0x646F72616E646F6DL;
+        long v2 = k0 ^ 0x6C7967656E657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+
+        final int end = length & ~7;
+
+        // compression: 2 rounds per 8-byte word, the last word holds the remaining bytes and the length.
+        for (int offset = 0; offset <= end; offset += 8)
+        {
+            final long word = offset < end
+                ? SipHash.word(bytes, string, offset)
+                : SipHash.tail(bytes, string, offset, length) | ((long) length << 56);
+
+            v3 ^= word;
+
+            for (int round = 0; round < 2; round++)
+            {
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+            }
+
+            v0 ^= word;
+        }
+
+        // finalization: 4 rounds.
+        v2 ^= 0xFF;
+
+        for (int round = 0; round < 4; round++)
+        {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+        }
+
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    /**
+     * Reads the full little-endian word at the given byte offset.
+     */
+    private static long word(byte[] bytes, String string, int offset)
+    {
+        if (bytes != null)
+            return (long) SipHash.LONGS.get(bytes, offset);
+
+        final int i = offset >> 1;
+
+        return string.charAt(i)
+            | (long) string.charAt(i + 1) << 16
+            | (long) string.charAt(i + 2) << 32
+            | (long) string.charAt(i + 3) << 48;
+    }
+
+    /**
+     * Reads the remaining (less than 8) bytes from the given byte offset, little-endian.
+     */
+    private static long tail(byte[] bytes, String string, int offset, int length)
+    {
+        long word = 0;
+
+        if (bytes != null)
+        {
+            for (int i = offset; i < length; i++)
+                word |= (bytes[i] & 0xFFL) << (8 * (i - offset));
+        }
+        else
+        {
+            for (int i = offset; i < length; i += 2)
+                word |= (long) string.charAt(i >> 1) << (8 * (i - offset));
+        }
+
+        return word;
+    }
+}
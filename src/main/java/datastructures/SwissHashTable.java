@@ -0,0 +1,582 @@
+package datastructures;
+
+import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
+
+/**
+ * Open addressing hash table in the style of Swiss tables.
+ *
+ * Slots are split into groups of 8, and every slot has a control byte: EMPTY, DELETED, or a 7-bit tag
+ * taken from the hash of its key. The control bytes of a group are packed into one long, so a probe
+ * compares the tag against all 8 slots of a group at once with a few arithmetic operations (SWAR),
+ * and only calls equals() on the slots whose tag matches. A lookup reads one long per group instead
+ * of walking the keys array, and stops at the first group that has an empty slot.
+ * Groups are probed quadratically (triangular numbers), which visits every group of a power-of-two table.
+ */
+@SuppressWarnings("unchecked")
+public class SwissHashTable<K, V> implements Iterable<K>
+{
+    // hash table load factor.
+    private double loadFactor;
+
+    // the total number of unique keys currently inside the hash table,
+    // and the number of slots that hold a key or a deleted marker.
+    private int keyCount;
+    private int usedBuckets;
+
+    // hash table capacity (always a power of two, at least one group), group index mask and threshold for resizing.
+    private int capacity;
+    private int groupMask;
+    private int threshold;
+
+    // control bytes (8 per long, one long per group) and arrays that store the key-value pairs.
+    private long[] control;
+    private K[] keys;
+    private V[] values;
+
+    // control bytes: a full slot holds the 7-bit tag of its key (high bit clear).
+    private static final int EMPTY   = 0x80;
+    private static final int DELETED = 0xFE;
+
+    // SWAR constants.
+    private static final long LSBS        = 0x0101010101010101L;
+    private static final long MSBS        = 0x8080808080808080L;
+    private static final long EMPTY_GROUP = SwissHashTable.EMPTY * SwissHashTable.LSBS;
+
+    // hash table constants.
+    private static final int    GROUP_SIZE          = 8;
+    private static final int    GROUP_SHIFT         = 3;
+    private static final int    DEFAULT_CAPACITY    = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.875;
+    private static final int    MAXIMUM_CAPACITY    = 1 << 30;
+    private static final double TOMBSTONE_RATIO     = 0.5;
+
+    /**
+     * SwissHashTable constructor.
+     */
+    public SwissHashTable()
+    {
+        this(SwissHashTable.DEFAULT_CAPACITY, SwissHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * SwissHashTable constructor.
+     *
+     * @param capacity - hash table capacity.
+     */
+    public SwissHashTable(int capacity)
+    {
+        this(capacity, SwissHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * SwissHashTable constructor.
+     *
+     * @param capacity   - hash table capacity (rounded up to a power of two, at least 8).
+     * @param loadFactor - hash table load factor in (0, 1) (used to determine when we need to resize).
+     */
+    public SwissHashTable(int capacity, double loadFactor)
+    {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        if (loadFactor <= 0 || loadFactor >= 1 || Double.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+
+        this.loadFactor = loadFactor;
+        this.allocate(SwissHashTable.tableSizeFor(capacity));
+    }
+
+    /**
+     * Puts a new key-value pair in the hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V put(K key, V value)
+    {
+        return this.insert(key, value);
+    }
+
+    /**
+     * Adds a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V add(K key, V value)
+    {
+        return this.insert(key, value);
+    }
+
+    /**
+     * Inserts a new key-value pair in hash table.
+     * If the value already exists inside the hash table, the value is updated.
+     * Time  Complexity: worst-case O(n), other O(1)
+     * Space Complexity: worst-case O(n), other O(1)
+     *
+     * @param key   - a key.
+     * @param value - a value.
+     * @return V    - previously assigned value for the given key.
+     */
+    public V insert(K key, V value)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        if (this.usedBuckets >= this.threshold)
+            this.resizeHashTable();
+
+        final int hash = HashTable.spread(key.hashCode());
+        final int tag  = hash & 0x7F;
+
+        // the key is searched for in every group up to the first one with an empty slot,
+        // remembering the first empty or deleted slot on the way for a new key.
+        int free = -1;
+
+        for (int group = (hash >>> 7) & this.groupMask, step = 1; ; group = (group + step++) & this.groupMask)
+        {
+            final long word = this.control[group];
+
+            for (long matches = SwissHashTable.match(word, tag); matches != 0; matches &= matches - 1)
+            {
+                final int i = (group << SwissHashTable.GROUP_SHIFT) + SwissHashTable.lane(matches);
+
+                // 1. the key already exists, so only its value is updated.
+                if (this.keys[i].equals(key))
+                {
+                    V oldValue = this.values[i];
+                    this.values[i] = value;
+
+                    return oldValue;
+                }
+            }
+
+            if (free == -1)
+            {
+                final long available = SwissHashTable.matchEmptyOrDeleted(word);
+
+                if (available != 0)
+                    free = (group << SwissHashTable.GROUP_SHIFT) + SwissHashTable.lane(available);
+            }
+
+            // 2. the key is new, so it takes the first free slot of its probe sequence.
+            if (SwissHashTable.matchEmpty(word) != 0)
+            {
+                if (this.controlByte(free) == SwissHashTable.EMPTY)
+                    this.usedBuckets++;
+
+                this.setControlByte(free, tag);
+                this.keys[free]   = key;
+                this.values[free] = value;
+                this.keyCount++;
+
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Gets a value associated with the key.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - a value associated with the given key if the key exists, null otherwise.
+     */
+    public V get(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        final int index = this.indexOf(key, HashTable.spread(key.hashCode()));
+
+        return index == -1 ? null : this.values[index];
+    }
+
+    /**
+     * Removes a "key -> value" pair from a hash table.
+     * The slot becomes empty again if its group still has an empty slot (no probe sequence continues
+     * past such a group), otherwise it is marked as deleted.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V remove(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        final int i = this.indexOf(key, HashTable.spread(key.hashCode()));
+
+        if (i == -1)
+            return null;
+
+        V oldValue = this.values[i];
+
+        if (SwissHashTable.matchEmpty(this.control[i >>> SwissHashTable.GROUP_SHIFT]) != 0)
+        {
+            this.setControlByte(i, SwissHashTable.EMPTY);
+            this.usedBuckets--;
+        }
+        else
+        {
+            this.setControlByte(i, SwissHashTable.DELETED);
+        }
+
+        this.keys[i]   = null;
+        this.values[i] = null;
+
+        this.keyCount--;
+
+        return oldValue;
+    }
+
+    /**
+     * Deletes a "key -> value" pair from a hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key - a key.
+     * @return V  - deleted value if exists, null otherwise.
+     */
+    public V delete(K key)
+    {
+        return this.remove(key);
+    }
+
+    /**
+     * Checks if the key exists in the hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean hasKey(K key)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("Null key");
+
+        return this.indexOf(key, HashTable.spread(key.hashCode())) != -1;
+    }
+
+    /**
+     * Checks if the key exists in the hash table.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param key      - a key.
+     * @return boolean - true if the key exists, false otherwise.
+     */
+    public boolean containsKey(K key)
+    {
+        return this.hasKey(key);
+    }
+
+    /**
+     * Clears the hash table.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public void clear()
+    {
+        for (int i = 0; i < this.capacity; i++)
+        {
+            this.keys[i]   = null;
+            this.values[i] = null;
+        }
+
+        for (int group = 0; group < this.control.length; group++)
+            this.control[group] = SwissHashTable.EMPTY_GROUP;
+
+        this.keyCount = this.usedBuckets = 0;
+    }
+
+    /**
+     * Returns a list of keys found in the hash table.
+     */
+    public List<K> keys()
+    {
+        List<K> hashTableKeys = new ArrayList<>(this.size());
+
+        for (int i = 0; i < this.capacity; i++)
+        {
+            if (this.keys[i] != null)
+                hashTableKeys.add(this.keys[i]);
+        }
+
+        return hashTableKeys;
+    }
+
+    /**
+     * Returns a list of values found in the hash table.
+     */
+    public List<V> values()
+    {
+        List<V> hashTableValues = new ArrayList<>(this.size());
+
+        for (int i = 0; i < this.capacity; i++)
+        {
+            if (this.keys[i] != null)
+                hashTableValues.add(this.values[i]);
+        }
+
+        return hashTableValues;
+    }
+
+    /**
+     * Hash table size (total active keys).
+     */
+    public int size()
+    {
+        return this.keyCount;
+    }
+
+    /**
+     * Checks if hash table is empty.
+     */
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    /**
+     * Hash table capacity getter.
+     */
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Hash table load factor getter.
+     */
+    public double getLoadFactor()
+    {
+        return this.loadFactor;
+    }
+
+    @Override
+    public Iterator<K> iterator()
+    {
+        return new Iterator<K>()
+        {
+            int index, keysLeft = keyCount;
+
+            @Override
+            public boolean hasNext()
+            {
+                return keysLeft != 0;
+            }
+
+            @Override
+            public K next()
+            {
+                while (keys[index] == null) index++;
+
+                keysLeft--;
+                return keys[index++];
+            }
+
+            @Override
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * SwissHashTable class string representation.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        for (int i = 0; i < this.capacity; i++)
+          if (this.keys[i] != null)
+            sb.append(this.keys[i] + " => " + this.values[i] + ", ");
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Finds the slot of a key.
+     * Every group is filtered by the tag of the key first, and the probe stops at the first group that has an empty slot.
+     *
+     * @param key  - a key.
+     * @param hash - spread hash of the key.
+     * @return int - the index of the key if it exists, -1 otherwise.
+     */
+    private int indexOf(K key, int hash)
+    {
+        final int tag = hash & 0x7F;
+
+        for (int group = (hash >>> 7) & this.groupMask, step = 1; ; group = (group + step++) & this.groupMask)
+        {
+            final long word = this.control[group];
+
+            for (long matches = SwissHashTable.match(word, tag); matches != 0; matches &= matches - 1)
+            {
+                final int i = (group << SwissHashTable.GROUP_SHIFT) + SwissHashTable.lane(matches);
+
+                if (this.keys[i].equals(key))
+                    return i;
+            }
+
+            if (SwissHashTable.matchEmpty(word) != 0)
+                return -1;
+        }
+    }
+
+    /**
+     * Returns the high bit of every byte of the group that may hold the given tag. A byte can be
+     * reported next to a real match without holding the tag (borrow propagation), so every candidate
+     * is still compared with equals(); empty and deleted slots are never reported.
+     */
+    private static long match(long word, int tag)
+    {
+        final long x = word ^ (tag * SwissHashTable.LSBS);
+
+        return (x - SwissHashTable.LSBS) & ~x & SwissHashTable.MSBS;
+    }
+
+    /**
+     * Returns the high bit of every empty byte of the group (EMPTY is the only control byte
+     * with the high bit set and bit 1 clear).
+     */
+    private static long matchEmpty(long word)
+    {
+        return word & ~(word << 6) & SwissHashTable.MSBS;
+    }
+
+    /**
+     * Returns the high bit of every empty or deleted byte of the group.
+     */
+    private static long matchEmptyOrDeleted(long word)
+    {
+        return word & SwissHashTable.MSBS;
+    }
+
+    /**
+     * Returns the slot of the group that the lowest match bit belongs to.
+     */
+    private static int lane(long matches)
+    {
+        return Long.numberOfTrailingZeros(matches) >>> 3;
+    }
+
+    /**
+     * Returns the control byte of a slot.
+     */
+    private int controlByte(int index)
+    {
+        return (int) (this.control[index >>> SwissHashTable.GROUP_SHIFT] >>> ((index & 7) << 3)) & 0xFF;
+    }
+
+    /**
+     * Sets the control byte of a slot.
+     */
+    private void setControlByte(int index, int value)
+    {
+        final int shift = (index & 7) << 3;
+        final int group = index >>> SwissHashTable.GROUP_SHIFT;
+
+        this.control[group] = (this.control[group] & ~(0xFFL << shift)) | ((long) value << shift);
+    }
+
+    /**
+     * Resizes the hash table.
+     * It doubles the size of the table (unless at least TOMBSTONE_RATIO of the used slots are deleted ones,
+     * in which case the size is kept) and re-inserts the keys.
+     * Time  Complexity: O(n)
+     * Space Complexity: O(n)
+     */
+    private void resizeHashTable()
+    {
+        K[] oldKeyTable   = this.keys;
+        V[] oldValueTable = this.values;
+
+        if (this.usedBuckets - this.keyCount >= SwissHashTable.TOMBSTONE_RATIO * this.usedBuckets)
+            this.allocate(this.capacity);
+        else
+            this.allocate(Math.min(2 * this.capacity, SwissHashTable.MAXIMUM_CAPACITY));
+
+        for (int i = 0; i < oldKeyTable.length; i++)
+        {
+            if (oldKeyTable[i] != null)
+                this.place(oldKeyTable[i], oldValueTable[i], HashTable.spread(oldKeyTable[i].hashCode()));
+        }
+
+        this.usedBuckets = this.keyCount;
+    }
+
+    /**
+     * Places a key that is known to be absent into the first empty slot of its probe sequence.
+     * Used while resizing, when the table has no deleted slots and no duplicates.
+     */
+    private void place(K key, V value, int hash)
+    {
+        for (int group = (hash >>> 7) & this.groupMask, step = 1; ; group = (group + step++) & this.groupMask)
+        {
+            final long empty = SwissHashTable.matchEmpty(this.control[group]);
+
+            if (empty != 0)
+            {
+                final int i = (group << SwissHashTable.GROUP_SHIFT) + SwissHashTable.lane(empty);
+
+                this.setControlByte(i, hash & 0x7F);
+                this.keys[i]   = key;
+                this.values[i] = value;
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * Allocates empty arrays of the given capacity. At least one slot always stays empty,
+     * so every probe finds a group with an empty slot.
+     */
+    private void allocate(int capacity)
+    {
+        this.capacity  = capacity;
+        this.groupMask = (capacity >>> SwissHashTable.GROUP_SHIFT) - 1;
+        this.threshold = Math.min((int) (this.loadFactor * capacity), capacity - 1);
+
+        this.keys    = (K[]) new Object[capacity];
+        this.values  = (V[]) new Object[capacity];
+        this.control = new long[capacity >>> SwissHashTable.GROUP_SHIFT];
+
+        for (int group = 0; group < this.control.length; group++)
+            this.control[group] = SwissHashTable.EMPTY_GROUP;
+    }
+
+    /**
+     * Rounds capacity up to the next power of two (and to at least one group).
+     */
+    private static int tableSizeFor(int capacity)
+    {
+        if (capacity >= SwissHashTable.MAXIMUM_CAPACITY)
+            return SwissHashTable.MAXIMUM_CAPACITY;
+
+        return capacity <= SwissHashTable.GROUP_SIZE ? SwissHashTable.GROUP_SIZE : Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
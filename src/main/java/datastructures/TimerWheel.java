@@ -0,0 +1,277 @@
+package datastructures;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel (Varghese and Lauck): timers are hashed into buckets of coarser and coarser
+ * levels by how far in the future they fire, so scheduling and cancelling a timer are O(1). Advancing the
+ * wheel visits the buckets of the elapsed ticks only: a due timer fires, a timer of a coarser bucket
+ * cascades down to a finer one. Every bucket is a DoublyLinkedList of the timers' nodes.
+ * <p>
+ * Level i has BUCKETS[i] buckets of SPANS[i] nanoseconds (about 1 second, 1 minute, 1 hour, 1 day and 13
+ * days), so it covers the delays up to SPANS[i + 1]; the last level holds everything further away. Times
+ * are System.nanoTime() values, so they may be negative (ticks are counted with a signed shift, the wheel
+ * keeps working when the time crosses zero).
+ */
+final class TimerWheel<T>
+{
+    private static final int[] BUCKETS = { 64, 64, 16, 16, 1 };
+
+    private static final long[] SPANS = {
+        1L << 30,   // 1.07 seconds
+        1L << 36,   // 1.14 minutes
+        1L << 42,   // 1.22 hours
+        1L << 46,   // 0.81 days
+        1L << 50,   // 13.03 days
+        1L << 50
+    };
+
+    private static final int[] SHIFTS = {
+        Long.numberOfTrailingZeros(SPANS[0]),
+        Long.numberOfTrailingZeros(SPANS[1]),
+        Long.numberOfTrailingZeros(SPANS[2]),
+        Long.numberOfTrailingZeros(SPANS[3]),
+        Long.numberOfTrailingZeros(SPANS[4])
+    };
+
+    private final DoublyLinkedList<Timer<T>>[][] wheel;
+
+    // the time the wheel was advanced to.
+    private long time;
+    private int size;
+
+    /**
+     * A scheduled element, the handle to cancel or reschedule it.
+     */
+    static final class Timer<T>
+    {
+        private final T element;
+        private long time;
+        private DoublyLinkedList<Timer<T>> bucket;
+        private DoublyLinkedList.Node<Timer<T>> node;
+
+        /**
+         * Timer constructor.
+         */
+        private Timer(T element)
+        {
+            this.element = element;
+        }
+
+        /**
+         * Returns the scheduled element.
+         */
+        T getElement()
+        {
+            return this.element;
+        }
+
+        /**
+         * Returns the time the timer fires at.
+         */
+        long getTime()
+        {
+            return this.time;
+        }
+
+        /**
+         * Returns true if the timer is scheduled.
+         */
+        boolean isScheduled()
+        {
+            return this.bucket != null;
+        }
+    }
+
+    /**
+     * TimerWheel constructor.
+     *
+     * @param time - the current time.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimerWheel(long time)
+    {
+        this.wheel = new DoublyLinkedList[BUCKETS.length][];
+        this.time  = time;
+
+        for (int i = 0; i < BUCKETS.length; i++)
+        {
+            this.wheel[i] = new DoublyLinkedList[BUCKETS[i]];
+
+            for (int j = 0; j < BUCKETS[i]; j++)
+                this.wheel[i][j] = new DoublyLinkedList<>();
+        }
+    }
+
+    /**
+     * Schedules an element to fire at the given time.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param element - the element.
+     * @param time    - the time the element fires at.
+     * @return Timer  - the handle of the timer.
+     */
+    Timer<T> schedule(T element, long time)
+    {
+        Timer<T> timer = new Timer<>(element);
+
+        this.link(timer, time, this.time);
+        this.size++;
+
+        return timer;
+    }
+
+    /**
+     * Moves a scheduled timer to a new time.
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param timer - the handle of the timer.
+     * @param time  - the new time the timer fires at.
+     */
+    void reschedule(Timer<T> timer, long time)
+    {
+        if (!timer.isScheduled())
+            throw new IllegalArgumentException("Timer is not scheduled");
+
+        this.unlink(timer);
+        this.link(timer, time, this.time);
+    }
+
+    /**
+     * Cancels a scheduled timer (a cancelled or fired timer is ignored).
+     * Time  Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param timer - the handle of the timer.
+     */
+    void cancel(Timer<T> timer)
+    {
+        if (!timer.isScheduled())
+            return;
+
+        this.unlink(timer);
+        this.size--;
+    }
+
+    /**
+     * Advances the wheel to the given time and fires the due timers, at most budget of them. When the
+     * budget runs out the wheel stays at its previous time, the next call resumes the work.
+     * Time  Complexity: O(buckets + fired + cascaded timers)
+     * Space Complexity: O(1)
+     *
+     * @param now      - the current time.
+     * @param budget   - the maximum number of timers to fire.
+     * @param action   - called with the element of every fired timer.
+     * @return boolean - true if all the due timers fired.
+     */
+    boolean advance(long now, int budget, Consumer<? super T> action)
+    {
+        if (now - this.time < 0)
+            return true;
+
+        int fired = 0;
+
+        for (int i = 0; i < SHIFTS.length; i++)
+        {
+            long previousTicks = this.time >> SHIFTS[i];
+            long currentTicks  = now >> SHIFTS[i];
+
+            if (currentTicks - previousTicks <= 0)
+                break;
+
+            // the bucket of the previous tick is visited again, it may hold timers of later in that tick.
+            int mask  = BUCKETS[i] - 1;
+            int steps = (int) Math.min(currentTicks - previousTicks + 1, BUCKETS[i]);
+            int start = (int) (previousTicks & mask);
+
+            for (int step = 0; step < steps; step++)
+            {
+                fired = this.expire(this.wheel[i][(start + step) & mask], now, budget, fired, action);
+
+                if (fired < 0)
+                    return false;
+            }
+        }
+
+        this.time = now;
+        return true;
+    }
+
+    /**
+     * Returns the number of scheduled timers.
+     */
+    int size()
+    {
+        return this.size;
+    }
+
+    /********************** PRIVATE INTERFACE **********************/
+
+    /**
+     * Fires the due timers of a bucket and cascades the others, returns the number of fired timers or
+     * -1 if the budget ran out.
+     */
+    private int expire(DoublyLinkedList<Timer<T>> bucket, long now, int budget, int fired, Consumer<? super T> action)
+    {
+        // the timers rescheduled into this bucket are appended, so only the ones present now are visited.
+        for (int count = bucket.length(); count > 0; count--)
+        {
+            Timer<T> timer = bucket.firstNode().getElement();
+
+            if (timer.time - now > 0)
+            {
+                this.unlink(timer);
+                this.link(timer, timer.time, now);
+
+                continue;
+            }
+
+            if (fired == budget)
+                return -1;
+
+            this.unlink(timer);
+            this.size--;
+            fired++;
+
+            action.accept(timer.element);
+        }
+
+        return fired;
+    }
+
+    /**
+     * Adds a timer to the bucket of its time, relative to the given time of the wheel.
+     */
+    private void link(Timer<T> timer, long time, long reference)
+    {
+        long delay = Math.max(0, time - reference);
+        int level  = BUCKETS.length - 1;
+
+        for (int i = 0; i < BUCKETS.length - 1; i++)
+        {
+            if (delay < SPANS[i + 1])
+            {
+                level = i;
+                break;
+            }
+        }
+
+        int index = (int) ((time >> SHIFTS[level]) & (BUCKETS[level] - 1));
+
+        timer.time   = time;
+        timer.bucket = this.wheel[level][index];
+        timer.node   = timer.bucket.appendNode(timer);
+    }
+
+    /**
+     * Removes a timer from its bucket.
+     */
+    private void unlink(Timer<T> timer)
+    {
+        timer.bucket.removeNode(timer.node);
+        timer.bucket = null;
+        timer.node   = null;
+    }
+}
@@ -0,0 +1,262 @@
+package datastructures;
+
+import java.util.List;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class BoundedCacheTest
+{
+    @Test
+    public void testBoundedCacheConstructors()
+    {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(100);
+
+        Assertions.assertTrue(cache.isEmpty());
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.getWeight());
+        Assertions.assertEquals(100, cache.getMaximumWeight());
+        Assertions.assertEquals(0.0, cache.getHitRatio());
+
+        cache = new BoundedCache<>(1000L, (key, value) -> key.length(), BoundedCache.Policy.W_TINY_LFU);
+
+        Assertions.assertEquals(1000, cache.getMaximumWeight());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedCache<String, Integer>(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedCache<String, Integer>(10, null));
+
+        BoundedCache<String, Integer> other = cache;
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> other.get(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> other.put(null, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> other.put("key", null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> other.remove(null));
+    }
+
+    @Test
+    public void testBoundedCacheLru()
+    {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(3, BoundedCache.Policy.LRU);
+        List<String> evicted = new ArrayList<>();
+
+        cache.setEvictionListener((key, value) -> evicted.add(key + "=" + value));
+
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        Assertions.assertEquals(1, cache.get("a"));
+
+        cache.put("d", 4);
+
+        Assertions.assertEquals(List.of("b=2"), evicted);
+        Assertions.assertFalse(cache.hasKey("b"));
+        Assertions.assertEquals(3, cache.size());
+
+        // replacing a value makes the entry the most recently used one and is not an eviction.
+        Assertions.assertEquals(3, cache.put("c", 30));
+
+        cache.put("e", 5);
+        cache.put("f", 6);
+
+        Assertions.assertEquals(List.of("b=2", "a=1", "d=4"), evicted);
+        Assertions.assertEquals(30, cache.get("c"));
+        Assertions.assertEquals(3, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testBoundedCacheLfu()
+    {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(3, BoundedCache.Policy.LFU);
+        List<String> evicted = new ArrayList<>();
+
+        cache.setEvictionListener((key, value) -> evicted.add(key));
+
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+
+        cache.put("d", 4);
+
+        Assertions.assertEquals(List.of("c"), evicted);
+
+        // d is the least frequently used entry now (b was used twice, a three times).
+        cache.put("e", 5);
+
+        Assertions.assertEquals(List.of("c", "d"), evicted);
+
+        cache.get("e");
+        cache.get("e");
+        cache.get("e");
+
+        // a new entry is the least frequently used one when all the others were used.
+        cache.put("f", 6);
+
+        Assertions.assertEquals(List.of("c", "d", "f"), evicted);
+        Assertions.assertTrue(cache.hasKey("a"));
+        Assertions.assertTrue(cache.hasKey("b"));
+        Assertions.assertTrue(cache.hasKey("e"));
+
+        Assertions.assertEquals(5, cache.remove("e"));
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testBoundedCacheTinyLfuScanResistance()
+    {
+        BoundedCache<Integer, Integer> tinyLfu = new BoundedCache<>(100, BoundedCache.Policy.W_TINY_LFU);
+        BoundedCache<Integer, Integer> lru     = new BoundedCache<>(100, BoundedCache.Policy.LRU);
+
+        for (BoundedCache<Integer, Integer> cache : List.of(tinyLfu, lru))
+        {
+            // 50 hot keys used 10 times each, then a scan of 10000 keys that are used once.
+            for (int round = 0; round < 10; round++)
+                for (int key = 0; key < 50; key++)
+                    if (cache.get(key) == null)
+                        cache.put(key, key);
+
+            for (int key = 1000; key < 11000; key++)
+                if (cache.get(key) == null)
+                    cache.put(key, key);
+        }
+
+        int tinyLfuHot = 0;
+        int lruHot     = 0;
+
+        for (int key = 0; key < 50; key++)
+        {
+            tinyLfuHot += tinyLfu.hasKey(key) ? 1 : 0;
+            lruHot     += lru.hasKey(key) ? 1 : 0;
+        }
+
+        Assertions.assertTrue(tinyLfuHot >= 45, "hot keys kept: " + tinyLfuHot);
+        Assertions.assertEquals(0, lruHot);
+        Assertions.assertEquals(100, tinyLfu.size());
+    }
+
+    @Test
+    public void testBoundedCacheWeight()
+    {
+        BoundedCache<String, String> cache = new BoundedCache<>(10L, (key, value) -> value.length(), BoundedCache.Policy.LRU);
+        List<String> evicted = new ArrayList<>();
+
+        cache.setEvictionListener((key, value) -> evicted.add(key));
+
+        cache.put("a", "xxxx");
+        cache.put("b", "xxxx");
+
+        Assertions.assertEquals(8, cache.getWeight());
+
+        cache.put("c", "xxx");
+
+        Assertions.assertEquals(List.of("a"), evicted);
+        Assertions.assertEquals(7, cache.getWeight());
+
+        // growing the value of an entry evicts the other entries.
+        cache.put("c", "xxxxxxxxx");
+
+        Assertions.assertEquals(List.of("a", "b"), evicted);
+        Assertions.assertEquals(9, cache.getWeight());
+
+        // an entry heavier than the maximum is evicted right away.
+        cache.put("d", "xxxxxxxxxxx");
+
+        Assertions.assertEquals(List.of("a", "b", "c", "d"), evicted);
+        Assertions.assertTrue(cache.isEmpty());
+        Assertions.assertEquals(0, cache.getWeight());
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new BoundedCache<String, String>(10L, (key, value) -> -1, BoundedCache.Policy.LFU).put("a", "b"));
+    }
+
+    @Test
+    public void testBoundedCacheStats()
+    {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+
+        Assertions.assertNull(cache.get("a"));
+
+        cache.put("a", 1);
+
+        Assertions.assertEquals(1, cache.get("a"));
+        Assertions.assertEquals(1, cache.get("a"));
+        Assertions.assertNull(cache.get("b"));
+
+        Assertions.assertEquals(2, cache.getHitCount());
+        Assertions.assertEquals(2, cache.getMissCount());
+        Assertions.assertEquals(0.5, cache.getHitRatio());
+
+        // hasKey() is not an access.
+        Assertions.assertTrue(cache.hasKey("a"));
+        Assertions.assertEquals(2, cache.getHitCount());
+
+        cache.resetStats();
+
+        Assertions.assertEquals(0, cache.getHitCount());
+        Assertions.assertEquals(0, cache.getMissCount());
+        Assertions.assertEquals(0, cache.getEvictionCount());
+
+        cache.put("b", 2);
+        cache.clear();
+
+        Assertions.assertTrue(cache.isEmpty());
+        Assertions.assertEquals(0, cache.getWeight());
+        Assertions.assertNull(cache.get("a"));
+
+        cache.put("c", 3);
+
+        Assertions.assertEquals(List.of("c"), cache.keys());
+        Assertions.assertEquals("{c => 3, }", cache.toString());
+    }
+
+    @Test
+    public void testBoundedCacheRandomOperations()
+    {
+        for (BoundedCache.Policy policy : BoundedCache.Policy.values())
+        {
+            Random random = new Random(policy.ordinal());
+            BoundedCache<Integer, Integer> cache = new BoundedCache<>(500L, (key, value) -> key % 7, policy);
+            HashMap<Integer, Integer> model = new HashMap<>();
+
+            cache.setEvictionListener((key, value) -> Assertions.assertEquals(model.remove(key), value));
+
+            for (int i = 0; i < 100_000; i++)
+            {
+                int key = random.nextInt(2000);
+
+                switch (random.nextInt(4))
+                {
+                    case 0:
+                        Assertions.assertEquals(model.get(key), cache.get(key));
+                        break;
+                    case 1:
+                        Assertions.assertEquals(model.remove(key), cache.remove(key));
+                        break;
+                    default:
+                        model.put(key, i);
+                        cache.put(key, i);
+                }
+
+                Assertions.assertTrue(cache.getWeight() <= 500);
+            }
+
+            long weight = 0;
+
+            for (Integer key : cache)
+            {
+                Assertions.assertEquals(model.get(key), cache.get(key));
+                weight += key % 7;
+            }
+
+            Assertions.assertEquals(model.size(), cache.size());
+            Assertions.assertEquals(weight, cache.getWeight());
+        }
+    }
+}
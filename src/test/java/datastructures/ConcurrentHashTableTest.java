@@ -0,0 +1,204 @@
+package datastructures;
+
+import java.util.List;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class ConcurrentHashTableTest
+{
+    @Test
+    public void testConcurrentHashTableConstructors()
+    {
+        ConcurrentHashTable<String, Integer> hashTable = new ConcurrentHashTable<>();
+
+        Assertions.assertEquals(16, hashTable.getConcurrencyLevel());
+        Assertions.assertEquals(64, hashTable.getCapacity());
+        Assertions.assertEquals(0.7, hashTable.getLoadFactor());
+
+        hashTable = new ConcurrentHashTable<>(100, 0.5, 5);
+
+        Assertions.assertEquals(8, hashTable.getConcurrencyLevel());
+        Assertions.assertEquals(128, hashTable.getCapacity());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ConcurrentHashTable<>(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ConcurrentHashTable<>(8, 1.0, 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ConcurrentHashTable<>(8, 0.5, 0));
+    }
+
+    @Test
+    public void testConcurrentHashTableOperations()
+    {
+        ConcurrentHashTable<String, Integer> hashTable = new ConcurrentHashTable<>(2, 0.7, 2);
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertNull(hashTable.insert("Djordjije", 27));
+        Assertions.assertEquals(27, hashTable.put("Djordjije", 25));
+
+        hashTable.add("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+        hashTable.insert("Petar", 27);
+
+        Assertions.assertEquals(4, hashTable.size());
+        Assertions.assertEquals(25, hashTable.get("Djordjije"));
+        Assertions.assertTrue(hashTable.hasKey("Vesna"));
+        Assertions.assertFalse(hashTable.containsKey("Subo"));
+
+        Assertions.assertEquals(30, hashTable.remove("Bogdan"));
+        Assertions.assertEquals(27, hashTable.delete("Petar"));
+        Assertions.assertNull(hashTable.remove("Subo"));
+        Assertions.assertEquals(2, hashTable.size());
+
+        List<String> keys    = hashTable.keys();
+        List<Integer> values = hashTable.values();
+
+        for (int i = 0; i < hashTable.size(); i++)
+            Assertions.assertEquals(values.get(i), hashTable.get(keys.get(i)));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.insert(null, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.insert("Subo", null));
+
+        hashTable.clear();
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertNull(hashTable.get("Djordjije"));
+    }
+
+    @Test
+    public void testConcurrentHashTableChurn()
+    {
+        ConcurrentHashTable<Integer, Integer> hashTable = new ConcurrentHashTable<>(16, 0.7, 4);
+        HashMap<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200_000; i++)
+        {
+            Integer key = random.nextInt(5000);
+
+            if (random.nextBoolean())
+                Assertions.assertEquals(reference.put(key, i), hashTable.insert(key, i));
+            else
+                Assertions.assertEquals(reference.remove(key), hashTable.remove(key));
+        }
+
+        Assertions.assertEquals(reference.size(), hashTable.size());
+
+        for (Integer key : reference.keySet())
+            Assertions.assertEquals(reference.get(key), hashTable.get(key));
+
+        for (Integer key : hashTable)
+            Assertions.assertTrue(reference.containsKey(key));
+    }
+
+    @Test
+    public void testConcurrentHashTableParallelWriters() throws Exception
+    {
+        final int threads = 8;
+        final int keysPerThread = 20_000;
+
+        ConcurrentHashTable<Integer, Integer> hashTable = new ConcurrentHashTable<>(16, 0.7, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try
+        {
+            for (int t = 0; t < threads; t++)
+            {
+                final int base = t * keysPerThread;
+
+                futures.add(executor.submit(() -> {
+                    for (int i = base; i < base + keysPerThread; i++)
+                        hashTable.insert(i, -i);
+
+                    // drop every other key again, so segments rehash tombstones under contention
+                    for (int i = base; i < base + keysPerThread; i += 2)
+                        Assertions.assertEquals(-i, hashTable.remove(i));
+                }));
+            }
+
+            for (Future<?> future : futures)
+                future.get();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(threads * keysPerThread / 2, hashTable.size());
+
+        for (int i = 0; i < threads * keysPerThread; i++)
+        {
+            if (i % 2 == 0)
+                Assertions.assertNull(hashTable.get(i));
+            else
+                Assertions.assertEquals(-i, hashTable.get(i));
+        }
+    }
+
+    @Test
+    public void testConcurrentHashTableReadersDuringWrites() throws Exception
+    {
+        final int keyRange = 4096;
+
+        ConcurrentHashTable<Integer, Integer> hashTable = new ConcurrentHashTable<>(16, 0.7, 2);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<Integer>> readers = new ArrayList<>();
+
+        // a key is only ever mapped to a multiple of itself, so readers can validate every hit
+        Callable<Integer> reader = () -> {
+            int hits = 0;
+
+            while (running.get())
+            {
+                for (int key = 0; key < keyRange; key++)
+                {
+                    Integer value = hashTable.get(key);
+
+                    if (value != null)
+                    {
+                        Assertions.assertEquals(0, key == 0 ? value : value % key);
+                        hits++;
+                    }
+                }
+            }
+
+            return hits;
+        };
+
+        try
+        {
+            for (int t = 0; t < 3; t++)
+                readers.add(executor.submit(reader));
+
+            Random random = new Random(11);
+
+            for (int i = 0; i < 300_000; i++)
+            {
+                int key = random.nextInt(keyRange);
+
+                if (random.nextInt(3) == 0)
+                    hashTable.remove(key);
+                else
+                    hashTable.insert(key, key * random.nextInt(100));
+            }
+
+            running.set(false);
+
+            for (Future<Integer> future : readers)
+                Assertions.assertTrue(future.get() >= 0);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
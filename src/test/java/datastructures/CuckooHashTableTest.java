@@ -0,0 +1,169 @@
+package datastructures;
+
+import java.util.List;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class CuckooHashTableTest
+{
+    @Test
+    public void testCuckooHashTableConstructors()
+    {
+        CuckooHashTable<String, Integer> hashTable = new CuckooHashTable<>();
+
+        Assertions.assertEquals(16, hashTable.getCapacity());
+        Assertions.assertEquals(0.9, hashTable.getLoadFactor());
+
+        hashTable = new CuckooHashTable<>(25, 0.95);
+
+        Assertions.assertEquals(32, hashTable.getCapacity());
+        Assertions.assertEquals(0.95, hashTable.getLoadFactor());
+
+        Assertions.assertEquals(8, new CuckooHashTable<>(1).getCapacity());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CuckooHashTable<>(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CuckooHashTable<>(8, 1.0));
+    }
+
+    @Test
+    public void testCuckooHashTableInsertAndGet()
+    {
+        CuckooHashTable<String, Integer> hashTable = new CuckooHashTable<>(2);
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertNull(hashTable.insert("Djordjije", 27));
+        Assertions.assertEquals(27, hashTable.put("Djordjije", 25));
+
+        hashTable.add("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+        hashTable.add("Petar", 27);
+        hashTable.insert("Marko", 27);
+
+        Assertions.assertEquals(5, hashTable.size());
+        Assertions.assertEquals(25, hashTable.get("Djordjije"));
+        Assertions.assertEquals(30, hashTable.get("Bogdan"));
+        Assertions.assertNull(hashTable.get("Subo"));
+        Assertions.assertTrue(hashTable.hasKey("Vesna"));
+        Assertions.assertFalse(hashTable.containsKey("Subo"));
+    }
+
+    @Test
+    public void testCuckooHashTableRemove()
+    {
+        CuckooHashTable<String, Integer> hashTable = new CuckooHashTable<>(2);
+
+        hashTable.insert("Djordjije", 27);
+        hashTable.put("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+
+        Assertions.assertEquals(27, hashTable.remove("Djordjije"));
+        Assertions.assertEquals(30, hashTable.delete("Bogdan"));
+        Assertions.assertNull(hashTable.remove("Subo"));
+
+        Assertions.assertEquals(1, hashTable.size());
+        Assertions.assertNull(hashTable.get("Djordjije"));
+        Assertions.assertEquals(27, hashTable.get("Vesna"));
+    }
+
+    @Test
+    public void testCuckooHashTableChurn()
+    {
+        CuckooHashTable<Integer, Integer> hashTable = new CuckooHashTable<>(1024, 0.95);
+        HashMap<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(7);
+
+        // keep the table close to its threshold while constantly replacing keys
+        for (int i = 0; i < 200_000; i++)
+        {
+            Integer key = random.nextInt(2000);
+
+            if (reference.size() < 950 && random.nextBoolean())
+                Assertions.assertEquals(reference.put(key, i), hashTable.insert(key, i));
+            else
+                Assertions.assertEquals(reference.remove(key), hashTable.remove(key));
+        }
+
+        // no tombstones, so the table never had to grow
+        Assertions.assertEquals(1024, hashTable.getCapacity());
+        Assertions.assertEquals(reference.size(), hashTable.size());
+        Assertions.assertTrue(hashTable.getStashSize() <= 4);
+
+        for (Integer key : reference.keySet())
+            Assertions.assertEquals(reference.get(key), hashTable.get(key));
+
+        int keys = 0;
+
+        for (Integer key : hashTable)
+        {
+            Assertions.assertTrue(reference.containsKey(key));
+            keys++;
+        }
+
+        Assertions.assertEquals(reference.size(), keys);
+    }
+
+    @Test
+    public void testCuckooHashTableGrowth()
+    {
+        CuckooHashTable<Integer, Integer> hashTable = new CuckooHashTable<>();
+
+        for (int i = 0; i < 100_000; i++)
+            hashTable.insert(i, -i);
+
+        Assertions.assertEquals(100_000, hashTable.size());
+        Assertions.assertTrue(hashTable.getStashSize() <= 4);
+
+        for (int i = 0; i < 100_000; i++)
+            Assertions.assertEquals(-i, hashTable.get(i));
+
+        for (int i = 100_000; i < 200_000; i++)
+            Assertions.assertNull(hashTable.get(i));
+    }
+
+    @Test
+    public void testCuckooHashTableStash()
+    {
+        // 16 keys with the same hash code share their two buckets (8 slots), the rest waits in the stash
+        CuckooHashTable<String, Integer> hashTable = new CuckooHashTable<>();
+        String[] keys = new String[16];
+
+        for (int i = 0; i < keys.length; i++)
+        {
+            StringBuilder builder = new StringBuilder();
+
+            for (int bit = 0; bit < 4; bit++)
+                builder.append((i >>> bit & 1) == 0 ? "Aa" : "BB");
+
+            keys[i] = builder.toString();
+            hashTable.insert(keys[i], i);
+        }
+
+        Assertions.assertEquals(16, hashTable.size());
+        Assertions.assertTrue(hashTable.getStashSize() >= 8);
+        Assertions.assertEquals(32, hashTable.getCapacity());   // grown by the load factor only
+
+        for (int i = 0; i < keys.length; i++)
+            Assertions.assertEquals(i, hashTable.get(keys[i]));
+
+        for (int i = 0; i < keys.length; i += 2)
+            Assertions.assertEquals(i, hashTable.remove(keys[i]));
+
+        Assertions.assertEquals(8, hashTable.size());
+
+        for (int i = 0; i < keys.length; i++)
+            Assertions.assertEquals(i % 2 == 0 ? null : i, hashTable.get(keys[i]));
+
+        List<String> remaining = hashTable.keys();
+
+        Assertions.assertEquals(8, remaining.size());
+
+        hashTable.clear();
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertEquals(0, hashTable.getStashSize());
+        Assertions.assertNull(hashTable.get(keys[1]));
+    }
+}
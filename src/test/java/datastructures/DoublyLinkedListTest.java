@@ -1,3 +1,5 @@
+package datastructures;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Assertions;
 
@@ -257,4 +259,62 @@ public class DoublyLinkedListTest
         Assertions.assertFalse(linkedList.contains('F'));
     }
 
+    @Test
+    public void testNodeHandles()
+    {
+        DoublyLinkedList<Character> linkedList = new DoublyLinkedList<>();
+
+        DoublyLinkedList.Node<Character> b = linkedList.appendNode('B');
+        DoublyLinkedList.Node<Character> a = linkedList.prependNode('A');
+        DoublyLinkedList.Node<Character> d = linkedList.appendNode('D');
+        DoublyLinkedList.Node<Character> c = linkedList.insertAfter(b, 'C');
+
+        Assertions.assertEquals(4, linkedList.length());
+        Assertions.assertEquals("[A, B, C, D]", linkedList.toString());
+        Assertions.assertSame(a, linkedList.firstNode());
+        Assertions.assertSame(d, linkedList.lastNode());
+        Assertions.assertSame(c, b.getNext());
+        Assertions.assertSame(b, c.getPrevious());
+        Assertions.assertEquals('C', c.getElement());
+
+        linkedList.moveToBack(a);
+        linkedList.moveToFront(d);
+
+        Assertions.assertEquals("[D, B, C, A]", linkedList.toString());
+
+        Assertions.assertEquals('B', linkedList.removeNode(b));
+        Assertions.assertEquals('A', linkedList.removeNode(a));
+
+        Assertions.assertEquals(2, linkedList.length());
+        Assertions.assertEquals("[D, C]", linkedList.toString());
+        Assertions.assertEquals('C', linkedList.peekLast());
+
+        // removed nodes and nodes of another list are rejected.
+        Assertions.assertThrows(IllegalArgumentException.class, () -> linkedList.removeNode(b));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> linkedList.moveToFront(a));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> linkedList.insertAfter(null, 'E'));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DoublyLinkedList<Character>().removeNode(c));
+
+        linkedList.removeFirst();
+
+        // a removed node does not lead back into the list.
+        Assertions.assertNull(d.getNext());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> linkedList.removeNode(d));
+        Assertions.assertEquals('C', linkedList.removeNode(c));
+        Assertions.assertTrue(linkedList.isEmpty());
+        Assertions.assertNull(linkedList.firstNode());
+        Assertions.assertNull(linkedList.lastNode());
+
+        DoublyLinkedList.Node<Character> e = linkedList.appendNode('E');
+        linkedList.appendNode('F');
+
+        Assertions.assertEquals('F', linkedList.removeLast());
+        Assertions.assertNull(e.getNext());
+
+        DoublyLinkedList.Node<Character> f = linkedList.appendNode('F');
+
+        Assertions.assertEquals('F', linkedList.removeLast());
+        Assertions.assertNull(f.getPrevious());
+    }
+
 }
@@ -0,0 +1,193 @@
+package datastructures;
+
+import java.util.List;
+import java.util.Random;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class ExpiringHashTableTest
+{
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testExpiringHashTableConstructors()
+    {
+        ExpiringHashTable<String, Integer> hashTable = new ExpiringHashTable<>(10, TimeUnit.SECONDS);
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertEquals(10 * SECOND, hashTable.getDuration());
+        Assertions.assertEquals(ExpiringHashTable.Expiry.AFTER_WRITE, hashTable.getExpiry());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ExpiringHashTable<String, Integer>(0, TimeUnit.SECONDS));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ExpiringHashTable<String, Integer>(1, null));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new ExpiringHashTable<String, Integer>(1, TimeUnit.SECONDS, ExpiringHashTable.Expiry.AFTER_ACCESS, null));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.put(null, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.put("key", null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.get(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.remove(null));
+    }
+
+    @Test
+    public void testExpiringHashTableExpireAfterWrite()
+    {
+        long[] clock = { 0 };
+        ExpiringHashTable<String, Integer> hashTable =
+            new ExpiringHashTable<>(10, TimeUnit.SECONDS, ExpiringHashTable.Expiry.AFTER_WRITE, () -> clock[0]);
+
+        hashTable.put("a", 1);
+        clock[0] = 5 * SECOND;
+        hashTable.put("b", 2);
+
+        clock[0] = 10 * SECOND - 1;
+
+        Assertions.assertEquals(1, hashTable.get("a"));
+        Assertions.assertEquals(2, hashTable.get("b"));
+
+        // reading does not extend the lifetime, writing does.
+        clock[0] = 10 * SECOND;
+
+        Assertions.assertNull(hashTable.get("a"));
+        Assertions.assertFalse(hashTable.hasKey("a"));
+        Assertions.assertEquals(List.of("b"), hashTable.keys());
+        Assertions.assertEquals(2, hashTable.put("b", 20));
+
+        clock[0] = 19 * SECOND;
+
+        Assertions.assertEquals(20, hashTable.get("b"));
+        Assertions.assertEquals("{b => 20, }", hashTable.toString());
+
+        clock[0] = 20 * SECOND;
+
+        Assertions.assertNull(hashTable.put("b", 21));
+        Assertions.assertEquals(21, hashTable.remove("b"));
+        Assertions.assertNull(hashTable.remove("b"));
+        Assertions.assertTrue(hashTable.isEmpty());
+    }
+
+    @Test
+    public void testExpiringHashTableExpireAfterAccess()
+    {
+        long[] clock = { 0 };
+        ExpiringHashTable<String, Integer> hashTable =
+            new ExpiringHashTable<>(10, TimeUnit.SECONDS, ExpiringHashTable.Expiry.AFTER_ACCESS, () -> clock[0]);
+
+        hashTable.put("a", 1);
+        hashTable.put("b", 2);
+
+        for (int i = 1; i <= 10; i++)
+        {
+            clock[0] = 9 * i * SECOND;
+
+            Assertions.assertEquals(1, hashTable.get("a"));
+        }
+
+        // hasKey() is not an access.
+        Assertions.assertFalse(hashTable.hasKey("b"));
+        Assertions.assertTrue(hashTable.hasKey("a"));
+
+        clock[0] += 10 * SECOND;
+
+        Assertions.assertNull(hashTable.get("a"));
+        Assertions.assertNull(hashTable.remove("a"));
+    }
+
+    @Test
+    public void testExpiringHashTableCleanUp()
+    {
+        long[] clock = { 0 };
+        ExpiringHashTable<Integer, Integer> hashTable =
+            new ExpiringHashTable<>(1, TimeUnit.MINUTES, ExpiringHashTable.Expiry.AFTER_WRITE, () -> clock[0]);
+
+        for (int i = 0; i < 1000; i++)
+            hashTable.put(i, i);
+
+        clock[0] = 30 * SECOND;
+
+        for (int i = 1000; i < 1100; i++)
+            hashTable.put(i, i);
+
+        // one operation removes a bounded number of the expired entries.
+        clock[0] = 62 * SECOND;
+        hashTable.hasKey(-1);
+
+        Assertions.assertTrue(hashTable.size() < 1100);
+        Assertions.assertTrue(hashTable.size() > 1000);
+
+        // the following operations keep removing them.
+        for (int i = 0; i < 1000; i++)
+            hashTable.hasKey(-1);
+
+        Assertions.assertEquals(100, hashTable.size());
+
+        clock[0] = 100 * SECOND;
+        hashTable.cleanUp();
+
+        Assertions.assertTrue(hashTable.isEmpty());
+
+        hashTable.put(1, 1);
+        hashTable.clear();
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertNull(hashTable.get(1));
+    }
+
+    @Test
+    public void testTimerWheel()
+    {
+        Random random = new Random(42);
+        long start    = -TimeUnit.DAYS.toNanos(3);
+
+        TimerWheel<Long> wheel = new TimerWheel<>(start);
+        List<TimerWheel.Timer<Long>> timers = new ArrayList<>();
+
+        // delays from milliseconds to weeks, a tenth of the timers is cancelled.
+        for (int i = 0; i < 20_000; i++)
+        {
+            long delay = (long) Math.pow(10, 6 + 9.8 * random.nextDouble());
+            TimerWheel.Timer<Long> timer = wheel.schedule(start + delay, start + delay);
+
+            if (random.nextInt(10) == 0)
+                wheel.cancel(timer);
+            else
+                timers.add(timer);
+        }
+
+        Assertions.assertEquals(timers.size(), wheel.size());
+
+        long now       = start;
+        List<Long> fired = new ArrayList<>();
+
+        while (wheel.size() > 0)
+        {
+            now += (long) Math.pow(10, 8 + 5 * random.nextDouble());
+
+            long time = now;
+
+            while (!wheel.advance(time, 100, element ->
+            {
+                Assertions.assertTrue(element - time <= 0, "fired early");
+                fired.add(element);
+            }))
+            {
+            }
+
+            // a due timer fires at most one tick (2^30 ns) late.
+            for (TimerWheel.Timer<Long> timer : timers)
+                if (timer.isScheduled())
+                    Assertions.assertTrue(timer.getTime() - now > -(1L << 30), "fired late");
+        }
+
+        Assertions.assertEquals(timers.size(), fired.size());
+
+        for (TimerWheel.Timer<Long> timer : timers)
+        {
+            Assertions.assertFalse(timer.isScheduled());
+            Assertions.assertThrows(IllegalArgumentException.class, () -> wheel.reschedule(timer, 0));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package datastructures;
+
+import java.util.Set;
+import java.util.List;
+import java.util.Random;
+import java.util.HashMap;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class HashMultimapTest
+{
+    @Test
+    public void testHashMultimapPutAndGet()
+    {
+        HashMultimap<String, Integer> multimap = new HashMultimap<>();
+
+        Assertions.assertTrue(multimap.isEmpty());
+        Assertions.assertTrue(multimap.put("a", 1));
+        Assertions.assertFalse(multimap.put("a", 1));
+        Assertions.assertTrue(multimap.put("a", 2));
+        Assertions.assertFalse(multimap.put("a", 2));
+        Assertions.assertTrue(multimap.put("b", 3));
+
+        Assertions.assertEquals(3, multimap.size());
+        Assertions.assertEquals(2, multimap.keyCount());
+        Assertions.assertEquals(List.of(1, 2), multimap.get("a"));
+        Assertions.assertEquals(List.of(3), multimap.get("b"));
+        Assertions.assertEquals(List.of(), multimap.get("c"));
+        Assertions.assertEquals(2, multimap.count("a"));
+        Assertions.assertEquals(0, multimap.count("c"));
+
+        Assertions.assertTrue(multimap.containsEntry("a", 2));
+        Assertions.assertFalse(multimap.containsEntry("b", 2));
+        Assertions.assertTrue(multimap.hasKey("b"));
+
+        Assertions.assertFalse(multimap.remove("b", 4));
+        Assertions.assertTrue(multimap.remove("b", 3));
+        Assertions.assertFalse(multimap.hasKey("b"));
+        Assertions.assertTrue(multimap.remove("a", 1));
+        Assertions.assertEquals(List.of(2), multimap.get("a"));
+        Assertions.assertEquals("{a => [2], }", multimap.toString());
+
+        Assertions.assertEquals(2, multimap.putAll("c", List.of(5, 6, 5)));
+        Assertions.assertEquals(List.of(5, 6), multimap.removeAll("c"));
+        Assertions.assertEquals(List.of(), multimap.removeAll("c"));
+        Assertions.assertEquals(1, multimap.size());
+
+        multimap.clear();
+
+        Assertions.assertTrue(multimap.isEmpty());
+        Assertions.assertEquals(0, multimap.keyCount());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> multimap.put(null, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> multimap.put("a", null));
+    }
+
+    @Test
+    public void testHashMultimapSpill()
+    {
+        HashMultimap<Integer, Integer> multimap = new HashMultimap<>(16, 0.7, HashTable.Option.INSERTION_ORDER);
+
+        // the values of key 0 grow from one value to an inline group and spill into a set.
+        for (int i = 0; i < 100; i++)
+        {
+            Assertions.assertTrue(multimap.put(0, i));
+            Assertions.assertFalse(multimap.put(0, i));
+            Assertions.assertEquals(i + 1, multimap.count(0));
+            Assertions.assertTrue(multimap.containsEntry(0, i));
+        }
+
+        Assertions.assertTrue(multimap.put(1, 1));
+
+        Assertions.assertEquals(List.of(0, 1), multimap.keys());
+        Assertions.assertEquals(101, multimap.values().size());
+
+        for (int i = 0; i < 99; i++)
+            Assertions.assertTrue(multimap.remove(0, i));
+
+        Assertions.assertEquals(List.of(99), multimap.get(0));
+        Assertions.assertTrue(multimap.remove(0, 99));
+        Assertions.assertFalse(multimap.hasKey(0));
+        Assertions.assertEquals(1, multimap.size());
+    }
+
+    @Test
+    public void testHashMultimapAgainstHashMap()
+    {
+        HashMultimap<Integer, Integer> multimap = new HashMultimap<>();
+        HashMap<Integer, Set<Integer>> reference = new HashMap<>();
+        Random random = new Random(23);
+        int size = 0;
+
+        for (int i = 0; i < 200_000; i++)
+        {
+            // a few keys collect many values, most keys only a few.
+            Integer key   = random.nextInt(8) == 0 ? random.nextInt(10) : random.nextInt(10_000);
+            Integer value = random.nextInt(64);
+
+            Set<Integer> values = reference.computeIfAbsent(key, k -> new java.util.HashSet<>());
+
+            if (random.nextInt(3) == 0)
+            {
+                boolean removed = values.remove(value);
+
+                if (values.isEmpty())
+                    reference.remove(key);
+
+                if (removed)
+                    size--;
+
+                Assertions.assertEquals(removed, multimap.remove(key, value));
+            }
+            else
+            {
+                boolean added = values.add(value);
+
+                if (added)
+                    size++;
+
+                Assertions.assertEquals(added, multimap.put(key, value));
+            }
+        }
+
+        Assertions.assertEquals(size, multimap.size());
+        Assertions.assertEquals(reference.size(), multimap.keyCount());
+
+        for (Integer key : multimap)
+        {
+            List<Integer> values = new ArrayList<>();
+            multimap.forEach(key, values::add);
+
+            Assertions.assertEquals(reference.get(key), Set.copyOf(values));
+            Assertions.assertEquals(reference.get(key).size(), values.size());
+        }
+    }
+}
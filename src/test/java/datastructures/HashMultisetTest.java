@@ -0,0 +1,114 @@
+package datastructures;
+
+import java.util.List;
+import java.util.Random;
+import java.util.HashMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class HashMultisetTest
+{
+    @Test
+    public void testHashMultisetAddAndRemove()
+    {
+        HashMultiset<String> multiset = new HashMultiset<>();
+
+        Assertions.assertTrue(multiset.isEmpty());
+        Assertions.assertEquals(1, multiset.add("a"));
+        Assertions.assertEquals(2, multiset.add("a"));
+        Assertions.assertEquals(5, multiset.add("b", 5));
+        Assertions.assertEquals(2, multiset.add("a", 0));
+
+        Assertions.assertEquals(7, multiset.size());
+        Assertions.assertEquals(2, multiset.elementCount());
+        Assertions.assertTrue(multiset.contains("b"));
+        Assertions.assertEquals(0, multiset.count("c"));
+
+        Assertions.assertEquals(1, multiset.remove("a"));
+        Assertions.assertEquals(2, multiset.remove("b", 3));
+        Assertions.assertEquals(0, multiset.remove("b", 10));
+        Assertions.assertFalse(multiset.contains("b"));
+        Assertions.assertEquals(0, multiset.remove("c"));
+
+        Assertions.assertEquals(1, multiset.size());
+        Assertions.assertEquals(List.of("a"), multiset.elements());
+        Assertions.assertEquals("{a => 1, }", multiset.toString());
+
+        Assertions.assertEquals(1, multiset.setCount("a", 4));
+        Assertions.assertEquals(0, multiset.setCount("c", 2));
+        Assertions.assertEquals(6, multiset.size());
+        Assertions.assertEquals(2, multiset.setCount("c", 0));
+        Assertions.assertEquals(4, multiset.size());
+
+        multiset.clear();
+
+        Assertions.assertTrue(multiset.isEmpty());
+        Assertions.assertEquals(0, multiset.size());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> multiset.add("a", -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> multiset.remove("a", -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> multiset.setCount("a", -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> multiset.add(null));
+
+        // a count can not overflow, a failed addition leaves the multiset unchanged.
+        Assertions.assertEquals(Integer.MAX_VALUE - 1, multiset.add("a", Integer.MAX_VALUE - 1));
+        Assertions.assertEquals(Integer.MAX_VALUE, multiset.add("a"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> multiset.add("a"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> multiset.add("a", Integer.MAX_VALUE));
+
+        Assertions.assertEquals(Integer.MAX_VALUE, multiset.count("a"));
+        Assertions.assertEquals(Integer.MAX_VALUE, multiset.size());
+
+        Assertions.assertEquals(0, multiset.setCount("b", Integer.MAX_VALUE));
+        Assertions.assertEquals(2L * Integer.MAX_VALUE, multiset.size());
+        Assertions.assertEquals(0, multiset.remove("a", Integer.MAX_VALUE));
+        Assertions.assertEquals(Integer.MAX_VALUE, multiset.size());
+    }
+
+    @Test
+    public void testHashMultisetAgainstHashMap()
+    {
+        HashMultiset<Integer> multiset = new HashMultiset<>();
+        HashMap<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(17);
+        long size = 0;
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            Integer element = random.nextInt(1000);
+            int occurrences = random.nextInt(4);
+
+            if (random.nextInt(3) == 0)
+            {
+                int count    = reference.getOrDefault(element, 0);
+                int removed  = Math.min(count, occurrences);
+                size        -= removed;
+
+                if (count - removed == 0)
+                    reference.remove(element);
+                else
+                    reference.put(element, count - removed);
+
+                Assertions.assertEquals(count - removed, multiset.remove(element, occurrences));
+            }
+            else if (occurrences > 0)
+            {
+                size += occurrences;
+
+                Assertions.assertEquals(reference.merge(element, occurrences, Integer::sum).intValue(), multiset.add(element, occurrences));
+            }
+        }
+
+        Assertions.assertEquals(size, multiset.size());
+        Assertions.assertEquals(reference.size(), multiset.elementCount());
+
+        for (Integer element : multiset)
+            Assertions.assertEquals(reference.get(element), multiset.count(element));
+
+        long[] total = new long[1];
+        multiset.forEach((element, count) -> total[0] += count);
+
+        Assertions.assertEquals(size, total[0]);
+    }
+}
@@ -0,0 +1,186 @@
+package datastructures;
+
+import java.util.List;
+import java.util.Random;
+import java.util.ArrayList;
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class HashSetTest 
+{
+    @Test
+    public void testHashSetConstructor()
+    {
+        HashSet<String> set = new HashSet<>();
+
+        Assertions.assertTrue(set.isEmpty());
+        Assertions.assertEquals(0, set.size());
+    }
+
+    @Test
+    public void testHashSetIllegalArguments()
+    {
+        HashSet<String> set = new HashSet<>();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new HashSet<String>(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new HashSet<String>(10, Double.NaN));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> set.add(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> set.contains(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> set.remove(null));
+    }
+
+    @Test
+    public void testHashSetAdd()
+    {
+        HashSet<String> set = new HashSet<>();
+
+        Assertions.assertTrue(set.add("Bogdan"));
+        Assertions.assertTrue(set.add("Djordjije"));
+
+        Assertions.assertFalse(set.isEmpty());
+        Assertions.assertEquals(2, set.size());
+
+        Assertions.assertFalse(set.add("Bogdan"));
+        Assertions.assertFalse(set.add("Djordjije"));
+
+        Assertions.assertFalse(set.isEmpty());
+        Assertions.assertEquals(2, set.size());
+    }
+
+    @Test
+    public void testHashSetContains()
+    {
+        HashSet<String> set = new HashSet<>();
+
+        set.add("Djordjije");
+        set.add("Bogdan");
+        set.add("Vesna");
+        set.add("Petar");
+        set.add("Janko");
+
+        Assertions.assertTrue(set.contains("Bogdan"));
+        Assertions.assertTrue(set.contains("Djordjije"));
+        Assertions.assertFalse(set.contains("subo"));
+        Assertions.assertFalse(set.contains("Marko"));
+    }
+
+    @Test
+    public void testHashSetRemove()
+    {
+        HashSet<String> set = new HashSet<>();
+
+        set.add("Djordjije");
+        set.add("Bogdan");
+        set.add("Vesna");
+
+        Assertions.assertEquals(3, set.size());
+
+        set.remove("Djordjije");
+
+        Assertions.assertEquals(2, set.size());
+        Assertions.assertFalse(set.contains("Djordjije"));
+
+        set.remove("Vesna");
+        set.remove("Bogdan");
+
+        Assertions.assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void testHashSetSerialization() throws IOException
+    {
+        HashSet<Integer> set = new HashSet<>();
+
+        for (int i = 0; i < 100_000; i += 3)
+            set.add(i);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        set.writeTo(Channels.newChannel(output), Serializer.INTEGER, true);
+
+        HashSet<Integer> copy = HashSet.readFrom(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())), Serializer.INTEGER);
+
+        Assertions.assertEquals(set.size(), copy.size());
+
+        for (Integer element : set)
+            Assertions.assertTrue(copy.contains(element));
+
+        Assertions.assertFalse(copy.contains(1));
+    }
+
+    @Test
+    public void testHashSetRandomOperations()
+    {
+        Random random              = new Random(42);
+        HashSet<Integer> set       = new HashSet<>(1);
+        java.util.HashSet<Integer> expected = new java.util.HashSet<>();
+
+        // a small universe, so the set keeps growing, removing and re-adding the same elements.
+        for (int i = 0; i < 200_000; i++)
+        {
+            Integer element = random.nextInt(5_000) * 17;
+
+            switch (random.nextInt(3))
+            {
+                case 0:
+                    Assertions.assertEquals(expected.add(element), set.add(element));
+                    break;
+                case 1:
+                    Assertions.assertEquals(expected.remove(element), set.remove(element));
+                    break;
+                default:
+                    Assertions.assertEquals(expected.contains(element), set.contains(element));
+            }
+
+            Assertions.assertEquals(expected.size(), set.size());
+        }
+
+        List<Integer> elements = new ArrayList<>();
+
+        for (Integer element : set)
+            elements.add(element);
+
+        Assertions.assertEquals(expected.size(), elements.size());
+        Assertions.assertEquals(expected, new java.util.HashSet<>(elements));
+
+        set.clear();
+
+        Assertions.assertTrue(set.isEmpty());
+        Assertions.assertFalse(set.iterator().hasNext());
+        Assertions.assertEquals("[]", set.toString());
+    }
+
+    @Test
+    public void testHashSetChurn()
+    {
+        HashSet<Integer> set = new HashSet<>();
+
+        for (int i = 0; i < 1_000; i++)
+            set.add(i);
+
+        int capacity = 0;
+
+        // a flat number of elements under add/remove churn: once the deleted buckets outnumber the live
+        // ones at the threshold they are reclaimed in place, the set stops growing.
+        for (int i = 1_000; i < 1_000_000; i++)
+        {
+            Assertions.assertTrue(set.remove(i - 1_000));
+            Assertions.assertTrue(set.add(i));
+
+            if (i == 10_000)
+                capacity = set.getCapacity();
+        }
+
+        Assertions.assertEquals(1_000, set.size());
+        Assertions.assertEquals(capacity, set.getCapacity());
+
+        for (int i = 999_000; i < 1_000_000; i++)
+            Assertions.assertTrue(set.contains(i));
+
+        Assertions.assertFalse(set.contains(998_999));
+    }
+}
@@ -0,0 +1,1159 @@
+package datastructures;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Iterator;
+import java.util.Collection;
+import java.util.Spliterator;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class HashTableTest 
+{
+    @Test
+    public void testHashTableDefaultConstructor()
+    {
+        HashTable<String, Integer> hashTable = new HashTable<>();
+
+        Assertions.assertEquals(25, hashTable.getCapacity());
+        Assertions.assertEquals(0.7, hashTable.getLoadFactor());
+    }
+    
+    @Test
+    public void testHashTableCapacityConstructor()
+    {
+        HashTable<String, Integer> hashTable = new HashTable<>(7);
+
+        Assertions.assertEquals(7, hashTable.getCapacity());
+        Assertions.assertEquals(0.7, hashTable.getLoadFactor());
+    }
+
+    @Test
+    public void testHashTableCapacityAndLoadFactorConstructor()
+    {
+        HashTable<String, Integer> hashTableFirst = new HashTable<>(7, 0.8);
+
+        Assertions.assertEquals(7, hashTableFirst.getCapacity());
+        Assertions.assertEquals(0.8, hashTableFirst.getLoadFactor());
+
+        HashTable<String, Integer> hashTableSecond = new HashTable<>(7, 0.5);
+
+        Assertions.assertEquals(7, hashTableSecond.getCapacity());
+        Assertions.assertEquals(0.7, hashTableSecond.getLoadFactor());
+
+        HashTable<String, Integer> hashTableThird = new HashTable<>(34, 0.5);
+
+        Assertions.assertEquals(35, hashTableThird.getCapacity());
+        Assertions.assertEquals(0.7, hashTableThird.getLoadFactor());
+    }
+
+    @Test
+    public void testHashTableInsert()
+    {
+        HashTable<String, Integer> hashTable = new HashTable<>(2, 0.8);
+
+        Assertions.assertTrue(hashTable.isEmpty());
+    
+        Integer oldValue = hashTable.insert("Djordjije", 27);
+
+        Assertions.assertEquals(1, hashTable.size());
+        Assertions.assertEquals(2, hashTable.getCapacity());
+        Assertions.assertEquals(null, oldValue);
+
+        oldValue = hashTable.put("Djordjije", 25);
+
+        Assertions.assertEquals(1, hashTable.size());
+        Assertions.assertEquals(5, hashTable.getCapacity());
+        Assertions.assertEquals(27, oldValue);
+
+        hashTable.add("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+        hashTable.add("Petar", 27);
+
+        Assertions.assertEquals(4, hashTable.size());
+        Assertions.assertEquals(5, hashTable.getCapacity());
+
+        hashTable.insert("Marko", 27);
+
+        Assertions.assertEquals(5, hashTable.size());
+        Assertions.assertEquals(11, hashTable.getCapacity());
+    }
+
+    @Test
+    public void testHashTableGet()
+    {
+        HashTable<String, Integer> hashTable = new HashTable<>(2);
+
+        hashTable.insert("Djordjije", 27);
+        hashTable.put("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+        hashTable.add("Petar", 27);
+        hashTable.insert("Marko", 27);
+
+        Assertions.assertEquals(27, hashTable.get("Djordjije"));
+        Assertions.assertEquals(30, hashTable.get("Bogdan"));
+        Assertions.assertEquals(null, hashTable.get("Subo"));
+    }
+
+    @Test
+    public void testHashTableRemove()
+    {
+        HashTable<String, Integer> hashTable = new HashTable<>(2);
+
+        hashTable.insert("Djordjije", 27);
+        hashTable.put("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+        hashTable.add("Petar", 27);
+        hashTable.insert("Marko", 27);
+
+        Integer oldValue = hashTable.remove("Djordjije");
+        Assertions.assertEquals(27, oldValue);
+
+        oldValue = hashTable.remove("Bogdan");
+        Assertions.assertEquals(30, oldValue);
+
+        Assertions.assertEquals(11, hashTable.getCapacity());
+        Assertions.assertEquals(3, hashTable.size());
+        Assertions.assertNull(hashTable.get("Djordjije"));
+        Assertions.assertNull(hashTable.get("Bogdan"));
+    }
+
+    @Test
+    public void testHashTableHasKey()
+    {
+        HashTable<String, Integer> hashTable = new HashTable<>(2);
+
+        hashTable.insert("Djordjije", 27);
+        hashTable.put("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+        hashTable.add("Petar", 27);
+        hashTable.insert("Marko", 27);
+
+        Assertions.assertTrue(hashTable.hasKey("Vesna"));
+        Assertions.assertFalse(hashTable.containsKey("Subo"));
+    }
+
+    @Test
+    public void testHashTableClear()
+    {
+        HashTable<String, Integer> hashTable = new HashTable<>(2);
+
+        hashTable.insert("Djordjije", 27);
+        hashTable.put("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+        hashTable.add("Petar", 27);
+        hashTable.insert("Marko", 27);
+
+        Assertions.assertEquals(5, hashTable.size());
+
+        List<String> keys    = hashTable.keys();
+        List<Integer> values = hashTable.values();
+
+        for(int i = 0; i < hashTable.size(); i++)
+        {
+            Assertions.assertEquals(values.get(i), hashTable.get(keys.get(i)));
+        }
+
+        hashTable.clear();
+
+        keys   = hashTable.keys();
+        values = hashTable.values();
+
+        for(int i = 0; i < hashTable.size(); i++)
+        {
+            Assertions.assertEquals(null, keys.get(i));
+            Assertions.assertEquals(null, values.get(i));
+        }
+    }
+
+    @Test
+    public void testHashTableIterations()
+    {
+        HashTable<String, Integer> hashTable = new HashTable<>(2);
+
+        hashTable.insert("Djordjije", 27);
+        hashTable.put("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+        hashTable.add("Petar", 27);
+        hashTable.insert("Marko", 27);
+
+        List<String> keys    = hashTable.keys();
+        List<Integer> values = hashTable.values();
+
+        for(String key : hashTable)
+            Assertions.assertEquals(values.get(keys.indexOf(key)), hashTable.get(key));
+    }
+
+    @Test
+    public void testHashTableRemoveAbsentKey()
+    {
+        HashTable<String, Integer> hashTable = new HashTable<>(2);
+
+        hashTable.insert("Djordjije", 27);
+        hashTable.put("Bogdan", 30);
+
+        Assertions.assertNull(hashTable.remove("Subo"));
+        Assertions.assertEquals(2, hashTable.size());
+        Assertions.assertEquals(27, hashTable.get("Djordjije"));
+        Assertions.assertEquals(30, hashTable.get("Bogdan"));
+    }
+
+    @Test
+    public void testHashTablePowerOfTwoCapacity()
+    {
+        HashTable<Integer, Integer> hashTable = new HashTable<>(25, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY);
+
+        Assertions.assertEquals(32, hashTable.getCapacity());
+
+        // keys that only differ in their high bits must not collapse into a single bucket
+        for (int i = 0; i < 1000; i++)
+            hashTable.insert(i << 20, i);
+
+        Assertions.assertEquals(1000, hashTable.size());
+        Assertions.assertEquals(2048, hashTable.getCapacity());
+
+        for (int i = 0; i < 1000; i++)
+            Assertions.assertEquals(i, hashTable.get(i << 20));
+
+        for (int i = 0; i < 1000; i += 2)
+            Assertions.assertEquals(i, hashTable.remove(i << 20));
+
+        Assertions.assertEquals(500, hashTable.size());
+
+        for (int i = 0; i < 1000; i++)
+            Assertions.assertEquals(i % 2 == 0 ? null : i, hashTable.get(i << 20));
+
+        Assertions.assertFalse(hashTable.hasKey(1 << 30));
+    }
+
+    @Test
+    public void testHashTableCachedHashes()
+    {
+        HashTable<CountingKey, Integer> cached = new HashTable<>(2, 0.7, HashTable.Option.CACHED_HASHES);
+        HashTable<CountingKey, Integer> plain  = new HashTable<>(2);
+
+        CountingKey.hashCodeCalls = 0;
+
+        for (int i = 0; i < 1000; i++)
+            cached.insert(new CountingKey("key" + i), i);
+
+        // one hashCode() call per insert, resizing reuses the stored hashes
+        Assertions.assertEquals(1000, CountingKey.hashCodeCalls);
+
+        CountingKey.hashCodeCalls = 0;
+
+        for (int i = 0; i < 1000; i++)
+            plain.insert(new CountingKey("key" + i), i);
+
+        Assertions.assertTrue(CountingKey.hashCodeCalls > 1000);
+
+        for (int i = 0; i < 1000; i += 2)
+            Assertions.assertEquals(i, cached.remove(new CountingKey("key" + i)));
+
+        for (int i = 0; i < 1000; i++)
+        {
+            Assertions.assertEquals(i % 2 == 0 ? null : i, cached.get(new CountingKey("key" + i)));
+            Assertions.assertEquals(i % 2 != 0, cached.hasKey(new CountingKey("key" + i)));
+        }
+
+        Assertions.assertEquals(500, cached.size());
+    }
+
+    @Test
+    public void testHashTableIncrementalResize()
+    {
+        HashTable.Option[][] optionSets = {
+            { HashTable.Option.INCREMENTAL_RESIZE },
+            { HashTable.Option.INCREMENTAL_RESIZE, HashTable.Option.CACHED_HASHES },
+            { HashTable.Option.INCREMENTAL_RESIZE, HashTable.Option.POWER_OF_TWO_CAPACITY },
+        };
+
+        for (HashTable.Option[] options : optionSets)
+        {
+            HashTable<Integer, Integer> hashTable = new HashTable<>(2, 0.7, options);
+            HashMap<Integer, Integer> reference   = new HashMap<>();
+            Random random = new Random(3);
+
+            for (int i = 0; i < 50_000; i++)
+            {
+                Integer key = random.nextInt(20_000);
+
+                switch (random.nextInt(4))
+                {
+                    case 0:
+                        Assertions.assertEquals(reference.remove(key), hashTable.remove(key));
+                        break;
+                    case 1:
+                        Assertions.assertEquals(reference.get(key), hashTable.get(key));
+                        break;
+                    case 2:
+                        Assertions.assertEquals(reference.containsKey(key), hashTable.hasKey(key));
+                        break;
+                    default:
+                        Assertions.assertEquals(reference.put(key, i), hashTable.insert(key, i));
+                }
+
+                Assertions.assertEquals(reference.size(), hashTable.size());
+            }
+
+            List<Integer> keys   = hashTable.keys();
+            List<Integer> values = hashTable.values();
+
+            Assertions.assertEquals(reference.size(), keys.size());
+
+            for (int i = 0; i < keys.size(); i++)
+                Assertions.assertEquals(reference.get(keys.get(i)), values.get(i));
+        }
+    }
+
+    @Test
+    public void testHashTableBulkOperations()
+    {
+        final int count = 100_000;
+
+        for (HashTable.Option[] options : List.of(new HashTable.Option[0], 
+                                                  new HashTable.Option[] { HashTable.Option.POWER_OF_TWO_CAPACITY },
+                                                  new HashTable.Option[] { HashTable.Option.INCREMENTAL_RESIZE, HashTable.Option.CACHED_HASHES }))
+        {
+            HashTable<Integer, Integer> bulk     = new HashTable<>(25, 0.7, options);
+            HashTable<Integer, Integer> oneByOne = new HashTable<>(25, 0.7, options);
+
+            Integer[] keys   = new Integer[count];
+            Integer[] values = new Integer[count];
+
+            for (int i = 0; i < count; i++)
+            {
+                keys[i]   = i;
+                values[i] = -i;
+
+                oneByOne.insert(i, -i);
+            }
+
+            // the table grows once, straight to the capacity that inserting one by one reaches
+            Assertions.assertTrue(bulk.putAll(keys, values) > 0);
+            Assertions.assertEquals(oneByOne.getCapacity(), bulk.getCapacity());
+            Assertions.assertEquals(count, bulk.size());
+
+            // nothing to grow for keys that fit
+            Assertions.assertEquals(0, bulk.putAll(new Integer[] { 0, 1 }, new Integer[] { 10, 11 }));
+            Assertions.assertEquals(10, bulk.get(0));
+
+            for (int i = 0; i < count; i += 3)
+                bulk.remove(i);
+
+            Integer[] lookups = new Integer[2 * count];
+            Integer[] found   = new Integer[2 * count];
+
+            for (int i = 0; i < lookups.length; i++)
+                lookups[i] = i;
+
+            Assertions.assertEquals(count - (count + 2) / 3, bulk.getAll(lookups, found));
+
+            for (int i = 0; i < lookups.length; i++)
+                Assertions.assertEquals(bulk.get(lookups[i]), found[i]);
+        }
+
+        HashMap<String, Integer> source = new HashMap<>();
+        source.put("Djordjije", 27);
+        source.put("Bogdan", 30);
+
+        HashTable<String, Integer> hashTable = new HashTable<>(2);
+        hashTable.putAll(source.entrySet());
+
+        Assertions.assertEquals(2, hashTable.size());
+        Assertions.assertEquals(30, hashTable.get("Bogdan"));
+
+        // a collection is presized once, its entries are inserted as they are iterated
+        HashMap<Integer, Integer> large = new HashMap<>();
+
+        for (int i = 0; i < 10_000; i++)
+            large.put(i, -i);
+
+        HashTable<Integer, Integer> presized = new HashTable<>();
+
+        Assertions.assertTrue(presized.putAll(large.entrySet()) > 0);
+        Assertions.assertEquals(10_000, presized.size());
+        Assertions.assertEquals(-9_999, presized.get(9_999));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.putAll(new String[] { "Vesna" }, new Integer[0]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.putAll(new String[] { null }, new Integer[] { 1 }));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.getAll(new String[] { "Vesna" }, new Integer[0]));
+    }
+
+    /**
+     * Key that counts how many times its hash code is computed.
+     */
+    private static class CountingKey
+    {
+        private static int hashCodeCalls;
+
+        private final String name;
+
+        CountingKey(String name)
+        {
+            this.name = name;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            CountingKey.hashCodeCalls++;
+            return this.name.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof CountingKey && ((CountingKey) other).name.equals(this.name);
+        }
+    }
+
+    @Test
+    public void testHashTableSerialization() throws IOException
+    {
+        HashTable<String, Long> hashTable = new HashTable<>(16, 0.7, HashTable.Option.INCREMENTAL_RESIZE);
+        Random random = new Random(3);
+
+        // repetitive keys compress well, and the long key spans more than one block
+        for (int i = 0; i < 20_000; i++)
+            hashTable.insert("key-" + random.nextInt(100_000), (long) i);
+
+        hashTable.insert("x".repeat(200_000), -1L);
+
+        for (boolean compress : new boolean[] { false, true })
+        {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            hashTable.writeTo(Channels.newChannel(output), Serializer.STRING, Serializer.LONG, compress);
+
+            byte[] bytes = output.toByteArray();
+            HashTable<String, Long> copy = HashTable.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes)), Serializer.STRING, Serializer.LONG);
+
+            Assertions.assertEquals(hashTable.size(), copy.size());
+
+            for (String key : hashTable)
+                Assertions.assertEquals(hashTable.get(key), copy.get(key));
+
+            // a truncated stream is detected
+            Assertions.assertThrows(IOException.class, () -> HashTable.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes, 0, bytes.length - 1)), Serializer.STRING, Serializer.LONG));
+
+            // a stream of a table is not a stream of a set
+            Assertions.assertThrows(IOException.class, () -> HashSet.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes)), Serializer.STRING));
+        }
+
+        ByteArrayOutputStream raw        = new ByteArrayOutputStream();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        hashTable.writeTo(Channels.newChannel(raw), Serializer.STRING, Serializer.LONG, false);
+        hashTable.writeTo(Channels.newChannel(compressed), Serializer.STRING, Serializer.LONG, true);
+
+        Assertions.assertTrue(compressed.size() < raw.size() / 2);
+
+        // a corrupted compressed block is detected
+        byte[] corrupted = compressed.toByteArray();
+        corrupted[40] ^= 0x55;
+        corrupted[41] ^= 0x55;
+
+        Assertions.assertThrows(IOException.class, () -> HashTable.readFrom(Channels.newChannel(new ByteArrayInputStream(corrupted)), Serializer.STRING, Serializer.LONG));
+    }
+
+    @Test
+    public void testHashTableSerializationNullValues() throws IOException
+    {
+        HashTable<Integer, Integer> hashTable = new HashTable<>();
+
+        for (int i = 0; i < 1000; i++)
+            hashTable.put(i, i % 100 == 99 ? null : i);
+
+        // null values are rejected before anything is written, so no truncated stream is left on the channel
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.writeTo(Channels.newChannel(output), Serializer.INTEGER, Serializer.INTEGER, true));
+        Assertions.assertEquals(0, output.size());
+
+        // the keys of null values are still streamed as keys
+        hashTable.writeTo(Channels.newChannel(output), Serializer.INTEGER, null, true);
+
+        HashSet<Integer> keys = HashSet.readFrom(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())), Serializer.INTEGER);
+
+        Assertions.assertEquals(1000, keys.size());
+        Assertions.assertTrue(keys.contains(99));
+
+        // once the null values are replaced, the table round-trips
+        for (int i = 99; i < 1000; i += 100)
+            hashTable.put(i, -i);
+
+        output.reset();
+        hashTable.writeTo(Channels.newChannel(output), Serializer.INTEGER, Serializer.INTEGER, true);
+
+        HashTable<Integer, Integer> copy = HashTable.readFrom(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())), Serializer.INTEGER, Serializer.INTEGER);
+
+        Assertions.assertEquals(1000, copy.size());
+        Assertions.assertEquals(-99, copy.get(99));
+        Assertions.assertEquals(5, copy.get(5));
+
+        try (EntryWriter<Integer, Integer> writer = new EntryWriter<>(Channels.newChannel(new ByteArrayOutputStream()), Serializer.INTEGER, Serializer.INTEGER, -1, false))
+        {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> writer.write(1, null));
+        }
+    }
+
+    @Test
+    public void testEntryStreamExpectedEntries() throws IOException
+    {
+        // an expected number of entries beyond an int is announced as unknown, so the reader does not reject the total
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new EntryWriter<Integer, Integer>(Channels.newChannel(output), Serializer.INTEGER, null, 3_000_000_000L, false);
+
+        try (EntryReader<Integer, Integer> reader = new EntryReader<>(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())), Serializer.INTEGER, null))
+        {
+            Assertions.assertEquals(-1, reader.getExpectedEntries());
+        }
+
+        output.reset();
+        new EntryWriter<Integer, Integer>(Channels.newChannel(output), Serializer.INTEGER, null, Integer.MAX_VALUE, false);
+
+        try (EntryReader<Integer, Integer> reader = new EntryReader<>(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())), Serializer.INTEGER, null))
+        {
+            Assertions.assertEquals(Integer.MAX_VALUE, reader.getExpectedEntries());
+        }
+    }
+
+    @Test
+    public void testHashTableViews()
+    {
+        HashTable<Integer, Integer> hashTable = new HashTable<>(16, 0.7, HashTable.Option.INCREMENTAL_RESIZE);
+
+        for (int i = 0; i < 1000; i++)
+            hashTable.insert(i, 2 * i);
+
+        Set<Integer> keySet        = hashTable.keySet();
+        Collection<Integer> values = hashTable.valueView();
+
+        Assertions.assertEquals(1000, keySet.size());
+        Assertions.assertTrue(keySet.contains(500));
+        Assertions.assertFalse(keySet.contains(-1));
+        Assertions.assertFalse(keySet.contains("500"));
+        Assertions.assertTrue(values.contains(1998));
+
+        // the views are live
+        Assertions.assertTrue(keySet.remove(0));
+        Assertions.assertFalse(keySet.remove(0));
+        Assertions.assertFalse(hashTable.hasKey(0));
+        Assertions.assertEquals(999, values.size());
+
+        int visited = 0;
+
+        for (Iterator<Integer> iterator = keySet.iterator(); iterator.hasNext(); visited++)
+        {
+            Integer key = iterator.next();
+
+            if (key % 2 == 1)
+                iterator.remove();
+        }
+
+        Assertions.assertEquals(999, visited);
+        Assertions.assertEquals(499, hashTable.size());
+        Assertions.assertThrows(IllegalStateException.class, () -> keySet.iterator().remove());
+
+        // the cursor reads and updates every pair without a second lookup
+        HashTable<Integer, Integer>.Cursor cursor = hashTable.cursor();
+        Assertions.assertThrows(IllegalStateException.class, cursor::getKey);
+
+        while (cursor.next())
+        {
+            Assertions.assertEquals(2 * cursor.getKey(), cursor.getValue());
+            Assertions.assertEquals(2 * cursor.getKey(), cursor.setValue(cursor.getKey()));
+
+            if (cursor.getKey() == 2)
+                Assertions.assertEquals(2, cursor.remove());
+        }
+
+        Assertions.assertFalse(cursor.next());
+        Assertions.assertEquals(498, hashTable.size());
+
+        int[] sum = new int[2];
+
+        hashTable.forEach((key, value) -> {
+            Assertions.assertEquals(key, value);
+            sum[0] += key;
+            sum[1]++;
+        });
+
+        Assertions.assertEquals(498, sum[1]);
+        Assertions.assertEquals(249_500 - 2, sum[0]);
+
+        values.clear();
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertTrue(keySet.isEmpty());
+    }
+
+    @Test
+    public void testHashTableParallelScans()
+    {
+        HashTable<Integer, Integer> hashTable = new HashTable<>(16, 0.7, HashTable.Option.POWER_OF_TWO_CAPACITY);
+        long expected = 0;
+
+        for (int i = 0; i < 200_000; i++)
+            hashTable.insert(i, i);
+
+        for (int i = 0; i < 200_000; i += 3)
+            hashTable.remove(i);
+
+        for (Integer key : hashTable)
+            expected += key;
+
+        Spliterator<Integer> spliterator = hashTable.spliterator();
+
+        Assertions.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        Assertions.assertTrue(spliterator.hasCharacteristics(Spliterator.DISTINCT | Spliterator.NONNULL));
+        Assertions.assertEquals(hashTable.size(), spliterator.getExactSizeIfKnown());
+
+        // the halves cover every key exactly once
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        long[] halves = new long[2];
+
+        prefix.forEachRemaining(key -> halves[0]++);
+        spliterator.forEachRemaining(key -> halves[1]++);
+
+        Assertions.assertEquals(hashTable.size(), halves[0] + halves[1]);
+        Assertions.assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+
+        Assertions.assertEquals(hashTable.size(), hashTable.stream().count());
+        Assertions.assertEquals(expected, hashTable.stream().mapToLong(Integer::longValue).sum());
+        Assertions.assertEquals(expected, hashTable.parallelStream().mapToLong(Integer::longValue).sum());
+
+        LongAdder sum = new LongAdder();
+        hashTable.parallelForEach((key, value) -> sum.add(key + value));
+
+        Assertions.assertEquals(2 * expected, sum.sum());
+        Assertions.assertEquals(expected, hashTable.parallelReduce((key, value) -> (long) value, Long::sum));
+        Assertions.assertEquals(199_999, (int) hashTable.parallelReduce((key, value) -> value, Math::max));
+        Assertions.assertNull(hashTable.parallelReduce((key, value) -> key < 0 ? key : null, Math::max));
+    }
+
+    @Test
+    public void testHashTableCompaction()
+    {
+        HashTable.Option[][] modes = {
+            {},
+            { HashTable.Option.POWER_OF_TWO_CAPACITY },
+            { HashTable.Option.CACHED_HASHES },
+            { HashTable.Option.INCREMENTAL_RESIZE, HashTable.Option.POWER_OF_TWO_CAPACITY }
+        };
+
+        for (HashTable.Option[] options : modes)
+        {
+            HashTable<Integer, Integer> hashTable = new HashTable<>(16, 0.7, options);
+            HashMap<Integer, Integer> reference = new HashMap<>();
+            Random random = new Random(5);
+
+            for (int i = 0; i < 1000; i++)
+            {
+                hashTable.insert(i, i);
+                reference.put(i, i);
+            }
+
+            // insert/remove churn with a flat number of keys: once the keys take less than half of the threshold,
+            // deleted buckets are compacted and the table stops growing
+            int capacity = 0;
+
+            for (int i = 0; i < 200_000; i++)
+            {
+                Integer key = 1000 + random.nextInt(1_000_000);
+
+                Assertions.assertEquals(reference.put(key, i), hashTable.insert(key, i));
+                Assertions.assertEquals(reference.remove(key), hashTable.remove(key));
+
+                if (i == 100_000)
+                    capacity = hashTable.getCapacity();
+            }
+
+            Assertions.assertEquals(capacity, hashTable.getCapacity());
+            Assertions.assertTrue(capacity < 8 * 1000);
+            Assertions.assertEquals(reference.size(), hashTable.size());
+
+            for (Integer key : reference.keySet())
+                Assertions.assertEquals(reference.get(key), hashTable.get(key));
+
+            hashTable.compact();
+
+            for (int i = 0; i < 900; i++)
+                hashTable.remove(i);
+
+            Assertions.assertEquals(900, hashTable.compact());
+            Assertions.assertEquals(0, hashTable.compact());
+            Assertions.assertEquals(capacity, hashTable.getCapacity());
+
+            hashTable.trimToSize();
+
+            Assertions.assertTrue(hashTable.getCapacity() < capacity);
+            Assertions.assertTrue(hashTable.getCapacity() * hashTable.getLoadFactor() > 100);
+            Assertions.assertEquals(100, hashTable.size());
+
+            for (int i = 900; i < 1000; i++)
+                Assertions.assertEquals(i, hashTable.get(i));
+
+            for (int i = 0; i < 900; i++)
+                Assertions.assertNull(hashTable.get(i));
+        }
+    }
+
+    @Test
+    public void testHashTableCapacityOne()
+    {
+        HashTable.Option[][] modes = {
+            {}, { HashTable.Option.POWER_OF_TWO_CAPACITY }, { HashTable.Option.INCREMENTAL_RESIZE }
+        };
+
+        for (HashTable.Option[] options : modes)
+        {
+            // the only bucket is never filled: an empty table grows instead of compacting in place.
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+            {
+                HashTable<String, Integer> hashTable = new HashTable<>(1, 0.7, options);
+
+                Assertions.assertNull(hashTable.put("a", 1));
+                Assertions.assertTrue(hashTable.getCapacity() > 1);
+                Assertions.assertNull(hashTable.get("b"));
+                Assertions.assertFalse(hashTable.hasKey("b"));
+                Assertions.assertEquals(1, hashTable.get("a"));
+            });
+
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+            {
+                HashTable<Integer, Integer> hashTable = new HashTable<>(1, 0.7, options);
+
+                hashTable.putAll(new Integer[] { 1, 2, 3 }, new Integer[] { 1, 2, 3 });
+
+                Assertions.assertEquals(3, hashTable.size());
+                Assertions.assertNull(hashTable.get(4));
+            });
+        }
+    }
+
+    @Test
+    public void testHashTableMetrics() throws Exception
+    {
+        HashTable<Integer, Integer> plain = new HashTable<>();
+        plain.insert(1, 1);
+        plain.get(1);
+
+        HashTableStats plainStats = plain.stats();
+
+        Assertions.assertFalse(plainStats.isMetricsEnabled());
+        Assertions.assertEquals(1, plainStats.getSize());
+        Assertions.assertEquals(0, plainStats.getHits());
+        Assertions.assertEquals(0, plainStats.getMeanProbeLength());
+
+        HashTable<Integer, Integer> hashTable = new HashTable<>(16, 0.5, HashTable.Option.METRICS);
+
+        for (int i = 0; i < 1000; i++)
+            hashTable.insert(i, i);
+
+        for (int i = 0; i < 2000; i++)
+            hashTable.get(i);
+
+        Assertions.assertTrue(hashTable.hasKey(0));
+
+        for (int i = 0; i < 500; i++)
+            hashTable.remove(i);
+
+        HashTableStats stats = hashTable.stats();
+        long[] histogram = stats.getProbeHistogram();
+        long operations = 0;
+
+        for (long count : histogram)
+            operations += count;
+
+        Assertions.assertTrue(stats.isMetricsEnabled());
+        Assertions.assertEquals(500, stats.getSize());
+        Assertions.assertEquals(1001, stats.getHits());
+        Assertions.assertEquals(1000, stats.getMisses());
+        Assertions.assertEquals(1001.0 / 2001, stats.getHitRatio(), 1e-9);
+        Assertions.assertEquals(1000 + 2001, operations);
+        Assertions.assertTrue(histogram[0] > 0);
+        Assertions.assertTrue(stats.getMaxProbeLength() >= 1);
+        Assertions.assertTrue(stats.getMeanProbeLength() >= 1 && stats.getMeanProbeLength() <= stats.getMaxProbeLength());
+        Assertions.assertTrue(stats.getResizeCount() > 0);
+        Assertions.assertTrue(stats.getResizeNanos() > 0);
+        Assertions.assertEquals(500, stats.getTombstones());
+        Assertions.assertEquals(0.5, stats.getTombstoneRatio(), 1e-9);
+
+        Assertions.assertEquals(500, hashTable.compact());
+        Assertions.assertEquals(1, hashTable.stats().getCompactionCount());
+        Assertions.assertEquals(0, hashTable.stats().getTombstoneRatio());
+
+        // a snapshot does not change with the table
+        histogram[0] = -1;
+        Assertions.assertTrue(stats.getProbeHistogram()[0] > 0);
+
+        hashTable.resetMetrics();
+        Assertions.assertEquals(0, hashTable.stats().getHits());
+        Assertions.assertEquals(0, hashTable.stats().getMaxProbeLength());
+        Assertions.assertEquals(500, hashTable.stats().getSize());
+
+        // JMX
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = hashTable.registerMBean("metrics-test");
+
+        Assertions.assertThrows(IllegalStateException.class, () -> hashTable.registerMBean("metrics-test"));
+        Assertions.assertTrue(server.isRegistered(name));
+
+        hashTable.get(600);
+
+        Assertions.assertEquals(500, server.getAttribute(name, "Size"));
+        Assertions.assertEquals(1.0, server.getAttribute(name, "HitRatio"));
+
+        server.invoke(name, "resetMetrics", null, null);
+        Assertions.assertEquals(0.0, server.getAttribute(name, "HitRatio"));
+
+        hashTable.unregisterMBean();
+        Assertions.assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void testHashTableSeededHashing()
+    {
+        // SipHash-2-4 reference vectors (key 00 01 .. 0f, message 00 01 .. n - 1)
+        final long k0 = 0x0706050403020100L, k1 = 0x0F0E0D0C0B0A0908L;
+        byte[] message = new byte[15];
+
+        for (int i = 0; i < message.length; i++)
+            message[i] = (byte) i;
+
+        Assertions.assertEquals(0x726FDB47DD0E0E31L, SipHash.hash(k0, k1, new byte[0]));
+        Assertions.assertEquals(0xA129CA6149BE45E5L, SipHash.hash(k0, k1, message));
+
+        for (String string : new String[] { "", "a", "abc", "abcd", "abcdefg", "hash flooding \u0107\u017e" })
+            Assertions.assertEquals(SipHash.hash(k0, k1, string.getBytes(StandardCharsets.UTF_16LE)), SipHash.hash(k0, k1, string));
+
+        // 4096 strings built from "Aa"/"BB" blocks, which all have the same hashCode()
+        String[] colliding = new String[1 << 12];
+
+        for (int i = 0; i < colliding.length; i++)
+        {
+            StringBuilder builder = new StringBuilder();
+
+            for (int bit = 0; bit < 12; bit++)
+                builder.append((i >>> bit & 1) == 0 ? "Aa" : "BB");
+
+            colliding[i] = builder.toString();
+            Assertions.assertEquals(colliding[0].hashCode(), colliding[i].hashCode());
+        }
+
+        HashTable<String, Integer> plain  = new HashTable<>(16, 0.7, HashTable.Option.METRICS);
+        HashTable<String, Integer> seeded = new HashTable<>(16, 0.7, HashTable.Option.METRICS, HashTable.Option.SEEDED_HASHING);
+
+        for (int i = 0; i < colliding.length; i++)
+        {
+            plain.insert(colliding[i], i);
+            seeded.insert(colliding[i], i);
+        }
+
+        Assertions.assertTrue(plain.stats().getMaxProbeLength() > 1000);
+        Assertions.assertTrue(seeded.stats().getMaxProbeLength() < 256);
+        Assertions.assertTrue(seeded.stats().getMeanProbeLength() < 4);
+
+        for (int i = 0; i < colliding.length; i++)
+            Assertions.assertEquals(i, seeded.get(new String(colliding[i])));
+
+        // seeded hashing with the other options
+        HashTable.Option[][] modes = {
+            { HashTable.Option.SEEDED_HASHING },
+            { HashTable.Option.SEEDED_HASHING, HashTable.Option.POWER_OF_TWO_CAPACITY },
+            { HashTable.Option.SEEDED_HASHING, HashTable.Option.CACHED_HASHES },
+            { HashTable.Option.SEEDED_HASHING, HashTable.Option.INCREMENTAL_RESIZE, HashTable.Option.POWER_OF_TWO_CAPACITY }
+        };
+
+        for (HashTable.Option[] options : modes)
+        {
+            HashTable<Integer, Integer> hashTable = new HashTable<>(16, 0.7, options);
+            HashMap<Integer, Integer> reference = new HashMap<>();
+            Random random = new Random(17);
+
+            for (int i = 0; i < 50_000; i++)
+            {
+                // multiples of 1024 share their low bits
+                Integer key = 1024 * random.nextInt(20_000);
+
+                if (random.nextInt(4) == 0)
+                    Assertions.assertEquals(reference.remove(key), hashTable.remove(key));
+                else
+                    Assertions.assertEquals(reference.put(key, i), hashTable.insert(key, i));
+            }
+
+            Assertions.assertEquals(reference.size(), hashTable.size());
+
+            for (Integer key : reference.keySet())
+                Assertions.assertEquals(reference.get(key), hashTable.get(key));
+        }
+    }
+
+    @Test
+    public void testHashTableCompute()
+    {
+        HashTable.Option[][] modes = {
+            {},
+            { HashTable.Option.POWER_OF_TWO_CAPACITY },
+            { HashTable.Option.CACHED_HASHES },
+            { HashTable.Option.INCREMENTAL_RESIZE, HashTable.Option.POWER_OF_TWO_CAPACITY }
+        };
+
+        for (HashTable.Option[] options : modes)
+        {
+            HashTable<Integer, Integer> hashTable = new HashTable<>(16, 0.7, options);
+            HashMap<Integer, Integer> reference = new HashMap<>();
+            Random random = new Random(11);
+
+            for (int i = 0; i < 100_000; i++)
+            {
+                final Integer key   = random.nextInt(3000);
+                final int operation = random.nextInt(6);
+                final int value     = i;
+
+                switch (operation)
+                {
+                    case 0:
+                        Assertions.assertEquals(reference.computeIfAbsent(key, k -> value), hashTable.computeIfAbsent(key, k -> value));
+                        break;
+                    case 1:
+                        Assertions.assertEquals(
+                            reference.computeIfPresent(key, (k, v) -> v % 3 == 0 ? null : v + 1), 
+                            hashTable.computeIfPresent(key, (k, v) -> v % 3 == 0 ? null : v + 1));
+                        break;
+                    case 2:
+                        Assertions.assertEquals(
+                            reference.compute(key, (k, v) -> v == null ? Integer.valueOf(value) : v % 5 == 0 ? null : v + value), 
+                            hashTable.compute(key, (k, v) -> v == null ? Integer.valueOf(value) : v % 5 == 0 ? null : v + value));
+                        break;
+                    case 3:
+                        Assertions.assertEquals(
+                            reference.merge(key, value, (a, b) -> a % 7 == 0 ? null : a + b), 
+                            hashTable.merge(key, value, (a, b) -> a % 7 == 0 ? null : a + b));
+                        break;
+                    case 4:
+                        Assertions.assertEquals(reference.merge(key, 3, Integer::sum).intValue(), HashTable.addTo(hashTable, key, 3));
+                        break;
+                    default:
+                        Assertions.assertEquals(reference.remove(key), hashTable.remove(key));
+                }
+            }
+
+            Assertions.assertEquals(reference.size(), hashTable.size());
+
+            for (Integer key : reference.keySet())
+                Assertions.assertEquals(reference.get(key), hashTable.get(key));
+        }
+
+        // a null result does not insert the key, a null mapping counts as absent
+        HashTable<String, Integer> counts = new HashTable<>();
+
+        Assertions.assertNull(counts.computeIfAbsent("a", k -> null));
+        Assertions.assertNull(counts.compute("a", (k, v) -> null));
+        Assertions.assertFalse(counts.hasKey("a"));
+
+        counts.insert("a", null);
+        Assertions.assertEquals(1, counts.merge("a", 1, Integer::sum));
+        Assertions.assertEquals(2, counts.merge("a", 1, Integer::sum));
+        Assertions.assertEquals(12, HashTable.addTo(counts, "a", 10));
+        Assertions.assertEquals(1, counts.size());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> counts.merge("a", null, Integer::sum));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HashTable.addTo(counts, null, 1));
+
+        // functions that change the table: the key is located again
+        HashTable<Integer, Long> fibonacci = new HashTable<>();
+
+        Assertions.assertEquals(12586269025L, this.fibonacci(fibonacci, 50));
+        Assertions.assertEquals(51, fibonacci.size());
+
+        for (int i = 2; i <= 50; i++)
+            Assertions.assertEquals(fibonacci.get(i - 1) + fibonacci.get(i - 2), fibonacci.get(i));
+
+        HashTable<Integer, Integer> hashTable = new HashTable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashTable.insert(i, i);
+
+        Assertions.assertEquals(-1, hashTable.compute(50, (k, v) -> { hashTable.clear(); return -1; }));
+        Assertions.assertEquals(1, hashTable.size());
+        Assertions.assertEquals(-1, hashTable.get(50));
+    }
+
+    @Test
+    public void testHashTableLinkedOrder() throws IOException
+    {
+        HashTable<String, Integer> hashTable = new HashTable<>(4, 0.7, HashTable.Option.INSERTION_ORDER);
+
+        for (String key : new String[] { "d", "a", "c", "b", "e", "h", "g", "f" })
+            hashTable.insert(key, key.charAt(0) - 'a');
+
+        // re-inserting and reading do not change the insertion order, removing and inserting again does.
+        hashTable.insert("d", 30);
+        hashTable.get("a");
+        hashTable.remove("c");
+        hashTable.insert("c", 2);
+
+        Assertions.assertEquals(List.of("d", "a", "b", "e", "h", "g", "f", "c"), hashTable.keys());
+        Assertions.assertEquals(List.of(30, 0, 1, 4, 7, 6, 5, 2), hashTable.values());
+        Assertions.assertEquals("{d => 30, a => 0, b => 1, e => 4, h => 7, g => 6, f => 5, c => 2, }", hashTable.toString());
+        Assertions.assertEquals("d", hashTable.firstKey());
+        Assertions.assertEquals("c", hashTable.lastKey());
+
+        List<String> forEachKeys = new ArrayList<>();
+        hashTable.forEach((key, value) -> forEachKeys.add(key));
+
+        List<String> streamKeys = new ArrayList<>();
+        hashTable.stream().forEach(streamKeys::add);
+
+        Assertions.assertEquals(hashTable.keys(), forEachKeys);
+        Assertions.assertEquals(hashTable.keys(), streamKeys);
+        Assertions.assertEquals(hashTable.keys(), new ArrayList<>(hashTable.keySet()));
+        Assertions.assertTrue(hashTable.spliterator().hasCharacteristics(Spliterator.ORDERED));
+
+        // the order survives compaction, trimming and serialization.
+        for (int i = 0; i < 100; i++)
+        {
+            hashTable.insert("x" + i, i);
+            hashTable.remove("x" + i);
+        }
+
+        hashTable.compact();
+        hashTable.trimToSize();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        hashTable.writeTo(Channels.newChannel(bytes), Serializer.STRING, Serializer.INTEGER, false);
+
+        HashTable<String, Integer> copy = HashTable.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())),
+            Serializer.STRING, Serializer.INTEGER, HashTable.Option.INSERTION_ORDER);
+
+        Assertions.assertEquals(List.of("d", "a", "b", "e", "h", "g", "f", "c"), hashTable.keys());
+        Assertions.assertEquals(hashTable.keys(), copy.keys());
+
+        // removing through the cursor keeps the walk going.
+        HashTable<String, Integer>.Cursor cursor = hashTable.cursor();
+        List<String> walked = new ArrayList<>();
+
+        while (cursor.next())
+        {
+            walked.add(cursor.getKey());
+
+            if (cursor.getValue() % 2 == 0)
+                cursor.remove();
+        }
+
+        Assertions.assertEquals(List.of("d", "a", "b", "e", "h", "g", "f", "c"), walked);
+        Assertions.assertEquals(List.of("b", "h", "f"), hashTable.keys());
+
+        hashTable.clear();
+
+        Assertions.assertNull(hashTable.firstKey());
+        Assertions.assertNull(hashTable.lastKey());
+        Assertions.assertTrue(hashTable.keys().isEmpty());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> new HashTable<String, Integer>().firstKey());
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new HashTable<String, Integer>(16, 0.7, HashTable.Option.ACCESS_ORDER, HashTable.Option.INCREMENTAL_RESIZE));
+    }
+
+    @Test
+    public void testHashTableAccessOrder()
+    {
+        HashTable<Integer, Integer> lru = new HashTable<>(16, 0.7, HashTable.Option.ACCESS_ORDER, HashTable.Option.CACHED_HASHES);
+
+        // an LRU cache of 100 keys: the first key is the least recently used one.
+        for (int i = 0; i < 1000; i++)
+        {
+            int key = i % 3 == 0 ? (i / 3) % 30 : 1000 + i;
+
+            if (lru.get(key) == null)
+                lru.insert(key, key);
+
+            if (lru.size() > 100)
+                lru.remove(lru.firstKey());
+        }
+
+        Assertions.assertEquals(100, lru.size());
+
+        for (int key = 0; key < 30; key++)
+            Assertions.assertTrue(lru.hasKey(key));
+
+        Assertions.assertEquals(3, lru.lastKey());
+        Assertions.assertEquals(1895, lru.firstKey());
+
+        // hasKey() is not an access, get(), getAll(), put() and the compute methods are.
+        HashTable<Integer, Integer> hashTable = new HashTable<>(16, 0.7, HashTable.Option.ACCESS_ORDER);
+
+        for (int i = 0; i < 6; i++)
+            hashTable.insert(i, i);
+
+        hashTable.hasKey(0);
+        hashTable.get(1);
+        hashTable.getAll(new Integer[] { 2 }, new Integer[1]);
+        hashTable.put(3, 3);
+        hashTable.merge(4, 1, Integer::sum);
+
+        Assertions.assertEquals(List.of(0, 5, 1, 2, 3, 4), hashTable.keys());
+    }
+
+    @Test
+    public void testHashTableLinkedOrderRandomOperations()
+    {
+        for (boolean accessOrder : new boolean[] { false, true })
+        {
+            Random random = new Random(accessOrder ? 1 : 2);
+            HashTable<Integer, Integer> hashTable = new HashTable<>(8, 0.7,
+                accessOrder ? HashTable.Option.ACCESS_ORDER : HashTable.Option.INSERTION_ORDER);
+            LinkedHashMap<Integer, Integer> model = new LinkedHashMap<>(16, 0.75f, accessOrder);
+
+            for (int i = 0; i < 50_000; i++)
+            {
+                int key = random.nextInt(500);
+
+                switch (random.nextInt(6))
+                {
+                    case 0:
+                        Assertions.assertEquals(model.get(key), hashTable.get(key));
+                        break;
+                    case 1:
+                        Assertions.assertEquals(model.remove(key), hashTable.remove(key));
+                        break;
+                    case 2:
+                        Assertions.assertEquals(model.containsKey(key), hashTable.hasKey(key));
+                        break;
+                    case 3:
+                        Assertions.assertEquals(model.merge(key, 1, Integer::sum), hashTable.merge(key, 1, Integer::sum));
+                        break;
+                    default:
+                        Assertions.assertEquals(model.put(key, i), hashTable.put(key, i));
+                }
+
+                if (i % 5000 == 0)
+                    hashTable.compact();
+            }
+
+            Assertions.assertEquals(new ArrayList<>(model.keySet()), hashTable.keys());
+            Assertions.assertEquals(new ArrayList<>(model.values()), hashTable.values());
+        }
+    }
+
+    private long fibonacci(HashTable<Integer, Long> memo, int n)
+    {
+        return memo.computeIfAbsent(n, k -> k < 2 ? (long) k : this.fibonacci(memo, k - 1) + this.fibonacci(memo, k - 2));
+    }
+}
@@ -0,0 +1,134 @@
+package datastructures;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class IntIntHashTableTest
+{
+    @Test
+    public void testIntIntHashTableConstructors()
+    {
+        IntIntHashTable hashTable = new IntIntHashTable();
+
+        Assertions.assertEquals(16, hashTable.getCapacity());
+        Assertions.assertEquals(0.7, hashTable.getLoadFactor());
+
+        hashTable = new IntIntHashTable(25, 0.8);
+
+        Assertions.assertEquals(32, hashTable.getCapacity());
+        Assertions.assertEquals(0.8, hashTable.getLoadFactor());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new IntIntHashTable(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new IntIntHashTable(8, 1.5));
+    }
+
+    @Test
+    public void testIntIntHashTableZeroAndNegativeKeys()
+    {
+        IntIntHashTable hashTable = new IntIntHashTable(2);
+
+        Assertions.assertFalse(hashTable.hasKey(0));
+        Assertions.assertEquals(0, hashTable.insert(0, 10));
+        Assertions.assertEquals(10, hashTable.put(0, 20));
+        Assertions.assertEquals(0, hashTable.insert(-1, 30));
+        Assertions.assertEquals(0, hashTable.insert(Integer.MIN_VALUE, 40));
+
+        Assertions.assertEquals(3, hashTable.size());
+        Assertions.assertTrue(hashTable.containsKey(0));
+        Assertions.assertEquals(20, hashTable.get(0));
+        Assertions.assertEquals(30, hashTable.get(-1));
+        Assertions.assertEquals(40, hashTable.get(Integer.MIN_VALUE));
+        Assertions.assertEquals(0, hashTable.get(7));
+        Assertions.assertEquals(-5, hashTable.getOrDefault(7, -5));
+
+        Assertions.assertEquals(20, hashTable.remove(0));
+        Assertions.assertFalse(hashTable.hasKey(0));
+        Assertions.assertEquals(2, hashTable.size());
+    }
+
+    @Test
+    public void testIntIntHashTableAgainstHashMap()
+    {
+        IntIntHashTable hashTable = new IntIntHashTable();
+        HashMap<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            int key = random.nextInt(5000) - 2500;
+
+            if (random.nextInt(3) == 0)
+                Assertions.assertEquals(reference.getOrDefault(key, 0), hashTable.remove(key));
+            else
+                Assertions.assertEquals(reference.getOrDefault(key, 0), hashTable.put(key, i));
+
+            if (hashTable.hasKey(key))
+                reference.put(key, i);
+            else
+                reference.remove(key);
+        }
+
+        Assertions.assertEquals(reference.size(), hashTable.size());
+
+        for (int key : hashTable.keys())
+            Assertions.assertEquals(reference.get(key), hashTable.get(key));
+
+        int[] total = new int[1];
+        hashTable.forEach((key, value) -> total[0] += value);
+
+        Assertions.assertEquals(reference.values().stream().mapToInt(Integer::intValue).sum(), total[0]);
+    }
+
+    @Test
+    public void testIntIntHashTableClear()
+    {
+        IntIntHashTable hashTable = new IntIntHashTable();
+
+        for (int i = 0; i < 100; i++)
+            hashTable.insert(i, i * i);
+
+        Assertions.assertEquals(100, hashTable.keys().length);
+        Assertions.assertEquals(100, hashTable.values().length);
+
+        hashTable.clear();
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertFalse(hashTable.hasKey(5));
+        Assertions.assertEquals(0, hashTable.keys().length);
+    }
+
+    @Test
+    public void testIntIntHashTableAddTo()
+    {
+        IntIntHashTable hashTable = new IntIntHashTable();
+        HashMap<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            int key = random.nextInt(5000);
+
+            if (random.nextInt(10) == 0)
+            {
+                Assertions.assertEquals(reference.getOrDefault(key, 0), hashTable.remove(key));
+                reference.remove(key);
+            }
+            else
+            {
+                Assertions.assertEquals(reference.merge(key, i, Integer::sum).intValue(), hashTable.addTo(key, i));
+            }
+        }
+
+        Assertions.assertEquals(reference.size(), hashTable.size());
+
+        for (int key : hashTable.keys())
+            Assertions.assertEquals(reference.get(key), hashTable.get(key));
+
+        Assertions.assertEquals(-3, hashTable.addTo(-1, -3));
+        Assertions.assertEquals(0, hashTable.addTo(-1, 3));
+        Assertions.assertTrue(hashTable.hasKey(-1));
+    }
+}
@@ -0,0 +1,243 @@
+package datastructures;
+
+import java.util.List;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class LockFreeHashTableTest
+{
+    @Test
+    public void testLockFreeHashTableConstructors()
+    {
+        LockFreeHashTable<String, Integer> hashTable = new LockFreeHashTable<>();
+
+        Assertions.assertEquals(16, hashTable.getCapacity());
+        Assertions.assertEquals(0.7, hashTable.getLoadFactor());
+
+        hashTable = new LockFreeHashTable<>(25, 0.5);
+
+        Assertions.assertEquals(32, hashTable.getCapacity());
+        Assertions.assertEquals(0.5, hashTable.getLoadFactor());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LockFreeHashTable<>(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LockFreeHashTable<>(8, 1.0));
+    }
+
+    @Test
+    public void testLockFreeHashTableOperations()
+    {
+        LockFreeHashTable<String, Integer> hashTable = new LockFreeHashTable<>(2);
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertNull(hashTable.insert("Djordjije", 27));
+        Assertions.assertEquals(27, hashTable.put("Djordjije", 25));
+
+        hashTable.add("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+        hashTable.insert("Petar", 27);
+
+        Assertions.assertEquals(4, hashTable.size());
+        Assertions.assertEquals(25, hashTable.get("Djordjije"));
+        Assertions.assertTrue(hashTable.hasKey("Vesna"));
+        Assertions.assertFalse(hashTable.containsKey("Subo"));
+
+        Assertions.assertEquals(30, hashTable.remove("Bogdan"));
+        Assertions.assertEquals(27, hashTable.delete("Petar"));
+        Assertions.assertNull(hashTable.remove("Subo"));
+        Assertions.assertNull(hashTable.remove("Bogdan"));
+        Assertions.assertEquals(2, hashTable.size());
+
+        // a deleted key reuses its own bucket
+        Assertions.assertNull(hashTable.insert("Bogdan", 31));
+        Assertions.assertEquals(31, hashTable.get("Bogdan"));
+
+        List<String> keys    = hashTable.keys();
+        List<Integer> values = hashTable.values();
+
+        Assertions.assertEquals(3, keys.size());
+
+        for (int i = 0; i < keys.size(); i++)
+            Assertions.assertEquals(values.get(i), hashTable.get(keys.get(i)));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.insert(null, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.insert("Subo", null));
+
+        hashTable.clear();
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertNull(hashTable.get("Djordjije"));
+    }
+
+    @Test
+    public void testLockFreeHashTableChurn()
+    {
+        LockFreeHashTable<Integer, Integer> hashTable = new LockFreeHashTable<>(4);
+        HashMap<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200_000; i++)
+        {
+            Integer key = random.nextInt(5000);
+
+            if (random.nextBoolean())
+                Assertions.assertEquals(reference.put(key, i), hashTable.insert(key, i));
+            else
+                Assertions.assertEquals(reference.remove(key), hashTable.remove(key));
+        }
+
+        Assertions.assertEquals(reference.size(), hashTable.size());
+
+        for (Integer key : reference.keySet())
+            Assertions.assertEquals(reference.get(key), hashTable.get(key));
+
+        for (Integer key : hashTable)
+            Assertions.assertTrue(reference.containsKey(key));
+    }
+
+    @Test
+    public void testLockFreeHashTableParallelWriters() throws Exception
+    {
+        final int threads = 8;
+        final int keysPerThread = 20_000;
+
+        LockFreeHashTable<Integer, Integer> hashTable = new LockFreeHashTable<>(2);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try
+        {
+            for (int t = 0; t < threads; t++)
+            {
+                final int base = t * keysPerThread;
+
+                futures.add(executor.submit(() -> {
+                    for (int i = base; i < base + keysPerThread; i++)
+                        hashTable.insert(i, -i);
+
+                    // drop every other key again while other threads are still resizing the table
+                    for (int i = base; i < base + keysPerThread; i += 2)
+                        Assertions.assertEquals(-i, hashTable.remove(i));
+                }));
+            }
+
+            for (Future<?> future : futures)
+                future.get();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(threads * keysPerThread / 2, hashTable.size());
+        Assertions.assertEquals(threads * keysPerThread / 2, hashTable.keys().size());
+
+        for (int i = 0; i < threads * keysPerThread; i++)
+        {
+            if (i % 2 == 0)
+                Assertions.assertNull(hashTable.get(i));
+            else
+                Assertions.assertEquals(-i, hashTable.get(i));
+        }
+    }
+
+    @Test
+    public void testLockFreeHashTableSharedKeys() throws Exception
+    {
+        final int threads = 4;
+        final int keyRange = 10_000;
+
+        LockFreeHashTable<Integer, Integer> hashTable = new LockFreeHashTable<>(2);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try
+        {
+            // every thread writes the same keys, so writers race for the same buckets during resizes
+            for (int t = 0; t < threads; t++)
+            {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < keyRange; i++)
+                        hashTable.insert(i, i);
+                }));
+            }
+
+            for (Future<?> future : futures)
+                future.get();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(keyRange, hashTable.size());
+
+        for (int i = 0; i < keyRange; i++)
+            Assertions.assertEquals(i, hashTable.get(i));
+    }
+
+    @Test
+    public void testLockFreeHashTableReadersDuringResize() throws Exception
+    {
+        final int stableKeys = 1024;
+
+        LockFreeHashTable<Integer, Integer> hashTable = new LockFreeHashTable<>(2);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<Integer>> readers = new ArrayList<>();
+
+        for (int key = 0; key < stableKeys; key++)
+            hashTable.insert(key, -key);
+
+        // stable keys are never touched by the writer, so readers must always find them
+        Callable<Integer> reader = () -> {
+            int reads = 0;
+
+            while (running.get())
+            {
+                for (int key = 0; key < stableKeys; key++)
+                {
+                    Assertions.assertEquals(-key, hashTable.get(key));
+                    reads++;
+                }
+            }
+
+            return reads;
+        };
+
+        try
+        {
+            for (int t = 0; t < 3; t++)
+                readers.add(executor.submit(reader));
+
+            // keep growing and shrinking the table, so it resizes many times under the readers
+            for (int round = 0; round < 20; round++)
+            {
+                for (int key = stableKeys; key < 20_000; key++)
+                    hashTable.insert(key, key);
+
+                for (int key = stableKeys; key < 20_000; key++)
+                    hashTable.remove(key);
+            }
+
+            running.set(false);
+
+            for (Future<Integer> future : readers)
+                Assertions.assertTrue(future.get() > 0);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(stableKeys, hashTable.size());
+    }
+}
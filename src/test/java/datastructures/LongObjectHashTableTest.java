@@ -0,0 +1,79 @@
+package datastructures;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class LongObjectHashTableTest
+{
+    @Test
+    public void testLongObjectHashTableInsertAndGet()
+    {
+        LongObjectHashTable<String> hashTable = new LongObjectHashTable<>(2);
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertNull(hashTable.insert(0L, "zero"));
+        Assertions.assertNull(hashTable.insert(Long.MAX_VALUE, "max"));
+        Assertions.assertNull(hashTable.insert(Long.MIN_VALUE, "min"));
+        Assertions.assertEquals("zero", hashTable.put(0L, "nil"));
+
+        // keys that only differ in the high 32 bits
+        for (long i = 1; i <= 100; i++)
+            hashTable.insert(i << 32, "high" + i);
+
+        Assertions.assertEquals(103, hashTable.size());
+        Assertions.assertEquals("nil", hashTable.get(0L));
+        Assertions.assertEquals("max", hashTable.get(Long.MAX_VALUE));
+        Assertions.assertEquals("min", hashTable.get(Long.MIN_VALUE));
+        Assertions.assertEquals("high42", hashTable.get(42L << 32));
+        Assertions.assertNull(hashTable.get(42L));
+        Assertions.assertEquals("none", hashTable.getOrDefault(42L, "none"));
+    }
+
+    @Test
+    public void testLongObjectHashTableRemove()
+    {
+        LongObjectHashTable<String> hashTable = new LongObjectHashTable<>();
+
+        for (long i = 0; i < 1000; i++)
+            hashTable.insert(i * 31, "value" + i);
+
+        for (long i = 0; i < 1000; i += 2)
+            Assertions.assertEquals("value" + i, hashTable.remove(i * 31));
+
+        Assertions.assertNull(hashTable.remove(-1L));
+        Assertions.assertEquals(500, hashTable.size());
+
+        for (long i = 0; i < 1000; i++)
+            Assertions.assertEquals(i % 2 == 0 ? null : "value" + i, hashTable.get(i * 31));
+    }
+
+    @Test
+    public void testLongObjectHashTableViews()
+    {
+        LongObjectHashTable<String> hashTable = new LongObjectHashTable<>();
+
+        hashTable.insert(1L, "one");
+        hashTable.insert(2L, "two");
+        hashTable.insert(3L, "three");
+
+        long[] keys         = hashTable.keys();
+        List<String> values = hashTable.values();
+
+        Assertions.assertEquals(3, keys.length);
+
+        for (int i = 0; i < keys.length; i++)
+            Assertions.assertEquals(values.get(i), hashTable.get(keys[i]));
+
+        StringBuilder visited = new StringBuilder();
+        hashTable.forEach((key, value) -> visited.append(value.length()));
+
+        Assertions.assertEquals(3, visited.length());
+
+        hashTable.clear();
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertNull(hashTable.get(1L));
+    }
+}
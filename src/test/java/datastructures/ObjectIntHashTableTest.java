@@ -0,0 +1,69 @@
+package datastructures;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class ObjectIntHashTableTest
+{
+    @Test
+    public void testObjectIntHashTableEqualKeys()
+    {
+        ObjectIntHashTable<String> hashTable = new ObjectIntHashTable<>(2);
+
+        // equal keys are the same key, even when they are different objects.
+        Assertions.assertEquals(0, hashTable.put(new String("key"), 1));
+        Assertions.assertEquals(1, hashTable.put(new String("key"), 2));
+        Assertions.assertEquals(5, hashTable.addTo("key", 3));
+        Assertions.assertEquals(1, hashTable.size());
+
+        // "Aa" and "BB" have the same hash code.
+        Assertions.assertEquals(1, hashTable.addTo("Aa", 1));
+        Assertions.assertEquals(2, hashTable.addTo("BB", 2));
+        Assertions.assertEquals(1, hashTable.get("Aa"));
+        Assertions.assertEquals(-1, hashTable.getOrDefault("Ab", -1));
+
+        Assertions.assertEquals(1, hashTable.remove("Aa"));
+        Assertions.assertEquals(2, hashTable.get("BB"));
+        Assertions.assertEquals(2, hashTable.keys().size());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.put(null, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.addTo(null, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.get(null));
+    }
+
+    @Test
+    public void testObjectIntHashTableAddTo()
+    {
+        ObjectIntHashTable<Integer> hashTable = new ObjectIntHashTable<>();
+        HashMap<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(5);
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            Integer key = random.nextInt(5000) - 2500;
+
+            if (random.nextInt(10) == 0)
+            {
+                Assertions.assertEquals(reference.getOrDefault(key, 0), hashTable.remove(key));
+                reference.remove(key);
+            }
+            else
+            {
+                Assertions.assertEquals(reference.merge(key, i, Integer::sum).intValue(), hashTable.addTo(key, i));
+            }
+        }
+
+        Assertions.assertEquals(reference.size(), hashTable.size());
+
+        for (Integer key : hashTable.keys())
+            Assertions.assertEquals(reference.get(key), hashTable.get(key));
+
+        hashTable.clear();
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertFalse(hashTable.hasKey(0));
+    }
+}
@@ -0,0 +1,223 @@
+package datastructures;
+
+import java.util.List;
+import java.util.HashMap;
+import java.util.Random;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.io.TempDir;
+
+public class OffHeapHashTableTest
+{
+    @Test
+    public void testOffHeapHashTableConstructors()
+    {
+        try (OffHeapHashTable<Integer, Long> hashTable = new OffHeapHashTable<>(FixedSizeCodec.INTEGER, FixedSizeCodec.LONG))
+        {
+            Assertions.assertEquals(16, hashTable.getCapacity());
+            Assertions.assertEquals(0.7, hashTable.getLoadFactor());
+
+            // 1 state byte + 4 hash bytes + 4 key bytes + 8 value bytes per bucket
+            Assertions.assertEquals(16 * 17, hashTable.getOffHeapBytes());
+        }
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new OffHeapHashTable<>(0, 0.5, FixedSizeCodec.INTEGER, FixedSizeCodec.LONG));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new OffHeapHashTable<>(8, 1.0, FixedSizeCodec.INTEGER, FixedSizeCodec.LONG));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new OffHeapHashTable<>(8, 0.5, null, FixedSizeCodec.LONG));
+    }
+
+    @Test
+    public void testOffHeapHashTableOperations()
+    {
+        try (OffHeapHashTable<Long, Double> hashTable = new OffHeapHashTable<>(2, 0.7, FixedSizeCodec.LONG, FixedSizeCodec.DOUBLE))
+        {
+            Assertions.assertTrue(hashTable.isEmpty());
+            Assertions.assertNull(hashTable.insert(1L, 1.5));
+            Assertions.assertEquals(1.5, hashTable.put(1L, 2.5));
+
+            hashTable.add(2L, 3.5);
+            hashTable.add(-3L, 4.5);
+            hashTable.insert(Long.MAX_VALUE, 5.5);
+
+            Assertions.assertEquals(4, hashTable.size());
+            Assertions.assertEquals(2.5, hashTable.get(1L));
+            Assertions.assertEquals(5.5, hashTable.get(Long.MAX_VALUE));
+            Assertions.assertTrue(hashTable.hasKey(-3L));
+            Assertions.assertFalse(hashTable.containsKey(4L));
+
+            Assertions.assertEquals(3.5, hashTable.remove(2L));
+            Assertions.assertEquals(4.5, hashTable.delete(-3L));
+            Assertions.assertNull(hashTable.remove(2L));
+            Assertions.assertEquals(2, hashTable.size());
+
+            List<Long> keys     = hashTable.keys();
+            List<Double> values = hashTable.values();
+
+            for (int i = 0; i < hashTable.size(); i++)
+                Assertions.assertEquals(values.get(i), hashTable.get(keys.get(i)));
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.insert(null, 1.0));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.insert(5L, null));
+
+            hashTable.clear();
+
+            Assertions.assertTrue(hashTable.isEmpty());
+            Assertions.assertNull(hashTable.get(1L));
+        }
+    }
+
+    @Test
+    public void testOffHeapHashTableChurn()
+    {
+        // small chunks, so the buckets are spread across many direct buffers
+        try (OffHeapHashTable<Integer, Integer> hashTable = new OffHeapHashTable<>(4, 0.7, FixedSizeCodec.INTEGER, FixedSizeCodec.INTEGER, 256))
+        {
+            HashMap<Integer, Integer> reference = new HashMap<>();
+            Random random = new Random(7);
+
+            for (int i = 0; i < 200_000; i++)
+            {
+                Integer key = random.nextInt(5000);
+
+                if (random.nextBoolean())
+                    Assertions.assertEquals(reference.put(key, i), hashTable.insert(key, i));
+                else
+                    Assertions.assertEquals(reference.remove(key), hashTable.remove(key));
+            }
+
+            Assertions.assertEquals(reference.size(), hashTable.size());
+
+            for (Integer key : reference.keySet())
+                Assertions.assertEquals(reference.get(key), hashTable.get(key));
+
+            for (Integer key : hashTable)
+                Assertions.assertTrue(reference.containsKey(key));
+        }
+    }
+
+    @Test
+    public void testOffHeapHashTableClose()
+    {
+        OffHeapHashTable<Integer, Integer> hashTable = new OffHeapHashTable<>(FixedSizeCodec.INTEGER, FixedSizeCodec.INTEGER);
+
+        hashTable.insert(1, 1);
+        hashTable.close();
+        hashTable.close();
+
+        Assertions.assertTrue(hashTable.isClosed());
+        Assertions.assertEquals(0, hashTable.getOffHeapBytes());
+        Assertions.assertThrows(IllegalStateException.class, () -> hashTable.get(1));
+        Assertions.assertThrows(IllegalStateException.class, () -> hashTable.insert(2, 2));
+    }
+
+    @Test
+    public void testOffHeapHashTableFile(@TempDir Path directory) throws IOException
+    {
+        Path file = directory.resolve("table.bin");
+        HashMap<Integer, Long> reference = new HashMap<>();
+        Random random = new Random(11);
+
+        try (OffHeapHashTable<Integer, Long> hashTable = OffHeapHashTable.open(file, 4, 0.7, FixedSizeCodec.INTEGER, FixedSizeCodec.LONG))
+        {
+            for (int i = 0; i < 50_000; i++)
+            {
+                Integer key = random.nextInt(20_000);
+
+                if (random.nextInt(4) != 0)
+                    Assertions.assertEquals(reference.put(key, (long) i), hashTable.insert(key, (long) i));
+                else
+                    Assertions.assertEquals(reference.remove(key), hashTable.remove(key));
+            }
+        }
+
+        Assertions.assertFalse(Files.exists(directory.resolve("table.bin.tmp")));
+
+        // the capacity and load factor of an existing file are kept
+        try (OffHeapHashTable<Integer, Long> hashTable = OffHeapHashTable.open(file, FixedSizeCodec.INTEGER, FixedSizeCodec.LONG))
+        {
+            Assertions.assertEquals(0.7, hashTable.getLoadFactor());
+            Assertions.assertEquals(reference.size(), hashTable.size());
+
+            for (Integer key : reference.keySet())
+                Assertions.assertEquals(reference.get(key), hashTable.get(key));
+
+            hashTable.clear();
+            hashTable.insert(1, 1L);
+        }
+
+        try (OffHeapHashTable<Integer, Long> hashTable = OffHeapHashTable.open(file, FixedSizeCodec.INTEGER, FixedSizeCodec.LONG))
+        {
+            Assertions.assertEquals(1, hashTable.size());
+            Assertions.assertEquals(1L, hashTable.get(1));
+        }
+
+        Assertions.assertThrows(IOException.class, () -> OffHeapHashTable.open(file, FixedSizeCodec.LONG, FixedSizeCodec.LONG));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> OffHeapHashTable.open(null, FixedSizeCodec.INTEGER, FixedSizeCodec.LONG));
+    }
+
+    @Test
+    public void testOffHeapHashTableSnapshot(@TempDir Path directory) throws IOException
+    {
+        Path file     = directory.resolve("table.bin");
+        Path snapshot = directory.resolve("snapshot.bin");
+
+        try (OffHeapHashTable<Integer, Integer> hashTable = OffHeapHashTable.open(file, FixedSizeCodec.INTEGER, FixedSizeCodec.INTEGER))
+        {
+            for (int i = 0; i < 1000; i++)
+                hashTable.insert(i, i);
+
+            hashTable.snapshot(snapshot);
+
+            // updates after the snapshot are not part of it
+            for (int i = 0; i < 500; i++)
+                hashTable.remove(i);
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> hashTable.snapshot(file));
+        }
+
+        try (OffHeapHashTable<Integer, Integer> hashTable = OffHeapHashTable.open(snapshot, FixedSizeCodec.INTEGER, FixedSizeCodec.INTEGER))
+        {
+            Assertions.assertEquals(1000, hashTable.size());
+            Assertions.assertEquals(7, hashTable.get(7));
+        }
+
+        // a table on direct buffers can be snapshotted too
+        try (OffHeapHashTable<Integer, Integer> hashTable = new OffHeapHashTable<>(FixedSizeCodec.INTEGER, FixedSizeCodec.INTEGER))
+        {
+            hashTable.insert(42, 24);
+            hashTable.snapshot(snapshot);
+        }
+
+        try (OffHeapHashTable<Integer, Integer> hashTable = OffHeapHashTable.open(snapshot, FixedSizeCodec.INTEGER, FixedSizeCodec.INTEGER))
+        {
+            Assertions.assertEquals(1, hashTable.size());
+            Assertions.assertEquals(24, hashTable.get(42));
+        }
+    }
+
+    @Test
+    public void testOffHeapHashTableDirtyFile(@TempDir Path directory) throws IOException
+    {
+        Path file = directory.resolve("table.bin");
+
+        try (OffHeapHashTable<Integer, Integer> writer = OffHeapHashTable.open(file, 1024, 0.7, FixedSizeCodec.INTEGER, FixedSizeCodec.INTEGER))
+        {
+            for (int i = 0; i < 100; i++)
+                writer.insert(i, i);
+
+            writer.remove(5);
+
+            // the writer has not been flushed, so a second mapping of the file recounts the keys
+            try (OffHeapHashTable<Integer, Integer> reader = OffHeapHashTable.open(file, FixedSizeCodec.INTEGER, FixedSizeCodec.INTEGER))
+            {
+                Assertions.assertEquals(99, reader.size());
+                Assertions.assertNull(reader.get(5));
+                Assertions.assertEquals(99, reader.get(99));
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package datastructures;
+
+import java.util.List;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class RobinHoodHashTableTest
+{
+    @Test
+    public void testRobinHoodHashTableConstructors()
+    {
+        RobinHoodHashTable<String, Integer> hashTable = new RobinHoodHashTable<>();
+
+        Assertions.assertEquals(16, hashTable.getCapacity());
+        Assertions.assertEquals(0.85, hashTable.getLoadFactor());
+
+        hashTable = new RobinHoodHashTable<>(25, 0.9);
+
+        Assertions.assertEquals(32, hashTable.getCapacity());
+        Assertions.assertEquals(0.9, hashTable.getLoadFactor());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RobinHoodHashTable<>(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RobinHoodHashTable<>(8, 1.0));
+    }
+
+    @Test
+    public void testRobinHoodHashTableInsertAndGet()
+    {
+        RobinHoodHashTable<String, Integer> hashTable = new RobinHoodHashTable<>(2);
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertNull(hashTable.insert("Djordjije", 27));
+        Assertions.assertEquals(27, hashTable.put("Djordjije", 25));
+
+        hashTable.add("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+        hashTable.add("Petar", 27);
+        hashTable.insert("Marko", 27);
+
+        Assertions.assertEquals(5, hashTable.size());
+        Assertions.assertEquals(8, hashTable.getCapacity());
+        Assertions.assertEquals(25, hashTable.get("Djordjije"));
+        Assertions.assertEquals(30, hashTable.get("Bogdan"));
+        Assertions.assertNull(hashTable.get("Subo"));
+        Assertions.assertTrue(hashTable.hasKey("Vesna"));
+        Assertions.assertFalse(hashTable.containsKey("Subo"));
+    }
+
+    @Test
+    public void testRobinHoodHashTableRemove()
+    {
+        RobinHoodHashTable<String, Integer> hashTable = new RobinHoodHashTable<>(2);
+
+        hashTable.insert("Djordjije", 27);
+        hashTable.put("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+
+        Assertions.assertEquals(27, hashTable.remove("Djordjije"));
+        Assertions.assertEquals(30, hashTable.delete("Bogdan"));
+        Assertions.assertNull(hashTable.remove("Subo"));
+
+        Assertions.assertEquals(1, hashTable.size());
+        Assertions.assertNull(hashTable.get("Djordjije"));
+        Assertions.assertEquals(27, hashTable.get("Vesna"));
+    }
+
+    @Test
+    public void testRobinHoodHashTableChurn()
+    {
+        RobinHoodHashTable<Integer, Integer> hashTable = new RobinHoodHashTable<>(1024, 0.9);
+        HashMap<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(7);
+
+        // keep the table close to its threshold while constantly replacing keys
+        for (int i = 0; i < 200_000; i++)
+        {
+            Integer key = random.nextInt(2000);
+
+            if (reference.size() < 900 && random.nextBoolean())
+                Assertions.assertEquals(reference.put(key, i), hashTable.insert(key, i));
+            else
+                Assertions.assertEquals(reference.remove(key), hashTable.remove(key));
+        }
+
+        // no tombstones, so the table never had to grow
+        Assertions.assertEquals(1024, hashTable.getCapacity());
+        Assertions.assertEquals(reference.size(), hashTable.size());
+        Assertions.assertTrue(hashTable.getMaxProbeLength() < 64);
+
+        for (Integer key : reference.keySet())
+            Assertions.assertEquals(reference.get(key), hashTable.get(key));
+
+        for (Integer key : hashTable)
+            Assertions.assertTrue(reference.containsKey(key));
+    }
+
+    @Test
+    public void testRobinHoodHashTableClear()
+    {
+        RobinHoodHashTable<String, Integer> hashTable = new RobinHoodHashTable<>();
+
+        hashTable.insert("Djordjije", 27);
+        hashTable.put("Bogdan", 30);
+
+        List<String> keys    = hashTable.keys();
+        List<Integer> values = hashTable.values();
+
+        for (int i = 0; i < hashTable.size(); i++)
+            Assertions.assertEquals(values.get(i), hashTable.get(keys.get(i)));
+
+        hashTable.clear();
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertNull(hashTable.get("Bogdan"));
+        Assertions.assertTrue(hashTable.keys().isEmpty());
+    }
+}
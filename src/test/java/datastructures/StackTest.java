@@ -1,3 +1,5 @@
+package datastructures;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Assertions;
 
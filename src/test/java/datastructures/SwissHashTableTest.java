@@ -0,0 +1,151 @@
+package datastructures;
+
+import java.util.List;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class SwissHashTableTest
+{
+    @Test
+    public void testSwissHashTableConstructors()
+    {
+        SwissHashTable<String, Integer> hashTable = new SwissHashTable<>();
+
+        Assertions.assertEquals(16, hashTable.getCapacity());
+        Assertions.assertEquals(0.875, hashTable.getLoadFactor());
+
+        hashTable = new SwissHashTable<>(25, 0.9);
+
+        Assertions.assertEquals(32, hashTable.getCapacity());
+        Assertions.assertEquals(0.9, hashTable.getLoadFactor());
+
+        Assertions.assertEquals(8, new SwissHashTable<>(1).getCapacity());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SwissHashTable<>(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SwissHashTable<>(8, 1.0));
+    }
+
+    @Test
+    public void testSwissHashTableInsertAndGet()
+    {
+        SwissHashTable<String, Integer> hashTable = new SwissHashTable<>(2);
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertNull(hashTable.insert("Djordjije", 27));
+        Assertions.assertEquals(27, hashTable.put("Djordjije", 25));
+
+        hashTable.add("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+        hashTable.add("Petar", 27);
+        hashTable.insert("Marko", 27);
+
+        Assertions.assertEquals(5, hashTable.size());
+        Assertions.assertEquals(8, hashTable.getCapacity());
+        Assertions.assertEquals(25, hashTable.get("Djordjije"));
+        Assertions.assertEquals(30, hashTable.get("Bogdan"));
+        Assertions.assertNull(hashTable.get("Subo"));
+        Assertions.assertTrue(hashTable.hasKey("Vesna"));
+        Assertions.assertFalse(hashTable.containsKey("Subo"));
+
+        // keys with equal tags and equal groups (equal hash codes) are told apart by equals()
+        Assertions.assertNull(hashTable.insert("Aa", 1));
+        Assertions.assertNull(hashTable.insert("BB", 2));
+        Assertions.assertEquals(1, hashTable.get("Aa"));
+        Assertions.assertEquals(2, hashTable.get("BB"));
+    }
+
+    @Test
+    public void testSwissHashTableRemove()
+    {
+        SwissHashTable<String, Integer> hashTable = new SwissHashTable<>(2);
+
+        hashTable.insert("Djordjije", 27);
+        hashTable.put("Bogdan", 30);
+        hashTable.add("Vesna", 27);
+
+        Assertions.assertEquals(27, hashTable.remove("Djordjije"));
+        Assertions.assertEquals(30, hashTable.delete("Bogdan"));
+        Assertions.assertNull(hashTable.remove("Subo"));
+
+        Assertions.assertEquals(1, hashTable.size());
+        Assertions.assertNull(hashTable.get("Djordjije"));
+        Assertions.assertEquals(27, hashTable.get("Vesna"));
+    }
+
+    @Test
+    public void testSwissHashTableChurn()
+    {
+        SwissHashTable<Integer, Integer> hashTable = new SwissHashTable<>(1024, 0.875);
+        HashMap<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(7);
+
+        // keep the table close to its threshold while constantly replacing keys
+        for (int i = 0; i < 200_000; i++)
+        {
+            Integer key = random.nextInt(2000);
+
+            if (reference.size() < 400 && random.nextBoolean())
+                Assertions.assertEquals(reference.put(key, i), hashTable.insert(key, i));
+            else
+                Assertions.assertEquals(reference.remove(key), hashTable.remove(key));
+        }
+
+        // deleted slots are reclaimed at the same capacity (most used slots are deleted ones), so the table never had to grow
+        Assertions.assertEquals(1024, hashTable.getCapacity());
+        Assertions.assertEquals(reference.size(), hashTable.size());
+
+        for (Integer key : reference.keySet())
+            Assertions.assertEquals(reference.get(key), hashTable.get(key));
+
+        for (Integer key : hashTable)
+            Assertions.assertTrue(reference.containsKey(key));
+
+        for (int key = 2000; key < 3000; key++)
+            Assertions.assertFalse(hashTable.hasKey(key));
+    }
+
+    @Test
+    public void testSwissHashTableGrowth()
+    {
+        SwissHashTable<Integer, Integer> hashTable = new SwissHashTable<>();
+
+        for (int i = 0; i < 100_000; i++)
+            hashTable.insert(i, -i);
+
+        Assertions.assertEquals(100_000, hashTable.size());
+        Assertions.assertEquals(131072, hashTable.getCapacity());
+
+        for (int i = 0; i < 100_000; i++)
+            Assertions.assertEquals(-i, hashTable.get(i));
+
+        for (int i = 100_000; i < 200_000; i++)
+            Assertions.assertNull(hashTable.get(i));
+    }
+
+    @Test
+    public void testSwissHashTableClear()
+    {
+        SwissHashTable<String, Integer> hashTable = new SwissHashTable<>();
+
+        hashTable.insert("Djordjije", 27);
+        hashTable.put("Bogdan", 30);
+
+        List<String> keys    = hashTable.keys();
+        List<Integer> values = hashTable.values();
+
+        for (int i = 0; i < hashTable.size(); i++)
+            Assertions.assertEquals(values.get(i), hashTable.get(keys.get(i)));
+
+        hashTable.clear();
+
+        Assertions.assertTrue(hashTable.isEmpty());
+        Assertions.assertNull(hashTable.get("Bogdan"));
+        Assertions.assertTrue(hashTable.keys().isEmpty());
+
+        hashTable.insert("Bogdan", 31);
+        Assertions.assertEquals(31, hashTable.get("Bogdan"));
+    }
+}